@@ -1,5 +1,7 @@
 package com.meuprojeto.matchmaking;
 
+import com.meuprojeto.matchmaking.core.balanceamento.OptimalPartitionBalancingStrategy;
+import com.meuprojeto.matchmaking.core.balanceamento.SnakeDraftBalancingStrategy;
 import com.meuprojeto.matchmaking.model.Jogador;
 import com.meuprojeto.matchmaking.model.ModoDeJogo;
 import com.meuprojeto.matchmaking.repository.JogadorRepository;
@@ -31,8 +33,8 @@ public class DataLoader implements CommandLineRunner {
         if (modoDeJogoRepository.count() == 0) {
             LOGGER.info("Carregando Modos de Jogo...");
             // Implementa Sugestão 2: 'balanceamentoAutomatico' flag
-            modoDeJogoRepository.save(new ModoDeJogo("Futebol 5v5 (Balanceado)", 5, true));
-            modoDeJogoRepository.save(new ModoDeJogo("Basquete 3v3 (Balanceado)", 3, true));
+            modoDeJogoRepository.save(new ModoDeJogo("Futebol 5v5 (Balanceado)", 5, true, OptimalPartitionBalancingStrategy.NOME));
+            modoDeJogoRepository.save(new ModoDeJogo("Basquete 3v3 (Balanceado)", 3, true, SnakeDraftBalancingStrategy.NOME));
             modoDeJogoRepository.save(new ModoDeJogo("CS 5v5 (Times Fixos)", 5, false));
             LOGGER.info("Modos de Jogo carregados.");
         }
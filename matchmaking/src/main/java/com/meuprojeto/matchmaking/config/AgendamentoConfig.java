@@ -0,0 +1,59 @@
+package com.meuprojeto.matchmaking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Habilita os métodos @Scheduled (ex: tick da fila de matchmaking) e cria os
+ * executores dos workers de matchmaking (um shard por modo de jogo) e do
+ * escritor de resultados assíncronos.
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+
+    /**
+     * Executor limitado dos shards da fila: no máximo "workers" threads
+     * (padrão: número de núcleos) e "capacidade" rodadas aguardando.
+     * Se a fila do executor lotar, a rodada é descartada e o shard roda no próximo tick.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor executorFilaMatchmaking(
+            @Value("${matchmaking.fila.workers:0}") int workers,
+            @Value("${matchmaking.fila.capacidade-executor:256}") int capacidade) {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory fabrica = r -> {
+            Thread thread = new Thread(r, "matchmaking-shard-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacidade), fabrica, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Thread única do escritor de resultados (PipelineResultadosService).
+     * shutdownNow interrompe a espera por eventos ao desligar a aplicação.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService executorResultados() {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "matchmaking-resultados");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.meuprojeto.matchmaking.config;
+
+import com.meuprojeto.matchmaking.model.Sequencias;
+import com.meuprojeto.matchmaking.model.Sequencias.Sequencia;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Migração dos ids de IDENTITY para sequências (bancos H2 já existentes).
+ *
+ * A migração V1 cria as sequências começando em 1, mas as tabelas já têm linhas
+ * com ids gerados pela coluna IDENTITY. Como passo do Flyway (callback
+ * afterMigrate, registrado pelo Spring Boot), antes de o Hibernate subir e de
+ * qualquer carga, cada sequência que ainda não passou do maior id da sua
+ * tabela é reiniciada depois dele. Com o otimizador pooled, o Hibernate usa os
+ * ids (valor - ALOCACAO, valor], por isso a folga de ALOCACAO.
+ *
+ * Roda a cada migrate; em um banco novo (ou já ajustado) não altera nada.
+ */
+@Component
+public class AjusteSequencias implements Callback {
+
+    private static final Logger LOGGER = Logger.getLogger(AjusteSequencias.class.getName());
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        ajustar(new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true)));
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "ajusteSequencias";
+    }
+
+    void ajustar(JdbcTemplate jdbc) {
+        for (Sequencia sequencia : Sequencias.TODAS) {
+            ajustar(jdbc, sequencia);
+        }
+    }
+
+    private static void ajustar(JdbcTemplate jdbc, Sequencia sequencia) {
+        List<Long> proximo = jdbc.queryForList(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = ?",
+                Long.class, sequencia.nome());
+        if (proximo.isEmpty()) {
+            return; // Sequência ainda não criada pelas migrações
+        }
+        Long maiorId = jdbc.queryForObject(
+                "SELECT COALESCE(MAX(" + sequencia.colunaId() + "), 0) FROM " + sequencia.tabela(), Long.class);
+        long minimo = maiorId + Sequencias.ALOCACAO + 1;
+        if (proximo.get(0) < minimo) {
+            jdbc.execute("ALTER SEQUENCE " + sequencia.nome() + " RESTART WITH " + minimo);
+            LOGGER.info("Sequência " + sequencia.nome() + " reiniciada em " + minimo + " (maior id em "
+                    + sequencia.tabela() + ": " + maiorId + ").");
+        }
+    }
+}
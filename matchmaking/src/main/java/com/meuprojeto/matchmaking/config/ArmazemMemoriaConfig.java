@@ -0,0 +1,59 @@
+package com.meuprojeto.matchmaking.config;
+
+import com.meuprojeto.matchmaking.persistencia.ArmazemMemoria;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * Perfil "memoria" (--spring.profiles.active=memoria): banco H2 em memória
+ * com log de escrita e snapshots em disco (ArmazemMemoria) no lugar do
+ * arquivo matchmakingdb. Repositórios e serviços não mudam: só o DataSource.
+ *
+ * Ordem na inicialização: o DataSource recupera snapshot + log, o Flyway
+ * aplica as migrações pendentes e só então as transações passam a ser
+ * registradas no log.
+ */
+@Configuration
+@Profile("memoria")
+public class ArmazemMemoriaConfig {
+
+    @Bean(destroyMethod = "fechar")
+    public ArmazemMemoria dataSource(DataSourceProperties propriedades,
+                                     @Value("${matchmaking.armazem.diretorio:./matchmaking-armazem}") String diretorio,
+                                     @Value("${matchmaking.armazem.forcar-gravacao:false}") boolean forcarGravacao)
+            throws IOException, SQLException {
+        HikariDataSource banco = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ArmazemMemoria armazem = new ArmazemMemoria(banco, Path.of(diretorio), forcarGravacao);
+        try {
+            armazem.recuperar();
+        } catch (IOException | SQLException | RuntimeException e) {
+            banco.close();
+            throw e;
+        }
+        return armazem;
+    }
+
+    @Bean
+    public FlywayMigrationStrategy migracaoArmazemMemoria(ArmazemMemoria armazem) {
+        return flyway -> {
+            boolean esquemaAlterado = flyway.migrate().migrationsExecuted > 0;
+            try {
+                armazem.iniciarRegistro(esquemaAlterado);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Falha ao gravar o snapshot inicial do armazém em memória", e);
+            }
+        };
+    }
+}
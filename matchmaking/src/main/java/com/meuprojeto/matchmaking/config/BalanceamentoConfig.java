@@ -0,0 +1,66 @@
+package com.meuprojeto.matchmaking.config;
+
+import com.meuprojeto.matchmaking.core.balanceamento.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cria os componentes de balanceamento (classes Java puras) a partir do
+ * application.properties (prefixo "matchmaking.balanceamento").
+ */
+@Configuration
+public class BalanceamentoConfig {
+
+    @Bean
+    public ParticionadorEquipes particionadorEquipes(
+            @Value("${matchmaking.balanceamento.orcamento-ms:5}") long orcamentoMs,
+            @Value("${matchmaking.balanceamento.limite-exato:" + ParticionadorEquipes.LIMITE_EXATO_PADRAO + "}") int limiteExato) {
+        return new ParticionadorEquipes(orcamentoMs * 1_000_000L, limiteExato);
+    }
+
+    /**
+     * Particionador com grupos pré-formados (mesmo orçamento de tempo).
+     */
+    @Bean
+    public ParticionadorGrupos particionadorGrupos(@Value("${matchmaking.balanceamento.orcamento-ms:5}") long orcamentoMs) {
+        return new ParticionadorGrupos(orcamentoMs * 1_000_000L);
+    }
+
+    /**
+     * Refinamento por trocas (opcional). Só existe se
+     * matchmaking.balanceamento.refinamento.habilitado=true.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "matchmaking.balanceamento.refinamento.habilitado", havingValue = "true")
+    public RefinadorTrocas refinadorTrocas(
+            @Value("${matchmaking.balanceamento.refinamento.max-iteracoes:" + RefinadorTrocas.MAX_ITERACOES_PADRAO + "}") int maxIteracoes,
+            @Value("${matchmaking.balanceamento.refinamento.orcamento-ms:2}") long orcamentoMs) {
+        return new RefinadorTrocas(maxIteracoes, orcamentoMs * 1_000_000L);
+    }
+
+    // --- Estratégias registradas (ver BalancingStrategy) ---
+
+    @Bean
+    public BalancingStrategy estrategiaGulosa() {
+        return new GreedyBalancingStrategy();
+    }
+
+    @Bean
+    public BalancingStrategy estrategiaSerpentina() {
+        return new SnakeDraftBalancingStrategy();
+    }
+
+    @Bean
+    public BalancingStrategy estrategiaHeap() {
+        return new HeapBalancingStrategy();
+    }
+
+    @Bean
+    public BalancingStrategy estrategiaParticaoOtima(ParticionadorEquipes particionadorEquipes,
+                                                     ObjectProvider<RefinadorTrocas> refinadorTrocas) {
+        return new OptimalPartitionBalancingStrategy(particionadorEquipes, refinadorTrocas.getIfAvailable());
+    }
+}
@@ -0,0 +1,35 @@
+package com.meuprojeto.matchmaking.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+
+/**
+ * CacheManager (Caffeine/JCache) do cache de segundo nível do Hibernate.
+ *
+ * O CachingProvider padrão do JCache é global na JVM: dois contextos Spring
+ * (ex: testes com bancos em memória diferentes) dividiriam as mesmas regiões
+ * e um leria as entidades do outro. Por isso cada contexto cria o seu provider
+ * e o seu CacheManager, fechado junto com o contexto.
+ */
+@Configuration
+public class CacheConfig {
+
+    /** Regiões, tamanhos e expiração (Typesafe Config, lido pelo Caffeine). */
+    private static final URI CONFIGURACAO = URI.create("classpath:caffeine.conf");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerHibernate() {
+        return new CaffeineCachingProvider().getCacheManager(CONFIGURACAO, CacheConfig.class.getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheManagerHibernateCustomizer(CacheManager cacheManagerHibernate) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerHibernate);
+    }
+}
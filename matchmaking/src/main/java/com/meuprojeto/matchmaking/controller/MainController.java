@@ -7,7 +7,9 @@ import com.meuprojeto.matchmaking.service.MatchmakingException;
 import com.meuprojeto.matchmaking.service.MatchmakingService;
 import com.meuprojeto.matchmaking.service.HistoricoService; // <<< NOVO IMPORT
 import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaResponse;
+import com.meuprojeto.matchmaking.service.dto.ParticipacaoJogador;
 import com.meuprojeto.matchmaking.service.dto.RegistroPartidaFixaRequest;
+import com.meuprojeto.matchmaking.service.dto.ResumoPartida;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -26,6 +28,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.time.format.DateTimeFormatter; // <<< NOVO IMPORT
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -56,8 +59,12 @@ public class MainController {
     @FXML private ListView<Jogador> listaTimeB;
 
     // Aba 3: Histórico de Partidas
-    @FXML private ListView<Partida> historicoPartidasListView;
+    @FXML private ListView<ResumoPartida> historicoPartidasListView;
     @FXML private TextArea detalhesPartidaTextArea;
+    @FXML private Button carregarMaisPartidasButton;
+
+    /** Partidas por página no histórico (as próximas vêm pelo botão "Carregar mais"). */
+    private static final int PARTIDAS_POR_PAGINA = 50;
 
     // Aba 4: Perfil do Jogador
     @FXML private ComboBox<Jogador> perfilJogadorComboBox;
@@ -65,7 +72,10 @@ public class MainController {
     @FXML private Label perfilPartidasLabel;
     @FXML private Label perfilMvpLabel;
     @FXML private Label perfilDestaqueLabel;
-    @FXML private ListView<JogadorEquipe> perfilJogadorListView;
+    @FXML private Label perfilResultadosLabel;
+    @FXML private Label perfilSequenciaLabel;
+    @FXML private Label perfilModosLabel;
+    @FXML private ListView<ParticipacaoJogador> perfilJogadorListView;
 
 
     // Listas de dados para a Aba 2
@@ -180,18 +190,18 @@ public class MainController {
      * Formata a exibição da lista de partidas no Histórico.
      */
     private void setupPartidaListViewCellFactory() {
-        historicoPartidasListView.setCellFactory(lv -> new ListCell<Partida>() {
+        historicoPartidasListView.setCellFactory(lv -> new ListCell<ResumoPartida>() {
             private DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
             @Override
-            protected void updateItem(Partida partida, boolean empty) {
+            protected void updateItem(ResumoPartida partida, boolean empty) {
                 super.updateItem(partida, empty);
                 if (empty || partida == null) {
                     setText(null);
                 } else {
                     setText(String.format("Partida #%d: %s (%s)",
-                            partida.getIdPartida(),
-                            partida.getModoDeJogo().getNome(),
-                            partida.getDataHora().format(formatter)
+                            partida.idPartida(),
+                            partida.nomeModo(),
+                            partida.dataHora().format(formatter)
                     ));
                 }
             }
@@ -203,23 +213,22 @@ public class MainController {
      * Formata a exibição do histórico de partidas de um jogador.
      */
     private void setupPerfilJogadorListViewCellFactory() {
-        perfilJogadorListView.setCellFactory(lv -> new ListCell<JogadorEquipe>() {
+        perfilJogadorListView.setCellFactory(lv -> new ListCell<ParticipacaoJogador>() {
             private DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
             @Override
-            protected void updateItem(JogadorEquipe participacao, boolean empty) {
+            protected void updateItem(ParticipacaoJogador participacao, boolean empty) {
                 super.updateItem(participacao, empty);
                 if (empty || participacao == null) {
                     setText(null);
                     setTextFill(Color.BLACK); // Reseta a cor
                 } else {
-                    Partida partida = participacao.getEquipe().getPartida();
-                    EquipePartida resultado = participacao.getEquipe().getResultado();
-                    String status = (resultado != null) ? resultado.getStatusResultado() : "PENDENTE";
-
-                    setText(String.format("Partida #%d (%s) - Time: %s - Resultado: %s",
-                            partida.getIdPartida(),
-                            partida.getDataHora().format(formatter),
-                            participacao.getEquipe().getNome(),
+                    String status = (participacao.statusResultado() != null) ? participacao.statusResultado() : "PENDENTE";
+
+                    setText(String.format("Partida #%d (%s, %s) - Time: %s - Resultado: %s",
+                            participacao.idPartida(),
+                            participacao.dataHora().format(formatter),
+                            participacao.nomeModo(),
+                            participacao.nomeEquipe(),
                             status
                     ));
 
@@ -249,7 +258,7 @@ public class MainController {
             // 1. Busca dados gerais
             List<Jogador> todosJogadores = jogadorService.listarTodosJogadores();
             List<ModoDeJogo> todosModos = modoDeJogoRepository.findAll();
-            List<Partida> todasPartidas = historicoService.buscarHistoricoPartidas(); // <-- NOVO
+            List<ResumoPartida> primeiraPagina = historicoService.buscarPaginaHistorico(null, PARTIDAS_POR_PAGINA);
 
             // 2. Filtra os modos de jogo por tipo
             List<ModoDeJogo> modosBalanceados = todosModos.stream()
@@ -276,7 +285,8 @@ public class MainController {
             modoDeJogoFixoComboBox.setItems(FXCollections.observableArrayList(modosFixos));
 
             // Aba 3 (NOVO)
-            historicoPartidasListView.setItems(FXCollections.observableArrayList(todasPartidas));
+            historicoPartidasListView.setItems(FXCollections.observableArrayList(primeiraPagina));
+            carregarMaisPartidasButton.setDisable(primeiraPagina.size() < PARTIDAS_POR_PAGINA);
             detalhesPartidaTextArea.clear();
 
             // Aba 4 (NOVO)
@@ -286,10 +296,11 @@ public class MainController {
             perfilPartidasLabel.setText("Partidas Jogadas: -");
             perfilMvpLabel.setText("Total de MVPs: -");
             perfilDestaqueLabel.setText("Total de Destaques (Perdendo): -");
+            limparEstatisticasPerfil();
             perfilJogadorListView.getItems().clear();
 
 
-            statusLabel.setText("Listas atualizadas. (" + todosJogadores.size() + " jogadores, " + todasPartidas.size() + " partidas)");
+            statusLabel.setText("Listas atualizadas. (" + todosJogadores.size() + " jogadores, " + primeiraPagina.size() + " partidas recentes)");
             statusLabel.setStyle("-fx-text-fill: green;");
         } catch (Exception e) {
             mostrarErro(e.getMessage());
@@ -369,7 +380,9 @@ public class MainController {
             if (!reservas.isEmpty()) {
                 sb.append("Reservas: ");
                 sb.append(reservas.stream().map(Jogador::getNome).collect(Collectors.joining(", ")));
+                sb.append("\n");
             }
+            sb.append(String.format("Diferença de rating entre times: %.0f", resposta.getDiferencaRating()));
             statusLabel.setText(sb.toString());
             statusLabel.setStyle("-fx-text-fill: blue; -fx-font-weight: bold;");
 
@@ -451,26 +464,43 @@ public class MainController {
 
     // --- Handlers de Evento (Aba 3: Histórico de Partidas) ---
 
+    /**
+     * Chamado pelo botão "Carregar mais": busca a página seguinte do histórico,
+     * a partir da última partida exibida (keyset), e a acrescenta à lista.
+     */
+    @FXML
+    private void handleCarregarMaisPartidas() {
+        try {
+            List<ResumoPartida> itens = historicoPartidasListView.getItems();
+            ResumoPartida ultima = itens.isEmpty() ? null : itens.get(itens.size() - 1);
+            List<ResumoPartida> pagina = historicoService.buscarPaginaHistorico(ultima, PARTIDAS_POR_PAGINA);
+            itens.addAll(pagina);
+            carregarMaisPartidasButton.setDisable(pagina.size() < PARTIDAS_POR_PAGINA);
+        } catch (Exception e) {
+            mostrarErro(e.getMessage());
+        }
+    }
+
     /**
      * NOVO HANDLER (Aba 3)
      * Chamado quando o usuário clica em um item na lista de histórico de partidas.
+     * Os detalhes (equipes, membros, resultados) são buscados só para a partida selecionada.
      */
-    private void handleExibirDetalhesPartida(Partida partida) {
+    private void handleExibirDetalhesPartida(ResumoPartida partida) {
         if (partida == null) {
             detalhesPartidaTextArea.clear();
             return;
         }
 
+        Map<Long, List<Equipe>> detalhes = historicoService.buscarDetalhesPartidas(List.of(partida.idPartida()));
+
         StringBuilder sb = new StringBuilder();
-        sb.append(String.format("Partida #%d\n", partida.getIdPartida()));
-        sb.append(String.format("Modo: %s\n", partida.getModoDeJogo().getNome()));
-        sb.append(String.format("Data: %s\n", partida.getDataHora().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))));
+        sb.append(String.format("Partida #%d\n", partida.idPartida()));
+        sb.append(String.format("Modo: %s\n", partida.nomeModo()));
+        sb.append(String.format("Data: %s\n", partida.dataHora().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))));
         sb.append("\n--- EQUIPES E RESULTADOS ---\n");
 
-        // <<< A CORREÇÃO ESTÁ AQUI >>>
-        // Filtra equipes duplicadas (causadas pelo JOIN FETCH com 'membros')
-        // usando .stream().distinct() antes de iterar.
-        for (Equipe equipe : partida.getEquipes().stream().distinct().collect(Collectors.toList())) {
+        for (Equipe equipe : detalhes.getOrDefault(partida.idPartida(), List.of())) {
 
             sb.append(String.format("\n%s (ID: %d)\n", equipe.getNome(), equipe.getIdEquipe()));
 
@@ -517,9 +547,10 @@ public class MainController {
                     jogador.isEmCalibracao() ? "EM CALIBRAÇÃO" : "CALIBRADO"));
             perfilMvpLabel.setText(String.format("Total de MVPs: %d", jogador.getTotalMvp()));
             perfilDestaqueLabel.setText(String.format("Total de Destaques (Perdendo): %d", jogador.getTotalDestaquePerdedor()));
+            exibirEstatisticasPerfil(historicoService.buscarEstatisticasJogador(jogador.getIdJogador()));
 
             // 2. Busca o histórico de partidas do jogador no backend
-            List<JogadorEquipe> historico = historicoService.buscarHistoricoJogador(jogador.getIdJogador());
+            List<ParticipacaoJogador> historico = historicoService.buscarHistoricoJogador(jogador.getIdJogador());
 
             // 3. Atualiza a ListView de histórico
             perfilJogadorListView.setItems(FXCollections.observableArrayList(historico));
@@ -530,6 +561,39 @@ public class MainController {
     }
 
 
+    /**
+     * Vitórias/derrotas/empates, sequência e última partida (linha total)
+     * e o resumo por modo, lidos da tabela de estatísticas (sem varrer o histórico).
+     */
+    private void exibirEstatisticasPerfil(List<EstatisticaJogador> estatisticas) {
+        if (estatisticas.isEmpty()) {
+            limparEstatisticasPerfil();
+            return;
+        }
+        EstatisticaJogador total = estatisticas.get(0);
+        perfilResultadosLabel.setText(String.format("Vitórias / Derrotas / Empates: %d / %d / %d (%.0f%% de vitórias)",
+                total.getVitorias(), total.getDerrotas(), total.getEmpates(), total.getTaxaVitoria() * 100));
+        int sequencia = total.getSequenciaAtual();
+        String descricao = sequencia > 0 ? sequencia + " vitória(s)" : sequencia < 0 ? -sequencia + " derrota(s)" : "-";
+        perfilSequenciaLabel.setText(String.format("Sequência Atual: %s | Última Partida: %s", descricao,
+                total.getUltimaPartida() != null ? total.getUltimaPartida().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")) : "-"));
+
+        Map<Long, String> nomesModos = modoDeJogoRepository.findAll().stream()
+                .collect(Collectors.toMap(ModoDeJogo::getIdModoDeJogo, ModoDeJogo::getNome));
+        String porModo = estatisticas.stream()
+                .filter(e -> e.getIdModoDeJogo() != EstatisticaJogador.TODOS_OS_MODOS)
+                .map(e -> String.format("%s: %d / %d / %d", nomesModos.getOrDefault(e.getIdModoDeJogo(), "?"),
+                        e.getVitorias(), e.getDerrotas(), e.getEmpates()))
+                .collect(Collectors.joining(" | "));
+        perfilModosLabel.setText("Por Modo (V / D / E): " + porModo);
+    }
+
+    private void limparEstatisticasPerfil() {
+        perfilResultadosLabel.setText("Vitórias / Derrotas / Empates: -");
+        perfilSequenciaLabel.setText("Sequência Atual: -");
+        perfilModosLabel.setText("Por Modo (V / D / E): -");
+    }
+
     // --- Helper para Abrir Janela (PASSO 5) ---
 
     private void abrirJanelaResultado(Partida partida, List<Equipe> equipes) {
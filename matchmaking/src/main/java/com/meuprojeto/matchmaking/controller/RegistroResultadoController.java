@@ -5,6 +5,8 @@ import com.meuprojeto.matchmaking.model.Jogador;
 import com.meuprojeto.matchmaking.model.Partida;
 import com.meuprojeto.matchmaking.service.MatchmakingException;
 import com.meuprojeto.matchmaking.service.MatchmakingService;
+import com.meuprojeto.matchmaking.service.PipelineResultadosService;
+import com.meuprojeto.matchmaking.service.RetentativaOtimista;
 import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -32,6 +34,8 @@ public class RegistroResultadoController {
 
     // --- Injeção de Dependência (Spring) ---
     private final MatchmakingService matchmakingService;
+    private final PipelineResultadosService pipelineResultadosService;
+    private final RetentativaOtimista retentativaOtimista;
 
     // --- Mapeamento da UI (.fxml) ---
     @FXML private Label partidaInfoLabel;
@@ -51,8 +55,11 @@ public class RegistroResultadoController {
     private Equipe equipeB;
     private Runnable onJanelaFechadaCallback; // Callback para atualizar a MainView
 
-    public RegistroResultadoController(MatchmakingService matchmakingService) {
+    public RegistroResultadoController(MatchmakingService matchmakingService, PipelineResultadosService pipelineResultadosService,
+                                       RetentativaOtimista retentativaOtimista) {
         this.matchmakingService = matchmakingService;
+        this.pipelineResultadosService = pipelineResultadosService;
+        this.retentativaOtimista = retentativaOtimista;
     }
 
     /**
@@ -125,8 +132,12 @@ public class RegistroResultadoController {
                 request.setIdDestaquePerdedor(destaqueComboBox.getSelectionModel().getSelectedItem().getIdJogador());
             }
 
-            // 4. Chamar o Backend (MatchmakingService)
-            matchmakingService.registrarResultado(request);
+            // 4. Chamar o Backend (no modo assíncrono, só grava o evento; o Elo é aplicado em segundo plano)
+            if (pipelineResultadosService.isHabilitado()) {
+                pipelineResultadosService.enviar(request);
+            } else {
+                retentativaOtimista.executar(() -> matchmakingService.registrarResultado(request));
+            }
 
             // 5. Chamar o Callback (para atualizar a MainView)
             if (onJanelaFechadaCallback != null) {
@@ -0,0 +1,37 @@
+package com.meuprojeto.matchmaking.controller.rest;
+
+import com.meuprojeto.matchmaking.service.EstatisticasCacheService;
+import com.meuprojeto.matchmaking.service.dto.EstatisticasCacheResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * API HTTP do cache de segundo nível.
+ *
+ * GET  /api/cache/estatisticas:       acertos/falhas por região, cache de consultas e comandos SQL
+ * POST /api/cache/estatisticas/zerar: zera os contadores (o conteúdo do cache fica)
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheRestController {
+
+    private final EstatisticasCacheService estatisticasCacheService;
+
+    public CacheRestController(EstatisticasCacheService estatisticasCacheService) {
+        this.estatisticasCacheService = estatisticasCacheService;
+    }
+
+    @GetMapping("/estatisticas")
+    public EstatisticasCacheResponse estatisticas() {
+        return estatisticasCacheService.estatisticas();
+    }
+
+    @PostMapping("/estatisticas/zerar")
+    public ResponseEntity<Void> zerar() {
+        estatisticasCacheService.zerar();
+        return ResponseEntity.noContent().build();
+    }
+}
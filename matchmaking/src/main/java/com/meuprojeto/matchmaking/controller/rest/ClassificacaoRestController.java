@@ -0,0 +1,39 @@
+package com.meuprojeto.matchmaking.controller.rest;
+
+import com.meuprojeto.matchmaking.service.ClassificacaoService;
+import com.meuprojeto.matchmaking.service.dto.ClassificacaoResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * API HTTP da classificação por rating (geral ou, com ?idModoDeJogo=, do modo).
+ *
+ * GET /api/classificacao?limite=10:                     top N
+ * GET /api/classificacao/jogadores/{idJogador}?raio=5:  posição do jogador e os vizinhos
+ */
+@RestController
+@RequestMapping("/api/classificacao")
+public class ClassificacaoRestController {
+
+    private final ClassificacaoService classificacaoService;
+
+    public ClassificacaoRestController(ClassificacaoService classificacaoService) {
+        this.classificacaoService = classificacaoService;
+    }
+
+    @GetMapping
+    public ClassificacaoResponse topo(@RequestParam(required = false) Long idModoDeJogo,
+                                      @RequestParam(defaultValue = "10") int limite) {
+        return classificacaoService.topo(idModoDeJogo, limite);
+    }
+
+    @GetMapping("/jogadores/{idJogador}")
+    public ClassificacaoResponse aoRedorDoJogador(@PathVariable Long idJogador,
+                                                  @RequestParam(required = false) Long idModoDeJogo,
+                                                  @RequestParam(defaultValue = "5") int raio) {
+        return classificacaoService.aoRedorDoJogador(idModoDeJogo, idJogador, raio);
+    }
+}
@@ -0,0 +1,56 @@
+package com.meuprojeto.matchmaking.controller.rest;
+
+import com.meuprojeto.matchmaking.service.FilaMatchmakingService;
+import com.meuprojeto.matchmaking.service.dto.EstatisticasFilaResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * API HTTP da fila de matchmaking (FilaMatchmakingService).
+ *
+ * POST /api/fila/{idModoDeJogo}/jogadores/{idJogador}: entra na fila
+ * (201; 200 se já estava). O rating usado é o gravado no jogador.
+ * DELETE /api/fila/{idModoDeJogo}/jogadores/{idJogador}: sai da fila (204; 404 se não estava).
+ * GET /api/fila/{idModoDeJogo}/estatisticas e GET /api/fila/estatisticas: estado das filas.
+ */
+@RestController
+@RequestMapping("/api/fila")
+public class FilaRestController {
+
+    private final FilaMatchmakingService filaMatchmakingService;
+
+    public FilaRestController(FilaMatchmakingService filaMatchmakingService) {
+        this.filaMatchmakingService = filaMatchmakingService;
+    }
+
+    @PostMapping("/{idModoDeJogo}/jogadores/{idJogador}")
+    public ResponseEntity<Void> entrar(@PathVariable Long idModoDeJogo, @PathVariable Long idJogador) {
+        boolean entrou = filaMatchmakingService.entrarNaFila(idJogador, idModoDeJogo);
+        return ResponseEntity.status(entrou ? HttpStatus.CREATED : HttpStatus.OK).build();
+    }
+
+    @DeleteMapping("/{idModoDeJogo}/jogadores/{idJogador}")
+    public ResponseEntity<Void> sair(@PathVariable Long idModoDeJogo, @PathVariable Long idJogador) {
+        return filaMatchmakingService.sairDaFila(idJogador, idModoDeJogo)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/{idModoDeJogo}/estatisticas")
+    public EstatisticasFilaResponse estatisticas(@PathVariable Long idModoDeJogo) {
+        return filaMatchmakingService.estatisticas(idModoDeJogo);
+    }
+
+    @GetMapping("/estatisticas")
+    public List<EstatisticasFilaResponse> estatisticasShards() {
+        return filaMatchmakingService.estatisticasShards();
+    }
+}
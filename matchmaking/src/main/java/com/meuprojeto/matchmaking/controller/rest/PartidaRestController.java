@@ -0,0 +1,63 @@
+package com.meuprojeto.matchmaking.controller.rest;
+
+import com.meuprojeto.matchmaking.service.MatchmakingService;
+import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaRequest;
+import com.meuprojeto.matchmaking.service.dto.PartidaFormada;
+import com.meuprojeto.matchmaking.service.dto.SessaoFormada;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * API HTTP de criação de partidas (a UI JavaFX cria partidas avulsas pelo serviço).
+ *
+ * POST /api/partidas: cria uma partida balanceada com o pool do corpo
+ * (CriacaoPartidaRequest); os jogadores de cada grupo ficam na mesma equipe.
+ * Responde 201 com as equipes e os reservas.
+ *
+ * POST /api/partidas/sessao: divide o pool do corpo (CriacaoPartidaRequest) em
+ * quantas partidas balanceadas couberem, com reservas (MatchmakingService.criarSessao).
+ * Responde 201 com as partidas e as durações de cada fase.
+ *
+ * As duas respondem 409 se algum jogador já está em outra partida.
+ *
+ * DELETE /api/partidas/{idPartida}: cancela uma partida sem resultado e libera
+ * os jogadores dela (MatchmakingService.cancelarPartida). Responde 204, ou 400
+ * se a partida não existe ou já tem resultado.
+ */
+@RestController
+@RequestMapping("/api/partidas")
+public class PartidaRestController {
+
+    private final MatchmakingService matchmakingService;
+
+    public PartidaRestController(MatchmakingService matchmakingService) {
+        this.matchmakingService = matchmakingService;
+    }
+
+    @PostMapping
+    public ResponseEntity<PartidaFormada> criarPartida(@RequestBody CriacaoPartidaRequest request) {
+        List<List<Long>> grupos = request.getGrupos() != null ? request.getGrupos() : List.of();
+        return ResponseEntity.status(HttpStatus.CREATED).body(PartidaFormada.de(
+                matchmakingService.criarPartida(request.getIdJogadores(), request.getIdModoDeJogo(), grupos)));
+    }
+
+    @PostMapping("/sessao")
+    public ResponseEntity<SessaoFormada> criarSessao(@RequestBody CriacaoPartidaRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(SessaoFormada.de(matchmakingService.criarSessao(request.getIdJogadores(), request.getIdModoDeJogo())));
+    }
+
+    @DeleteMapping("/{idPartida}")
+    public ResponseEntity<Void> cancelarPartida(@PathVariable Long idPartida) {
+        matchmakingService.cancelarPartida(idPartida);
+        return ResponseEntity.noContent().build();
+    }
+}
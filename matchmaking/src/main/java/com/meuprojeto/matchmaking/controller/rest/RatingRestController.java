@@ -0,0 +1,37 @@
+package com.meuprojeto.matchmaking.controller.rest;
+
+import com.meuprojeto.matchmaking.service.ReplayRatingsService;
+import com.meuprojeto.matchmaking.service.RetentativaOtimista;
+import com.meuprojeto.matchmaking.service.dto.ReplayRatingsRequest;
+import com.meuprojeto.matchmaking.service.dto.ReplayRatingsResponse;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * API HTTP de ratings.
+ *
+ * POST /api/ratings/replay: recalcula os ratings a partir do histórico com os
+ * parâmetros de Elo do corpo (ReplayRatingsRequest). Por padrão só devolve o
+ * relatório de diferenças; com "gravar": true, substitui os ratings atuais
+ * (refeito se um resultado for registrado no meio, ver RetentativaOtimista).
+ */
+@RestController
+@RequestMapping("/api/ratings")
+public class RatingRestController {
+
+    private final ReplayRatingsService replayRatingsService;
+    private final RetentativaOtimista retentativaOtimista;
+
+    public RatingRestController(ReplayRatingsService replayRatingsService, RetentativaOtimista retentativaOtimista) {
+        this.replayRatingsService = replayRatingsService;
+        this.retentativaOtimista = retentativaOtimista;
+    }
+
+    @PostMapping("/replay")
+    public ReplayRatingsResponse replay(@RequestBody(required = false) ReplayRatingsRequest request) {
+        ReplayRatingsRequest parametros = request != null ? request : new ReplayRatingsRequest();
+        return retentativaOtimista.executar(() -> replayRatingsService.reprocessar(parametros));
+    }
+}
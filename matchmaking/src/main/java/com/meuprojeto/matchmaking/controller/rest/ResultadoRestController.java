@@ -0,0 +1,61 @@
+package com.meuprojeto.matchmaking.controller.rest;
+
+import com.meuprojeto.matchmaking.service.ImportacaoResultadosService;
+import com.meuprojeto.matchmaking.service.PipelineResultadosService;
+import com.meuprojeto.matchmaking.service.RetentativaOtimista;
+import com.meuprojeto.matchmaking.service.dto.ImportacaoResultadosResponse;
+import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import com.meuprojeto.matchmaking.service.dto.StatusResultadoResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * API HTTP de resultados (a UI JavaFX continua usando os serviços diretamente).
+ *
+ * POST /api/resultados/lote: importa vários resultados de uma vez
+ * (ex: liga de um fim de semana). O corpo é uma lista de RegistroResultadoRequest.
+ *
+ * POST /api/resultados: envia um resultado para o escritor assíncrono
+ * (responde 202 assim que o evento é gravado; 400 com
+ * matchmaking.resultados.assincrono=false).
+ * GET /api/resultados/{idPartida}/status: se o resultado já foi aplicado.
+ */
+@RestController
+@RequestMapping("/api/resultados")
+public class ResultadoRestController {
+
+    private final ImportacaoResultadosService importacaoResultadosService;
+    private final PipelineResultadosService pipelineResultadosService;
+    private final RetentativaOtimista retentativaOtimista;
+
+    public ResultadoRestController(ImportacaoResultadosService importacaoResultadosService,
+                                   PipelineResultadosService pipelineResultadosService,
+                                   RetentativaOtimista retentativaOtimista) {
+        this.importacaoResultadosService = importacaoResultadosService;
+        this.pipelineResultadosService = pipelineResultadosService;
+        this.retentativaOtimista = retentativaOtimista;
+    }
+
+    @PostMapping
+    public ResponseEntity<StatusResultadoResponse> enviar(@RequestBody RegistroResultadoRequest resultado) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(pipelineResultadosService.enviar(resultado));
+    }
+
+    @GetMapping("/{idPartida}/status")
+    public StatusResultadoResponse status(@PathVariable Long idPartida) {
+        return pipelineResultadosService.status(idPartida);
+    }
+
+    @PostMapping("/lote")
+    public ImportacaoResultadosResponse registrarLote(@RequestBody List<RegistroResultadoRequest> resultados) {
+        return retentativaOtimista.executar(() -> importacaoResultadosService.registrarResultados(resultados));
+    }
+}
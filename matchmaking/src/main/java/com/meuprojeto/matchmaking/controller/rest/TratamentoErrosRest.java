@@ -0,0 +1,34 @@
+package com.meuprojeto.matchmaking.controller.rest;
+
+import com.meuprojeto.matchmaking.service.ConflitoAtualizacaoException;
+import com.meuprojeto.matchmaking.service.JogadorIndisponivelException;
+import com.meuprojeto.matchmaking.service.MatchmakingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Erros das APIs HTTP (/api/...), no formato {"erro": mensagem}.
+ *
+ * - JogadorIndisponivelException: 409 (o jogador já está em uma partida em andamento).
+ * - ConflitoAtualizacaoException: 409 (retentativas de lock otimista esgotadas; o cliente pode repetir).
+ * - MatchmakingException: 400 (requisição inválida para o estado atual).
+ *
+ * Só vale para os controllers deste pacote; as páginas (MainController) tratam os próprios erros.
+ */
+@RestControllerAdvice(basePackageClasses = TratamentoErrosRest.class)
+public class TratamentoErrosRest {
+
+    @ExceptionHandler({JogadorIndisponivelException.class, ConflitoAtualizacaoException.class})
+    public ResponseEntity<Map<String, String>> tratarConflito(MatchmakingException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("erro", e.getMessage()));
+    }
+
+    @ExceptionHandler(MatchmakingException.class)
+    public ResponseEntity<Map<String, String>> tratarErro(MatchmakingException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("erro", e.getMessage()));
+    }
+}
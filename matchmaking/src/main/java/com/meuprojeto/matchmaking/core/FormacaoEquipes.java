@@ -0,0 +1,127 @@
+package com.meuprojeto.matchmaking.core;
+
+import com.meuprojeto.matchmaking.core.balanceamento.BalancingStrategy;
+import com.meuprojeto.matchmaking.core.balanceamento.OrdenacaoIndices;
+import com.meuprojeto.matchmaking.core.balanceamento.ParticionadorEquipes;
+import com.meuprojeto.matchmaking.core.balanceamento.ParticionadorGrupos;
+import com.meuprojeto.matchmaking.core.balanceamento.ResultadoParticao;
+
+/**
+ * Núcleo da criação de partidas, sem JPA/Spring: recebe ids e ratings em
+ * arrays primitivos, escolhe os reservas (Sugestão 2) e divide os ativos
+ * em equipes. O serviço só converte o resultado de volta em entidades.
+ */
+public final class FormacaoEquipes {
+
+    private FormacaoEquipes() {
+    }
+
+    /**
+     * Quantas equipes completas cabem no pool.
+     */
+    public static int numeroDeTimes(int totalJogadores, int jogadoresPorEquipe) {
+        return totalJogadores / jogadoresPorEquipe;
+    }
+
+    /**
+     * Ordena por rating (DESC, desempate pelo id) para que os piores fiquem de
+     * reserva e divide os ativos com a estratégia informada.
+     *
+     * @param estrategia null = "times definidos": agrupa os ativos em ordem, sem balancear
+     */
+    public static ResultadoFormacao formar(long[] ids, double[] ratings, int jogadoresPorEquipe,
+                                           BalancingStrategy estrategia) {
+        int total = ids.length;
+        int numTimes = numeroDeTimes(total, jogadoresPorEquipe);
+        int numAtivos = numTimes * jogadoresPorEquipe;
+
+        int[] ordem = OrdenacaoIndices.ordenarDecrescente(ratings, ids);
+
+        double[] ratingsAtivos = new double[numAtivos];
+        for (int pos = 0; pos < numAtivos; pos++) {
+            ratingsAtivos[pos] = ratings[ordem[pos]];
+        }
+
+        ResultadoParticao particao = (estrategia != null)
+                ? estrategia.balancear(ratingsAtivos, numTimes, jogadoresPorEquipe)
+                : agruparEmOrdem(ratingsAtivos, numTimes, jogadoresPorEquipe);
+
+        int[] equipeDoJogador = new int[total];
+        int[] atribuicaoAtivos = particao.getAtribuicao();
+        for (int pos = 0; pos < numAtivos; pos++) {
+            equipeDoJogador[ordem[pos]] = atribuicaoAtivos[pos];
+        }
+        int[] reservas = new int[total - numAtivos];
+        for (int pos = numAtivos; pos < total; pos++) {
+            equipeDoJogador[ordem[pos]] = ResultadoFormacao.RESERVA;
+            reservas[pos - numAtivos] = ordem[pos];
+        }
+        return new ResultadoFormacao(numTimes, equipeDoJogador, reservas, particao);
+    }
+
+    /**
+     * Igual a formar(...), mas com grupos pré-formados que devem ficar na mesma
+     * equipe (ver ParticionadorGrupos). Um grupo entra inteiro ou fica inteiro
+     * de reserva. Os ativos são escolhidos por SelecaoGrupos: na ordem de
+     * rating, cada grupo entra se ainda houver uma seleção que complete as
+     * equipes com ele. Se nenhuma seleção completa todas as equipes que cabem
+     * no pool, tenta com uma equipe a menos (mínimo de 2).
+     *
+     * @param grupoDoJogador mesmo valor (>= 0) = mesmo grupo; ParticionadorGrupos.SEM_GRUPO = sozinho
+     */
+    public static ResultadoFormacao formarComGrupos(long[] ids, double[] ratings, int[] grupoDoJogador,
+                                                    int jogadoresPorEquipe, ParticionadorGrupos particionador) {
+        int total = ids.length;
+        int maxTimes = numeroDeTimes(total, jogadoresPorEquipe);
+
+        int[] ordem = OrdenacaoIndices.ordenarDecrescente(ratings, ids);
+
+        int numTimes = maxTimes;
+        boolean[] ativo = SelecaoGrupos.escolher(ordem, grupoDoJogador, numTimes, jogadoresPorEquipe);
+        while (ativo == null && numTimes > Math.min(2, maxTimes)) {
+            numTimes--;
+            ativo = SelecaoGrupos.escolher(ordem, grupoDoJogador, numTimes, jogadoresPorEquipe);
+        }
+        if (ativo == null) {
+            throw new IllegalArgumentException("Os grupos não completam " + numTimes + " equipes de " + jogadoresPorEquipe + ".");
+        }
+        int numAtivos = numTimes * jogadoresPorEquipe;
+
+        int[] ativos = new int[numAtivos];
+        int[] reservas = new int[total - numAtivos];
+        int a = 0, r = 0;
+        for (int pos = 0; pos < total; pos++) {
+            int jogador = ordem[pos];
+            if (ativo[jogador]) ativos[a++] = jogador; else reservas[r++] = jogador;
+        }
+
+        double[] ratingsAtivos = new double[numAtivos];
+        int[] gruposAtivos = new int[numAtivos];
+        for (int k = 0; k < numAtivos; k++) {
+            ratingsAtivos[k] = ratings[ativos[k]];
+            gruposAtivos[k] = grupoDoJogador[ativos[k]];
+        }
+        ResultadoParticao particao = particionador.particionar(ratingsAtivos, gruposAtivos, numTimes, jogadoresPorEquipe);
+
+        int[] equipeDoJogador = new int[total];
+        int[] atribuicaoAtivos = particao.getAtribuicao();
+        for (int k = 0; k < numAtivos; k++) {
+            equipeDoJogador[ativos[k]] = atribuicaoAtivos[k];
+        }
+        for (int reserva : reservas) {
+            equipeDoJogador[reserva] = ResultadoFormacao.RESERVA;
+        }
+        return new ResultadoFormacao(numTimes, equipeDoJogador, reservas, particao);
+    }
+
+    /**
+     * Modo "Times Definidos" (Sugestão 2): os N primeiros no Time A, os N seguintes no Time B...
+     */
+    private static ResultadoParticao agruparEmOrdem(double[] ratings, int numTimes, int jogadoresPorEquipe) {
+        int[] atribuicao = new int[ratings.length];
+        for (int i = 0; i < ratings.length; i++) {
+            atribuicao[i] = i / jogadoresPorEquipe;
+        }
+        return new ResultadoParticao(atribuicao, ParticionadorEquipes.somarEquipes(ratings, atribuicao, numTimes), false, 0L);
+    }
+}
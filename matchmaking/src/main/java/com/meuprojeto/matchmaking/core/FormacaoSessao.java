@@ -0,0 +1,48 @@
+package com.meuprojeto.matchmaking.core;
+
+import com.meuprojeto.matchmaking.core.balanceamento.BalancingStrategy;
+import com.meuprojeto.matchmaking.core.balanceamento.OrdenacaoIndices;
+
+/**
+ * Divide um pool grande (ex: noite de evento com 60–200 jogadores) em várias
+ * partidas simultâneas de 2 equipes, sem JPA/Spring.
+ *
+ * Como em FormacaoEquipes, os piores ratings que não completam uma partida
+ * ficam de reserva. Os ativos, em ordem de rating, são fatiados em grupos
+ * consecutivos (partidas entre jogadores de nível parecido) e cada grupo é
+ * dividido em 2 equipes com a estratégia informada.
+ */
+public final class FormacaoSessao {
+
+    /** Partidas da sessão têm 2 equipes. */
+    public static final int EQUIPES_POR_PARTIDA = 2;
+
+    private FormacaoSessao() {
+    }
+
+    public static ResultadoSessao formar(long[] ids, double[] ratings, int jogadoresPorEquipe,
+                                         BalancingStrategy estrategia) {
+        int jogadoresPorPartida = jogadoresPorEquipe * EQUIPES_POR_PARTIDA;
+        int numPartidas = ids.length / jogadoresPorPartida;
+        int[] ordem = OrdenacaoIndices.ordenarDecrescente(ratings, ids);
+
+        int[][] jogadoresDaPartida = new int[numPartidas][jogadoresPorPartida];
+        ResultadoFormacao[] formacoes = new ResultadoFormacao[numPartidas];
+        long[] idsGrupo = new long[jogadoresPorPartida];
+        double[] ratingsGrupo = new double[jogadoresPorPartida];
+        for (int p = 0; p < numPartidas; p++) {
+            for (int k = 0; k < jogadoresPorPartida; k++) {
+                int indice = ordem[p * jogadoresPorPartida + k];
+                jogadoresDaPartida[p][k] = indice;
+                idsGrupo[k] = ids[indice];
+                ratingsGrupo[k] = ratings[indice];
+            }
+            formacoes[p] = FormacaoEquipes.formar(idsGrupo, ratingsGrupo, jogadoresPorEquipe, estrategia);
+        }
+
+        int ativos = numPartidas * jogadoresPorPartida;
+        int[] reservas = new int[ids.length - ativos];
+        System.arraycopy(ordem, ativos, reservas, 0, reservas.length);
+        return new ResultadoSessao(jogadoresDaPartida, formacoes, reservas);
+    }
+}
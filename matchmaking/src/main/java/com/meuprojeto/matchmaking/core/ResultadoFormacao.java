@@ -0,0 +1,37 @@
+package com.meuprojeto.matchmaking.core;
+
+import com.meuprojeto.matchmaking.core.balanceamento.ResultadoParticao;
+
+/**
+ * Resultado da formação de equipes a partir de um pool de jogadores.
+ * Os índices se referem aos arrays de entrada (ids/ratings) de FormacaoEquipes.
+ */
+public class ResultadoFormacao {
+
+    /** Marca, em 'equipeDoJogador', quem ficou de reserva. */
+    public static final int RESERVA = -1;
+
+    private final int numTimes;
+    /** Para cada jogador de entrada: índice da equipe, ou RESERVA. */
+    private final int[] equipeDoJogador;
+    /** Índices (na entrada) dos reservas, do melhor para o pior rating. */
+    private final int[] reservas;
+    private final ResultadoParticao particao;
+
+    public ResultadoFormacao(int numTimes, int[] equipeDoJogador, int[] reservas, ResultadoParticao particao) {
+        this.numTimes = numTimes;
+        this.equipeDoJogador = equipeDoJogador;
+        this.reservas = reservas;
+        this.particao = particao;
+    }
+
+    public int getNumTimes() { return numTimes; }
+
+    public int[] getEquipeDoJogador() { return equipeDoJogador; }
+
+    public int[] getReservas() { return reservas; }
+
+    public double getDiferenca() { return particao.getDiferenca(); }
+
+    public ResultadoParticao getParticao() { return particao; }
+}
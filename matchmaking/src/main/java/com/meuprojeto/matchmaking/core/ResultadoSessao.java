@@ -0,0 +1,30 @@
+package com.meuprojeto.matchmaking.core;
+
+/**
+ * Resultado de FormacaoSessao.
+ *
+ * Para a partida p, jogadoresDaPartida[p][k] é o índice (nos arrays de entrada)
+ * do k-ésimo jogador do grupo, e formacoes[p] divide esse grupo em equipes
+ * (os índices de formacoes[p] se referem a k, não à entrada).
+ */
+public class ResultadoSessao {
+
+    private final int[][] jogadoresDaPartida;
+    private final ResultadoFormacao[] formacoes;
+    /** Índices (na entrada) dos reservas, do melhor para o pior rating. */
+    private final int[] reservas;
+
+    public ResultadoSessao(int[][] jogadoresDaPartida, ResultadoFormacao[] formacoes, int[] reservas) {
+        this.jogadoresDaPartida = jogadoresDaPartida;
+        this.formacoes = formacoes;
+        this.reservas = reservas;
+    }
+
+    public int getNumPartidas() { return formacoes.length; }
+
+    public int[] getJogadoresDaPartida(int partida) { return jogadoresDaPartida[partida]; }
+
+    public ResultadoFormacao getFormacao(int partida) { return formacoes[partida]; }
+
+    public int[] getReservas() { return reservas; }
+}
@@ -0,0 +1,131 @@
+package com.meuprojeto.matchmaking.core;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Escolhe quais grupos (e jogadores sozinhos) ficam ativos quando há grupos
+ * pré-formados: a seleção precisa completar exatamente numTimes equipes de
+ * jogadoresPorEquipe, sem separar grupos e sem passar das vagas de nenhuma
+ * equipe (ex: 2+2+2 não encaixa em 2 equipes de 3).
+ *
+ * Busca com retrocesso na ordem de rating, tentando sempre "entra" antes de
+ * "fica de reserva": a primeira seleção encontrada é a que o guloso
+ * (entra se couber) escolheria quando ele dá certo, e só diverge dele quando
+ * o guloso travaria. Estados que já falharam (próximo grupo + vagas de cada
+ * equipe, sem ordem) são memorizados: o número de estados é limitado pelas
+ * unidades vezes as combinações de vagas, pequeno nos pools de uma partida.
+ */
+final class SelecaoGrupos {
+
+    private final int[][] membros;       // jogadores de cada unidade, na ordem de rating
+    private final int[] tamanhoRestante; // soma dos tamanhos das unidades [u, fim)
+    private final int[] vagas;           // vagas restantes de cada equipe
+    private final boolean[] entra;
+    private final Set<String> falhas = new HashSet<>();
+
+    private SelecaoGrupos(int[][] membros, int numTimes, int jogadoresPorEquipe) {
+        this.membros = membros;
+        this.tamanhoRestante = new int[membros.length + 1];
+        for (int u = membros.length - 1; u >= 0; u--) {
+            tamanhoRestante[u] = tamanhoRestante[u + 1] + membros[u].length;
+        }
+        this.vagas = new int[numTimes];
+        Arrays.fill(vagas, jogadoresPorEquipe);
+        this.entra = new boolean[membros.length];
+    }
+
+    /**
+     * @param ordem índices dos jogadores em ordem de rating (DESC)
+     * @return ativo[jogador], ou null se nenhuma seleção completa as equipes
+     */
+    static boolean[] escolher(int[] ordem, int[] grupoDoJogador, int numTimes, int jogadoresPorEquipe) {
+        int[][] unidades = unidades(ordem, grupoDoJogador);
+        for (int[] unidade : unidades) {
+            if (unidade.length > jogadoresPorEquipe) {
+                throw new IllegalArgumentException("Grupo com " + unidade.length + " jogadores não cabe em uma equipe de "
+                        + jogadoresPorEquipe + ".");
+            }
+        }
+        SelecaoGrupos selecao = new SelecaoGrupos(unidades, numTimes, jogadoresPorEquipe);
+        if (!selecao.buscar(0, numTimes * jogadoresPorEquipe)) {
+            return null;
+        }
+        boolean[] ativo = new boolean[ordem.length];
+        for (int u = 0; u < selecao.membros.length; u++) {
+            if (selecao.entra[u]) {
+                for (int jogador : selecao.membros[u]) ativo[jogador] = true;
+            }
+        }
+        return ativo;
+    }
+
+    /**
+     * Um grupo é uma unidade, na posição do seu melhor jogador; cada sozinho é outra.
+     */
+    private static int[][] unidades(int[] ordem, int[] grupoDoJogador) {
+        Map<Integer, Integer> tamanhoDoGrupo = new HashMap<>();
+        for (int grupo : grupoDoJogador) {
+            if (grupo >= 0) tamanhoDoGrupo.merge(grupo, 1, Integer::sum);
+        }
+        Map<Integer, int[]> membrosDoGrupo = new HashMap<>();
+        Map<Integer, Integer> preenchidos = new HashMap<>();
+        int[][] unidades = new int[ordem.length][];
+        int quantidade = 0;
+        for (int jogador : ordem) {
+            int grupo = grupoDoJogador[jogador];
+            if (grupo < 0) {
+                unidades[quantidade++] = new int[] {jogador};
+                continue;
+            }
+            int[] membros = membrosDoGrupo.get(grupo);
+            if (membros == null) {
+                membros = new int[tamanhoDoGrupo.get(grupo)];
+                membrosDoGrupo.put(grupo, membros);
+                unidades[quantidade++] = membros;
+            }
+            membros[preenchidos.merge(grupo, 1, Integer::sum) - 1] = jogador;
+        }
+        return Arrays.copyOf(unidades, quantidade);
+    }
+
+    private boolean buscar(int u, int vagasTotais) {
+        if (vagasTotais == 0) {
+            Arrays.fill(entra, u, entra.length, false);
+            return true;
+        }
+        if (tamanhoRestante[u] < vagasTotais) return false;
+
+        int[] ordenadas = vagas.clone();
+        Arrays.sort(ordenadas);
+        String estado = u + ":" + Arrays.toString(ordenadas);
+        if (falhas.contains(estado)) return false;
+
+        // Entra: tenta uma equipe de cada quantidade de vagas (equipes com as mesmas vagas são equivalentes)
+        int tamanho = membros[u].length;
+        for (int t = 0; t < vagas.length; t++) {
+            if (vagas[t] < tamanho || jaTentada(t)) continue;
+            vagas[t] -= tamanho;
+            entra[u] = true;
+            boolean achou = buscar(u + 1, vagasTotais - tamanho);
+            vagas[t] += tamanho;
+            if (achou) return true;
+        }
+        // Fica de reserva
+        entra[u] = false;
+        if (buscar(u + 1, vagasTotais)) return true;
+
+        falhas.add(estado);
+        return false;
+    }
+
+    private boolean jaTentada(int t) {
+        for (int anterior = 0; anterior < t; anterior++) {
+            if (vagas[anterior] == vagas[t]) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+/**
+ * SPI de balanceamento: divide jogadores (representados só pelo rating) em
+ * equipes do mesmo tamanho.
+ *
+ * Cada implementação tem um nome único, que é o valor gravado em
+ * ModoDeJogo.estrategiaBalanceamento. As implementações são classes Java puras,
+ * registradas como beans no BalanceamentoConfig.
+ */
+public interface BalancingStrategy {
+
+    /**
+     * Nome da estratégia (ex: "GULOSO", "SERPENTINA").
+     */
+    String getNome();
+
+    /**
+     * @param ratings            rating de cada jogador (o índice é a identidade do jogador)
+     * @param numTimes           quantidade de equipes
+     * @param jogadoresPorEquipe tamanho de cada equipe (ratings.length == numTimes * jogadoresPorEquipe)
+     */
+    ResultadoParticao balancear(double[] ratings, int numTimes, int jogadoresPorEquipe);
+}
@@ -0,0 +1,38 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+/**
+ * Algoritmo original "adicionar ao time mais fraco": percorre os jogadores do
+ * melhor para o pior e coloca cada um na equipe (com vaga) de menor soma.
+ * Busca linear pela equipe mais fraca: O(N * K).
+ */
+public class GreedyBalancingStrategy implements BalancingStrategy {
+
+    public static final String NOME = "GULOSO";
+
+    @Override
+    public String getNome() {
+        return NOME;
+    }
+
+    @Override
+    public ResultadoParticao balancear(double[] ratings, int numTimes, int jogadoresPorEquipe) {
+        long inicio = System.nanoTime();
+        int[] ordem = OrdenacaoIndices.ordenarDecrescente(ratings);
+        double[] somas = new double[numTimes];
+        int[] contagem = new int[numTimes];
+        int[] atribuicao = new int[ratings.length];
+
+        for (int jogador : ordem) {
+            int maisFraco = -1;
+            for (int t = 0; t < numTimes; t++) {
+                if (contagem[t] < jogadoresPorEquipe && (maisFraco < 0 || somas[t] < somas[maisFraco])) {
+                    maisFraco = t;
+                }
+            }
+            atribuicao[jogador] = maisFraco;
+            somas[maisFraco] += ratings[jogador];
+            contagem[maisFraco]++;
+        }
+        return new ResultadoParticao(atribuicao, somas, false, System.nanoTime() - inicio);
+    }
+}
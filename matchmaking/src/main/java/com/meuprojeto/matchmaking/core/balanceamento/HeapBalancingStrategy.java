@@ -0,0 +1,63 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+/**
+ * Mesma regra do GULOSO ("adicionar ao time mais fraco"), mas a equipe mais
+ * fraca vem de um min-heap de índices (arrays primitivos) em vez de uma busca
+ * linear: O(N log K). Equipes completas saem do heap.
+ */
+public class HeapBalancingStrategy implements BalancingStrategy {
+
+    public static final String NOME = "HEAP";
+
+    @Override
+    public String getNome() {
+        return NOME;
+    }
+
+    @Override
+    public ResultadoParticao balancear(double[] ratings, int numTimes, int jogadoresPorEquipe) {
+        long inicio = System.nanoTime();
+        int[] ordem = OrdenacaoIndices.ordenarDecrescente(ratings);
+        double[] somas = new double[numTimes];
+        int[] contagem = new int[numTimes];
+        int[] atribuicao = new int[ratings.length];
+
+        // Heap binário de índices de equipe, ordenado por soma (desempate pelo índice)
+        int[] heap = new int[numTimes];
+        for (int t = 0; t < numTimes; t++) heap[t] = t; // todas as somas começam em 0: já é um heap válido
+        int tamanhoHeap = numTimes;
+
+        for (int jogador : ordem) {
+            int equipe = heap[0];
+            atribuicao[jogador] = equipe;
+            somas[equipe] += ratings[jogador];
+            contagem[equipe]++;
+
+            if (contagem[equipe] == jogadoresPorEquipe) {
+                heap[0] = heap[--tamanhoHeap]; // equipe completa: remove do heap
+            }
+            descer(heap, tamanhoHeap, somas);
+        }
+        return new ResultadoParticao(atribuicao, somas, false, System.nanoTime() - inicio);
+    }
+
+    private static void descer(int[] heap, int tamanho, double[] somas) {
+        int i = 0;
+        while (true) {
+            int esquerda = 2 * i + 1;
+            if (esquerda >= tamanho) return;
+            int menor = esquerda;
+            int direita = esquerda + 1;
+            if (direita < tamanho && vemAntes(heap[direita], heap[esquerda], somas)) menor = direita;
+            if (!vemAntes(heap[menor], heap[i], somas)) return;
+            int temp = heap[i];
+            heap[i] = heap[menor];
+            heap[menor] = temp;
+            i = menor;
+        }
+    }
+
+    private static boolean vemAntes(int a, int b, double[] somas) {
+        return somas[a] < somas[b] || (somas[a] == somas[b] && a < b);
+    }
+}
@@ -0,0 +1,29 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+/**
+ * Particionamento ótimo/quase-ótimo (ParticionadorEquipes), seguido do
+ * refinamento por trocas quando ele estiver habilitado.
+ */
+public class OptimalPartitionBalancingStrategy implements BalancingStrategy {
+
+    public static final String NOME = "PARTICAO_OTIMA";
+
+    private final ParticionadorEquipes particionador;
+    private final RefinadorTrocas refinador; // null = sem refinamento
+
+    public OptimalPartitionBalancingStrategy(ParticionadorEquipes particionador, RefinadorTrocas refinador) {
+        this.particionador = particionador;
+        this.refinador = refinador;
+    }
+
+    @Override
+    public String getNome() {
+        return NOME;
+    }
+
+    @Override
+    public ResultadoParticao balancear(double[] ratings, int numTimes, int jogadoresPorEquipe) {
+        ResultadoParticao particao = particionador.particionar(ratings, numTimes, jogadoresPorEquipe);
+        return refinador != null ? refinador.refinar(ratings, particao) : particao;
+    }
+}
@@ -0,0 +1,53 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+/**
+ * Ordenação de índices por chave double, sem boxing (evita Integer[] + Comparator).
+ */
+public final class OrdenacaoIndices {
+
+    private OrdenacaoIndices() {
+    }
+
+    /**
+     * Devolve os índices de 'chaves' do maior para o menor valor.
+     * Empates mantêm a ordem original: o shell sort não é estável,
+     * por isso o desempate é feito pelo índice.
+     */
+    public static int[] ordenarDecrescente(double[] chaves) {
+        return ordenarDecrescente(chaves, null);
+    }
+
+    /**
+     * Igual a {@link #ordenarDecrescente(double[])}, mas empates são desfeitos
+     * pelo menor valor em 'desempate' (ex: id do jogador), o que torna o
+     * resultado independente da ordem de entrada.
+     */
+    public static int[] ordenarDecrescente(double[] chaves, long[] desempate) {
+        int n = chaves.length;
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) indices[i] = i;
+
+        // Shell sort (sequência de Knuth): simples e rápido para as dezenas/centenas de jogadores de um pool.
+        int passo = 1;
+        while (passo < n / 3) passo = 3 * passo + 1;
+        while (passo >= 1) {
+            for (int i = passo; i < n; i++) {
+                int atual = indices[i];
+                int j = i;
+                while (j >= passo && vemAntes(chaves, desempate, atual, indices[j - passo])) {
+                    indices[j] = indices[j - passo];
+                    j -= passo;
+                }
+                indices[j] = atual;
+            }
+            passo /= 3;
+        }
+        return indices;
+    }
+
+    private static boolean vemAntes(double[] chaves, long[] desempate, int a, int b) {
+        if (chaves[a] != chaves[b]) return chaves[a] > chaves[b];
+        if (desempate != null && desempate[a] != desempate[b]) return desempate[a] < desempate[b];
+        return a < b;
+    }
+}
@@ -0,0 +1,270 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+import java.util.PriorityQueue;
+
+/**
+ * Motor de particionamento multi-equipes (multiway number partitioning).
+ *
+ * Divide N jogadores em K equipes de mesmo tamanho minimizando a diferença
+ * entre a soma de rating da equipe mais forte e a da mais fraca.
+ *
+ * - Pools pequenos (até {@code limiteExato} jogadores): branch-and-bound exato.
+ * - Pools grandes: diferenciação de Karmarkar–Karp balanceada (BLDM).
+ *
+ * O resultado do Karmarkar–Karp é sempre calculado primeiro e serve de
+ * limite inicial para o branch-and-bound. Se o orçamento de tempo estourar,
+ * devolve a melhor solução encontrada até então (marcada como não ótima).
+ */
+public class ParticionadorEquipes {
+
+    /** Orçamento padrão: 5 ms. */
+    public static final long ORCAMENTO_PADRAO_NANOS = 5_000_000L;
+    /** Até quantos jogadores tentamos a busca exata. */
+    public static final int LIMITE_EXATO_PADRAO = 20;
+
+    private static final double EPSILON = 1e-9;
+    /** Verifica o relógio a cada 1024 nós (nanoTime é caro demais para todo nó). */
+    private static final int MASCARA_VERIFICACAO_TEMPO = 1023;
+
+    private final long orcamentoNanos;
+    private final int limiteExato;
+
+    public ParticionadorEquipes() {
+        this(ORCAMENTO_PADRAO_NANOS, LIMITE_EXATO_PADRAO);
+    }
+
+    public ParticionadorEquipes(long orcamentoNanos, int limiteExato) {
+        this.orcamentoNanos = orcamentoNanos;
+        this.limiteExato = limiteExato;
+    }
+
+    /**
+     * @param ratings            rating de cada jogador (o índice é a identidade do jogador)
+     * @param numTimes           quantidade de equipes
+     * @param jogadoresPorEquipe tamanho de cada equipe
+     */
+    public ResultadoParticao particionar(double[] ratings, int numTimes, int jogadoresPorEquipe) {
+        long inicio = System.nanoTime();
+        int n = ratings.length;
+        if (numTimes <= 0 || jogadoresPorEquipe <= 0 || n != numTimes * jogadoresPorEquipe) {
+            throw new IllegalArgumentException("Esperado " + numTimes + " x " + jogadoresPorEquipe
+                    + " jogadores, recebido " + n + ".");
+        }
+
+        int[] ordem = OrdenacaoIndices.ordenarDecrescente(ratings);
+        int[] atribuicao = karmarkarKarp(ratings, ordem, numTimes);
+        boolean otimo = false;
+
+        if (n <= limiteExato && numTimes > 1) {
+            BuscaExata busca = new BuscaExata(ratings, ordem, numTimes, jogadoresPorEquipe,
+                    atribuicao, inicio + orcamentoNanos);
+            busca.executar();
+            otimo = !busca.esgotado;
+        } else if (numTimes == 1) {
+            otimo = true;
+        }
+
+        double[] somas = somarEquipes(ratings, atribuicao, numTimes);
+        return new ResultadoParticao(atribuicao, somas, otimo, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Soma dos ratings de cada equipe.
+     */
+    public static double[] somarEquipes(double[] ratings, int[] atribuicao, int numTimes) {
+        double[] somas = new double[numTimes];
+        for (int i = 0; i < ratings.length; i++) {
+            somas[atribuicao[i]] += ratings[i];
+        }
+        return somas;
+    }
+
+    // --- KARMARKAR–KARP BALANCEADO ---
+
+    /**
+     * Solução parcial: K subconjuntos, cada um identificado por um "grupo".
+     * Ao combinar duas parciais, os grupos da segunda são unidos aos da primeira.
+     */
+    private static final class Parcial {
+        final double[] somas;
+        final int[] grupos;
+        final double diferenca;
+
+        Parcial(double[] somas, int[] grupos) {
+            this.somas = somas;
+            this.grupos = grupos;
+            this.diferenca = ResultadoParticao.calcularDiferenca(somas);
+        }
+    }
+
+    /**
+     * Agrupa os jogadores (já ordenados) em tuplas de K e combina sempre as duas
+     * parciais de maior diferença, casando o subconjunto mais pesado de uma com o
+     * mais leve da outra. Como toda tupla tem um jogador por subconjunto, o
+     * resultado final tem equipes do mesmo tamanho.
+     */
+    private static int[] karmarkarKarp(double[] ratings, int[] ordem, int numTimes) {
+        int n = ratings.length;
+        // Cada jogador começa como seu próprio grupo; 'pai' é uma union-find simples.
+        int[] pai = new int[n];
+        for (int i = 0; i < n; i++) pai[i] = i;
+
+        PriorityQueue<Parcial> fila = new PriorityQueue<>((a, b) -> Double.compare(b.diferenca, a.diferenca));
+        for (int inicio = 0; inicio < n; inicio += numTimes) {
+            double[] somas = new double[numTimes];
+            int[] grupos = new int[numTimes];
+            for (int t = 0; t < numTimes; t++) {
+                int jogador = ordem[inicio + t];
+                somas[t] = ratings[jogador];
+                grupos[t] = jogador;
+            }
+            fila.add(new Parcial(somas, grupos));
+        }
+
+        while (fila.size() > 1) {
+            Parcial a = fila.poll();
+            Parcial b = fila.poll();
+            int[] ordemA = OrdenacaoIndices.ordenarDecrescente(a.somas);
+            int[] ordemB = OrdenacaoIndices.ordenarDecrescente(b.somas);
+
+            double[] somas = new double[numTimes];
+            int[] grupos = new int[numTimes];
+            for (int t = 0; t < numTimes; t++) {
+                int ia = ordemA[t];
+                int ib = ordemB[numTimes - 1 - t]; // mais pesado de A com mais leve de B
+                somas[t] = a.somas[ia] + b.somas[ib];
+                grupos[t] = a.grupos[ia];
+                pai[b.grupos[ib]] = a.grupos[ia];
+            }
+            fila.add(new Parcial(somas, grupos));
+        }
+
+        Parcial finalParcial = fila.poll();
+        int[] equipeDoGrupo = new int[n];
+        for (int t = 0; t < numTimes; t++) {
+            equipeDoGrupo[finalParcial.grupos[t]] = t;
+        }
+        int[] atribuicao = new int[n];
+        for (int i = 0; i < n; i++) {
+            atribuicao[i] = equipeDoGrupo[raiz(pai, i)];
+        }
+        return atribuicao;
+    }
+
+    private static int raiz(int[] pai, int i) {
+        while (pai[i] != i) {
+            pai[i] = pai[pai[i]]; // compressão de caminho
+            i = pai[i];
+        }
+        return i;
+    }
+
+    // --- BRANCH-AND-BOUND EXATO ---
+
+    /**
+     * Busca em profundidade colocando os jogadores (do mais forte ao mais fraco)
+     * em cada equipe com vaga. Poda por limite inferior e por simetria
+     * (duas equipes com mesma soma e mesmo tamanho são intercambiáveis).
+     */
+    private static final class BuscaExata {
+        final double[] ratings;
+        final int[] ordem;
+        final int numTimes;
+        final int tamanho;
+        final long prazo;
+        final double media;
+
+        final double[] somas;
+        final int[] contagem;
+        final int[] atual;          // equipe de cada posição de 'ordem'
+        final int[] melhor;         // atribuição por jogador (mesmo array recebido)
+        double melhorDiferenca;
+        long nos;
+        boolean esgotado;
+
+        BuscaExata(double[] ratings, int[] ordem, int numTimes, int tamanho, int[] incumbente, long prazo) {
+            this.ratings = ratings;
+            this.ordem = ordem;
+            this.numTimes = numTimes;
+            this.tamanho = tamanho;
+            this.prazo = prazo;
+            double total = 0.0;
+            for (double r : ratings) total += r;
+            this.media = total / numTimes;
+            this.somas = new double[numTimes];
+            this.contagem = new int[numTimes];
+            this.atual = new int[ratings.length];
+            this.melhor = incumbente;
+            this.melhorDiferenca = ResultadoParticao.calcularDiferenca(somarEquipes(ratings, incumbente, numTimes));
+        }
+
+        void executar() {
+            if (melhorDiferenca > EPSILON) {
+                buscar(0);
+            }
+        }
+
+        private void buscar(int pos) {
+            if ((++nos & MASCARA_VERIFICACAO_TEMPO) == 0 && System.nanoTime() > prazo) {
+                esgotado = true;
+            }
+            if (esgotado) return;
+
+            int n = ordem.length;
+            if (pos == n) {
+                double diferenca = ResultadoParticao.calcularDiferenca(somas);
+                if (diferenca < melhorDiferenca - EPSILON) {
+                    melhorDiferenca = diferenca;
+                    for (int p = 0; p < n; p++) melhor[ordem[p]] = atual[p];
+                }
+                return;
+            }
+
+            double rating = ratings[ordem[pos]];
+            for (int t = 0; t < numTimes; t++) {
+                if (contagem[t] == tamanho || equivalenteAnterior(t)) continue;
+
+                somas[t] += rating;
+                contagem[t]++;
+                if (limiteInferior(pos + 1) < melhorDiferenca - EPSILON) {
+                    atual[pos] = t;
+                    buscar(pos + 1);
+                }
+                somas[t] -= rating;
+                contagem[t]--;
+
+                if (esgotado || melhorDiferenca <= EPSILON) return;
+            }
+        }
+
+        private boolean equivalenteAnterior(int t) {
+            for (int u = 0; u < t; u++) {
+                if (contagem[u] == contagem[t] && somas[u] == somas[t]) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Limite inferior da diferença final, considerando que os jogadores
+         * restantes (a partir de 'proximo') ainda serão distribuídos.
+         * A equipe mais forte termina com pelo menos max(maiorMínimo, média)
+         * e a mais fraca com no máximo min(menorMáximo, média).
+         */
+        private double limiteInferior(int proximo) {
+            int n = ordem.length;
+            double maiorRestante = proximo < n ? ratings[ordem[proximo]] : 0.0;
+            double menorRestante = proximo < n ? ratings[ordem[n - 1]] : 0.0;
+
+            double maiorMinimo = Double.NEGATIVE_INFINITY;
+            double menorMaximo = Double.POSITIVE_INFINITY;
+            for (int t = 0; t < numTimes; t++) {
+                int vagas = tamanho - contagem[t];
+                double minimoFinal = somas[t] + vagas * menorRestante;
+                double maximoFinal = somas[t] + vagas * maiorRestante;
+                if (minimoFinal > maiorMinimo) maiorMinimo = minimoFinal;
+                if (maximoFinal < menorMaximo) menorMaximo = maximoFinal;
+            }
+            return Math.max(maiorMinimo, media) - Math.min(menorMaximo, media);
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Particionamento com grupos pré-formados ("parties"/premades).
+ *
+ * Jogadores que chegam juntos (2–3 amigos) precisam cair na mesma equipe.
+ * Cada grupo vira um item indivisível com peso (soma dos ratings) e tamanho
+ * (número de jogadores); as equipes continuam com exatamente
+ * jogadoresPorEquipe jogadores, e o objetivo é o mesmo de ParticionadorEquipes:
+ * minimizar a diferença entre a soma da equipe mais forte e a da mais fraca.
+ *
+ * 1. Guloso: itens do maior para o menor (tamanho, depois peso), cada um na
+ *    equipe mais fraca com vaga. Se algum item não couber (ex: 3+3 / 2+2+2),
+ *    um encaixe só pelos tamanhos (busca completa, sem prazo) acha uma divisão
+ *    válida ou prova que não existe; o resultado não depende da carga da máquina.
+ * 2. Trocas: troca itens do mesmo tamanho entre equipes enquanto a diferença cair.
+ * 3. Branch-and-bound sobre os itens, limitado pelo orçamento de tempo: prova
+ *    o ótimo em pools pequenos; se o prazo acabar, fica a melhor divisão até ali.
+ */
+public class ParticionadorGrupos {
+
+    /** Orçamento padrão: 5 ms. */
+    public static final long ORCAMENTO_PADRAO_NANOS = ParticionadorEquipes.ORCAMENTO_PADRAO_NANOS;
+
+    /** Em grupoDoJogador, valores negativos marcam jogadores sozinhos. */
+    public static final int SEM_GRUPO = -1;
+
+    private static final double EPSILON = 1e-9;
+    private static final int MASCARA_VERIFICACAO_TEMPO = 1023;
+
+    private final long orcamentoNanos;
+
+    public ParticionadorGrupos() {
+        this(ORCAMENTO_PADRAO_NANOS);
+    }
+
+    public ParticionadorGrupos(long orcamentoNanos) {
+        this.orcamentoNanos = orcamentoNanos;
+    }
+
+    /**
+     * @param ratings        rating de cada jogador (o índice é a identidade do jogador)
+     * @param grupoDoJogador jogadores com o mesmo valor (>= 0) ficam juntos; SEM_GRUPO = sozinho
+     */
+    public ResultadoParticao particionar(double[] ratings, int[] grupoDoJogador, int numTimes, int jogadoresPorEquipe) {
+        long inicio = System.nanoTime();
+        int n = ratings.length;
+        if (numTimes <= 0 || jogadoresPorEquipe <= 0 || n != numTimes * jogadoresPorEquipe || grupoDoJogador.length != n) {
+            throw new IllegalArgumentException("Esperado " + numTimes + " x " + jogadoresPorEquipe
+                    + " jogadores, recebido " + n + ".");
+        }
+
+        Itens itens = agrupar(ratings, grupoDoJogador, jogadoresPorEquipe);
+        int[] equipeDoItem = new int[itens.quantidade];
+        if (!gulosoPorItens(itens, numTimes, jogadoresPorEquipe, equipeDoItem)
+                && !encaixarPorTamanho(itens, numTimes, jogadoresPorEquipe, equipeDoItem)) {
+            throw new IllegalArgumentException("Não foi possível encaixar os grupos em " + numTimes
+                    + " equipes de " + jogadoresPorEquipe + " jogadores.");
+        }
+        double melhorDiferenca = melhorarComTrocas(itens, numTimes, equipeDoItem);
+
+        BuscaExata busca = new BuscaExata(itens, numTimes, jogadoresPorEquipe, equipeDoItem,
+                melhorDiferenca, inicio + orcamentoNanos);
+        busca.executar();
+
+        int[] atribuicao = new int[n];
+        for (int item = 0; item < itens.quantidade; item++) {
+            for (int jogador : itens.membros[item]) {
+                atribuicao[jogador] = equipeDoItem[item];
+            }
+        }
+        double[] somas = ParticionadorEquipes.somarEquipes(ratings, atribuicao, numTimes);
+        return new ResultadoParticao(atribuicao, somas, !busca.esgotado, System.nanoTime() - inicio);
+    }
+
+    // --- ITENS (GRUPOS) ---
+
+    /**
+     * Itens ordenados do maior para o menor tamanho (empate: maior peso).
+     * Também guarda, para cada posição, o maior e o menor rating individual
+     * dos itens dali em diante (usados no limite inferior da busca).
+     */
+    private static final class Itens {
+        final int quantidade;
+        final double[] peso;
+        final int[] tamanho;
+        final int[][] membros;
+        final double[] maiorRatingRestante;
+        final double[] menorRatingRestante;
+
+        Itens(double[] peso, int[] tamanho, int[][] membros, double[] ratings) {
+            this.quantidade = peso.length;
+            this.peso = peso;
+            this.tamanho = tamanho;
+            this.membros = membros;
+            this.maiorRatingRestante = new double[quantidade + 1];
+            this.menorRatingRestante = new double[quantidade + 1];
+            maiorRatingRestante[quantidade] = 0.0;
+            menorRatingRestante[quantidade] = 0.0;
+            double maior = Double.NEGATIVE_INFINITY;
+            double menor = Double.POSITIVE_INFINITY;
+            for (int item = quantidade - 1; item >= 0; item--) {
+                for (int jogador : membros[item]) {
+                    maior = Math.max(maior, ratings[jogador]);
+                    menor = Math.min(menor, ratings[jogador]);
+                }
+                maiorRatingRestante[item] = maior;
+                menorRatingRestante[item] = menor;
+            }
+        }
+    }
+
+    private static Itens agrupar(double[] ratings, int[] grupoDoJogador, int jogadoresPorEquipe) {
+        int n = ratings.length;
+        Map<Integer, Integer> itemDoGrupo = new HashMap<>();
+        int[] itemDoJogador = new int[n];
+        int quantidade = 0;
+        for (int i = 0; i < n; i++) {
+            int grupo = grupoDoJogador[i];
+            if (grupo < 0) {
+                itemDoJogador[i] = quantidade++;
+            } else {
+                Integer item = itemDoGrupo.get(grupo);
+                if (item == null) {
+                    item = quantidade++;
+                    itemDoGrupo.put(grupo, item);
+                }
+                itemDoJogador[i] = item;
+            }
+        }
+
+        double[] peso = new double[quantidade];
+        int[] tamanho = new int[quantidade];
+        for (int i = 0; i < n; i++) {
+            peso[itemDoJogador[i]] += ratings[i];
+            tamanho[itemDoJogador[i]]++;
+        }
+        int[][] membros = new int[quantidade][];
+        for (int item = 0; item < quantidade; item++) {
+            if (tamanho[item] > jogadoresPorEquipe) {
+                throw new IllegalArgumentException("Grupo com " + tamanho[item] + " jogadores não cabe em uma equipe de "
+                        + jogadoresPorEquipe + ".");
+            }
+            membros[item] = new int[tamanho[item]];
+        }
+        int[] preenchidos = new int[quantidade];
+        for (int i = 0; i < n; i++) {
+            int item = itemDoJogador[i];
+            membros[item][preenchidos[item]++] = i;
+        }
+
+        // Ordena por tamanho e depois por peso (chave composta; o peso nunca passa de n * maior rating)
+        double escala = 1.0;
+        for (double p : peso) escala = Math.max(escala, Math.abs(p) * 2 + 1);
+        double[] chave = new double[quantidade];
+        for (int item = 0; item < quantidade; item++) chave[item] = tamanho[item] * escala + peso[item];
+        int[] ordem = OrdenacaoIndices.ordenarDecrescente(chave);
+
+        double[] pesoOrdenado = new double[quantidade];
+        int[] tamanhoOrdenado = new int[quantidade];
+        int[][] membrosOrdenados = new int[quantidade][];
+        for (int pos = 0; pos < quantidade; pos++) {
+            pesoOrdenado[pos] = peso[ordem[pos]];
+            tamanhoOrdenado[pos] = tamanho[ordem[pos]];
+            membrosOrdenados[pos] = membros[ordem[pos]];
+        }
+        return new Itens(pesoOrdenado, tamanhoOrdenado, membrosOrdenados, ratings);
+    }
+
+    // --- GULOSO + TROCAS ---
+
+    /**
+     * @return false se algum item não coube em nenhuma equipe
+     */
+    private static boolean gulosoPorItens(Itens itens, int numTimes, int tamanhoEquipe, int[] equipeDoItem) {
+        double[] somas = new double[numTimes];
+        int[] contagem = new int[numTimes];
+        for (int item = 0; item < itens.quantidade; item++) {
+            int escolhida = -1;
+            for (int t = 0; t < numTimes; t++) {
+                if (contagem[t] + itens.tamanho[item] > tamanhoEquipe) continue;
+                if (escolhida == -1 || somas[t] < somas[escolhida]
+                        || (somas[t] == somas[escolhida] && contagem[t] < contagem[escolhida])) {
+                    escolhida = t;
+                }
+            }
+            if (escolhida == -1) return false;
+            equipeDoItem[item] = escolhida;
+            somas[escolhida] += itens.peso[item];
+            contagem[escolhida] += itens.tamanho[item];
+        }
+        return true;
+    }
+
+    /**
+     * Encaixe só pelos tamanhos (bin packing exato: cada equipe termina cheia),
+     * para quando o guloso não consegue. Itens do maior para o menor; estados
+     * que já falharam (próximo item + vagas de cada equipe, sem ordem) são
+     * memorizados, como em SelecaoGrupos: a busca é completa e não tem prazo.
+     *
+     * @return false se não há como encaixar os itens
+     */
+    private static boolean encaixarPorTamanho(Itens itens, int numTimes, int tamanhoEquipe, int[] equipeDoItem) {
+        int[] vagas = new int[numTimes];
+        Arrays.fill(vagas, tamanhoEquipe);
+        return encaixar(itens.tamanho, 0, vagas, equipeDoItem, new HashSet<>());
+    }
+
+    private static boolean encaixar(int[] tamanho, int item, int[] vagas, int[] equipeDoItem, Set<String> falhas) {
+        if (item == tamanho.length) return true; // Soma dos tamanhos = vagas: todas as equipes cheias
+
+        int[] ordenadas = vagas.clone();
+        Arrays.sort(ordenadas);
+        String estado = item + ":" + Arrays.toString(ordenadas);
+        if (falhas.contains(estado)) return false;
+
+        for (int t = 0; t < vagas.length; t++) {
+            if (vagas[t] < tamanho[item] || mesmasVagasAntes(vagas, t)) continue;
+            vagas[t] -= tamanho[item];
+            equipeDoItem[item] = t;
+            boolean achou = encaixar(tamanho, item + 1, vagas, equipeDoItem, falhas);
+            vagas[t] += tamanho[item];
+            if (achou) return true;
+        }
+        falhas.add(estado);
+        return false;
+    }
+
+    private static boolean mesmasVagasAntes(int[] vagas, int t) {
+        for (int anterior = 0; anterior < t; anterior++) {
+            if (vagas[anterior] == vagas[t]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Troca pares de itens do mesmo tamanho entre equipes (mantém o tamanho
+     * das equipes) enquanto houver troca que reduza a diferença.
+     *
+     * @return a diferença final
+     */
+    private static double melhorarComTrocas(Itens itens, int numTimes, int[] equipeDoItem) {
+        double[] somas = new double[numTimes];
+        for (int item = 0; item < itens.quantidade; item++) somas[equipeDoItem[item]] += itens.peso[item];
+        double atual = ResultadoParticao.calcularDiferenca(somas);
+
+        boolean melhorou = true;
+        while (melhorou && atual > EPSILON) {
+            melhorou = false;
+            int melhorA = -1, melhorB = -1;
+            double melhorDiferenca = atual;
+            for (int a = 0; a < itens.quantidade; a++) {
+                for (int b = a + 1; b < itens.quantidade && itens.tamanho[b] == itens.tamanho[a]; b++) {
+                    int ta = equipeDoItem[a], tb = equipeDoItem[b];
+                    if (ta == tb) continue;
+                    double delta = itens.peso[b] - itens.peso[a];
+                    somas[ta] += delta;
+                    somas[tb] -= delta;
+                    double diferenca = ResultadoParticao.calcularDiferenca(somas);
+                    somas[ta] -= delta;
+                    somas[tb] += delta;
+                    if (diferenca < melhorDiferenca - EPSILON) {
+                        melhorDiferenca = diferenca;
+                        melhorA = a;
+                        melhorB = b;
+                    }
+                }
+            }
+            if (melhorA != -1) {
+                int ta = equipeDoItem[melhorA], tb = equipeDoItem[melhorB];
+                double delta = itens.peso[melhorB] - itens.peso[melhorA];
+                somas[ta] += delta;
+                somas[tb] -= delta;
+                equipeDoItem[melhorA] = tb;
+                equipeDoItem[melhorB] = ta;
+                atual = melhorDiferenca;
+                melhorou = true;
+            }
+        }
+        return atual;
+    }
+
+    // --- BRANCH-AND-BOUND SOBRE ITENS ---
+
+    /**
+     * Coloca os itens (maiores primeiro) em cada equipe com vagas suficientes,
+     * tentando primeiro a equipe mais fraca. Mesmas podas de
+     * ParticionadorEquipes: limite inferior e simetria entre equipes iguais.
+     */
+    private static final class BuscaExata {
+        final Itens itens;
+        final int numTimes;
+        final int tamanhoEquipe;
+        final long prazo;
+        final double media;
+
+        final double[] somas;
+        final int[] contagem;
+        final int[] atual;
+        final int[] melhor;
+        final int[] ordemEquipes;
+        double melhorDiferenca;
+        long nos;
+        boolean esgotado;
+
+        BuscaExata(Itens itens, int numTimes, int tamanhoEquipe, int[] incumbente, double diferencaIncumbente, long prazo) {
+            this.itens = itens;
+            this.numTimes = numTimes;
+            this.tamanhoEquipe = tamanhoEquipe;
+            this.prazo = prazo;
+            double total = 0.0;
+            for (double p : itens.peso) total += p;
+            this.media = total / numTimes;
+            this.somas = new double[numTimes];
+            this.contagem = new int[numTimes];
+            this.atual = new int[itens.quantidade];
+            this.melhor = incumbente;
+            this.ordemEquipes = new int[numTimes * (itens.quantidade + 1)];
+            this.melhorDiferenca = diferencaIncumbente;
+        }
+
+        void executar() {
+            if (melhorDiferenca > EPSILON) {
+                buscar(0);
+            }
+        }
+
+        private void buscar(int item) {
+            if ((++nos & MASCARA_VERIFICACAO_TEMPO) == 0 && System.nanoTime() > prazo) {
+                esgotado = true;
+            }
+            if (esgotado) return;
+
+            if (item == itens.quantidade) {
+                double diferenca = ResultadoParticao.calcularDiferenca(somas);
+                if (diferenca < melhorDiferenca - EPSILON) {
+                    melhorDiferenca = diferenca;
+                    System.arraycopy(atual, 0, melhor, 0, atual.length);
+                }
+                return;
+            }
+
+            // Equipes da mais fraca para a mais forte (a primeira folha parece o guloso)
+            int base = item * numTimes;
+            for (int t = 0; t < numTimes; t++) {
+                int pos = t;
+                while (pos > 0 && somas[ordemEquipes[base + pos - 1]] > somas[t]) {
+                    ordemEquipes[base + pos] = ordemEquipes[base + pos - 1];
+                    pos--;
+                }
+                ordemEquipes[base + pos] = t;
+            }
+
+            int tamanhoItem = itens.tamanho[item];
+            double peso = itens.peso[item];
+            for (int k = 0; k < numTimes; k++) {
+                int t = ordemEquipes[base + k];
+                if (contagem[t] + tamanhoItem > tamanhoEquipe || equivalenteAnterior(t)) continue;
+
+                somas[t] += peso;
+                contagem[t] += tamanhoItem;
+                if (limiteInferior(item + 1) < melhorDiferenca - EPSILON) {
+                    atual[item] = t;
+                    buscar(item + 1);
+                }
+                somas[t] -= peso;
+                contagem[t] -= tamanhoItem;
+
+                if (esgotado || melhorDiferenca <= EPSILON) return;
+            }
+        }
+
+        private boolean equivalenteAnterior(int t) {
+            for (int u = 0; u < t; u++) {
+                if (contagem[u] == contagem[t] && somas[u] == somas[t]) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Cada vaga livre será ocupada por um jogador dos itens restantes, então
+         * cada equipe termina entre somas + vagas * menorRestante e
+         * somas + vagas * maiorRestante (como em ParticionadorEquipes).
+         */
+        private double limiteInferior(int proximo) {
+            double maiorRestante = itens.maiorRatingRestante[proximo];
+            double menorRestante = itens.menorRatingRestante[proximo];
+
+            double maiorMinimo = Double.NEGATIVE_INFINITY;
+            double menorMaximo = Double.POSITIVE_INFINITY;
+            for (int t = 0; t < numTimes; t++) {
+                int vagas = tamanhoEquipe - contagem[t];
+                double minimoFinal = somas[t] + vagas * menorRestante;
+                double maximoFinal = somas[t] + vagas * maiorRestante;
+                if (minimoFinal > maiorMinimo) maiorMinimo = minimoFinal;
+                if (maximoFinal < menorMaximo) menorMaximo = maximoFinal;
+            }
+            return Math.max(maiorMinimo, media) - Math.min(menorMaximo, media);
+        }
+    }
+}
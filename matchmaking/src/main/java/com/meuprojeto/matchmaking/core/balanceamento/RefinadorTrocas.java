@@ -0,0 +1,117 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+/**
+ * Etapa opcional de refinamento depois do particionamento inicial.
+ *
+ * Faz busca local por trocas de pares (um jogador de cada equipe) com
+ * simulated annealing, até estourar o limite de iterações ou de tempo.
+ * Como só troca jogadores, o tamanho de cada equipe nunca muda.
+ *
+ * Todo o laço interno trabalha sobre arrays primitivos pré-alocados:
+ * nenhuma alocação por iteração, e o custo de avaliar uma troca é O(1).
+ */
+public class RefinadorTrocas {
+
+    public static final int MAX_ITERACOES_PADRAO = 200_000;
+    public static final long ORCAMENTO_PADRAO_NANOS = 2_000_000L;
+
+    private static final double EPSILON = 1e-9;
+    private static final int MASCARA_VERIFICACAO_TEMPO = 4095;
+    /** Temperatura final relativa à inicial (resfriamento geométrico). */
+    private static final double FATOR_TEMPERATURA_FINAL = 1e-4;
+
+    private final int maxIteracoes;
+    private final long orcamentoNanos;
+    private final long semente;
+
+    public RefinadorTrocas() {
+        this(MAX_ITERACOES_PADRAO, ORCAMENTO_PADRAO_NANOS);
+    }
+
+    public RefinadorTrocas(int maxIteracoes, long orcamentoNanos) {
+        this(maxIteracoes, orcamentoNanos, System.nanoTime());
+    }
+
+    public RefinadorTrocas(int maxIteracoes, long orcamentoNanos, long semente) {
+        this.maxIteracoes = maxIteracoes;
+        this.orcamentoNanos = orcamentoNanos;
+        this.semente = semente == 0 ? 0x9E3779B97F4A7C15L : semente;
+    }
+
+    /**
+     * Refina uma divisão existente. A divisão recebida não é alterada.
+     * Se já for ótima (ou perfeita), é devolvida como está.
+     */
+    public ResultadoParticao refinar(double[] ratings, ResultadoParticao inicial) {
+        if (inicial.isOtimo() || inicial.getDiferenca() <= EPSILON) {
+            return inicial;
+        }
+        long inicio = System.nanoTime();
+        long prazo = inicio + orcamentoNanos;
+
+        int n = ratings.length;
+        int numTimes = inicial.getSomasEquipes().length;
+        int[] atual = inicial.getAtribuicao().clone();
+        int[] melhor = atual.clone();
+        double[] somas = inicial.getSomasEquipes().clone();
+
+        double media = 0.0;
+        for (double soma : somas) media += soma;
+        media /= numTimes;
+
+        // Energia = soma dos quadrados dos desvios da média (suave, delta O(1) por troca).
+        double energia = 0.0;
+        for (double soma : somas) energia += (soma - media) * (soma - media);
+        double melhorEnergia = energia;
+        double melhorDiferenca = inicial.getDiferenca();
+
+        double temperatura = Math.max(melhorDiferenca * melhorDiferenca, 1.0);
+        double resfriamento = Math.pow(FATOR_TEMPERATURA_FINAL, 1.0 / Math.max(1, maxIteracoes));
+        long estado = semente;
+
+        for (int iteracao = 0; iteracao < maxIteracoes; iteracao++) {
+            if ((iteracao & MASCARA_VERIFICACAO_TEMPO) == 0 && System.nanoTime() > prazo) break;
+            temperatura *= resfriamento;
+
+            // xorshift64: gerador inline, sem objeto Random no laço
+            estado ^= estado << 13; estado ^= estado >>> 7; estado ^= estado << 17;
+            int a = (int) ((estado >>> 33) % n);
+            estado ^= estado << 13; estado ^= estado >>> 7; estado ^= estado << 17;
+            int b = (int) ((estado >>> 33) % n);
+
+            int ta = atual[a];
+            int tb = atual[b];
+            if (ta == tb) continue;
+
+            // A recebe b e perde a; B recebe a e perde b
+            double d = ratings[b] - ratings[a];
+            double delta = 2.0 * d * (somas[ta] - somas[tb]) + 2.0 * d * d;
+
+            if (delta > 0.0) {
+                estado ^= estado << 13; estado ^= estado >>> 7; estado ^= estado << 17;
+                double sorteio = (estado >>> 11) * 0x1.0p-53;
+                if (sorteio >= Math.exp(-delta / temperatura)) continue;
+            }
+
+            atual[a] = tb;
+            atual[b] = ta;
+            somas[ta] += d;
+            somas[tb] -= d;
+            energia += delta;
+
+            if (energia < melhorEnergia - EPSILON) {
+                melhorEnergia = energia;
+                double diferenca = ResultadoParticao.calcularDiferenca(somas);
+                if (diferenca < melhorDiferenca - EPSILON) {
+                    melhorDiferenca = diferenca;
+                    System.arraycopy(atual, 0, melhor, 0, n);
+                    if (melhorDiferenca <= EPSILON) break;
+                }
+            }
+        }
+
+        double[] somasFinais = ParticionadorEquipes.somarEquipes(ratings, melhor, numTimes);
+        return new ResultadoParticao(melhor, somasFinais, false,
+                inicial.getDuracaoNanos() + (System.nanoTime() - inicio));
+    }
+}
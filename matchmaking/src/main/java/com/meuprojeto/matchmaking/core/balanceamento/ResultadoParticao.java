@@ -0,0 +1,54 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+/**
+ * Resultado de uma divisão de jogadores em equipes.
+ * Trabalha apenas com índices e arrays primitivos (sem entidades JPA).
+ */
+public class ResultadoParticao {
+
+    /** Para cada jogador (na ordem do array de ratings recebido), o índice da equipe. */
+    private final int[] atribuicao;
+
+    /** Soma dos ratings de cada equipe. */
+    private final double[] somasEquipes;
+
+    /** Diferença entre a equipe mais forte e a mais fraca (soma dos ratings). */
+    private final double diferenca;
+
+    /** true se a busca exata terminou dentro do orçamento (resultado comprovadamente ótimo). */
+    private final boolean otimo;
+
+    /** Tempo gasto no particionamento. */
+    private final long duracaoNanos;
+
+    public ResultadoParticao(int[] atribuicao, double[] somasEquipes, boolean otimo, long duracaoNanos) {
+        this.atribuicao = atribuicao;
+        this.somasEquipes = somasEquipes;
+        this.diferenca = calcularDiferenca(somasEquipes);
+        this.otimo = otimo;
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    /**
+     * Maior soma menos a menor soma.
+     */
+    public static double calcularDiferenca(double[] somas) {
+        double max = Double.NEGATIVE_INFINITY;
+        double min = Double.POSITIVE_INFINITY;
+        for (double soma : somas) {
+            if (soma > max) max = soma;
+            if (soma < min) min = soma;
+        }
+        return somas.length == 0 ? 0.0 : max - min;
+    }
+
+    public int[] getAtribuicao() { return atribuicao; }
+
+    public double[] getSomasEquipes() { return somasEquipes; }
+
+    public double getDiferenca() { return diferenca; }
+
+    public boolean isOtimo() { return otimo; }
+
+    public long getDuracaoNanos() { return duracaoNanos; }
+}
@@ -0,0 +1,31 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+/**
+ * "Draft em serpentina": com os jogadores ordenados do melhor para o pior,
+ * as equipes escolhem na ordem A, B, C, C, B, A, A, B, C...
+ * O(N) depois da ordenação; não olha as somas, só a posição no ranking.
+ */
+public class SnakeDraftBalancingStrategy implements BalancingStrategy {
+
+    public static final String NOME = "SERPENTINA";
+
+    @Override
+    public String getNome() {
+        return NOME;
+    }
+
+    @Override
+    public ResultadoParticao balancear(double[] ratings, int numTimes, int jogadoresPorEquipe) {
+        long inicio = System.nanoTime();
+        int[] ordem = OrdenacaoIndices.ordenarDecrescente(ratings);
+        int[] atribuicao = new int[ratings.length];
+
+        for (int pos = 0; pos < ordem.length; pos++) {
+            int rodada = pos / numTimes;
+            int posicaoNaRodada = pos % numTimes;
+            atribuicao[ordem[pos]] = (rodada % 2 == 0) ? posicaoNaRodada : numTimes - 1 - posicaoNaRodada;
+        }
+        double[] somas = ParticionadorEquipes.somarEquipes(ratings, atribuicao, numTimes);
+        return new ResultadoParticao(atribuicao, somas, false, System.nanoTime() - inicio);
+    }
+}
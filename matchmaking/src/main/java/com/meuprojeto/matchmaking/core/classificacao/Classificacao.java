@@ -0,0 +1,216 @@
+package com.meuprojeto.matchmaking.core.classificacao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classificação de jogadores por rating (maior primeiro; empate: menor id).
+ *
+ * Skip list indexável: cada ligação guarda quantas posições ela pula, então
+ * a posição de um jogador, o jogador de uma posição e a atualização de um
+ * rating custam O(log n), sem ordenar todos os jogadores. Top N e "jogadores
+ * ao redor" andam a partir daí pelo nível 0.
+ *
+ * Não é thread-safe: quem usa sincroniza (ver ClassificacaoService).
+ */
+public class Classificacao {
+
+    /** Posição de quem não está na classificação. */
+    public static final int SEM_POSICAO = -1;
+
+    /** Níveis da skip list (com p = 1/2, suficiente para milhões de jogadores). */
+    private static final int MAX_NIVEIS = 24;
+
+    private static final class No {
+        final long idJogador;
+        final double rating;
+        final No[] proximo;
+        /** Posições (nível 0) entre este nó e proximo[nivel]. */
+        final int[] largura;
+
+        No(long idJogador, double rating, int niveis) {
+            this.idJogador = idJogador;
+            this.rating = rating;
+            this.proximo = new No[niveis];
+            this.largura = new int[niveis];
+        }
+    }
+
+    /** Depois do último jogador (rating -infinito): as buscas param nele. */
+    private final No cauda = new No(Long.MAX_VALUE, Double.NEGATIVE_INFINITY, 0);
+    private final No cabeca = new No(Long.MIN_VALUE, Double.POSITIVE_INFINITY, MAX_NIVEIS);
+    private final Map<Long, No> porJogador = new HashMap<>();
+    private long semente = 0x9E3779B97F4A7C15L;
+
+    public Classificacao() {
+        for (int nivel = 0; nivel < MAX_NIVEIS; nivel++) {
+            cabeca.proximo[nivel] = cauda;
+            cabeca.largura[nivel] = 1;
+        }
+    }
+
+    public int tamanho() {
+        return porJogador.size();
+    }
+
+    public boolean contem(long idJogador) {
+        return porJogador.containsKey(idJogador);
+    }
+
+    /**
+     * Rating do jogador na classificação, ou NaN se ele não está nela.
+     */
+    public double ratingDe(long idJogador) {
+        No no = porJogador.get(idJogador);
+        return no != null ? no.rating : Double.NaN;
+    }
+
+    /**
+     * Inclui o jogador ou muda o rating dele (e, com isso, a posição).
+     */
+    public void atualizar(long idJogador, double rating) {
+        No atual = porJogador.get(idJogador);
+        if (atual != null) {
+            if (atual.rating == rating) return;
+            desligar(atual);
+        }
+        inserir(idJogador, rating);
+    }
+
+    /**
+     * @return false se o jogador não estava na classificação
+     */
+    public boolean remover(long idJogador) {
+        No no = porJogador.remove(idJogador);
+        if (no == null) return false;
+        desligar(no);
+        return true;
+    }
+
+    /**
+     * Posição do jogador (1 = primeiro), ou SEM_POSICAO.
+     */
+    public int posicao(long idJogador) {
+        No no = porJogador.get(idJogador);
+        if (no == null) return SEM_POSICAO;
+        No atual = cabeca;
+        int passos = 0;
+        for (int nivel = MAX_NIVEIS - 1; nivel >= 0; nivel--) {
+            while (antes(atual.proximo[nivel], no.rating, no.idJogador)) {
+                passos += atual.largura[nivel];
+                atual = atual.proximo[nivel];
+            }
+        }
+        return passos + 1;
+    }
+
+    /**
+     * Os n primeiros (ou todos, se houver menos).
+     */
+    public List<PosicaoClassificacao> topo(int n) {
+        return aPartirDe(1, n);
+    }
+
+    /**
+     * O jogador e até 'raio' jogadores antes e depois dele; vazia se ele não
+     * está na classificação.
+     */
+    public List<PosicaoClassificacao> aoRedor(long idJogador, int raio) {
+        int posicao = posicao(idJogador);
+        if (posicao == SEM_POSICAO) return List.of();
+        int inicio = Math.max(1, posicao - raio);
+        return aPartirDe(inicio, posicao + raio - inicio + 1);
+    }
+
+    /**
+     * Até 'quantidade' jogadores a partir da posição 'inicio' (1 = primeiro).
+     */
+    public List<PosicaoClassificacao> aPartirDe(int inicio, int quantidade) {
+        int fim = Math.min(tamanho(), inicio + quantidade - 1);
+        if (inicio < 1 || fim < inicio) return List.of();
+        List<PosicaoClassificacao> lista = new ArrayList<>(fim - inicio + 1);
+        No no = naPosicao(inicio);
+        for (int posicao = inicio; posicao <= fim; posicao++) {
+            lista.add(new PosicaoClassificacao(posicao, no.idJogador, no.rating));
+            no = no.proximo[0];
+        }
+        return lista;
+    }
+
+    // --- Skip list ---
+
+    /** true se 'no' vem antes de (rating, idJogador) na ordem da classificação. */
+    private boolean antes(No no, double rating, long idJogador) {
+        if (no == cauda) return false;
+        int porRating = Double.compare(rating, no.rating);
+        return porRating != 0 ? porRating < 0 : no.idJogador < idJogador;
+    }
+
+    private No naPosicao(int posicao) {
+        No atual = cabeca;
+        int restante = posicao;
+        for (int nivel = MAX_NIVEIS - 1; nivel >= 0; nivel--) {
+            while (atual.largura[nivel] <= restante) {
+                restante -= atual.largura[nivel];
+                atual = atual.proximo[nivel];
+            }
+        }
+        return atual;
+    }
+
+    private void inserir(long idJogador, double rating) {
+        No[] anteriores = new No[MAX_NIVEIS];
+        int[] passosNoNivel = new int[MAX_NIVEIS];
+        No atual = cabeca;
+        for (int nivel = MAX_NIVEIS - 1; nivel >= 0; nivel--) {
+            while (antes(atual.proximo[nivel], rating, idJogador)) {
+                passosNoNivel[nivel] += atual.largura[nivel];
+                atual = atual.proximo[nivel];
+            }
+            anteriores[nivel] = atual;
+        }
+
+        No novo = new No(idJogador, rating, sortearNiveis());
+        int passos = 0;
+        for (int nivel = 0; nivel < novo.proximo.length; nivel++) {
+            No anterior = anteriores[nivel];
+            novo.proximo[nivel] = anterior.proximo[nivel];
+            anterior.proximo[nivel] = novo;
+            novo.largura[nivel] = anterior.largura[nivel] - passos;
+            anterior.largura[nivel] = passos + 1;
+            passos += passosNoNivel[nivel];
+        }
+        for (int nivel = novo.proximo.length; nivel < MAX_NIVEIS; nivel++) {
+            anteriores[nivel].largura[nivel]++;
+        }
+        porJogador.put(idJogador, novo);
+    }
+
+    /** Tira o nó da lista (não mexe em porJogador). */
+    private void desligar(No alvo) {
+        No atual = cabeca;
+        for (int nivel = MAX_NIVEIS - 1; nivel >= 0; nivel--) {
+            while (antes(atual.proximo[nivel], alvo.rating, alvo.idJogador)) {
+                atual = atual.proximo[nivel];
+            }
+            if (nivel < alvo.proximo.length) {
+                // atual.proximo[nivel] == alvo
+                atual.largura[nivel] += alvo.largura[nivel] - 1;
+                atual.proximo[nivel] = alvo.proximo[nivel];
+            } else {
+                atual.largura[nivel]--;
+            }
+        }
+    }
+
+    /** 1 + número de "caras" seguidas (p = 1/2), limitado a MAX_NIVEIS. */
+    private int sortearNiveis() {
+        // xorshift64
+        semente ^= semente << 13;
+        semente ^= semente >>> 7;
+        semente ^= semente << 17;
+        return Math.min(MAX_NIVEIS, 1 + Long.numberOfTrailingZeros(semente | (1L << (MAX_NIVEIS - 1))));
+    }
+}
@@ -0,0 +1,6 @@
+package com.meuprojeto.matchmaking.core.classificacao;
+
+/**
+ * Um jogador na classificação (posição 1 = maior rating).
+ */
+public record PosicaoClassificacao(int posicao, long idJogador, double rating) {}
@@ -0,0 +1,237 @@
+package com.meuprojeto.matchmaking.core.elo;
+
+import java.util.Arrays;
+
+/**
+ * O CORAÇÃO DO ELO (Sugestão 1: Rating e MVP/Destaque), sem dependência de JPA.
+ *
+ * Trabalha só com primitivos: o serviço lê os ratings das entidades,
+ * chama esta classe e grava o resultado de volta.
+ */
+public class CalculadoraElo {
+
+    // --- Constantes de Rating (ELO) - (Sugestão 1) ---
+    /** K-Factor (velocidade de mudança de rating) para jogadores em calibração */
+    public static final double K_FACTOR_CALIBRACAO = 50.0;
+    /** K-Factor para jogadores normais */
+    public static final double K_FACTOR_NORMAL = 30.0;
+    /** Bônus de rating para o MVP */
+    public static final double RATING_BONUS_MVP = 10.0;
+    /** Mitigação (redução de perda) para o Destaque do time perdedor */
+    public static final double RATING_MITIGACAO_DESTAQUE = 5.0;
+    /** Partidas necessárias para o rating sair da calibração */
+    public static final int PARTIDAS_PARA_CALIBRAR = 5;
+    /** Piso: o rating nunca cai abaixo disto */
+    public static final double RATING_MINIMO = 100.0;
+
+    /** Calculadora com os valores padrão acima. */
+    public static final CalculadoraElo PADRAO = new CalculadoraElo(K_FACTOR_CALIBRACAO, K_FACTOR_NORMAL,
+            RATING_BONUS_MVP, RATING_MITIGACAO_DESTAQUE, PARTIDAS_PARA_CALIBRAR);
+
+    private final double kFactorCalibracao;
+    private final double kFactorNormal;
+    private final double bonusMvp;
+    private final double mitigacaoDestaque;
+    private final int partidasParaCalibrar;
+
+    public CalculadoraElo(double kFactorCalibracao, double kFactorNormal, double bonusMvp,
+                          double mitigacaoDestaque, int partidasParaCalibrar) {
+        this.kFactorCalibracao = kFactorCalibracao;
+        this.kFactorNormal = kFactorNormal;
+        this.bonusMvp = bonusMvp;
+        this.mitigacaoDestaque = mitigacaoDestaque;
+        this.partidasParaCalibrar = partidasParaCalibrar;
+    }
+
+    /**
+     * "Expectativa de Resultado" (Fórmula ELO) de quem tem 'rating' contra 'ratingOponente'.
+     */
+    public static double expectativa(double rating, double ratingOponente) {
+        return 1.0 / (1.0 + Math.pow(10.0, (ratingOponente - rating) / 400.0));
+    }
+
+    /**
+     * Média de um trecho do array [inicio, fim). Trecho vazio: devolve 'padrao'.
+     */
+    public static double media(double[] ratings, int inicio, int fim, double padrao) {
+        if (fim <= inicio) return padrao;
+        double soma = 0.0;
+        for (int i = inicio; i < fim; i++) soma += ratings[i];
+        return soma / (fim - inicio);
+    }
+
+    /**
+     * Score real de cada equipe no Elo pareado (multi-equipes).
+     *
+     * Cada par de equipes é um "confronto": 1 para a melhor colocação, 0.5 se
+     * empataram, 0 para a pior. O score da equipe é a média dos seus N-1
+     * confrontos. Com 2 equipes dá exatamente 1 / 0.5 / 0.
+     *
+     * @param colocacoes colocação de cada equipe (1 = primeiro; valores repetidos = empate)
+     */
+    public static double[] scoresPareados(int[] colocacoes) {
+        double[] scores = new double[colocacoes.length];
+        scoresPareados(colocacoes, scores);
+        return scores;
+    }
+
+    /**
+     * Igual a scoresPareados(colocacoes), escrevendo em 'scores' (mesmo tamanho).
+     */
+    public static void scoresPareados(int[] colocacoes, double[] scores) {
+        int n = colocacoes.length;
+        if (n < 2) {
+            Arrays.fill(scores, 0, n, 0.0);
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            double soma = 0.0;
+            for (int j = 0; j < n; j++) {
+                if (j == i) continue;
+                if (colocacoes[i] < colocacoes[j]) soma += 1.0;
+                else if (colocacoes[i] == colocacoes[j]) soma += 0.5;
+            }
+            scores[i] = soma / (n - 1);
+        }
+    }
+
+    // --- Resultado de cada equipe (a partir das colocações) ---
+    public static final int VITORIA = 1;
+    public static final int EMPATE = 0;
+    public static final int DERROTA = -1;
+
+    /**
+     * VITORIA: primeiro lugar sozinho. EMPATE: primeiro lugar dividido com outra equipe.
+     * DERROTA: as demais, mesmo com a colocação dividida (ex: os dois perdedores
+     * de uma partida de 3 times); só estas recebem a mitigação do Destaque.
+     */
+    public static int[] resultados(int[] colocacoes) {
+        int[] resultados = new int[colocacoes.length];
+        resultados(colocacoes, resultados);
+        return resultados;
+    }
+
+    /**
+     * Igual a resultados(colocacoes), escrevendo em 'resultados' (mesmo tamanho).
+     */
+    public static void resultados(int[] colocacoes, int[] resultados) {
+        int melhor = Integer.MAX_VALUE;
+        int equipesNaMelhor = 0;
+        for (int c : colocacoes) {
+            if (c < melhor) {
+                melhor = c;
+                equipesNaMelhor = 1;
+            } else if (c == melhor) {
+                equipesNaMelhor++;
+            }
+        }
+        for (int t = 0; t < colocacoes.length; t++) {
+            if (colocacoes[t] != melhor) resultados[t] = DERROTA;
+            else resultados[t] = equipesNaMelhor > 1 ? EMPATE : VITORIA;
+        }
+    }
+
+    /**
+     * Expectativa de um jogador contra todas as outras equipes: média de
+     * expectativa(rating, média da equipe j) para j != propriaEquipe.
+     * Com 2 equipes é a expectativa contra a média do time adversário.
+     */
+    public static double expectativaPareada(double rating, double[] mediasEquipes, int propriaEquipe) {
+        int n = mediasEquipes.length;
+        if (n < 2) return 0.5;
+        double soma = 0.0;
+        for (int j = 0; j < n; j++) {
+            if (j != propriaEquipe) soma += expectativa(rating, mediasEquipes[j]);
+        }
+        return soma / (n - 1);
+    }
+
+    public boolean emCalibracao(int partidasJogadas) {
+        return partidasJogadas < partidasParaCalibrar;
+    }
+
+    /**
+     * Calcula o novo rating de UM jogador.
+     *
+     * @param scoreReal 1.0 vitória, 0.5 empate, 0.0 derrota
+     * @param destaque  só tem efeito se scoreReal == 0.0 (Destaque do time perdedor)
+     */
+    public double novoRating(double rating, int partidasJogadas, double ratingOponente,
+                             double scoreReal, boolean mvp, boolean destaque) {
+        // "Expectativa de Resultado" (Fórmula ELO) contra o oponente
+        double esperado = expectativa(rating, ratingOponente);
+        return novoRatingComExpectativa(rating, partidasJogadas, esperado, scoreReal, mvp, scoreReal == 0.0 && destaque);
+    }
+
+    /**
+     * Igual a novoRating, com a expectativa já calculada (ex: expectativaPareada).
+     *
+     * @param destaquePerdedor aplica a mitigação do Destaque (quem chama decide se a equipe perdeu)
+     */
+    public double novoRatingComExpectativa(double rating, int partidasJogadas, double esperado,
+                                           double scoreReal, boolean mvp, boolean destaquePerdedor) {
+        // 1. Define o K-Factor (velocidade de mudança)
+        double kFactor = emCalibracao(partidasJogadas) ? kFactorCalibracao : kFactorNormal;
+
+        // 2. Calcula o Bônus/Penalidade de MVP/Destaque
+        double bonus = mvp ? bonusMvp : 0.0;
+        double mitigacao = destaquePerdedor ? mitigacaoDestaque : 0.0;
+
+        // 3. Fórmula Final
+        double mudancaBase = kFactor * (scoreReal - esperado);
+        return Math.max(RATING_MINIMO, rating + mudancaBase + bonus + mitigacao);
+    }
+
+    /**
+     * Novos ratings de todos os jogadores de uma partida com N equipes (Elo pareado).
+     *
+     * Os jogadores vêm "achatados": os da equipe t ocupam [inicioEquipe[t], inicioEquipe[t + 1]).
+     * Médias e scores são calculados uma vez por equipe.
+     *
+     * @param colocacoes       colocação de cada equipe (ver scoresPareados)
+     * @param mvp              por jogador: recebe o bônus de MVP
+     * @param destaquePerdedor por jogador: recebe a mitigação do Destaque (só marque quem perdeu)
+     */
+    public double[] novosRatings(double[] ratings, int[] partidasJogadas, int[] inicioEquipe, int[] colocacoes,
+                                 boolean[] mvp, boolean[] destaquePerdedor, double mediaEquipeVazia) {
+        double[] novos = new double[ratings.length];
+        novosRatings(ratings, partidasJogadas, inicioEquipe, colocacoes, mvp, destaquePerdedor, mediaEquipeVazia,
+                new double[colocacoes.length], new double[colocacoes.length], novos);
+        return novos;
+    }
+
+    /**
+     * Igual ao anterior, com os buffers de quem chama (ex: replay de milhares
+     * de partidas sem alocar por partida).
+     *
+     * @param medias e scores um por equipe (sobrescritos)
+     * @param novos  um por jogador: recebe os novos ratings
+     */
+    public void novosRatings(double[] ratings, int[] partidasJogadas, int[] inicioEquipe, int[] colocacoes,
+                             boolean[] mvp, boolean[] destaquePerdedor, double mediaEquipeVazia,
+                             double[] medias, double[] scores, double[] novos) {
+        int numEquipes = colocacoes.length;
+        for (int t = 0; t < numEquipes; t++) {
+            medias[t] = media(ratings, inicioEquipe[t], inicioEquipe[t + 1], mediaEquipeVazia);
+        }
+        scoresPareados(colocacoes, scores);
+
+        for (int t = 0; t < numEquipes; t++) {
+            for (int i = inicioEquipe[t]; i < inicioEquipe[t + 1]; i++) {
+                double esperado = expectativaPareada(ratings[i], medias, t);
+                novos[i] = novoRatingComExpectativa(ratings[i], partidasJogadas[i], esperado, scores[t],
+                        mvp[i], destaquePerdedor[i]);
+            }
+        }
+    }
+
+    public double getKFactorCalibracao() { return kFactorCalibracao; }
+
+    public double getKFactorNormal() { return kFactorNormal; }
+
+    public double getBonusMvp() { return bonusMvp; }
+
+    public double getMitigacaoDestaque() { return mitigacaoDestaque; }
+
+    public int getPartidasParaCalibrar() { return partidasParaCalibrar; }
+}
@@ -0,0 +1,246 @@
+package com.meuprojeto.matchmaking.core.elo;
+
+import java.util.Arrays;
+
+/**
+ * Motor de "replay": recalcula os ratings a partir do histórico de partidas,
+ * com uma CalculadoraElo qualquer (ex: outros K-factors ou bônus de MVP),
+ * sem tocar nos dados reais.
+ *
+ * As partidas chegam uma a uma, em ordem cronológica (quem lê o histórico faz
+ * streaming: iniciarPartida, adicionarJogador..., finalizarPartida). O estado
+ * dos jogadores fica em uma tabela hash aberta de chaves long com arrays
+ * paralelos (sem Long/Double/HashMap), e os buffers da partida atual são
+ * reaproveitados: a memória depende do número de jogadores, não de partidas.
+ */
+public class ReplayRatings {
+
+    /** Id "nenhum jogador" (ex: partida sem MVP registrado). Também marca posição livre na tabela. */
+    public static final long SEM_JOGADOR = Long.MIN_VALUE;
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private final CalculadoraElo calculadora;
+    private final double ratingInicial;
+
+    // --- Estado dos jogadores (tabela hash aberta, sondagem linear) ---
+    private long[] chaves;
+    private double[] rating;
+    private int[] partidasJogadas;
+    private int[] totalMvp;
+    private int[] totalDestaquePerdedor;
+    private int tamanho;
+    /** Jogadores com pelo menos uma partida aplicada (os de partidas ignoradas ocupam slot, mas não contam). */
+    private int jogadoresComPartidas;
+
+    // --- Partida atual (buffers reaproveitados) ---
+    private int[] slots = new int[32];
+    private int[] equipeDoJogador = new int[32];
+    private int[] colocacaoDaEquipe = new int[8];
+    private int numJogadores;
+    private int numEquipes;
+    private long idMvp;
+    private long idDestaquePerdedor;
+
+    // --- Entrada/saída do cálculo (buffers reaproveitados entre partidas) ---
+    private int[] colocacoes = new int[0];
+    private int[] resultados = new int[0];
+    private int[] inicioEquipe = new int[1];
+    private double[] medias = new double[0];
+    private double[] scores = new double[0];
+    private double[] ratingsAntes = new double[0];
+    private int[] partidasAntes = new int[0];
+    private boolean[] ehMvp = new boolean[0];
+    private boolean[] ehDestaque = new boolean[0];
+    private double[] ratingsDepois = new double[0];
+
+    private long partidasProcessadas;
+
+    public ReplayRatings(CalculadoraElo calculadora, double ratingInicial) {
+        this.calculadora = calculadora;
+        this.ratingInicial = ratingInicial;
+        alocar(CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * @param idMvp              SEM_JOGADOR se não houver MVP registrado
+     * @param idDestaquePerdedor SEM_JOGADOR se não houver Destaque registrado
+     */
+    public void iniciarPartida(long idMvp, long idDestaquePerdedor) {
+        this.numJogadores = 0;
+        this.numEquipes = 0;
+        this.idMvp = idMvp;
+        this.idDestaquePerdedor = idDestaquePerdedor;
+    }
+
+    /**
+     * Adiciona um jogador à partida atual. Os jogadores de uma mesma equipe
+     * devem chegar em sequência (ORDER BY partida, equipe).
+     *
+     * @param novaEquipe true no primeiro jogador de cada equipe
+     * @param colocacao  colocação da equipe (1 = primeiro; repetida = empate)
+     */
+    public void adicionarJogador(long idJogador, boolean novaEquipe, int colocacao) {
+        if (novaEquipe || numEquipes == 0) {
+            if (numEquipes == colocacaoDaEquipe.length) colocacaoDaEquipe = crescer(colocacaoDaEquipe);
+            colocacaoDaEquipe[numEquipes++] = colocacao;
+        }
+        if (numJogadores == slots.length) {
+            slots = crescer(slots);
+            equipeDoJogador = crescer(equipeDoJogador);
+        }
+        slots[numJogadores] = slot(idJogador);
+        equipeDoJogador[numJogadores++] = numEquipes - 1;
+    }
+
+    /**
+     * Aplica a partida atual (Elo pareado, como em registrarResultado).
+     * Partidas com menos de 2 equipes são ignoradas.
+     */
+    public void finalizarPartida() {
+        if (numEquipes < 2) return;
+        // O número de equipes vem do tamanho do array: só realoca quando muda
+        if (colocacoes.length != numEquipes) {
+            colocacoes = new int[numEquipes];
+            resultados = new int[numEquipes];
+            inicioEquipe = new int[numEquipes + 1];
+            medias = new double[numEquipes];
+            scores = new double[numEquipes];
+        }
+        if (ratingsAntes.length < numJogadores) {
+            int tamanho = slots.length;
+            ratingsAntes = new double[tamanho];
+            partidasAntes = new int[tamanho];
+            ehMvp = new boolean[tamanho];
+            ehDestaque = new boolean[tamanho];
+            ratingsDepois = new double[tamanho];
+        }
+        System.arraycopy(colocacaoDaEquipe, 0, colocacoes, 0, numEquipes);
+        CalculadoraElo.resultados(colocacoes, resultados);
+
+        Arrays.fill(inicioEquipe, 0);
+        for (int i = 0; i < numJogadores; i++) inicioEquipe[equipeDoJogador[i] + 1]++;
+        for (int t = 0; t < numEquipes; t++) inicioEquipe[t + 1] += inicioEquipe[t];
+
+        for (int i = 0; i < numJogadores; i++) {
+            int s = slots[i];
+            ratingsAntes[i] = rating[s];
+            partidasAntes[i] = partidasJogadas[s];
+            ehMvp[i] = chaves[s] == idMvp;
+            ehDestaque[i] = chaves[s] == idDestaquePerdedor && resultados[equipeDoJogador[i]] == CalculadoraElo.DERROTA;
+        }
+
+        calculadora.novosRatings(ratingsAntes, partidasAntes, inicioEquipe, colocacoes, ehMvp, ehDestaque, ratingInicial,
+                medias, scores, ratingsDepois);
+        for (int i = 0; i < numJogadores; i++) {
+            int s = slots[i];
+            rating[s] = ratingsDepois[i];
+            if (partidasJogadas[s]++ == 0) jogadoresComPartidas++;
+            if (ehMvp[i]) totalMvp[s]++;
+            if (ehDestaque[i]) totalDestaquePerdedor[s]++;
+        }
+        partidasProcessadas++;
+    }
+
+    // --- Consulta do resultado ---
+
+    public long getPartidasProcessadas() { return partidasProcessadas; }
+
+    public int getNumJogadores() { return jogadoresComPartidas; }
+
+    /**
+     * Rating recalculado de um jogador, ou NaN se ele não aparece no histórico.
+     */
+    public double ratingDe(long idJogador) {
+        int mascara = chaves.length - 1;
+        int s = espalhar(idJogador) & mascara;
+        while (chaves[s] != SEM_JOGADOR) {
+            if (chaves[s] == idJogador) return partidasJogadas[s] > 0 ? rating[s] : Double.NaN;
+            s = (s + 1) & mascara;
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Percorre os jogadores do replay (ordem da tabela, não do id).
+     */
+    public void paraCada(Visitante visitante) {
+        for (int s = 0; s < chaves.length; s++) {
+            if (chaves[s] != SEM_JOGADOR && partidasJogadas[s] > 0) {
+                visitante.visitar(chaves[s], rating[s], partidasJogadas[s], totalMvp[s], totalDestaquePerdedor[s]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Visitante {
+        void visitar(long idJogador, double rating, int partidasJogadas, int totalMvp, int totalDestaquePerdedor);
+    }
+
+    // --- Tabela hash ---
+
+    private int slot(long idJogador) {
+        int mascara = chaves.length - 1;
+        int s = espalhar(idJogador) & mascara;
+        while (chaves[s] != SEM_JOGADOR) {
+            if (chaves[s] == idJogador) return s;
+            s = (s + 1) & mascara;
+        }
+        if ((tamanho + 1) * 2 > chaves.length) {
+            redimensionar();
+            return slot(idJogador);
+        }
+        chaves[s] = idJogador;
+        rating[s] = ratingInicial;
+        tamanho++;
+        return s;
+    }
+
+    private static int espalhar(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Dobra a tabela. Slots antigos da partida atual são remapeados.
+     */
+    private void redimensionar() {
+        long[] chavesAntigas = chaves;
+        double[] ratingAntigo = rating;
+        int[] partidasAntigas = partidasJogadas;
+        int[] mvpAntigo = totalMvp;
+        int[] destaqueAntigo = totalDestaquePerdedor;
+        long[] idsDaPartida = new long[numJogadores];
+        for (int i = 0; i < numJogadores; i++) idsDaPartida[i] = chavesAntigas[slots[i]];
+
+        alocar(chavesAntigas.length * 2);
+        int mascara = chaves.length - 1;
+        for (int antigo = 0; antigo < chavesAntigas.length; antigo++) {
+            if (chavesAntigas[antigo] == SEM_JOGADOR) continue;
+            int s = espalhar(chavesAntigas[antigo]) & mascara;
+            while (chaves[s] != SEM_JOGADOR) s = (s + 1) & mascara;
+            chaves[s] = chavesAntigas[antigo];
+            rating[s] = ratingAntigo[antigo];
+            partidasJogadas[s] = partidasAntigas[antigo];
+            totalMvp[s] = mvpAntigo[antigo];
+            totalDestaquePerdedor[s] = destaqueAntigo[antigo];
+            tamanho++;
+        }
+        for (int i = 0; i < numJogadores; i++) slots[i] = slot(idsDaPartida[i]);
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new long[capacidade];
+        Arrays.fill(chaves, SEM_JOGADOR);
+        rating = new double[capacidade];
+        partidasJogadas = new int[capacidade];
+        totalMvp = new int[capacidade];
+        totalDestaquePerdedor = new int[capacidade];
+        tamanho = 0;
+    }
+
+    private static int[] crescer(int[] array) {
+        int[] maior = new int[array.length * 2];
+        System.arraycopy(array, 0, maior, 0, array.length);
+        return maior;
+    }
+}
@@ -0,0 +1,58 @@
+package com.meuprojeto.matchmaking.core.fila;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Um jogador esperando na fila de um modo de jogo.
+ * O rating é o do momento em que ele entrou na fila; só o estado muda (CAS,
+ * ver FilaModo): NA_FILA -> REIVINDICADA (grupo em criação) -> NA_FILA
+ * (devolvida) ou removida da fila; de qualquer estado -> SAIU.
+ *
+ * A igualdade é por identidade: cada entrada na fila é um objeto novo, com
+ * uma sequência única que desempata as ordenações dos índices.
+ */
+public final class EntradaFila implements Comparable<EntradaFila> {
+
+    enum Estado { NA_FILA, REIVINDICADA, SAIU }
+
+    private final long idJogador;
+    private final double rating;
+    private final long entradaNanos;
+    private final long sequencia;
+    private final AtomicReference<Estado> estado = new AtomicReference<>(Estado.NA_FILA);
+
+    public EntradaFila(long idJogador, double rating, long entradaNanos, long sequencia) {
+        this.idJogador = idJogador;
+        this.rating = rating;
+        this.entradaNanos = entradaNanos;
+        this.sequencia = sequencia;
+    }
+
+    public long getIdJogador() { return idJogador; }
+
+    public double getRating() { return rating; }
+
+    public long getEntradaNanos() { return entradaNanos; }
+
+    public long getSequencia() { return sequencia; }
+
+    boolean estaNaFila() { return estado.get() == Estado.NA_FILA; }
+
+    boolean mudarEstado(Estado esperado, Estado novo) { return estado.compareAndSet(esperado, novo); }
+
+    /**
+     * @return o estado anterior
+     */
+    Estado marcarSaida() { return estado.getAndSet(Estado.SAIU); }
+
+    /**
+     * Ordem do índice por rating: rating crescente, desempate pelo id e pela sequência.
+     */
+    @Override
+    public int compareTo(EntradaFila outra) {
+        int porRating = Double.compare(rating, outra.rating);
+        if (porRating != 0) return porRating;
+        int porId = Long.compare(idJogador, outra.idJogador);
+        return porId != 0 ? porId : Long.compare(sequencia, outra.sequencia);
+    }
+}
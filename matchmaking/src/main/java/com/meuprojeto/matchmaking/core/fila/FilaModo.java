@@ -0,0 +1,247 @@
+package com.meuprojeto.matchmaking.core.fila;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fila de matchmaking de UM modo de jogo, em memória.
+ *
+ * - porJogador: garante no máximo uma entrada por jogador (putIfAbsent/remove atômicos).
+ *   Uma entrada reivindicada por um grupo continua aqui até a partida ser
+ *   criada (registrarPartidaFormada), devolvida ou descartada; o estado dela
+ *   (EntradaFila.Estado, trocado com CAS) diz se ainda está esperando.
+ * - porRating: índice ordenado por rating (skip list concorrente): achar os
+ *   oponentes dentro da janela de um jogador custa O(log n), sem varrer o pool.
+ * - porChegada: índice por horário de entrada, para atender primeiro quem espera há mais tempo.
+ *
+ * Entrar/sair da fila é lock-free e pode ser feito por qualquer thread.
+ * A formação de partidas (formarGrupos) deve ter um único consumidor por fila;
+ * o tamanho da partida e a janela podem mudar entre rodadas (atualizarConfiguracao).
+ */
+public class FilaModo {
+
+    private static final Comparator<EntradaFila> ORDEM_CHEGADA =
+            Comparator.comparingLong(EntradaFila::getEntradaNanos).thenComparingLong(EntradaFila::getSequencia);
+
+    private final long idModoDeJogo;
+    private volatile int jogadoresPorPartida;
+    private volatile PoliticaJanelaRating politicaJanela;
+
+    private final ConcurrentHashMap<Long, EntradaFila> porJogador = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<EntradaFila> porRating = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<EntradaFila> porChegada = new ConcurrentSkipListSet<>(ORDEM_CHEGADA);
+    private final AtomicLong sequencia = new AtomicLong();
+    private final AtomicInteger naFila = new AtomicInteger();
+
+    private final HistogramaLatencia tempoAtePartida = new HistogramaLatencia();
+    private final AtomicLong partidasFormadas = new AtomicLong();
+
+    public FilaModo(long idModoDeJogo, int jogadoresPorPartida, PoliticaJanelaRating politicaJanela) {
+        this.idModoDeJogo = idModoDeJogo;
+        this.jogadoresPorPartida = jogadoresPorPartida;
+        this.politicaJanela = politicaJanela;
+    }
+
+    /**
+     * Vale a partir da próxima rodada de formarGrupos; quem já está na fila
+     * continua, com o tempo de espera que já tem.
+     */
+    public void atualizarConfiguracao(int jogadoresPorPartida, PoliticaJanelaRating politicaJanela) {
+        this.jogadoresPorPartida = jogadoresPorPartida;
+        this.politicaJanela = politicaJanela;
+    }
+
+    /**
+     * @return false se o jogador já estava na fila
+     */
+    public boolean entrar(long idJogador, double rating, long agoraNanos) {
+        EntradaFila entrada = new EntradaFila(idJogador, rating, agoraNanos, sequencia.incrementAndGet());
+        if (porJogador.putIfAbsent(idJogador, entrada) != null) {
+            return false;
+        }
+        naFila.incrementAndGet();
+        indexar(entrada);
+        return true;
+    }
+
+    /**
+     * Também vale para uma entrada já reivindicada por um grupo: se a criação
+     * da partida falhar, o jogador não volta para a fila (ver devolver).
+     *
+     * @return false se o jogador não estava na fila
+     */
+    public boolean sair(long idJogador) {
+        EntradaFila entrada = porJogador.remove(idJogador);
+        if (entrada == null) {
+            return false;
+        }
+        if (entrada.marcarSaida() == EntradaFila.Estado.NA_FILA) {
+            naFila.decrementAndGet();
+            desindexar(entrada);
+        }
+        return true;
+    }
+
+    /**
+     * @return true se o jogador está esperando (não conta quem já foi reivindicado por um grupo)
+     */
+    public boolean contem(long idJogador) {
+        EntradaFila entrada = porJogador.get(idJogador);
+        return entrada != null && entrada.estaNaFila();
+    }
+
+    /**
+     * Jogadores esperando, sem os reivindicados por grupos em criação.
+     */
+    public int tamanho() {
+        return naFila.get();
+    }
+
+    /**
+     * Forma as partidas possíveis agora.
+     *
+     * Quem espera há mais tempo é a "âncora": buscamos no índice por rating os
+     * jogadores mais próximos dela, dentro da janela da âncora, que também
+     * aceitam a âncora na própria janela. Com jogadores suficientes, o grupo é
+     * "reivindicado" com CAS no estado de cada entrada (NA_FILA -> REIVINDICADA);
+     * se alguém saiu da fila no meio do caminho, o grupo é desfeito e a âncora
+     * espera o próximo tick.
+     *
+     * Cada grupo devolvido deve terminar em registrarPartidaFormada, devolver
+     * ou descartar.
+     */
+    public List<EntradaFila[]> formarGrupos(long agoraNanos) {
+        int tamanhoGrupo = jogadoresPorPartida;
+        PoliticaJanelaRating politica = politicaJanela;
+        List<EntradaFila[]> grupos = new ArrayList<>();
+        EntradaFila[] candidatos = new EntradaFila[tamanhoGrupo];
+
+        for (EntradaFila ancora : porChegada) {
+            if (!ancora.estaNaFila()) {
+                desindexar(ancora); // órfã (corrida entre entrar e sair) ou já reivindicada neste tick
+                continue;
+            }
+            candidatos[0] = ancora;
+            if (buscarOponentes(ancora, agoraNanos, politica, candidatos) && reivindicar(candidatos)) {
+                grupos.add(candidatos);
+                candidatos = new EntradaFila[tamanhoGrupo];
+            }
+        }
+        return grupos;
+    }
+
+    /**
+     * Preenche candidatos[1..] com os mais próximos da âncora (em rating),
+     * andando para cima e para baixo no índice a partir dela.
+     */
+    private boolean buscarOponentes(EntradaFila ancora, long agoraNanos, PoliticaJanelaRating politica,
+                                    EntradaFila[] candidatos) {
+        double rating = ancora.getRating();
+        double janelaAncora = politica.janela(agoraNanos - ancora.getEntradaNanos());
+
+        Iterator<EntradaFila> abaixo = porRating.headSet(ancora, false).descendingIterator();
+        Iterator<EntradaFila> acima = porRating.tailSet(ancora, false).iterator();
+        EntradaFila proxAbaixo = proximo(abaixo);
+        EntradaFila proxAcima = proximo(acima);
+
+        int encontrados = 1;
+        while (encontrados < candidatos.length && (proxAbaixo != null || proxAcima != null)) {
+            boolean usarAbaixo = proxAcima == null
+                    || (proxAbaixo != null && rating - proxAbaixo.getRating() <= proxAcima.getRating() - rating);
+            EntradaFila candidato = usarAbaixo ? proxAbaixo : proxAcima;
+            if (usarAbaixo) proxAbaixo = proximo(abaixo); else proxAcima = proximo(acima);
+
+            double distancia = Math.abs(candidato.getRating() - rating);
+            if (distancia > janelaAncora) {
+                break; // o mais próximo restante já está fora da janela da âncora
+            }
+            boolean aceitaAncora = distancia <= politica.janela(agoraNanos - candidato.getEntradaNanos());
+            if (aceitaAncora && candidato.estaNaFila()) {
+                candidatos[encontrados++] = candidato;
+            }
+        }
+        return encontrados == candidatos.length;
+    }
+
+    private static EntradaFila proximo(Iterator<EntradaFila> it) {
+        return it.hasNext() ? it.next() : null;
+    }
+
+    /**
+     * Reivindica todos os candidatos, ou nenhum. Quem saiu durante o desfazer
+     * continua fora (o CAS de volta para NA_FILA falha).
+     */
+    private boolean reivindicar(EntradaFila[] candidatos) {
+        for (int i = 0; i < candidatos.length; i++) {
+            if (!candidatos[i].mudarEstado(EntradaFila.Estado.NA_FILA, EntradaFila.Estado.REIVINDICADA)) {
+                for (int j = 0; j < i; j++) {
+                    candidatos[j].mudarEstado(EntradaFila.Estado.REIVINDICADA, EntradaFila.Estado.NA_FILA);
+                }
+                return false;
+            }
+        }
+        naFila.addAndGet(-candidatos.length);
+        for (EntradaFila candidato : candidatos) {
+            desindexar(candidato);
+        }
+        return true;
+    }
+
+    /**
+     * Recoloca uma entrada reivindicada (ex: a criação da partida falhou).
+     * Se o jogador saiu enquanto a partida era criada, não faz nada.
+     */
+    public void devolver(EntradaFila entrada) {
+        if (entrada.mudarEstado(EntradaFila.Estado.REIVINDICADA, EntradaFila.Estado.NA_FILA)) {
+            naFila.incrementAndGet();
+            indexar(entrada);
+        }
+    }
+
+    /**
+     * Tira da fila uma entrada reivindicada que não deve voltar (ex: o jogador
+     * já está em outra partida).
+     */
+    public void descartar(EntradaFila entrada) {
+        porJogador.remove(entrada.getIdJogador(), entrada);
+        entrada.marcarSaida();
+    }
+
+    /**
+     * Tira da fila os jogadores de uma partida formada e registra o tempo de
+     * espera de cada um.
+     */
+    public void registrarPartidaFormada(EntradaFila[] grupo, long agoraNanos) {
+        for (EntradaFila entrada : grupo) {
+            porJogador.remove(entrada.getIdJogador(), entrada);
+            tempoAtePartida.registrarNanos(agoraNanos - entrada.getEntradaNanos());
+        }
+        partidasFormadas.incrementAndGet();
+    }
+
+    private void indexar(EntradaFila entrada) {
+        porRating.add(entrada);
+        porChegada.add(entrada);
+    }
+
+    private void desindexar(EntradaFila entrada) {
+        porRating.remove(entrada);
+        porChegada.remove(entrada);
+    }
+
+    public long getIdModoDeJogo() { return idModoDeJogo; }
+
+    public int getJogadoresPorPartida() { return jogadoresPorPartida; }
+
+    public PoliticaJanelaRating getPoliticaJanela() { return politicaJanela; }
+
+    public HistogramaLatencia getTempoAtePartida() { return tempoAtePartida; }
+
+    public long getPartidasFormadas() { return partidasFormadas.get(); }
+}
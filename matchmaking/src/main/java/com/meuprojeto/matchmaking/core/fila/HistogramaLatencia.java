@@ -0,0 +1,73 @@
+package com.meuprojeto.matchmaking.core.fila;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma concorrente de latências (em microssegundos), sem locks.
+ *
+ * Buckets log-lineares: 8 sub-buckets por potência de 2, o que dá erro
+ * relativo de no máximo ~12,5% nos percentis, com memória fixa
+ * (512 contadores) não importa quantas amostras forem registradas.
+ */
+public class HistogramaLatencia {
+
+    private static final int SUB_BUCKETS_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKETS_BITS;
+    private static final int NUM_BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(NUM_BUCKETS);
+
+    public void registrarNanos(long nanos) {
+        registrarMicros(Math.max(0L, nanos / 1_000L));
+    }
+
+    public void registrarMicros(long micros) {
+        contagens.incrementAndGet(indice(micros));
+    }
+
+    public long total() {
+        long total = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) total += contagens.get(i);
+        return total;
+    }
+
+    /**
+     * Percentil aproximado (limite superior do bucket), em microssegundos.
+     *
+     * @param percentil entre 0 e 100 (ex: 99.0)
+     * @return 0 se não houver amostras
+     */
+    public long percentilMicros(double percentil) {
+        long[] copia = new long[NUM_BUCKETS];
+        long total = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            copia[i] = contagens.get(i);
+            total += copia[i];
+        }
+        if (total == 0) return 0L;
+
+        long alvo = (long) Math.ceil(total * (percentil / 100.0));
+        if (alvo < 1) alvo = 1;
+        long acumulado = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= alvo) return limiteSuperior(i);
+        }
+        return limiteSuperior(NUM_BUCKETS - 1);
+    }
+
+    static int indice(long valor) {
+        if (valor < SUB_BUCKETS) return (int) valor;
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int mantissa = (int) ((valor >>> (expoente - SUB_BUCKETS_BITS)) & (SUB_BUCKETS - 1));
+        return (expoente - SUB_BUCKETS_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    static long limiteSuperior(int indice) {
+        if (indice < SUB_BUCKETS) return indice;
+        int expoente = indice / SUB_BUCKETS + SUB_BUCKETS_BITS - 1;
+        int mantissa = indice % SUB_BUCKETS;
+        long base = (long) (SUB_BUCKETS + mantissa) << (expoente - SUB_BUCKETS_BITS);
+        return base + (1L << (expoente - SUB_BUCKETS_BITS)) - 1;
+    }
+}
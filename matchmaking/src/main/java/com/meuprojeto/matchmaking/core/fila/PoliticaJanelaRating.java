@@ -0,0 +1,40 @@
+package com.meuprojeto.matchmaking.core.fila;
+
+/**
+ * Janela de rating aceitável de um jogador na fila, que cresce com o tempo de espera:
+ *
+ *   janela = min(inicial + expansaoPorSegundo * segundosEsperando, maxima)
+ *
+ * Janela pequena = partidas mais equilibradas; expansão rápida = menos espera.
+ * Cada ModoDeJogo define o seu equilíbrio entre qualidade e latência.
+ */
+public final class PoliticaJanelaRating {
+
+    /** Aceita qualquer diferença de rating (agrupa só por proximidade). */
+    public static final PoliticaJanelaRating SEM_LIMITE =
+            new PoliticaJanelaRating(Double.POSITIVE_INFINITY, 0.0, Double.POSITIVE_INFINITY);
+
+    private final double inicial;
+    private final double expansaoPorSegundo;
+    private final double maxima;
+
+    public PoliticaJanelaRating(double inicial, double expansaoPorSegundo, double maxima) {
+        this.inicial = inicial;
+        this.expansaoPorSegundo = expansaoPorSegundo;
+        this.maxima = maxima;
+    }
+
+    /**
+     * Diferença máxima de rating aceita depois de esperar 'esperaNanos'.
+     */
+    public double janela(long esperaNanos) {
+        double segundos = Math.max(0L, esperaNanos) / 1_000_000_000.0;
+        return Math.min(inicial + expansaoPorSegundo * segundos, maxima);
+    }
+
+    public double getInicial() { return inicial; }
+
+    public double getExpansaoPorSegundo() { return expansaoPorSegundo; }
+
+    public double getMaxima() { return maxima; }
+}
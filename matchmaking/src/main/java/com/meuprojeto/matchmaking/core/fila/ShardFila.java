@@ -0,0 +1,103 @@
+package com.meuprojeto.matchmaking.core.fila;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Shard de matchmaking de UM modo de jogo: a fila do modo mais o seu "worker".
+ *
+ * Cada modo tem estado próprio (fila, métricas, flag de execução), então shards
+ * de modos diferentes rodam em paralelo sem nenhum lock compartilhado. Dentro
+ * de um shard, a flag emExecucao garante o único consumidor exigido por
+ * FilaModo.formarGrupos: uma rodada só começa se nenhuma outra estiver rodando.
+ *
+ * Métricas (lock-free): rodadas executadas, rodadas extras (rebalanceamento),
+ * duração das rodadas e vazão de partidas por segundo (média móvel exponencial).
+ */
+public class ShardFila {
+
+    /** Peso da última rodada na média móvel da vazão. */
+    private static final double PESO_VAZAO = 0.2;
+
+    private final FilaModo fila;
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+
+    private final AtomicLong rodadas = new AtomicLong();
+    private final AtomicLong rodadasExtras = new AtomicLong();
+    private final HistogramaLatencia duracaoRodada = new HistogramaLatencia();
+    private volatile double partidasPorSegundo;
+    private volatile long fimUltimaRodadaNanos;
+
+    public ShardFila(FilaModo fila, long agoraNanos) {
+        this.fila = fila;
+        this.fimUltimaRodadaNanos = agoraNanos;
+    }
+
+    /**
+     * Marca o shard como "em execução" antes de agendar uma rodada.
+     *
+     * @return false se já há uma rodada agendada ou rodando (não agendar de novo)
+     */
+    public boolean reservar() {
+        return emExecucao.compareAndSet(false, true);
+    }
+
+    /**
+     * Desfaz reservar() quando a rodada não pôde ser agendada (executor cheio).
+     */
+    public void liberar() {
+        emExecucao.set(false);
+    }
+
+    /**
+     * Executa uma rodada de formação. Deve ser chamada só por quem obteve reservar().
+     * A reserva continua ativa no fim: quem chamou decide entre liberar() e
+     * agendar uma rodada extra (ver precisaDeRodadaExtra).
+     *
+     * @param criarPartida cria a partida de um grupo; false se falhou (grupo devolvido à fila)
+     * @return número de partidas criadas nesta rodada
+     */
+    public int executarRodada(Predicate<EntradaFila[]> criarPartida, boolean extra) {
+        long inicio = System.nanoTime();
+        int criadas = 0;
+        for (EntradaFila[] grupo : fila.formarGrupos(inicio)) {
+            if (criarPartida.test(grupo)) {
+                criadas++;
+            }
+        }
+        long fim = System.nanoTime();
+
+        rodadas.incrementAndGet();
+        if (extra) rodadasExtras.incrementAndGet();
+        duracaoRodada.registrarNanos(fim - inicio);
+
+        double segundos = Math.max(fim - fimUltimaRodadaNanos, 1L) / 1e9;
+        partidasPorSegundo = PESO_VAZAO * (criadas / segundos) + (1 - PESO_VAZAO) * partidasPorSegundo;
+        fimUltimaRodadaNanos = fim;
+        return criadas;
+    }
+
+    /**
+     * Política de rebalanceamento: um modo "quente" (ex: Futebol 5v5 com a maior
+     * parte do tráfego) que formou partidas e ainda tem pelo menos
+     * limiarPartidas partidas em espera ganha outra rodada logo em seguida, em
+     * vez de esperar o próximo tick. A rodada extra entra no fim da fila do
+     * executor, então os outros modos não ficam sem worker.
+     */
+    public boolean precisaDeRodadaExtra(int criadasNaRodada, int limiarPartidas) {
+        return criadasNaRodada > 0 && fila.tamanho() >= (long) limiarPartidas * fila.getJogadoresPorPartida();
+    }
+
+    public FilaModo getFila() { return fila; }
+
+    public boolean isEmExecucao() { return emExecucao.get(); }
+
+    public long getRodadas() { return rodadas.get(); }
+
+    public long getRodadasExtras() { return rodadasExtras.get(); }
+
+    public HistogramaLatencia getDuracaoRodada() { return duracaoRodada; }
+
+    public double getPartidasPorSegundo() { return partidasPorSegundo; }
+}
@@ -10,7 +10,10 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "EQUIPE")
+@Table(name = "EQUIPE", indexes = {
+        // Criado pela migração V2 (db/migration); aqui só como referência
+        @Index(name = "idx_equipe_partida", columnList = "idPartida, idEquipe")
+})
 // @Data FOI REMOVIDO!
 @Getter // Adiciona todos os Getters
 @Setter // Adiciona todos os Setters
@@ -19,7 +22,8 @@ import java.util.Set;
 public class Equipe {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "equipe_seq")
+    @SequenceGenerator(name = "equipe_seq", sequenceName = "EQUIPE_SEQ", allocationSize = Sequencias.ALOCACAO)
     @Column(name = "idEquipe")
     private Long idEquipe;
 
@@ -16,7 +16,8 @@ import lombok.Setter; // <<< NOVO IMPORT
 public class EquipePartida {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "equipe_partida_seq")
+    @SequenceGenerator(name = "equipe_partida_seq", sequenceName = "EQUIPE_PARTIDA_SEQ", allocationSize = Sequencias.ALOCACAO)
     private Long id;
 
     // Este campo causava o loop
@@ -27,8 +28,18 @@ public class EquipePartida {
     @Column(nullable = false)
     private String statusResultado; // "VITÓRIA", "DERROTA", "EMPATE"
 
+    // Colocação da equipe na partida (1 = primeiro). Nulo em resultados antigos (só 2 times).
+    @Column(name = "colocacao")
+    private Integer colocacao;
+
     public EquipePartida(Equipe equipe, String statusResultado) {
         this.equipe = equipe;
         this.statusResultado = statusResultado;
     }
+
+    public EquipePartida(Equipe equipe, String statusResultado, Integer colocacao) {
+        this.equipe = equipe;
+        this.statusResultado = statusResultado;
+        this.colocacao = colocacao;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.meuprojeto.matchmaking.model;
+
+import com.meuprojeto.matchmaking.core.elo.CalculadoraElo;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vitórias, derrotas, empates, sequência atual e última partida de um jogador,
+ * atualizadas na mesma transação de cada resultado registrado. O perfil (e
+ * qualquer ranking) lê uma linha por jogador, sem percorrer JOGADOR_EQUIPE +
+ * EQUIPE_PARTIDA.
+ *
+ * Cada jogador tem uma linha com idModoDeJogo = TODOS_OS_MODOS (total) e uma
+ * por modo em que já jogou. Como em HistoricoRating, os ids são colunas simples.
+ */
+@Entity
+@Table(name = "ESTATISTICA_JOGADOR", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_estatistica_jogador_modo", columnNames = {"idJogador", "idModoDeJogo"})
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticaJogador {
+
+    /** idModoDeJogo da linha com o total de todos os modos (ids de modo começam em 1). */
+    public static final long TODOS_OS_MODOS = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "estatistica_jogador_seq")
+    @SequenceGenerator(name = "estatistica_jogador_seq", sequenceName = "ESTATISTICA_JOGADOR_SEQ", allocationSize = Sequencias.ALOCACAO)
+    private Long id;
+
+    @Column(name = "idJogador", nullable = false)
+    private Long idJogador;
+
+    @Column(name = "idModoDeJogo", nullable = false)
+    private Long idModoDeJogo;
+
+    @Column(nullable = false)
+    private int vitorias;
+
+    @Column(nullable = false)
+    private int derrotas;
+
+    @Column(nullable = false)
+    private int empates;
+
+    /**
+     * Resultados iguais seguidos até o último: positivo para vitórias,
+     * negativo para derrotas, 0 depois de um empate.
+     */
+    @Column(nullable = false)
+    private int sequenciaAtual;
+
+    // Data/hora da partida mais recente com resultado
+    @Column(name = "ultimaPartida")
+    private LocalDateTime ultimaPartida;
+
+    public EstatisticaJogador(Long idJogador, Long idModoDeJogo) {
+        this.idJogador = idJogador;
+        this.idModoDeJogo = idModoDeJogo;
+    }
+
+    /**
+     * Aplica o resultado de uma partida (CalculadoraElo.VITORIA, EMPATE ou DERROTA).
+     */
+    public void registrar(int resultado, LocalDateTime dataHora) {
+        if (resultado == CalculadoraElo.VITORIA) {
+            vitorias++;
+            sequenciaAtual = sequenciaAtual > 0 ? sequenciaAtual + 1 : 1;
+        } else if (resultado == CalculadoraElo.DERROTA) {
+            derrotas++;
+            sequenciaAtual = sequenciaAtual < 0 ? sequenciaAtual - 1 : -1;
+        } else {
+            empates++;
+            sequenciaAtual = 0;
+        }
+        if (ultimaPartida == null || dataHora.isAfter(ultimaPartida)) {
+            ultimaPartida = dataHora;
+        }
+    }
+
+    public int getPartidas() {
+        return vitorias + derrotas + empates;
+    }
+
+    /**
+     * Vitórias / partidas (0 sem partidas).
+     */
+    public double getTaxaVitoria() {
+        int partidas = getPartidas();
+        return partidas == 0 ? 0 : (double) vitorias / partidas;
+    }
+}
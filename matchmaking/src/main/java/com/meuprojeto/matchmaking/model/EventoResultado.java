@@ -0,0 +1,68 @@
+package com.meuprojeto.matchmaking.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado recebido pelo modo assíncrono, ainda não (ou já) aplicado aos ratings.
+ *
+ * O evento é gravado e confirmado na hora; o escritor único
+ * (PipelineResultadosService) aplica os eventos PENDENTES em lotes e
+ * marca APLICADO (na mesma transação dos ratings) ou FALHOU (com o erro).
+ * Um evento por partida (índice único); reenviar depois de FALHOU substitui o evento.
+ */
+@Entity
+@Table(name = "EVENTO_RESULTADO", indexes = {
+        @Index(name = "idx_evento_resultado_partida", columnList = "idPartida", unique = true),
+        @Index(name = "idx_evento_resultado_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class EventoResultado {
+
+    public static final String PENDENTE = "PENDENTE";
+    public static final String APLICADO = "APLICADO";
+    public static final String FALHOU = "FALHOU";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_resultado_seq")
+    @SequenceGenerator(name = "evento_resultado_seq", sequenceName = "EVENTO_RESULTADO_SEQ", allocationSize = Sequencias.ALOCACAO)
+    private Long id;
+
+    @Column(name = "idPartida", nullable = false)
+    private Long idPartida;
+
+    // --- Conteúdo do RegistroResultadoRequest ---
+    @Column(name = "idEquipeVencedora")
+    private Long idEquipeVencedora;
+
+    @Column(nullable = false)
+    private boolean empate;
+
+    @Column(name = "idMvp")
+    private Long idMvp;
+
+    @Column(name = "idDestaquePerdedor")
+    private Long idDestaquePerdedor;
+
+    // Colocações de partidas com 3+ times, no formato "idEquipe:colocacao,..." (nulo no formato de 2 times)
+    @Column(length = 1000)
+    private String colocacoes;
+
+    // --- Processamento ---
+    @Column(nullable = false, length = 10)
+    private String status = PENDENTE;
+
+    @Column(length = 500)
+    private String erro;
+
+    @Column(nullable = false)
+    private LocalDateTime recebidoEm;
+
+    private LocalDateTime processadoEm;
+}
@@ -0,0 +1,57 @@
+package com.meuprojeto.matchmaking.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Variação de rating de um jogador em uma partida (só inserção, nunca alterada).
+ *
+ * Gravada na mesma transação do resultado. Gráficos de evolução e auditorias
+ * leem um intervalo do índice (idJogador, dataHora), sem replay do histórico.
+ * Os ids são guardados como colunas simples (sem @ManyToOne) para a inserção
+ * não precisar carregar Jogador/Partida.
+ */
+@Entity
+@Table(name = "HISTORICO_RATING", indexes = {
+        @Index(name = "idx_historico_rating_jogador_data", columnList = "idJogador, dataHora")
+})
+@Getter
+@NoArgsConstructor
+public class HistoricoRating {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historico_rating_seq")
+    @SequenceGenerator(name = "historico_rating_seq", sequenceName = "HISTORICO_RATING_SEQ", allocationSize = Sequencias.ALOCACAO)
+    private Long id;
+
+    @Column(name = "idJogador", nullable = false)
+    private Long idJogador;
+
+    @Column(name = "idPartida", nullable = false)
+    private Long idPartida;
+
+    // Data/hora da partida (mesma ordem usada no cálculo dos ratings)
+    @Column(name = "dataHora", nullable = false)
+    private LocalDateTime dataHora;
+
+    @Column(nullable = false)
+    private double ratingAntes;
+
+    @Column(nullable = false)
+    private double ratingDepois;
+
+    @Column(nullable = false)
+    private double delta;
+
+    public HistoricoRating(Long idJogador, Long idPartida, LocalDateTime dataHora, double ratingAntes, double ratingDepois) {
+        this.idJogador = idJogador;
+        this.idPartida = idPartida;
+        this.dataHora = dataHora;
+        this.ratingAntes = ratingAntes;
+        this.ratingDepois = ratingDepois;
+        this.delta = ratingDepois - ratingAntes;
+    }
+}
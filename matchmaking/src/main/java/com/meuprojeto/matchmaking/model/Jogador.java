@@ -1,11 +1,17 @@
 package com.meuprojeto.matchmaking.model;
 
+import com.meuprojeto.matchmaking.core.elo.CalculadoraElo;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "JOGADOR")
+// Leituras por id vêm da memória; UPDATEs via JDBC precisam invalidar (CacheJogadores)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "jogador")
 @Data // (From Lombok: Getters, Setters, toString, etc.)
 @NoArgsConstructor // (From Lombok: Empty constructor for JPA)
 public class Jogador {
@@ -20,10 +26,11 @@ public class Jogador {
     /**
      * Partidas necessárias para o rating sair da calibração.
      */
-    public static final int PARTIDAS_PARA_CALIBRAR = 5;
+    public static final int PARTIDAS_PARA_CALIBRAR = CalculadoraElo.PARTIDAS_PARA_CALIBRAR;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jogador_seq")
+    @SequenceGenerator(name = "jogador_seq", sequenceName = "JOGADOR_SEQ", allocationSize = Sequencias.ALOCACAO)
     @Column(name = "idJogador")
     private Long idJogador;
 
@@ -54,6 +61,17 @@ public class Jogador {
     @Column(nullable = false)
     private int totalDestaquePerdedor = 0;
 
+    /**
+     * Versão para lock otimista: duas transações que atualizam o mesmo jogador
+     * ao mesmo tempo não se sobrescrevem; a segunda falha e é refeita
+     * (ver RetentativaOtimista). As gravações via JDBC também incrementam.
+     * O default 0 permite adicionar a coluna em bancos que já têm jogadores.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long versao;
+
 
     /**
      * Construtor para novos jogadores (usado pelo JogadorService).
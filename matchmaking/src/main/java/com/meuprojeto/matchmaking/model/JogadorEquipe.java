@@ -7,7 +7,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter; // <<< NOVO IMPORT
 
 @Entity
-@Table(name = "JOGADOR_EQUIPE") // PERTENCE_A_EQUIPE
+@Table(name = "JOGADOR_EQUIPE", indexes = { // PERTENCE_A_EQUIPE
+        // Criados pela migração V2 (db/migration); aqui só como referência
+        @Index(name = "idx_jogador_equipe_jogador", columnList = "idJogador, idEquipe"),
+        @Index(name = "idx_jogador_equipe_equipe", columnList = "idEquipe, idJogador")
+})
 // @Data FOI REMOVIDO!
 @Getter
 @Setter
@@ -16,7 +20,8 @@ import lombok.Setter; // <<< NOVO IMPORT
 public class JogadorEquipe {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jogador_equipe_seq")
+    @SequenceGenerator(name = "jogador_equipe_seq", sequenceName = "JOGADOR_EQUIPE_SEQ", allocationSize = Sequencias.ALOCACAO)
     private Long id;
 
     @ManyToOne(fetch = FetchType.EAGER)
@@ -3,15 +3,19 @@ package com.meuprojeto.matchmaking.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "MODO_DE_JOGO")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "modoDeJogo") // Quase nunca muda (ver caffeine.conf)
 @Data
 @NoArgsConstructor
 public class ModoDeJogo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "modo_de_jogo_seq")
+    @SequenceGenerator(name = "modo_de_jogo_seq", sequenceName = "MODO_DE_JOGO_SEQ", allocationSize = Sequencias.ALOCACAO)
     @Column(name = "idModoDeJogo")
     private Long idModoDeJogo;
 
@@ -29,6 +33,27 @@ public class ModoDeJogo {
     @Column(nullable = false)
     private boolean balanceamentoAutomatico = true;
 
+    /**
+     * Nome da BalancingStrategy usada por este modo (ex: "PARTICAO_OTIMA", "SERPENTINA").
+     * Nulo: usa a estratégia padrão (matchmaking.balanceamento.estrategia-padrao).
+     * Só faz sentido quando balanceamentoAutomatico = true.
+     */
+    @Column(name = "estrategiaBalanceamento")
+    private String estrategiaBalanceamento;
+
+    /**
+     * Janela de rating da fila de matchmaking (ver PoliticaJanelaRating).
+     * Diferença de rating aceita ao entrar na fila, quanto ela cresce por
+     * segundo de espera e o seu limite. Nulos: usa os padrões do application.properties.
+     */
+    @Column(name = "janelaRatingInicial")
+    private Double janelaRatingInicial;
+
+    @Column(name = "janelaRatingPorSegundo")
+    private Double janelaRatingPorSegundo;
+
+    @Column(name = "janelaRatingMaxima")
+    private Double janelaRatingMaxima;
 
     /**
      * Construtor para o DataLoader (Seed Data).
@@ -38,4 +63,12 @@ public class ModoDeJogo {
         this.jogadoresPorEquipe = jogadoresPorEquipe;
         this.balanceamentoAutomatico = balanceamentoAutomatico;
     }
+
+    /**
+     * Construtor para o DataLoader com estratégia de balanceamento explícita.
+     */
+    public ModoDeJogo(String nome, int jogadoresPorEquipe, boolean balanceamentoAutomatico, String estrategiaBalanceamento) {
+        this(nome, jogadoresPorEquipe, balanceamentoAutomatico);
+        this.estrategiaBalanceamento = estrategiaBalanceamento;
+    }
 }
\ No newline at end of file
@@ -11,7 +11,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "PARTIDA")
+@Table(name = "PARTIDA", indexes = {
+        // Histórico paginado por (dataHora, idPartida), ver PartidaRepository
+        @Index(name = "idx_partida_data_hora", columnList = "dataHora, idPartida")
+})
 // @Data FOI REMOVIDO!
 @Getter
 @Setter
@@ -20,7 +23,8 @@ import java.util.List;
 public class Partida {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "partida_seq")
+    @SequenceGenerator(name = "partida_seq", sequenceName = "PARTIDA_SEQ", allocationSize = Sequencias.ALOCACAO)
     @Column(name = "idPartida")
     private Long idPartida;
 
@@ -34,6 +38,14 @@ public class Partida {
     @OneToMany(mappedBy = "partida", fetch = FetchType.LAZY)
     private List<Equipe> equipes = new ArrayList<>();
 
+    // MVP e Destaque do time perdedor informados no resultado (usados pelo replay de ratings).
+    // Nulos em partidas sem resultado ou registradas antes destas colunas existirem.
+    @Column(name = "idMvp")
+    private Long idMvp;
+
+    @Column(name = "idDestaquePerdedor")
+    private Long idDestaquePerdedor;
+
     public Partida(ModoDeJogo modoDeJogo) {
         this.modoDeJogo = modoDeJogo;
         this.dataHora = LocalDateTime.now();
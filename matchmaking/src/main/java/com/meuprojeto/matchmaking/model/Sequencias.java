@@ -0,0 +1,37 @@
+package com.meuprojeto.matchmaking.model;
+
+import java.util.List;
+
+/**
+ * Sequências de ids das entidades.
+ *
+ * Com IDENTITY, o Hibernate precisa de um INSERT por linha para descobrir o id
+ * e desliga o lote JDBC. Com sequência e otimizador "pooled", um
+ * "next value for" reserva ALOCACAO ids de uma vez, e os INSERTs de Equipe,
+ * JogadorEquipe etc. vão em lotes (hibernate.jdbc.batch_size).
+ */
+public final class Sequencias {
+
+    /** Ids reservados por chamada à sequência (deve ser igual ao INCREMENT BY da sequência). */
+    public static final int ALOCACAO = 50;
+
+    /**
+     * Sequência, tabela e coluna de id de cada entidade
+     * (usado por AjusteSequencias para continuar depois dos ids existentes).
+     */
+    public record Sequencia(String nome, String tabela, String colunaId) {}
+
+    public static final List<Sequencia> TODAS = List.of(
+            new Sequencia("JOGADOR_SEQ", "JOGADOR", "id_jogador"),
+            new Sequencia("MODO_DE_JOGO_SEQ", "MODO_DE_JOGO", "id_modo_de_jogo"),
+            new Sequencia("PARTIDA_SEQ", "PARTIDA", "id_partida"),
+            new Sequencia("EQUIPE_SEQ", "EQUIPE", "id_equipe"),
+            new Sequencia("JOGADOR_EQUIPE_SEQ", "JOGADOR_EQUIPE", "id"),
+            new Sequencia("EQUIPE_PARTIDA_SEQ", "EQUIPE_PARTIDA", "id"),
+            new Sequencia("HISTORICO_RATING_SEQ", "HISTORICO_RATING", "id"),
+            new Sequencia("EVENTO_RESULTADO_SEQ", "EVENTO_RESULTADO", "id"),
+            new Sequencia("ESTATISTICA_JOGADOR_SEQ", "ESTATISTICA_JOGADOR", "id"));
+
+    private Sequencias() {
+    }
+}
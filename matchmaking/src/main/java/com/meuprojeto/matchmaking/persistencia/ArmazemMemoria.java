@@ -0,0 +1,437 @@
+package com.meuprojeto.matchmaking.persistencia;
+
+import com.meuprojeto.matchmaking.persistencia.TransacaoRegistrada.Comando;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Modo de persistência em memória (perfil "memoria"): o banco H2 fica todo em
+ * memória (jdbc:h2:mem) e a durabilidade vem de um log de escrita mapeado em
+ * memória (LogEscrita) mais snapshots periódicos.
+ *
+ * Este DataSource fica na frente do pool do H2, então os repositórios JPA, o
+ * JdbcTemplate e o Flyway continuam iguais. Cada conexão guarda os comandos
+ * DML executados na transação; no commit, o commit do H2 e a gravação da
+ * transação no log acontecem juntos sob um único lock, então a ordem do log é
+ * a ordem dos commits. O commit só retorna depois de gravar no log: uma queda
+ * entre os dois perde uma transação que ninguém viu confirmada. Rollback
+ * descarta os comandos.
+ *
+ * Snapshot: SCRIPT do H2 (esquema + dados + sequências) em snapshot-N.sql,
+ * gravado com os commits bloqueados; depois dele o log recomeça em wal-N.log.
+ * Recuperação: RUNSCRIPT do snapshot mais recente e reaplicação do seu log.
+ * Sequências não passam pelo log (SELECT NEXT VALUE); depois da recuperação,
+ * AjusteSequencias as reinicia após o maior id de cada tabela.
+ *
+ * Ciclo: recuperar() (antes do Flyway), iniciarRegistro() (depois dele),
+ * snapshot() periódico e fechar() no desligamento.
+ */
+public class ArmazemMemoria extends DelegatingDataSource {
+
+    private static final Logger LOGGER = Logger.getLogger(ArmazemMemoria.class.getName());
+
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d+)\\.sql");
+
+    private final Path diretorio;
+    private final boolean forcarGravacao;
+    /** Ordena commits registrados e snapshots. */
+    private final ReentrantLock bloqueio = new ReentrantLock();
+
+    private LogEscrita log;
+    private long transacoesReaplicadas;
+    private volatile boolean registrando;
+
+    public ArmazemMemoria(DataSource bancoEmMemoria, Path diretorio, boolean forcarGravacao) {
+        super(bancoEmMemoria);
+        this.diretorio = diretorio;
+        this.forcarGravacao = forcarGravacao;
+    }
+
+    /**
+     * Carrega o snapshot mais recente e reaplica o log da mesma geração.
+     * Deve rodar com o banco em memória ainda vazio, antes das migrações.
+     */
+    public void recuperar() throws IOException, SQLException {
+        Files.createDirectories(diretorio);
+        long inicio = System.nanoTime();
+        long geracao = geracaoMaisRecente();
+        if (geracao > 0) {
+            try (Connection conexao = obterConexaoDoBanco(); Statement st = conexao.createStatement()) {
+                st.execute("RUNSCRIPT FROM '" + caminho(arquivoSnapshot(geracao)) + "' COMPRESSION DEFLATE");
+            }
+        }
+        try (Connection conexao = obterConexaoDoBanco()) {
+            conexao.setAutoCommit(false);
+            log = LogEscrita.abrir(arquivoLog(geracao), geracao, forcarGravacao, registro -> {
+                try {
+                    TransacaoRegistrada.aplicar(conexao, TransacaoRegistrada.decodificar(registro));
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Falha ao reaplicar o log de escrita", e);
+                }
+            });
+        }
+        transacoesReaplicadas = log.getRegistros();
+        apagarGeracoesAnteriores(geracao);
+        LOGGER.info("Armazém em memória recuperado de " + diretorio + ": snapshot " + geracao + " + "
+                + transacoesReaplicadas + " transações do log em " + (System.nanoTime() - inicio) / 1_000_000 + " ms.");
+    }
+
+    /**
+     * Liga o registro das transações (depois das migrações). Se a recuperação
+     * reaplicou transações ou as migrações alteraram o esquema, grava um
+     * snapshot na hora: o log recomeça vazio e compatível com o esquema atual.
+     */
+    public void iniciarRegistro(boolean esquemaAlterado) throws IOException, SQLException {
+        if (esquemaAlterado || transacoesReaplicadas > 0) {
+            gravarSnapshot();
+        }
+        registrando = true;
+    }
+
+    /**
+     * Snapshot periódico; sem transações desde o último, não faz nada.
+     */
+    @Scheduled(fixedDelayString = "${matchmaking.armazem.snapshot-ms:600000}",
+            initialDelayString = "${matchmaking.armazem.snapshot-ms:600000}")
+    public void snapshot() throws IOException, SQLException {
+        if (registrando && log.getRegistros() > 0) {
+            gravarSnapshot();
+        }
+    }
+
+    /**
+     * Desligamento: snapshot final (a próxima inicialização não precisa
+     * reaplicar o log) e fechamento do log e do pool.
+     */
+    public void fechar() throws Exception {
+        try {
+            snapshot();
+        } finally {
+            registrando = false;
+            log.close();
+            if (getTargetDataSource() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection conexao = super.getConnection();
+        return registrando ? registrada(conexao) : conexao;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection conexao = super.getConnection(username, password);
+        return registrando ? registrada(conexao) : conexao;
+    }
+
+    private Connection obterConexaoDoBanco() throws SQLException {
+        return super.getConnection();
+    }
+
+    /**
+     * Grava snapshot-(N+1).sql e passa a registrar em wal-(N+1).log.
+     * A conexão é obtida antes do lock: threads esperando o lock no commit
+     * seguram conexões do pool.
+     */
+    private void gravarSnapshot() throws IOException, SQLException {
+        long inicio = System.nanoTime();
+        try (Connection conexao = obterConexaoDoBanco(); Statement st = conexao.createStatement()) {
+            bloqueio.lock();
+            try {
+                long nova = log.getGeracao() + 1;
+                Path temporario = diretorio.resolve("snapshot-" + nova + ".sql.tmp");
+                st.execute("SCRIPT TO '" + caminho(temporario) + "' COMPRESSION DEFLATE");
+                Files.move(temporario, arquivoSnapshot(nova), StandardCopyOption.ATOMIC_MOVE);
+                // Daqui em diante o snapshot novo vale: o log antigo já está contido nele
+                log.close();
+                log = LogEscrita.abrir(arquivoLog(nova), nova, forcarGravacao, registro -> { });
+                transacoesReaplicadas = 0;
+                apagarGeracoesAnteriores(nova);
+            } finally {
+                bloqueio.unlock();
+            }
+        }
+        LOGGER.info("Snapshot " + log.getGeracao() + " do armazém em memória gravado em "
+                + (System.nanoTime() - inicio) / 1_000_000 + " ms.");
+    }
+
+    /**
+     * Executa o commit no H2 e grava a transação no log, na mesma seção crítica.
+     */
+    private <T> T confirmar(List<Comando> comandos, ExecucaoJdbc<T> commit) throws Throwable {
+        byte[] registro = TransacaoRegistrada.codificar(comandos);
+        bloqueio.lock();
+        try {
+            T resultado = commit.executar();
+            try {
+                log.registrar(registro);
+            } catch (IOException e) {
+                throw new SQLException("Transação confirmada em memória, mas não gravada no log de escrita", e);
+            }
+            return resultado;
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+
+    private long geracaoMaisRecente() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.map(arquivo -> SNAPSHOT.matcher(arquivo.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .mapToLong(m -> Long.parseLong(m.group(1)))
+                    .max().orElse(0);
+        }
+    }
+
+    /** Snapshots, logs e temporários de gerações anteriores (e snapshots interrompidos). */
+    private void apagarGeracoesAnteriores(long geracao) throws IOException {
+        List<Path> antigos;
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            antigos = arquivos.filter(arquivo -> {
+                String nome = arquivo.getFileName().toString();
+                return nome.endsWith(".tmp") || (nome.startsWith("snapshot-") || nome.startsWith("wal-"))
+                        && !nome.equals(arquivoSnapshot(geracao).getFileName().toString())
+                        && !nome.equals(arquivoLog(geracao).getFileName().toString());
+            }).toList();
+        }
+        for (Path antigo : antigos) {
+            try {
+                Files.deleteIfExists(antigo);
+            } catch (IOException e) {
+                // Ex: log antigo ainda mapeado no Windows; fica para a próxima geração
+                LOGGER.fine("Não foi possível apagar " + antigo + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private Path arquivoSnapshot(long geracao) {
+        return diretorio.resolve("snapshot-" + geracao + ".sql");
+    }
+
+    private Path arquivoLog(long geracao) {
+        return diretorio.resolve("wal-" + geracao + ".log");
+    }
+
+    private static String caminho(Path arquivo) {
+        return arquivo.toAbsolutePath().toString().replace("'", "''");
+    }
+
+    @FunctionalInterface
+    private interface ExecucaoJdbc<T> {
+        T executar() throws Throwable;
+    }
+
+    // --- Proxies JDBC ---
+
+    private Connection registrada(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(ArmazemMemoria.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConexaoRegistrada(conexao));
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Guarda os comandos DML da transação em andamento até o commit.
+     */
+    private final class ConexaoRegistrada implements InvocationHandler {
+        private final Connection conexao;
+        private final List<Comando> pendentes = new ArrayList<>();
+        private final Map<Savepoint, Integer> savepoints = new HashMap<>();
+
+        ConexaoRegistrada(Connection conexao) {
+            this.conexao = conexao;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "prepareStatement" -> {
+                    Object ps = invocar(conexao, metodo, args);
+                    String sql = (String) args[0];
+                    return TransacaoRegistrada.alteraDados(sql) ? comando(PreparedStatement.class, ps, sql) : ps;
+                }
+                case "createStatement" -> {
+                    return comando(Statement.class, invocar(conexao, metodo, args), null);
+                }
+                case "commit" -> {
+                    if (pendentes.isEmpty()) return invocar(conexao, metodo, args);
+                    try {
+                        return confirmar(pendentes, () -> invocar(conexao, metodo, args));
+                    } finally {
+                        limpar();
+                    }
+                }
+                case "setAutoCommit" -> {
+                    // Ligar o auto-commit no meio de uma transação a confirma (JDBC)
+                    if (!(Boolean) args[0] || pendentes.isEmpty() || conexao.getAutoCommit()) {
+                        return invocar(conexao, metodo, args);
+                    }
+                    try {
+                        return confirmar(pendentes, () -> invocar(conexao, metodo, args));
+                    } finally {
+                        limpar();
+                    }
+                }
+                case "rollback" -> {
+                    Object resultado = invocar(conexao, metodo, args);
+                    if (args == null) {
+                        limpar();
+                    } else {
+                        Integer tamanho = savepoints.get((Savepoint) args[0]);
+                        if (tamanho != null) pendentes.subList(tamanho, pendentes.size()).clear();
+                    }
+                    return resultado;
+                }
+                case "setSavepoint" -> {
+                    Savepoint savepoint = (Savepoint) invocar(conexao, metodo, args);
+                    savepoints.put(savepoint, pendentes.size());
+                    return savepoint;
+                }
+                case "close" -> {
+                    limpar(); // Sem commit: o pool desfaz a transação
+                    return invocar(conexao, metodo, args);
+                }
+                default -> {
+                    return invocar(conexao, metodo, args);
+                }
+            }
+        }
+
+        private void limpar() {
+            pendentes.clear();
+            savepoints.clear();
+        }
+
+        private Object comando(Class<?> tipo, Object statement, String sql) {
+            return Proxy.newProxyInstance(ArmazemMemoria.class.getClassLoader(), new Class<?>[]{tipo},
+                    new ComandoRegistrado(this, (Statement) statement, sql));
+        }
+
+        /**
+         * Comandos executados: no auto-commit vão direto ao log (execução e
+         * registro sob o lock); em transação, esperam o commit.
+         */
+        Object executar(List<Comando> comandos, ExecucaoJdbc<Object> execucao) throws Throwable {
+            if (comandos.isEmpty()) return execucao.executar();
+            if (conexao.getAutoCommit()) {
+                return confirmar(comandos, execucao);
+            }
+            Object resultado = execucao.executar();
+            pendentes.addAll(comandos);
+            return resultado;
+        }
+    }
+
+    /**
+     * Statement/PreparedStatement: guarda os parâmetros ligados e as linhas
+     * acumuladas em addBatch, e entrega à conexão o que foi executado.
+     */
+    private static final class ComandoRegistrado implements InvocationHandler {
+        private final ConexaoRegistrada conexao;
+        private final Statement statement;
+        /** SQL do PreparedStatement DML; null em Statement simples. */
+        private final String sql;
+        private Object[] parametros = new Object[8];
+        private int numParametros;
+        private final List<Object[]> lote = new ArrayList<>();
+        private final List<String> loteSql = new ArrayList<>();
+
+        ComandoRegistrado(ConexaoRegistrada conexao, Statement statement, String sql) {
+            this.conexao = conexao;
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            if (sql != null && nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+                ligar(indice, nome.equals("setNull") ? null : TransacaoRegistrada.valorRegistravel(args[1]));
+                return invocar(statement, metodo, args);
+            }
+            switch (nome) {
+                case "clearParameters" -> {
+                    Arrays.fill(parametros, null);
+                    numParametros = 0;
+                }
+                case "addBatch" -> {
+                    if (args == null) {
+                        lote.add(Arrays.copyOf(parametros, numParametros));
+                    } else if (TransacaoRegistrada.alteraDados((String) args[0])) {
+                        loteSql.add((String) args[0]);
+                    }
+                }
+                case "clearBatch" -> {
+                    lote.clear();
+                    loteSql.clear();
+                }
+                case "executeBatch", "executeLargeBatch" -> {
+                    List<Comando> comandos = new ArrayList<>();
+                    if (!lote.isEmpty()) comandos.add(new Comando(sql, new ArrayList<>(lote)));
+                    for (String comandoSql : loteSql) comandos.add(new Comando(comandoSql, List.<Object[]>of(new Object[0])));
+                    lote.clear();
+                    loteSql.clear();
+                    return conexao.executar(comandos, () -> invocar(statement, metodo, args));
+                }
+                case "execute", "executeUpdate", "executeLargeUpdate" -> {
+                    return conexao.executar(executado(args), () -> invocar(statement, metodo, args));
+                }
+                default -> {
+                    // Demais métodos (getConnection, unwrap, close...) vão direto ao driver
+                }
+            }
+            return invocar(statement, metodo, args);
+        }
+
+        private List<Comando> executado(Object[] args) {
+            if (args == null || args.length == 0) {
+                return sql == null ? List.of() : List.of(new Comando(sql, List.<Object[]>of(Arrays.copyOf(parametros, numParametros))));
+            }
+            String comandoSql = (String) args[0];
+            return TransacaoRegistrada.alteraDados(comandoSql)
+                    ? List.of(new Comando(comandoSql, List.<Object[]>of(new Object[0])))
+                    : List.of();
+        }
+
+        private void ligar(int indice, Object valor) {
+            if (indice > parametros.length) parametros = Arrays.copyOf(parametros, Math.max(indice, 2 * parametros.length));
+            parametros[indice - 1] = valor;
+            numParametros = Math.max(numParametros, indice);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.meuprojeto.matchmaking.persistencia;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Log de escrita (write-ahead log) mapeado em memória.
+ *
+ * Formato: cabeçalho (mágico, versão, geração) e registros [tamanho][crc32][bytes],
+ * um por transação confirmada. O arquivo é mapeado em blocos crescentes e
+ * preenchido com zeros: tamanho 0 marca o fim. O tamanho de cada registro é
+ * escrito por último, então um registro interrompido no meio não aparece; um
+ * registro corrompido (crc diferente) encerra a leitura ali.
+ *
+ * A geração liga o log ao snapshot do qual ele continua: um log de outra
+ * geração (ex: queda logo depois de gravar um snapshot novo) já está contido
+ * no snapshot e é descartado.
+ *
+ * Sem forcarGravacao, cada registro vai para o cache de páginas do sistema
+ * (sobrevive à queda do processo, não à do sistema operacional); com ela,
+ * cada registro é sincronizado com o disco antes de o commit retornar.
+ */
+final class LogEscrita implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(LogEscrita.class.getName());
+
+    private static final int MAGICO = 0x4D4D574C; // "MMWL"
+    private static final int VERSAO = 1;
+    /** mágico (4) + versão (4) + geração (8). */
+    static final int CABECALHO = 16;
+    /** tamanho (4) + crc32 (4). */
+    static final int CABECALHO_REGISTRO = 8;
+    private static final long CAPACIDADE_INICIAL = 16L << 20;
+
+    private final FileChannel canal;
+    private final long geracao;
+    private final boolean forcarGravacao;
+    private MappedByteBuffer mapa;
+    private int posicao;
+    private long registros;
+
+    private LogEscrita(FileChannel canal, long geracao, boolean forcarGravacao) {
+        this.canal = canal;
+        this.geracao = geracao;
+        this.forcarGravacao = forcarGravacao;
+    }
+
+    /**
+     * Abre o log para continuar a geração indicada. Os registros já gravados
+     * nessa geração são entregues a "reaplicar", em ordem; um log de outra
+     * geração (ou sem cabeçalho válido) é zerado.
+     */
+    static LogEscrita abrir(Path arquivo, long geracao, boolean forcarGravacao, Consumer<byte[]> reaplicar) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        LogEscrita log = new LogEscrita(canal, geracao, forcarGravacao);
+        try {
+            log.mapear(Math.max(canal.size(), CAPACIDADE_INICIAL));
+            if (log.mapa.getInt(0) == MAGICO && log.mapa.getInt(4) == VERSAO && log.mapa.getLong(8) == geracao) {
+                log.ler(reaplicar);
+            } else {
+                log.zerar(0);
+                log.mapa.putInt(0, MAGICO).putInt(4, VERSAO).putLong(8, geracao);
+                log.mapa.force();
+                log.posicao = CABECALHO;
+            }
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+        return log;
+    }
+
+    long getGeracao() { return geracao; }
+
+    /** Registros gravados nesta geração (inclusive os reaplicados na abertura). */
+    long getRegistros() { return registros; }
+
+    /**
+     * Acrescenta um registro. Quem chama garante a ordem (um escritor por vez).
+     */
+    void registrar(byte[] dados) throws IOException {
+        int necessario = CABECALHO_REGISTRO + dados.length + 4; // + o tamanho 0 que marca o fim
+        if ((long) posicao + necessario > mapa.capacity()) {
+            mapear(Math.max(2L * mapa.capacity(), (long) posicao + necessario));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(dados);
+        mapa.putInt(posicao + 4, (int) crc.getValue());
+        mapa.put(posicao + CABECALHO_REGISTRO, dados);
+        mapa.putInt(posicao, dados.length);
+        if (forcarGravacao) {
+            mapa.force(posicao, CABECALHO_REGISTRO + dados.length);
+        }
+        posicao += CABECALHO_REGISTRO + dados.length;
+        registros++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        mapa.force();
+        canal.close();
+    }
+
+    private void ler(Consumer<byte[]> reaplicar) throws IOException {
+        posicao = CABECALHO;
+        while (posicao + CABECALHO_REGISTRO <= mapa.capacity()) {
+            int tamanho = mapa.getInt(posicao);
+            if (tamanho == 0) return;
+            if (tamanho < 0 || (long) posicao + CABECALHO_REGISTRO + tamanho > mapa.capacity()) {
+                break;
+            }
+            byte[] dados = new byte[tamanho];
+            mapa.get(posicao + CABECALHO_REGISTRO, dados);
+            CRC32 crc = new CRC32();
+            crc.update(dados);
+            if ((int) crc.getValue() != mapa.getInt(posicao + 4)) {
+                break;
+            }
+            reaplicar.accept(dados);
+            posicao += CABECALHO_REGISTRO + tamanho;
+            registros++;
+        }
+        // Registro incompleto no fim (queda durante a gravação): descartado
+        LOGGER.warning("Log de escrita com registro inválido na posição " + posicao + "; "
+                + registros + " registros recuperados, o restante foi descartado.");
+        zerar(posicao);
+        mapa.force();
+    }
+
+    private void mapear(long capacidade) throws IOException {
+        if (capacidade > Integer.MAX_VALUE) {
+            throw new IOException("Log de escrita excedeu 2 GB; grave um snapshot para reiniciá-lo.");
+        }
+        mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, capacidade);
+    }
+
+    private void zerar(int inicio) {
+        byte[] zeros = new byte[64 * 1024];
+        for (int i = inicio; i < mapa.capacity(); i += zeros.length) {
+            mapa.put(i, zeros, 0, Math.min(zeros.length, mapa.capacity() - i));
+        }
+    }
+}
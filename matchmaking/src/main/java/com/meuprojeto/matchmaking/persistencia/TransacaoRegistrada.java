@@ -0,0 +1,211 @@
+package com.meuprojeto.matchmaking.persistencia;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Formato de uma transação no log de escrita: os comandos DML confirmados
+ * (INSERT/UPDATE/DELETE/MERGE), cada um com o SQL e as linhas de parâmetros
+ * (uma por execução; várias em um lote JDBC).
+ *
+ * Os valores são os já ligados pelo Hibernate/JdbcTemplate: ids vindos das
+ * sequências, ratings calculados, datas. Reaplicar os comandos na mesma ordem
+ * sobre o mesmo estado produz as mesmas linhas.
+ */
+final class TransacaoRegistrada {
+
+    private static final byte NULO = 0;
+    private static final byte LONG = 1;
+    private static final byte INTEIRO = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEANO = 4;
+    private static final byte TEXTO = 5;
+    private static final byte DECIMAL = 6;
+    private static final byte TIMESTAMP = 7;
+    private static final byte DATA_HORA = 8;
+    private static final byte DATA = 9;
+
+    private TransacaoRegistrada() {
+    }
+
+    /** Um comando DML e os parâmetros de cada execução. */
+    record Comando(String sql, List<Object[]> linhas) {
+    }
+
+    static boolean alteraDados(String sql) {
+        String inicio = sql.stripLeading();
+        return comecaCom(inicio, "INSERT") || comecaCom(inicio, "UPDATE")
+                || comecaCom(inicio, "DELETE") || comecaCom(inicio, "MERGE");
+    }
+
+    private static boolean comecaCom(String sql, String palavra) {
+        return sql.regionMatches(true, 0, palavra, 0, palavra.length());
+    }
+
+    /**
+     * Confere o valor ligado a um parâmetro antes da execução: um tipo que o
+     * log não sabe gravar falha já no set, sem o banco divergir do log.
+     */
+    static Object valorRegistravel(Object valor) throws SQLException {
+        if (valor == null || valor instanceof Long || valor instanceof Integer || valor instanceof Double
+                || valor instanceof Boolean || valor instanceof String || valor instanceof BigDecimal
+                || valor instanceof Timestamp || valor instanceof LocalDateTime || valor instanceof LocalDate) {
+            return valor;
+        }
+        if (valor instanceof Short || valor instanceof Byte) return ((Number) valor).intValue();
+        if (valor instanceof Float) return ((Float) valor).doubleValue();
+        if (valor instanceof Character || valor instanceof Enum<?>) return valor.toString();
+        if (valor instanceof java.sql.Date data) return data.toLocalDate();
+        throw new SQLFeatureNotSupportedException("Tipo não suportado no log de escrita: " + valor.getClass().getName());
+    }
+
+    static byte[] codificar(List<Comando> comandos) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * comandos.size());
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeInt(comandos.size());
+            for (Comando comando : comandos) {
+                escreverTexto(saida, comando.sql());
+                saida.writeInt(comando.linhas().size());
+                for (Object[] linha : comando.linhas()) {
+                    saida.writeInt(linha.length);
+                    for (Object valor : linha) {
+                        escreverValor(saida, valor);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // ByteArrayOutputStream não lança
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<Comando> decodificar(byte[] registro) {
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(registro))) {
+            int numComandos = entrada.readInt();
+            List<Comando> comandos = new ArrayList<>(numComandos);
+            for (int c = 0; c < numComandos; c++) {
+                String sql = lerTexto(entrada);
+                int numLinhas = entrada.readInt();
+                List<Object[]> linhas = new ArrayList<>(numLinhas);
+                for (int l = 0; l < numLinhas; l++) {
+                    Object[] linha = new Object[entrada.readInt()];
+                    for (int i = 0; i < linha.length; i++) {
+                        linha[i] = lerValor(entrada);
+                    }
+                    linhas.add(linha);
+                }
+                comandos.add(new Comando(sql, linhas));
+            }
+            return comandos;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Registro inválido no log de escrita", e);
+        }
+    }
+
+    /**
+     * Reaplica uma transação (recuperação), em uma transação só.
+     */
+    static void aplicar(Connection conexao, List<Comando> comandos) throws SQLException {
+        for (Comando comando : comandos) {
+            try (PreparedStatement ps = conexao.prepareStatement(comando.sql())) {
+                if (comando.linhas().size() == 1) {
+                    ligar(ps, comando.linhas().get(0));
+                    ps.executeUpdate();
+                    continue;
+                }
+                for (Object[] linha : comando.linhas()) {
+                    ligar(ps, linha);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        conexao.commit();
+    }
+
+    private static void ligar(PreparedStatement ps, Object[] linha) throws SQLException {
+        for (int i = 0; i < linha.length; i++) {
+            ps.setObject(i + 1, linha[i]);
+        }
+    }
+
+    private static void escreverValor(DataOutputStream saida, Object valor) throws IOException {
+        if (valor == null) {
+            saida.writeByte(NULO);
+        } else if (valor instanceof Long v) {
+            saida.writeByte(LONG);
+            saida.writeLong(v);
+        } else if (valor instanceof Integer v) {
+            saida.writeByte(INTEIRO);
+            saida.writeInt(v);
+        } else if (valor instanceof Double v) {
+            saida.writeByte(DOUBLE);
+            saida.writeDouble(v);
+        } else if (valor instanceof Boolean v) {
+            saida.writeByte(BOOLEANO);
+            saida.writeBoolean(v);
+        } else if (valor instanceof String v) {
+            saida.writeByte(TEXTO);
+            escreverTexto(saida, v);
+        } else if (valor instanceof BigDecimal v) {
+            saida.writeByte(DECIMAL);
+            escreverTexto(saida, v.toString());
+        } else if (valor instanceof Timestamp v) {
+            saida.writeByte(TIMESTAMP);
+            escreverTexto(saida, v.toLocalDateTime().toString());
+        } else if (valor instanceof LocalDateTime v) {
+            saida.writeByte(DATA_HORA);
+            escreverTexto(saida, v.toString());
+        } else if (valor instanceof LocalDate v) {
+            saida.writeByte(DATA);
+            escreverTexto(saida, v.toString());
+        } else {
+            throw new IllegalArgumentException("Tipo não suportado no log de escrita: " + valor.getClass().getName());
+        }
+    }
+
+    private static Object lerValor(DataInputStream entrada) throws IOException {
+        byte tipo = entrada.readByte();
+        return switch (tipo) {
+            case NULO -> null;
+            case LONG -> entrada.readLong();
+            case INTEIRO -> entrada.readInt();
+            case DOUBLE -> entrada.readDouble();
+            case BOOLEANO -> entrada.readBoolean();
+            case TEXTO -> lerTexto(entrada);
+            case DECIMAL -> new BigDecimal(lerTexto(entrada));
+            case TIMESTAMP -> Timestamp.valueOf(LocalDateTime.parse(lerTexto(entrada)));
+            case DATA_HORA -> LocalDateTime.parse(lerTexto(entrada));
+            case DATA -> LocalDate.parse(lerTexto(entrada));
+            default -> throw new IOException("Tipo de valor desconhecido: " + tipo);
+        };
+    }
+
+    /** Comprimento + UTF-8 (writeUTF limita a 64 KB). */
+    private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        saida.writeInt(bytes.length);
+        saida.write(bytes);
+    }
+
+    private static String lerTexto(DataInputStream entrada) throws IOException {
+        byte[] bytes = new byte[entrada.readInt()];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -2,8 +2,43 @@ package com.meuprojeto.matchmaking.repository;
 
 import com.meuprojeto.matchmaking.model.Equipe;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface EquipeRepository extends JpaRepository<Equipe, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Detalhes (equipes, membros, jogadores e resultados) só das partidas pedidas,
+     * em uma consulta. Partindo de Equipe, só há UMA coleção no JOIN FETCH (membros).
+     * A Partida não entra no JOIN (só o id dela é usado): o filtro fica na coluna
+     * idPartida da própria EQUIPE (índice idx_equipe_partida). Com o JOIN, o IN
+     * ia para PARTIDA e o H2 percorria todas as equipes.
+     */
+    @Query("SELECT e FROM Equipe e " +
+            "LEFT JOIN FETCH e.membros m " +
+            "LEFT JOIN FETCH m.jogador " +
+            "LEFT JOIN FETCH e.resultado " +
+            "WHERE e.partida.idPartida IN :idsPartidas " +
+            "ORDER BY e.partida.idPartida, e.nome")
+    List<Equipe> buscarDetalhesDasPartidas(Collection<Long> idsPartidas);
+
+    /**
+     * Agregado inteiro de uma partida para registrar o resultado (partida, modo,
+     * equipes, membros, jogadores e resultados) em uma única consulta.
+     * Antes eram 2 + N: a partida, as equipes (lazy) e os membros de cada equipe.
+     * Lista vazia se a partida não existe ou não tem equipes.
+     */
+    @Query("SELECT e FROM Equipe e " +
+            "JOIN FETCH e.partida p " +
+            "JOIN FETCH p.modoDeJogo " +
+            "LEFT JOIN FETCH e.membros m " +
+            "LEFT JOIN FETCH m.jogador " +
+            "LEFT JOIN FETCH e.resultado " +
+            "WHERE p.idPartida = :idPartida " +
+            "ORDER BY e.idEquipe")
+    List<Equipe> buscarAgregadoDaPartida(Long idPartida);
+}
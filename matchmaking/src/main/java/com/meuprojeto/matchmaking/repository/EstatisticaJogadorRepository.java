@@ -0,0 +1,27 @@
+package com.meuprojeto.matchmaking.repository;
+
+import com.meuprojeto.matchmaking.model.EstatisticaJogador;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EstatisticaJogadorRepository extends JpaRepository<EstatisticaJogador, Long> {
+
+    /**
+     * Linhas afetadas por um resultado: o total e a do modo da partida
+     * de cada jogador (as que ainda não existem são criadas por quem chama).
+     */
+    @Query("SELECT e FROM EstatisticaJogador e " +
+            "WHERE e.idJogador IN :idsJogadores " +
+            "AND e.idModoDeJogo IN (" + EstatisticaJogador.TODOS_OS_MODOS + ", :idModoDeJogo)")
+    List<EstatisticaJogador> buscarParaResultado(Collection<Long> idsJogadores, Long idModoDeJogo);
+
+    /**
+     * Estatísticas de um jogador: o total (TODOS_OS_MODOS) primeiro, depois por modo.
+     */
+    List<EstatisticaJogador> findByIdJogadorOrderByIdModoDeJogo(Long idJogador);
+}
@@ -0,0 +1,25 @@
+package com.meuprojeto.matchmaking.repository;
+
+import com.meuprojeto.matchmaking.model.EventoResultado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EventoResultadoRepository extends JpaRepository<EventoResultado, Long> {
+
+    List<EventoResultado> findByStatusOrderByIdAsc(String status);
+
+    /** Evento mais recente da partida (uma partida com evento FALHOU pode ser reenviada). */
+    Optional<EventoResultado> findFirstByIdPartidaOrderByIdDesc(Long idPartida);
+
+    /** Remove o evento FALHOU da partida, abrindo espaço para o reenvio (um evento por partida). */
+    @Modifying
+    @Query("DELETE FROM EventoResultado e WHERE e.idPartida = :idPartida AND e.status = '" + EventoResultado.FALHOU + "'")
+    int apagarFalhou(@Param("idPartida") Long idPartida);
+}
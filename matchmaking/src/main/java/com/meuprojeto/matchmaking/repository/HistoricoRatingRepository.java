@@ -0,0 +1,17 @@
+package com.meuprojeto.matchmaking.repository;
+
+import com.meuprojeto.matchmaking.model.HistoricoRating;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface HistoricoRatingRepository extends JpaRepository<HistoricoRating, Long> {
+
+    /**
+     * Evolução do rating de um jogador em um período (usa o índice idJogador, dataHora).
+     */
+    List<HistoricoRating> findByIdJogadorAndDataHoraBetweenOrderByDataHoraAsc(Long idJogador, LocalDateTime de, LocalDateTime ate);
+}
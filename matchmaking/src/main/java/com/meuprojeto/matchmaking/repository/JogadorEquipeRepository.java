@@ -3,8 +3,9 @@ package com.meuprojeto.matchmaking.repository;
 import com.meuprojeto.matchmaking.model.Jogador;
 import com.meuprojeto.matchmaking.model.JogadorEquipe;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query; // <<< NOVO IMPORT
-import org.springframework.data.repository.query.Param; // <<< NOVO IMPORT
+import com.meuprojeto.matchmaking.service.dto.ParticipacaoJogador;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,17 +20,18 @@ public interface JogadorEquipeRepository extends JpaRepository<JogadorEquipe, Lo
 
 
     /**
-     * <<< NOVO MÉTODO (A CORREÇÃO) >>>
-     * * Busca as participações de um jogador, mas também força o carregamento (JOIN FETCH)
-     * de todos os dados relacionados (Equipe, Partida, Resultado) que a UI
-     * precisará. Isso evita a LazyInitializationException.
+     * Histórico de um jogador (mais recentes primeiro), só com as colunas que a
+     * aba Perfil exibe. Constructor expression: nada vai para o contexto de
+     * persistência, então históricos longos não geram snapshots/dirty checking.
      */
-    @Query("SELECT je FROM JogadorEquipe je " +
-            "JOIN FETCH je.equipe e " +
-            "JOIN FETCH e.partida p " +
-            "JOIN FETCH p.modoDeJogo " +
-            "LEFT JOIN FETCH e.resultado " + // LEFT JOIN porque o resultado pode ser nulo (pendente)
-            "WHERE je.jogador = :jogador " +
-            "ORDER BY p.dataHora DESC") // Ordena pela data da partida
-    List<JogadorEquipe> findByJogadorComDetalhesCompletos(@Param("jogador") Jogador jogador);
-}
\ No newline at end of file
+    @Query("SELECT new com.meuprojeto.matchmaking.service.dto.ParticipacaoJogador(" +
+            "p.idPartida, p.dataHora, m.nome, e.nome, r.statusResultado) " +
+            "FROM JogadorEquipe je " +
+            "JOIN je.equipe e " +
+            "JOIN e.partida p " +
+            "JOIN p.modoDeJogo m " +
+            "LEFT JOIN e.resultado r " + // LEFT JOIN porque o resultado pode ser nulo (pendente)
+            "WHERE je.jogador.idJogador = :idJogador " +
+            "ORDER BY p.dataHora DESC, p.idPartida DESC")
+    List<ParticipacaoJogador> buscarParticipacoes(@Param("idJogador") Long idJogador);
+}
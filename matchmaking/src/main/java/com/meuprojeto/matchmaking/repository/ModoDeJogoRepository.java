@@ -1,13 +1,27 @@
 package com.meuprojeto.matchmaking.repository;
 
 import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repositório Spring Data JPA para a entidade ModoDeJogo.
  */
 @Repository
 public interface ModoDeJogoRepository extends JpaRepository<ModoDeJogo, Long> {
     // Métodos CRUD básicos (save, findById, findAll, delete) são herdados.
+    // findById usa o cache de segundo nível da entidade (@Cache em ModoDeJogo).
+
+    /**
+     * A lista de modos é recarregada a cada atualização da tela: fica no cache de
+     * consultas, invalidado pelo Hibernate quando algum modo é gravado.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ModoDeJogo> findAll();
 }
\ No newline at end of file
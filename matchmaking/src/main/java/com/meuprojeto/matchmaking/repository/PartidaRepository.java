@@ -1,30 +1,43 @@
 package com.meuprojeto.matchmaking.repository;
 
 import com.meuprojeto.matchmaking.model.Partida;
+import com.meuprojeto.matchmaking.service.dto.ResumoPartida;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query; // <<< NOVO IMPORT
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface PartidaRepository extends JpaRepository<Partida, Long> {
 
     /**
-     * <<< MÉTODO ATUALIZADO (A CORREÇÃO) >>>
-     *
-     * Busca todas as partidas, mas também força o carregamento (JOIN FETCH)
-     * de todos os dados relacionados (ModoDeJogo, Equipes, Membros, Jogadores e Resultados)
-     * que a UI da Aba 3 ("Histórico de Partidas") precisará.
-     * * O 'DISTINCT' é crucial para evitar duplicatas de 'Partida'
-     * ao fazer JOIN com múltiplas coleções.
+     * Nome do modo por subconsulta, e não JOIN: com o JOIN, o H2 começava por
+     * MODO_DE_JOGO (poucas linhas) e percorria todas as partidas de cada modo,
+     * sem usar a ordem do índice idx_partida_data_hora.
      */
-    @Query("SELECT DISTINCT p FROM Partida p " +
-            "JOIN FETCH p.modoDeJogo " +
-            "LEFT JOIN FETCH p.equipes e " + // LEFT JOIN caso uma partida seja criada sem equipes (embora não deva acontecer)
-            "LEFT JOIN FETCH e.membros m " +
-            "LEFT JOIN FETCH m.jogador " +
-            "LEFT JOIN FETCH e.resultado " +
-            "ORDER BY p.dataHora DESC") // Ordena pela data/hora da mais recente
-    List<Partida> findAllByOrderByDataHoraDesc();
-}
\ No newline at end of file
+    String NOME_MODO = "(SELECT m.nome FROM ModoDeJogo m WHERE m = p.modoDeJogo)";
+
+    /**
+     * Primeira página do histórico (mais recentes primeiro), só com as colunas da lista.
+     * Ordem total por (dataHora, idPartida), que é o cursor das páginas seguintes.
+     */
+    @Query("SELECT new com.meuprojeto.matchmaking.service.dto.ResumoPartida(p.idPartida, p.dataHora, " + NOME_MODO + ") " +
+            "FROM Partida p " +
+            "ORDER BY p.dataHora DESC, p.idPartida DESC")
+    List<ResumoPartida> buscarResumosRecentes(Limit limite);
+
+    /**
+     * Página seguinte (keyset): partidas estritamente depois do cursor na ordem
+     * do histórico. Usa o índice de dataHora em vez de OFFSET, então o custo
+     * não cresce com a página. O "dataHora <= :dataHora" redundante é o que
+     * permite ao banco posicionar o índice no cursor (só o OR varria do topo).
+     */
+    @Query("SELECT new com.meuprojeto.matchmaking.service.dto.ResumoPartida(p.idPartida, p.dataHora, " + NOME_MODO + ") " +
+            "FROM Partida p " +
+            "WHERE p.dataHora <= :dataHora AND (p.dataHora < :dataHora OR p.idPartida < :idPartida) " +
+            "ORDER BY p.dataHora DESC, p.idPartida DESC")
+    List<ResumoPartida> buscarResumosAntesDe(LocalDateTime dataHora, Long idPartida, Limit limite);
+}
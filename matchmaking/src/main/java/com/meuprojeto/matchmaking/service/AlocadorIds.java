@@ -0,0 +1,45 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.model.Sequencias;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Ids para INSERTs feitos direto via JDBC (ex: importação em lote), compatíveis
+ * com o otimizador pooled do Hibernate: cada "next value for" devolve o topo V
+ * de um bloco (V - ALOCACAO, V], que passa a ser só de quem o buscou.
+ * Assim o JDBC e o Hibernate nunca geram o mesmo id, e um lote de N linhas
+ * custa N / ALOCACAO chamadas à sequência (uma única consulta).
+ */
+@Component
+public class AlocadorIds {
+
+    private final JdbcTemplate jdbc;
+
+    public AlocadorIds(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Preenche a última posição de cada linha com um id novo da sequência.
+     */
+    public void preencherIds(String sequencia, List<Object[]> linhas) {
+        if (linhas.isEmpty()) return;
+        int blocos = (linhas.size() + Sequencias.ALOCACAO - 1) / Sequencias.ALOCACAO;
+        List<Long> topos = jdbc.queryForList(
+                "SELECT NEXT VALUE FOR " + sequencia + " FROM SYSTEM_RANGE(1, ?)", Long.class, blocos);
+        int linha = 0;
+        for (long topo : topos) {
+            for (long id = Math.max(1, topo - Sequencias.ALOCACAO + 1); id <= topo && linha < linhas.size(); id++) {
+                Object[] valores = linhas.get(linha++);
+                valores[valores.length - 1] = id;
+            }
+        }
+        if (linha < linhas.size()) {
+            // Só acontece no primeiro bloco da sequência (topo = 1): busca mais
+            preencherIds(sequencia, linhas.subList(linha, linhas.size()));
+        }
+    }
+}
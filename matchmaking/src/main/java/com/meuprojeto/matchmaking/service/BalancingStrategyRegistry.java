@@ -0,0 +1,56 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.core.balanceamento.BalancingStrategy;
+import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registro das estratégias de balanceamento disponíveis, indexadas pelo nome.
+ * Resolve qual estratégia um ModoDeJogo usa.
+ */
+@Component
+public class BalancingStrategyRegistry {
+
+    private final Map<String, BalancingStrategy> estrategias = new LinkedHashMap<>();
+    private final String estrategiaPadrao;
+
+    public BalancingStrategyRegistry(List<BalancingStrategy> estrategias,
+                                     @Value("${matchmaking.balanceamento.estrategia-padrao:PARTICAO_OTIMA}") String estrategiaPadrao) {
+        for (BalancingStrategy estrategia : estrategias) {
+            if (this.estrategias.put(estrategia.getNome(), estrategia) != null) {
+                throw new IllegalStateException("Estratégia de balanceamento duplicada: " + estrategia.getNome());
+            }
+        }
+        if (!this.estrategias.containsKey(estrategiaPadrao)) {
+            throw new IllegalStateException("Estratégia de balanceamento padrão desconhecida: " + estrategiaPadrao);
+        }
+        this.estrategiaPadrao = estrategiaPadrao;
+    }
+
+    /**
+     * Estratégia configurada no modo de jogo (ou a padrão, se o modo não definir nenhuma).
+     */
+    public BalancingStrategy paraModo(ModoDeJogo modoDeJogo) {
+        String nome = modoDeJogo.getEstrategiaBalanceamento();
+        return buscar(nome == null || nome.isBlank() ? estrategiaPadrao : nome);
+    }
+
+    public BalancingStrategy buscar(String nome) {
+        BalancingStrategy estrategia = estrategias.get(nome);
+        if (estrategia == null) {
+            throw new MatchmakingException("Estratégia de balanceamento desconhecida: " + nome + ". Disponíveis: " + estrategias.keySet());
+        }
+        return estrategia;
+    }
+
+    public Set<String> nomesDisponiveis() {
+        return Collections.unmodifiableSet(estrategias.keySet());
+    }
+}
@@ -0,0 +1,62 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.model.Jogador;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Invalidação do cache de segundo nível de Jogador para as gravações que não
+ * passam pelo Hibernate (UPDATE JOGADOR via JDBC na importação e no replay).
+ *
+ * As alterações feitas pelas entidades já atualizam o cache sozinhas. Nas
+ * feitas por JDBC, a entrada é removida na hora (a própria transação não lê o
+ * valor antigo) e de novo depois do commit: entre as duas, outra transação
+ * ainda pode ter lido a linha antiga do banco e colocado no cache.
+ */
+@Component
+public class CacheJogadores {
+
+    private final Cache cache;
+
+    public CacheJogadores(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache();
+    }
+
+    /**
+     * Invalida os jogadores cujas linhas foram alteradas por JDBC.
+     */
+    public void invalidar(Collection<Long> idJogadores) {
+        List<Long> ids = List.copyOf(idJogadores);
+        Runnable remover = () -> {
+            for (Long idJogador : ids) {
+                cache.evict(Jogador.class, idJogador);
+            }
+        };
+        executarAgoraEAposCommit(remover);
+    }
+
+    /**
+     * Invalida todos os jogadores (ex: replay gravado, que reescreve a tabela).
+     */
+    public void invalidarTodos() {
+        executarAgoraEAposCommit(() -> cache.evict(Jogador.class));
+    }
+
+    private static void executarAgoraEAposCommit(Runnable remover) {
+        remover.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remover.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.core.classificacao.Classificacao;
+import com.meuprojeto.matchmaking.model.EstatisticaJogador;
+import com.meuprojeto.matchmaking.service.dto.ClassificacaoResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+/**
+ * Classificação por rating, em memória: uma geral e uma por modo de jogo
+ * (jogadores com resultado no modo, pelas linhas de ESTATISTICA_JOGADOR).
+ * O rating é o mesmo do jogador em todas elas.
+ *
+ * Top N, posição de um jogador e "jogadores ao redor" custam O(log n) na
+ * Classificacao do core, sem ORDER BY sobre JOGADOR. As classificações são
+ * montadas na inicialização e atualizadas depois do commit de cada resultado;
+ * a versão do jogador (JOGADOR.versao) descarta atualizações que chegam fora
+ * de ordem (commits concorrentes do mesmo jogador).
+ */
+@Service
+public class ClassificacaoService {
+
+    private static final Logger LOGGER = Logger.getLogger(ClassificacaoService.class.getName());
+
+    /** Maior top N / raio aceitos por consulta. */
+    static final int LIMITE_MAXIMO = 100;
+
+    private static final String SQL_CARREGAR =
+            "SELECT e.id_modo_de_jogo, j.id_jogador, j.rating, j.versao " +
+            "FROM ESTATISTICA_JOGADOR e JOIN JOGADOR j ON j.id_jogador = e.id_jogador";
+
+    /**
+     * Novo rating (e versão) de um jogador que teve resultado no modo.
+     */
+    public record AlteracaoRating(long idJogador, long idModoDeJogo, double rating, long versao) {}
+
+    private final JdbcTemplate jdbc;
+
+    // Protegidos pelo lock (consultas: leitura; carregar/aplicar: escrita)
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Classificacao geral = new Classificacao();
+    private Map<Long, Classificacao> porModo = new HashMap<>();
+    private Map<Long, Long> versoes = new HashMap<>();
+
+    public ClassificacaoService(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * (Re)monta as classificações a partir do banco. A leitura acontece com o
+     * lock de escrita: atualizações de commits posteriores esperam e entram
+     * depois, as anteriores são descartadas pela versão.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long inicio = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            Classificacao novaGeral = new Classificacao();
+            Map<Long, Classificacao> novasPorModo = new HashMap<>();
+            Map<Long, Long> novasVersoes = new HashMap<>();
+            jdbc.query(SQL_CARREGAR, rs -> {
+                long idModo = rs.getLong("id_modo_de_jogo");
+                long idJogador = rs.getLong("id_jogador");
+                double rating = rs.getDouble("rating");
+                Classificacao classificacao = idModo == EstatisticaJogador.TODOS_OS_MODOS
+                        ? novaGeral : novasPorModo.computeIfAbsent(idModo, id -> new Classificacao());
+                classificacao.atualizar(idJogador, rating);
+                novasVersoes.put(idJogador, rs.getLong("versao"));
+            });
+            geral = novaGeral;
+            porModo = novasPorModo;
+            versoes = novasVersoes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOGGER.info(String.format("Classificação: %d jogadores, %d modos (%d ms)",
+                geral.tamanho(), porModo.size(), (System.nanoTime() - inicio) / 1_000_000));
+    }
+
+    /**
+     * Aplica os novos ratings depois do commit da transação atual (na hora, se
+     * não houver transação).
+     */
+    public void atualizarAposCommit(List<AlteracaoRating> alteracoes) {
+        executarAposCommit(() -> aplicar(alteracoes));
+    }
+
+    /**
+     * Remonta tudo depois do commit (ex: replay gravado, que reescreve os ratings).
+     */
+    public void recarregarAposCommit() {
+        executarAposCommit(this::carregar);
+    }
+
+    private void aplicar(List<AlteracaoRating> alteracoes) {
+        lock.writeLock().lock();
+        try {
+            for (AlteracaoRating alteracao : alteracoes) {
+                long idJogador = alteracao.idJogador();
+                Long versaoConhecida = versoes.get(idJogador);
+                if (versaoConhecida == null || alteracao.versao() > versaoConhecida) {
+                    versoes.put(idJogador, alteracao.versao());
+                    geral.atualizar(idJogador, alteracao.rating());
+                    for (Classificacao classificacao : porModo.values()) {
+                        if (classificacao.contem(idJogador)) classificacao.atualizar(idJogador, alteracao.rating());
+                    }
+                }
+                // Primeiro resultado no modo: entra com o rating mais recente conhecido
+                Classificacao doModo = porModo.computeIfAbsent(alteracao.idModoDeJogo(), id -> new Classificacao());
+                if (!doModo.contem(idJogador)) doModo.atualizar(idJogador, geral.ratingDe(idJogador));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // --- Consultas ---
+
+    /**
+     * Os 'limite' primeiros da classificação geral (idModoDeJogo nulo) ou do modo.
+     */
+    public ClassificacaoResponse topo(Long idModoDeJogo, int limite) {
+        validar("limite", limite, 1);
+        lock.readLock().lock();
+        try {
+            Classificacao classificacao = classificacao(idModoDeJogo);
+            return new ClassificacaoResponse(idModoDeJogo, classificacao.tamanho(), null, classificacao.topo(limite));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posição do jogador e até 'raio' jogadores antes e depois dele.
+     */
+    public ClassificacaoResponse aoRedorDoJogador(Long idModoDeJogo, Long idJogador, int raio) {
+        validar("raio", raio, 0);
+        lock.readLock().lock();
+        try {
+            Classificacao classificacao = classificacao(idModoDeJogo);
+            int posicao = classificacao.posicao(idJogador);
+            if (posicao == Classificacao.SEM_POSICAO) {
+                throw new MatchmakingException("O jogador " + idJogador + " ainda não tem resultados"
+                        + (idModoDeJogo != null ? " no modo " + idModoDeJogo : "") + ".");
+            }
+            return new ClassificacaoResponse(idModoDeJogo, classificacao.tamanho(), posicao,
+                    classificacao.aoRedor(idJogador, raio));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Classificacao classificacao(Long idModoDeJogo) {
+        if (idModoDeJogo == null) return geral;
+        Classificacao doModo = porModo.get(idModoDeJogo);
+        return doModo != null ? doModo : new Classificacao();
+    }
+
+    private static void validar(String nome, int valor, int minimo) {
+        if (valor < minimo || valor > LIMITE_MAXIMO) {
+            throw new MatchmakingException("O " + nome + " deve estar entre " + minimo + " e " + LIMITE_MAXIMO + ".");
+        }
+    }
+
+    private static void executarAposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
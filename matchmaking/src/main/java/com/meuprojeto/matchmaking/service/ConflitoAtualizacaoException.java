@@ -0,0 +1,15 @@
+package com.meuprojeto.matchmaking.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * A operação perdeu todas as disputas de lock otimista permitidas por
+ * RetentativaOtimista (outros resultados continuaram atualizando os mesmos
+ * jogadores). A causa é o último conflito; a API responde 409.
+ */
+public class ConflitoAtualizacaoException extends MatchmakingException {
+
+    public ConflitoAtualizacaoException(int tentativas, OptimisticLockingFailureException causa) {
+        super("Conflito ao atualizar ratings após " + tentativas + " tentativas. Tente novamente.", causa);
+    }
+}
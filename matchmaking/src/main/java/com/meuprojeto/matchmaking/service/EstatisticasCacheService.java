@@ -0,0 +1,48 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.service.dto.EstatisticasCacheResponse;
+import com.meuprojeto.matchmaking.service.dto.EstatisticasCacheResponse.Regiao;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura das estatísticas do Hibernate sobre o cache de segundo nível
+ * (hibernate.generate_statistics=true), para confirmar que as leituras de
+ * modos e jogadores não vão mais ao banco.
+ */
+@Service
+public class EstatisticasCacheService {
+
+    /** Regiões das entidades com @Cache (ver caffeine.conf). */
+    static final List<String> REGIOES = List.of("modoDeJogo", "jogador");
+
+    private final Statistics estatisticas;
+
+    public EstatisticasCacheService(EntityManagerFactory entityManagerFactory) {
+        this.estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public EstatisticasCacheResponse estatisticas() {
+        List<Regiao> regioes = new ArrayList<>(REGIOES.size());
+        for (String nome : REGIOES) {
+            CacheRegionStatistics regiao = estatisticas.getDomainDataRegionStatistics(nome);
+            regioes.add(new Regiao(nome, regiao.getHitCount(), regiao.getMissCount(), regiao.getPutCount(),
+                    regiao.getElementCountInMemory()));
+        }
+        return new EstatisticasCacheResponse(regioes, estatisticas.getQueryCacheHitCount(),
+                estatisticas.getQueryCacheMissCount(), estatisticas.getPrepareStatementCount());
+    }
+
+    /**
+     * Zera os contadores (ex: antes de medir um cenário). Não esvazia o cache.
+     */
+    public void zerar() {
+        estatisticas.clear();
+    }
+}
@@ -0,0 +1,265 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.core.fila.EntradaFila;
+import com.meuprojeto.matchmaking.core.fila.FilaModo;
+import com.meuprojeto.matchmaking.core.fila.HistogramaLatencia;
+import com.meuprojeto.matchmaking.core.fila.PoliticaJanelaRating;
+import com.meuprojeto.matchmaking.core.fila.ShardFila;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import com.meuprojeto.matchmaking.repository.ModoDeJogoRepository;
+import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaResponse;
+import com.meuprojeto.matchmaking.service.dto.EstatisticasFilaResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fila contínua de matchmaking.
+ *
+ * Jogadores entram na fila de um ModoDeJogo (em memória, estruturas concorrentes;
+ * na entrada só o Jogador é lido, normalmente do cache de segundo nível, para
+ * usar o rating gravado). Cada modo é um shard independente
+ * (ShardFila): a cada tick, o agendador só despacha uma rodada por shard para o
+ * executor limitado, e os modos formam partidas em paralelo, sem lock compartilhado.
+ * As partidas são criadas com o MatchmakingService (mesma lógica de
+ * balanceamento da criação manual).
+ *
+ * Modos com muito tráfego recebem rodadas extras entre os ticks
+ * (ver ShardFila.precisaDeRodadaExtra).
+ *
+ * A diferença de rating aceita por cada jogador cresce com o tempo de espera,
+ * conforme a janela configurada no ModoDeJogo (ou os padrões "matchmaking.fila.janela.*").
+ * Cada rodada relê o ModoDeJogo (normalmente do cache de segundo nível), então
+ * mudanças na janela ou em jogadoresPorEquipe valem a partir da rodada seguinte.
+ *
+ * Entrada pela API: FilaRestController (/api/fila).
+ */
+@Service
+public class FilaMatchmakingService {
+
+    private static final Logger LOGGER = Logger.getLogger(FilaMatchmakingService.class.getName());
+
+    /** Partidas formadas pela fila têm 2 equipes. */
+    private static final int EQUIPES_POR_PARTIDA = 2;
+
+    private final MatchmakingService matchmakingService;
+    private final ModoDeJogoRepository modoDeJogoRepository;
+    private final JogadorRepository jogadorRepository;
+    private final RegistroReservasJogadores reservas;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ConcurrentHashMap<Long, ShardFila> shards = new ConcurrentHashMap<>();
+
+    // --- Rebalanceamento ---
+    private final int limiarRodadaExtra;
+    private final int maxRodadasExtras;
+
+    // --- Janela de rating padrão (modos sem valores próprios) ---
+    private final double janelaInicialPadrao;
+    private final double janelaPorSegundoPadrao;
+    private final double janelaMaximaPadrao;
+
+    public FilaMatchmakingService(MatchmakingService matchmakingService, ModoDeJogoRepository modoDeJogoRepository,
+                                  JogadorRepository jogadorRepository, RegistroReservasJogadores reservas,
+                                  ThreadPoolExecutor executorFilaMatchmaking,
+                                  @Value("${matchmaking.fila.rebalanceamento.limiar-partidas:4}") int limiarRodadaExtra,
+                                  @Value("${matchmaking.fila.rebalanceamento.max-rodadas-extras:8}") int maxRodadasExtras,
+                                  @Value("${matchmaking.fila.janela.inicial:50}") double janelaInicialPadrao,
+                                  @Value("${matchmaking.fila.janela.por-segundo:10}") double janelaPorSegundoPadrao,
+                                  @Value("${matchmaking.fila.janela.maxima:400}") double janelaMaximaPadrao) {
+        this.matchmakingService = matchmakingService;
+        this.modoDeJogoRepository = modoDeJogoRepository;
+        this.jogadorRepository = jogadorRepository;
+        this.reservas = reservas;
+        this.executor = executorFilaMatchmaking;
+        this.limiarRodadaExtra = limiarRodadaExtra;
+        this.maxRodadasExtras = maxRodadasExtras;
+        this.janelaInicialPadrao = janelaInicialPadrao;
+        this.janelaPorSegundoPadrao = janelaPorSegundoPadrao;
+        this.janelaMaximaPadrao = janelaMaximaPadrao;
+    }
+
+    /**
+     * Coloca um jogador na fila de um modo de jogo, com o rating gravado no Jogador.
+     * O ModoDeJogo só é lido aqui na primeira entrada daquele modo (depois, a cada rodada).
+     * Jogadores em uma partida em andamento não podem entrar.
+     *
+     * @return false se o jogador já estava nessa fila
+     */
+    public boolean entrarNaFila(Long idJogador, Long idModoDeJogo) {
+        Long partidaEmAndamento = reservas.partidaDoJogador(idJogador);
+        if (partidaEmAndamento != null) {
+            throw new JogadorIndisponivelException(idJogador, partidaEmAndamento);
+        }
+        Jogador jogador = jogadorRepository.findById(idJogador)
+                .orElseThrow(() -> new MatchmakingException("Jogador não encontrado. ID: " + idJogador));
+        return shardDoModo(idModoDeJogo).getFila().entrar(idJogador, jogador.getRating(), System.nanoTime());
+    }
+
+    /**
+     * @return false se o jogador não estava nessa fila
+     */
+    public boolean sairDaFila(Long idJogador, Long idModoDeJogo) {
+        ShardFila shard = shards.get(idModoDeJogo);
+        return shard != null && shard.getFila().sair(idJogador);
+    }
+
+    /**
+     * Tick do agendador: agenda uma rodada de formação para cada shard que não
+     * esteja rodando. Não espera as rodadas terminarem.
+     */
+    @Scheduled(fixedDelayString = "${matchmaking.fila.tick-ms:1000}")
+    public void tick() {
+        for (ShardFila shard : shards.values()) {
+            if (shard.reservar()) {
+                agendarRodada(shard, 0);
+            }
+        }
+    }
+
+    private void agendarRodada(ShardFila shard, int extras) {
+        try {
+            executor.execute(() -> executarRodada(shard, extras));
+        } catch (RejectedExecutionException e) {
+            // Executor lotado (ou desligando): o shard tenta de novo no próximo tick
+            shard.liberar();
+        }
+    }
+
+    private void executarRodada(ShardFila shard, int extras) {
+        boolean reagendar = false;
+        try {
+            atualizarConfiguracao(shard.getFila());
+            int criadas = shard.executarRodada(grupo -> criarPartida(shard.getFila(), grupo) != null, extras > 0);
+            reagendar = extras < maxRodadasExtras && shard.precisaDeRodadaExtra(criadas, limiarRodadaExtra);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Erro na rodada da fila (modo " + shard.getFila().getIdModoDeJogo() + ")", e);
+        } finally {
+            if (reagendar) {
+                agendarRodada(shard, extras + 1);
+            } else {
+                shard.liberar();
+            }
+        }
+    }
+
+    public EstatisticasFilaResponse estatisticas(Long idModoDeJogo) {
+        ShardFila shard = shards.get(idModoDeJogo);
+        if (shard == null) {
+            return new EstatisticasFilaResponse(idModoDeJogo, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        FilaModo fila = shard.getFila();
+        HistogramaLatencia tempos = fila.getTempoAtePartida();
+        return new EstatisticasFilaResponse(idModoDeJogo, fila.tamanho(), fila.getPartidasFormadas(),
+                tempos.percentilMicros(50) / 1_000, tempos.percentilMicros(90) / 1_000, tempos.percentilMicros(99) / 1_000,
+                shard.getRodadas(), shard.getRodadasExtras(), shard.getPartidasPorSegundo(),
+                shard.getDuracaoRodada().percentilMicros(99) / 1_000);
+    }
+
+    /**
+     * Estatísticas de todos os shards ativos (um por modo que já recebeu jogadores).
+     */
+    public List<EstatisticasFilaResponse> estatisticasShards() {
+        List<EstatisticasFilaResponse> lista = new ArrayList<>(shards.size());
+        for (Long idModo : shards.keySet()) {
+            lista.add(estatisticas(idModo));
+        }
+        return lista;
+    }
+
+    private CriacaoPartidaResponse criarPartida(FilaModo fila, EntradaFila[] grupo) {
+        List<Long> ids = new ArrayList<>(grupo.length);
+        for (EntradaFila entrada : grupo) {
+            ids.add(entrada.getIdJogador());
+        }
+        try {
+            CriacaoPartidaResponse resposta = matchmakingService.criarPartida(ids, fila.getIdModoDeJogo());
+            fila.registrarPartidaFormada(grupo, System.nanoTime());
+            return resposta;
+        } catch (RuntimeException e) {
+            // Quem causou a falha sai da fila; os outros voltam, exceto quem saiu
+            // enquanto a partida era criada (senão o mesmo grupo falharia a cada tick)
+            Set<Long> descartados = causadoresDaFalha(e, ids);
+            LOGGER.log(Level.WARNING, "Falha ao criar partida da fila (modo " + fila.getIdModoDeJogo() + "): " + e.getMessage()
+                    + (descartados.isEmpty() ? "" : " Removidos da fila: " + descartados));
+            for (EntradaFila entrada : grupo) {
+                if (descartados.contains(entrada.getIdJogador())) {
+                    fila.descartar(entrada);
+                } else {
+                    fila.devolver(entrada);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Jogadores que impedem a partida do grupo: o que já está em outra partida
+     * (reservado pela criação manual ou por uma sessão enquanto esperava) e os
+     * que foram deletados. Vazio se a falha não é de um jogador (ex: banco fora):
+     * aí o grupo inteiro volta e tenta no próximo tick.
+     */
+    private Set<Long> causadoresDaFalha(RuntimeException e, List<Long> ids) {
+        Set<Long> causadores = new HashSet<>();
+        if (e instanceof JogadorIndisponivelException indisponivel) {
+            causadores.add(indisponivel.getIdJogador());
+            return causadores;
+        }
+        try {
+            causadores.addAll(ids);
+            for (Jogador jogador : jogadorRepository.findAllById(ids)) {
+                causadores.remove(jogador.getIdJogador());
+            }
+        } catch (RuntimeException erroConsulta) {
+            causadores.clear();
+        }
+        return causadores;
+    }
+
+    private ShardFila shardDoModo(Long idModoDeJogo) {
+        ShardFila existente = shards.get(idModoDeJogo);
+        if (existente != null) {
+            return existente;
+        }
+        // Lido fora do computeIfAbsent: a consulta não segura o lock do bin do mapa
+        ModoDeJogo modo = modoDeJogoRepository.findById(idModoDeJogo)
+                .orElseThrow(() -> new MatchmakingException("Modo de Jogo não encontrado. ID: " + idModoDeJogo));
+        if (!modo.isBalanceamentoAutomatico()) {
+            throw new MatchmakingException("O modo '" + modo.getNome() + "' usa times fixos e não aceita fila.");
+        }
+        return shards.computeIfAbsent(idModoDeJogo, id -> new ShardFila(
+                new FilaModo(id, modo.getJogadoresPorEquipe() * EQUIPES_POR_PARTIDA, politicaJanela(modo)),
+                System.nanoTime()));
+    }
+
+    /**
+     * Aplica à fila a configuração atual do ModoDeJogo. Se o modo foi apagado
+     * ou passou a usar times fixos, a fila fica com a configuração anterior.
+     */
+    private void atualizarConfiguracao(FilaModo fila) {
+        modoDeJogoRepository.findById(fila.getIdModoDeJogo())
+                .filter(ModoDeJogo::isBalanceamentoAutomatico)
+                .ifPresent(modo -> fila.atualizarConfiguracao(
+                        modo.getJogadoresPorEquipe() * EQUIPES_POR_PARTIDA, politicaJanela(modo)));
+    }
+
+    private PoliticaJanelaRating politicaJanela(ModoDeJogo modo) {
+        return new PoliticaJanelaRating(
+                modo.getJanelaRatingInicial() != null ? modo.getJanelaRatingInicial() : janelaInicialPadrao,
+                modo.getJanelaRatingPorSegundo() != null ? modo.getJanelaRatingPorSegundo() : janelaPorSegundoPadrao,
+                modo.getJanelaRatingMaxima() != null ? modo.getJanelaRatingMaxima() : janelaMaximaPadrao);
+    }
+}
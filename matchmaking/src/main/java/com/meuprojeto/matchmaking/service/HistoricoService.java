@@ -1,15 +1,24 @@
 package com.meuprojeto.matchmaking.service;
 
+import com.meuprojeto.matchmaking.model.Equipe;
+import com.meuprojeto.matchmaking.model.EstatisticaJogador;
 import com.meuprojeto.matchmaking.model.Jogador;
-import com.meuprojeto.matchmaking.model.JogadorEquipe;
-import com.meuprojeto.matchmaking.model.Partida;
+import com.meuprojeto.matchmaking.repository.EquipeRepository;
+import com.meuprojeto.matchmaking.repository.EstatisticaJogadorRepository;
 import com.meuprojeto.matchmaking.repository.JogadorEquipeRepository;
 import com.meuprojeto.matchmaking.repository.JogadorRepository;
 import com.meuprojeto.matchmaking.repository.PartidaRepository;
+import com.meuprojeto.matchmaking.service.dto.ParticipacaoJogador;
+import com.meuprojeto.matchmaking.service.dto.ResumoPartida;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Serviço focado em CONSULTAS (Leitura) de dados do histórico.
@@ -20,37 +29,71 @@ import java.util.List;
 public class HistoricoService {
 
     private final PartidaRepository partidaRepository;
+    private final EquipeRepository equipeRepository;
     private final JogadorRepository jogadorRepository;
     private final JogadorEquipeRepository jogadorEquipeRepository;
+    private final EstatisticaJogadorRepository estatisticaJogadorRepository;
 
     public HistoricoService(PartidaRepository partidaRepository,
+                            EquipeRepository equipeRepository,
                             JogadorRepository jogadorRepository,
-                            JogadorEquipeRepository jogadorEquipeRepository) {
+                            JogadorEquipeRepository jogadorEquipeRepository,
+                            EstatisticaJogadorRepository estatisticaJogadorRepository) {
         this.partidaRepository = partidaRepository;
+        this.equipeRepository = equipeRepository;
         this.jogadorRepository = jogadorRepository;
         this.jogadorEquipeRepository = jogadorEquipeRepository;
+        this.estatisticaJogadorRepository = estatisticaJogadorRepository;
     }
 
     /**
-     * Busca todas as partidas, da mais recente para a mais antiga.
+     * Uma página do histórico, da mais recente para a mais antiga.
+     * Só carrega os resumos da página (nada de equipes/membros), então a memória
+     * não cresce com o histórico.
+     *
+     * @param depoisDe último resumo da página anterior, ou null para a primeira página
      */
-    public List<Partida> buscarHistoricoPartidas() {
-        // Usa o método do repository refatorado
-        return partidaRepository.findAllByOrderByDataHoraDesc();
+    public List<ResumoPartida> buscarPaginaHistorico(ResumoPartida depoisDe, int tamanho) {
+        if (depoisDe == null) {
+            return partidaRepository.buscarResumosRecentes(Limit.of(tamanho));
+        }
+        return partidaRepository.buscarResumosAntesDe(depoisDe.dataHora(), depoisDe.idPartida(), Limit.of(tamanho));
     }
 
     /**
-     * Busca o histórico de partidas de um jogador específico.
+     * Equipes (com membros, jogadores e resultado) de cada partida pedida,
+     * em uma única consulta. Usado só para as partidas visíveis/selecionadas.
      */
-    public List<JogadorEquipe> buscarHistoricoJogador(Long idJogador) {
-        Jogador jogador = jogadorRepository.findById(idJogador)
-                .orElseThrow(() -> new MatchmakingException("Jogador não encontrado. ID: " + idJogador));
+    public Map<Long, List<Equipe>> buscarDetalhesPartidas(Collection<Long> idsPartidas) {
+        Map<Long, List<Equipe>> porPartida = new LinkedHashMap<>();
+        if (idsPartidas.isEmpty()) {
+            return porPartida;
+        }
+        for (Equipe equipe : equipeRepository.buscarDetalhesDasPartidas(idsPartidas)) {
+            porPartida.computeIfAbsent(equipe.getPartida().getIdPartida(), id -> new ArrayList<>()).add(equipe);
+        }
+        return porPartida;
+    }
 
-        // <<< MUDANÇA AQUI >>>
-        // Agora chama o novo método que usa JOIN FETCH.
-        // Isso resolve a LazyInitializationException.
-        return jogadorEquipeRepository.findByJogadorComDetalhesCompletos(jogador);
+    /**
+     * Busca o histórico de partidas de um jogador específico (projeção, sem entidades).
+     */
+    public List<ParticipacaoJogador> buscarHistoricoJogador(Long idJogador) {
+        if (!jogadorRepository.existsById(idJogador)) {
+            throw new MatchmakingException("Jogador não encontrado. ID: " + idJogador);
+        }
+        return jogadorEquipeRepository.buscarParticipacoes(idJogador);
     }
+
+    /**
+     * Vitórias, derrotas, empates e sequência do jogador, já consolidadas:
+     * o total (EstatisticaJogador.TODOS_OS_MODOS) primeiro, depois uma linha
+     * por modo jogado. Vazia se o jogador ainda não tem resultados.
+     */
+    public List<EstatisticaJogador> buscarEstatisticasJogador(Long idJogador) {
+        return estatisticaJogadorRepository.findByIdJogadorOrderByIdModoDeJogo(idJogador);
+    }
+
     /**
      * Busca um jogador (para a UI exibir o perfil).
      */
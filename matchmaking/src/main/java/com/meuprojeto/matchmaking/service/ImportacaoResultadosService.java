@@ -0,0 +1,444 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.core.elo.CalculadoraElo;
+import com.meuprojeto.matchmaking.model.EstatisticaJogador;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.service.dto.ImportacaoResultadosResponse;
+import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Importação em lote de resultados (ex: liga de um fim de semana inteiro).
+ *
+ * Em vez de um registrarResultado por partida (um save por jogador e por
+ * equipe), tudo roda em UMA transação:
+ * 1. Carregar: estrutura das partidas e estado dos jogadores em poucas
+ *    consultas JDBC (IN em blocos), para arrays primitivos.
+ * 2. Calcular: aplica os resultados em ordem cronológica (dataHora da
+ *    partida) com o mesmo Elo pareado de registrarResultado, em memória.
+ * 3. Gravar: um UPDATE por jogador afetado (estado final, condicionado à
+ *    versão lida no passo 1, como o @Version de Jogador), um INSERT por
+ *    equipe em EQUIPE_PARTIDA, um INSERT por jogador e partida em
+ *    HISTORICO_RATING, as estatísticas alteradas (ESTATISTICA_JOGADOR) e o
+ *    MVP/Destaque de cada partida, enviados como lotes JDBC (batchUpdate).
+ */
+@Service
+@Transactional
+public class ImportacaoResultadosService {
+
+    private static final Logger LOGGER = Logger.getLogger(ImportacaoResultadosService.class.getName());
+
+    /** Quantos ids por cláusula IN. */
+    private static final int TAMANHO_BLOCO_IN = 500;
+
+    private static final String SQL_ESTRUTURA =
+            "SELECT p.id_partida, p.data_hora, p.id_modo_de_jogo, e.id_equipe, je.id_jogador, ep.id AS id_resultado " +
+            "FROM PARTIDA p " +
+            "JOIN EQUIPE e ON e.id_partida = p.id_partida " +
+            "JOIN JOGADOR_EQUIPE je ON je.id_equipe = e.id_equipe " +
+            "LEFT JOIN EQUIPE_PARTIDA ep ON ep.id_equipe = e.id_equipe " +
+            "WHERE p.id_partida IN (:ids) " +
+            "ORDER BY p.id_partida, e.id_equipe, je.id_jogador";
+
+    private static final String SQL_JOGADORES =
+            "SELECT id_jogador, rating, partidas_jogadas, total_mvp, total_destaque_perdedor, versao " +
+            "FROM JOGADOR WHERE id_jogador IN (:ids)";
+
+    private static final String SQL_ATUALIZAR_JOGADOR =
+            "UPDATE JOGADOR SET rating = ?, partidas_jogadas = ?, total_mvp = ?, total_destaque_perdedor = ?, versao = versao + 1 " +
+            "WHERE id_jogador = ? AND versao = ?";
+
+    private static final String SQL_ESTATISTICAS =
+            "SELECT id, id_jogador, id_modo_de_jogo, vitorias, derrotas, empates, sequencia_atual, ultima_partida " +
+            "FROM ESTATISTICA_JOGADOR WHERE id_jogador IN (:ids)";
+
+    private static final String SQL_ATUALIZAR_ESTATISTICA =
+            "UPDATE ESTATISTICA_JOGADOR SET vitorias = ?, derrotas = ?, empates = ?, sequencia_atual = ?, ultima_partida = ? " +
+            "WHERE id = ?";
+
+    private static final String SQL_INSERIR_ESTATISTICA =
+            "INSERT INTO ESTATISTICA_JOGADOR (id_jogador, id_modo_de_jogo, vitorias, derrotas, empates, sequencia_atual, ultima_partida, id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_INSERIR_RESULTADO =
+            "INSERT INTO EQUIPE_PARTIDA (id_equipe, status_resultado, colocacao, id) VALUES (?, ?, ?, ?)";
+
+    private static final String SQL_INSERIR_HISTORICO =
+            "INSERT INTO HISTORICO_RATING (id_jogador, id_partida, data_hora, rating_antes, rating_depois, delta, id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_DESTAQUES_PARTIDA =
+            "UPDATE PARTIDA SET id_mvp = ?, id_destaque_perdedor = ? WHERE id_partida = ?";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final RegistroReservasJogadores reservas;
+    private final AlocadorIds alocadorIds;
+    private final CacheJogadores cacheJogadores;
+    private final ClassificacaoService classificacaoService;
+    private final CalculadoraElo calculadoraElo = CalculadoraElo.PADRAO;
+
+    public ImportacaoResultadosService(NamedParameterJdbcTemplate jdbc, RegistroReservasJogadores reservas,
+                                       AlocadorIds alocadorIds, CacheJogadores cacheJogadores,
+                                       ClassificacaoService classificacaoService) {
+        this.jdbc = jdbc;
+        this.reservas = reservas;
+        this.alocadorIds = alocadorIds;
+        this.cacheJogadores = cacheJogadores;
+        this.classificacaoService = classificacaoService;
+    }
+
+    /**
+     * Estrutura de uma partida: equipes e jogadores achatados
+     * (jogadores da equipe t em [inicioEquipe[t], inicioEquipe[t + 1])).
+     */
+    private static final class EstruturaPartida {
+        final long idPartida;
+        final Timestamp dataHora;
+        final long idModoDeJogo;
+        final List<Long> idEquipes = new ArrayList<>();
+        final List<Integer> inicioEquipe = new ArrayList<>();
+        final List<Long> idJogadores = new ArrayList<>();
+        boolean possuiResultado;
+
+        EstruturaPartida(long idPartida, Timestamp dataHora, long idModoDeJogo) {
+            this.idPartida = idPartida;
+            this.dataHora = dataHora;
+            this.idModoDeJogo = idModoDeJogo;
+        }
+    }
+
+    public ImportacaoResultadosResponse registrarResultados(List<RegistroResultadoRequest> requests) {
+        long inicio = System.nanoTime();
+
+        // 1. Carregar
+        Map<Long, RegistroResultadoRequest> porPartida = new HashMap<>();
+        for (RegistroResultadoRequest request : requests) {
+            if (request.getIdPartida() == null) {
+                throw new MatchmakingException("Resultado sem idPartida.");
+            }
+            if (porPartida.put(request.getIdPartida(), request) != null) {
+                throw new MatchmakingException("Partida " + request.getIdPartida() + " aparece mais de uma vez no lote.");
+            }
+        }
+        Map<Long, EstruturaPartida> estruturas = carregarEstruturas(new ArrayList<>(porPartida.keySet()));
+        List<EstruturaPartida> ordem = new ArrayList<>(estruturas.values());
+        for (Long idPartida : porPartida.keySet()) {
+            EstruturaPartida estrutura = estruturas.get(idPartida);
+            if (estrutura == null || estrutura.idEquipes.size() < 2) {
+                throw new MatchmakingException("Partida " + idPartida + " não encontrada ou sem equipes suficientes.");
+            }
+            if (estrutura.possuiResultado) {
+                throw new MatchmakingException("Partida " + idPartida + " já possui resultado registrado.");
+            }
+        }
+        // Ordem cronológica (desempate pelo id)
+        ordem.sort((a, b) -> {
+            int porData = a.dataHora.compareTo(b.dataHora);
+            return porData != 0 ? porData : Long.compare(a.idPartida, b.idPartida);
+        });
+
+        Set<Long> idsJogadores = new HashSet<>();
+        for (EstruturaPartida estrutura : ordem) idsJogadores.addAll(estrutura.idJogadores);
+        EstadoJogadores estado = carregarJogadores(idsJogadores);
+        EstatisticasLote estatisticas = carregarEstatisticas(idsJogadores);
+        long fimCarregar = System.nanoTime();
+
+        // 2. Calcular (em memória, arrays primitivos)
+        List<Object[]> linhasResultado = new ArrayList<>();
+        List<Object[]> linhasHistorico = new ArrayList<>();
+        for (EstruturaPartida estrutura : ordem) {
+            aplicar(estrutura, porPartida.get(estrutura.idPartida), estado, estatisticas, linhasResultado, linhasHistorico);
+        }
+        long fimCalcular = System.nanoTime();
+
+        // 3. Gravar em lotes JDBC
+        List<Object[]> linhasJogador = new ArrayList<>(estado.quantidade);
+        for (int i = 0; i < estado.quantidade; i++) {
+            if (estado.alterado[i]) {
+                linhasJogador.add(new Object[]{estado.rating[i], estado.partidasJogadas[i], estado.totalMvp[i],
+                        estado.totalDestaquePerdedor[i], estado.ids[i], estado.versao[i]});
+            }
+        }
+        int[] atualizados = jdbc.getJdbcTemplate().batchUpdate(SQL_ATUALIZAR_JOGADOR, linhasJogador);
+        List<Long> idsAtualizados = new ArrayList<>(linhasJogador.size());
+        for (Object[] linha : linhasJogador) idsAtualizados.add((Long) linha[4]);
+        cacheJogadores.invalidar(idsAtualizados);
+        for (int i = 0; i < atualizados.length; i++) {
+            if (atualizados[i] == 0) {
+                // Outro resultado atualizou o jogador depois da leitura: desfaz tudo (RetentativaOtimista refaz)
+                throw new OptimisticLockingFailureException("Jogador " + linhasJogador.get(i)[4] + " foi alterado por outra transação.");
+            }
+        }
+        alocadorIds.preencherIds("EQUIPE_PARTIDA_SEQ", linhasResultado);
+        alocadorIds.preencherIds("HISTORICO_RATING_SEQ", linhasHistorico);
+        gravarEstatisticas(estatisticas.alteradas.values());
+        atualizarClassificacao(estatisticas, estado);
+        jdbc.getJdbcTemplate().batchUpdate(SQL_INSERIR_RESULTADO, linhasResultado);
+        jdbc.getJdbcTemplate().batchUpdate(SQL_INSERIR_HISTORICO, linhasHistorico);
+        List<Object[]> linhasPartida = new ArrayList<>();
+        for (EstruturaPartida estrutura : ordem) {
+            RegistroResultadoRequest request = porPartida.get(estrutura.idPartida);
+            if (request.getIdMvp() != null || request.getIdDestaquePerdedor() != null) {
+                linhasPartida.add(new Object[]{request.getIdMvp(), request.getIdDestaquePerdedor(), estrutura.idPartida});
+            }
+        }
+        jdbc.getJdbcTemplate().batchUpdate(SQL_DESTAQUES_PARTIDA, linhasPartida);
+        liberarJogadoresAposCommit(ordem);
+        long fim = System.nanoTime();
+
+        ImportacaoResultadosResponse resposta = new ImportacaoResultadosResponse(ordem.size(), linhasJogador.size(),
+                (fimCarregar - inicio) / 1_000, (fimCalcular - fimCarregar) / 1_000, (fim - fimCalcular) / 1_000, (fim - inicio) / 1_000);
+        LOGGER.info(String.format("Importação: %d resultados, %d jogadores. Carregar %d µs, calcular %d µs, gravar %d µs (%.0f resultados/s)",
+                resposta.getResultados(), resposta.getJogadoresAtualizados(), resposta.getCarregarMicros(),
+                resposta.getCalcularMicros(), resposta.getGravarMicros(), resposta.getResultadosPorSegundo()));
+        return resposta;
+    }
+
+    // --- CARREGAR ---
+
+    private Map<Long, EstruturaPartida> carregarEstruturas(List<Long> idsPartidas) {
+        Map<Long, EstruturaPartida> estruturas = new HashMap<>();
+        for (int de = 0; de < idsPartidas.size(); de += TAMANHO_BLOCO_IN) {
+            List<Long> bloco = idsPartidas.subList(de, Math.min(de + TAMANHO_BLOCO_IN, idsPartidas.size()));
+            jdbc.query(SQL_ESTRUTURA, new MapSqlParameterSource("ids", bloco), rs -> {
+                long idPartida = rs.getLong("id_partida");
+                EstruturaPartida estrutura = estruturas.get(idPartida);
+                if (estrutura == null) {
+                    estrutura = new EstruturaPartida(idPartida, rs.getTimestamp("data_hora"), rs.getLong("id_modo_de_jogo"));
+                    estruturas.put(idPartida, estrutura);
+                }
+                long idEquipe = rs.getLong("id_equipe");
+                List<Long> equipes = estrutura.idEquipes;
+                if (equipes.isEmpty() || equipes.get(equipes.size() - 1) != idEquipe) {
+                    equipes.add(idEquipe);
+                    estrutura.inicioEquipe.add(estrutura.idJogadores.size());
+                }
+                estrutura.idJogadores.add(rs.getLong("id_jogador"));
+                rs.getLong("id_resultado");
+                if (!rs.wasNull()) estrutura.possuiResultado = true;
+            });
+        }
+        return estruturas;
+    }
+
+    /**
+     * Estado dos jogadores em arrays paralelos (índice = posição no lote).
+     */
+    private static final class EstadoJogadores {
+        final Map<Long, Integer> indice;
+        final int quantidade;
+        final long[] ids;
+        final double[] rating;
+        final int[] partidasJogadas;
+        final int[] totalMvp;
+        final int[] totalDestaquePerdedor;
+        final long[] versao;
+        final boolean[] alterado;
+
+        EstadoJogadores(int capacidade) {
+            this.indice = new HashMap<>(capacidade * 2);
+            this.quantidade = capacidade;
+            this.ids = new long[capacidade];
+            this.rating = new double[capacidade];
+            this.partidasJogadas = new int[capacidade];
+            this.totalMvp = new int[capacidade];
+            this.totalDestaquePerdedor = new int[capacidade];
+            this.versao = new long[capacidade];
+            this.alterado = new boolean[capacidade];
+        }
+    }
+
+    private EstadoJogadores carregarJogadores(Set<Long> idsJogadores) {
+        List<Long> ids = new ArrayList<>(idsJogadores);
+        EstadoJogadores estado = new EstadoJogadores(ids.size());
+        int[] proximo = {0};
+        for (int de = 0; de < ids.size(); de += TAMANHO_BLOCO_IN) {
+            List<Long> bloco = ids.subList(de, Math.min(de + TAMANHO_BLOCO_IN, ids.size()));
+            jdbc.query(SQL_JOGADORES, new MapSqlParameterSource("ids", bloco), rs -> {
+                int i = proximo[0]++;
+                estado.ids[i] = rs.getLong("id_jogador");
+                estado.rating[i] = rs.getDouble("rating");
+                estado.partidasJogadas[i] = rs.getInt("partidas_jogadas");
+                estado.totalMvp[i] = rs.getInt("total_mvp");
+                estado.totalDestaquePerdedor[i] = rs.getInt("total_destaque_perdedor");
+                estado.versao[i] = rs.getLong("versao");
+                estado.indice.put(estado.ids[i], i);
+            });
+        }
+        return estado;
+    }
+
+    /** Jogador e modo (ou EstatisticaJogador.TODOS_OS_MODOS) de uma linha de ESTATISTICA_JOGADOR. */
+    private record ChaveEstatistica(long idJogador, long idModoDeJogo) {}
+
+    /**
+     * Estatísticas dos jogadores do lote: as já gravadas (todos os modos deles)
+     * e as alteradas pelos resultados, que são as únicas regravadas.
+     */
+    private static final class EstatisticasLote {
+        final Map<ChaveEstatistica, EstatisticaJogador> gravadas = new HashMap<>();
+        final Map<ChaveEstatistica, EstatisticaJogador> alteradas = new HashMap<>();
+
+        /**
+         * Estatística do jogador no modo (criada se não existir: id nulo = INSERT).
+         */
+        EstatisticaJogador paraAlterar(long idJogador, long idModo) {
+            return alteradas.computeIfAbsent(new ChaveEstatistica(idJogador, idModo), chave -> {
+                EstatisticaJogador gravada = gravadas.get(chave);
+                return gravada != null ? gravada : new EstatisticaJogador(idJogador, idModo);
+            });
+        }
+    }
+
+    private EstatisticasLote carregarEstatisticas(Set<Long> idsJogadores) {
+        List<Long> ids = new ArrayList<>(idsJogadores);
+        EstatisticasLote estatisticas = new EstatisticasLote();
+        for (int de = 0; de < ids.size(); de += TAMANHO_BLOCO_IN) {
+            List<Long> bloco = ids.subList(de, Math.min(de + TAMANHO_BLOCO_IN, ids.size()));
+            jdbc.query(SQL_ESTATISTICAS, new MapSqlParameterSource("ids", bloco), rs -> {
+                Timestamp ultimaPartida = rs.getTimestamp("ultima_partida");
+                EstatisticaJogador estatistica = new EstatisticaJogador(rs.getLong("id"), rs.getLong("id_jogador"),
+                        rs.getLong("id_modo_de_jogo"), rs.getInt("vitorias"), rs.getInt("derrotas"), rs.getInt("empates"),
+                        rs.getInt("sequencia_atual"), ultimaPartida != null ? ultimaPartida.toLocalDateTime() : null);
+                estatisticas.gravadas.put(new ChaveEstatistica(estatistica.getIdJogador(), estatistica.getIdModoDeJogo()), estatistica);
+            });
+        }
+        return estatisticas;
+    }
+
+    // --- CALCULAR ---
+
+    private void aplicar(EstruturaPartida estrutura, RegistroResultadoRequest request, EstadoJogadores estado,
+                         EstatisticasLote estatisticas,
+                         List<Object[]> linhasResultado, List<Object[]> linhasHistorico) {
+        int numEquipes = estrutura.idEquipes.size();
+        long[] idEquipes = new long[numEquipes];
+        int[] inicioEquipe = new int[numEquipes + 1];
+        for (int t = 0; t < numEquipes; t++) {
+            idEquipes[t] = estrutura.idEquipes.get(t);
+            inicioEquipe[t] = estrutura.inicioEquipe.get(t);
+        }
+        int total = estrutura.idJogadores.size();
+        inicioEquipe[numEquipes] = total;
+
+        int[] colocacoes = MatchmakingService.colocacoes(idEquipes, request);
+        int[] resultados = CalculadoraElo.resultados(colocacoes);
+        String[] status = MatchmakingService.statusResultado(colocacoes);
+
+        int[] posicao = new int[total];
+        double[] ratings = new double[total];
+        int[] partidasJogadas = new int[total];
+        boolean[] mvp = new boolean[total];
+        boolean[] destaque = new boolean[total];
+        for (int t = 0; t < numEquipes; t++) {
+            boolean perdeu = MatchmakingService.DERROTA.equals(status[t]);
+            for (int i = inicioEquipe[t]; i < inicioEquipe[t + 1]; i++) {
+                long idJogador = estrutura.idJogadores.get(i);
+                posicao[i] = estado.indice.get(idJogador);
+                ratings[i] = estado.rating[posicao[i]];
+                partidasJogadas[i] = estado.partidasJogadas[posicao[i]];
+                mvp[i] = request.getIdMvp() != null && idJogador == request.getIdMvp();
+                destaque[i] = perdeu && request.getIdDestaquePerdedor() != null && idJogador == request.getIdDestaquePerdedor();
+            }
+        }
+
+        double[] novos = calculadoraElo.novosRatings(ratings, partidasJogadas, inicioEquipe, colocacoes,
+                mvp, destaque, Jogador.RATING_CALIBRACAO_INICIAL);
+
+        for (int i = 0; i < total; i++) {
+            int p = posicao[i];
+            linhasHistorico.add(new Object[]{estado.ids[p], estrutura.idPartida, estrutura.dataHora, ratings[i], novos[i], novos[i] - ratings[i], null});
+            estado.rating[p] = novos[i];
+            estado.partidasJogadas[p]++;
+            if (mvp[i]) estado.totalMvp[p]++;
+            if (destaque[i]) estado.totalDestaquePerdedor[p]++;
+            estado.alterado[p] = true;
+        }
+        LocalDateTime dataHora = estrutura.dataHora.toLocalDateTime();
+        for (int t = 0; t < numEquipes; t++) {
+            linhasResultado.add(new Object[]{idEquipes[t], status[t], colocacoes[t], null});
+            for (int i = inicioEquipe[t]; i < inicioEquipe[t + 1]; i++) {
+                long idJogador = estrutura.idJogadores.get(i);
+                estatisticas.paraAlterar(idJogador, EstatisticaJogador.TODOS_OS_MODOS).registrar(resultados[t], dataHora);
+                estatisticas.paraAlterar(idJogador, estrutura.idModoDeJogo).registrar(resultados[t], dataHora);
+            }
+        }
+    }
+
+    // --- GRAVAR ---
+
+    /**
+     * Estado final das estatísticas alteradas pelo lote: UPDATE das existentes
+     * e INSERT das novas, em lotes JDBC.
+     */
+    private void gravarEstatisticas(Collection<EstatisticaJogador> estatisticas) {
+        List<Object[]> atualizar = new ArrayList<>();
+        List<Object[]> inserir = new ArrayList<>();
+        for (EstatisticaJogador e : estatisticas) {
+            Timestamp ultimaPartida = e.getUltimaPartida() != null ? Timestamp.valueOf(e.getUltimaPartida()) : null;
+            if (e.getId() != null) {
+                atualizar.add(new Object[]{e.getVitorias(), e.getDerrotas(), e.getEmpates(), e.getSequenciaAtual(), ultimaPartida, e.getId()});
+            } else {
+                inserir.add(new Object[]{e.getIdJogador(), e.getIdModoDeJogo(), e.getVitorias(), e.getDerrotas(), e.getEmpates(),
+                        e.getSequenciaAtual(), ultimaPartida, null});
+            }
+        }
+        alocadorIds.preencherIds("ESTATISTICA_JOGADOR_SEQ", inserir);
+        jdbc.getJdbcTemplate().batchUpdate(SQL_ATUALIZAR_ESTATISTICA, atualizar);
+        jdbc.getJdbcTemplate().batchUpdate(SQL_INSERIR_ESTATISTICA, inserir);
+    }
+
+    /**
+     * Rating final (e versão gravada) de cada jogador, em cada modo em que ele
+     * jogou no lote, para a classificação em memória (depois do commit).
+     */
+    private void atualizarClassificacao(EstatisticasLote estatisticas, EstadoJogadores estado) {
+        List<ClassificacaoService.AlteracaoRating> alteracoes = new ArrayList<>();
+        for (ChaveEstatistica chave : estatisticas.alteradas.keySet()) {
+            if (chave.idModoDeJogo() == EstatisticaJogador.TODOS_OS_MODOS) continue;
+            int p = estado.indice.get(chave.idJogador());
+            alteracoes.add(new ClassificacaoService.AlteracaoRating(chave.idJogador(), chave.idModoDeJogo(),
+                    estado.rating[p], estado.versao[p] + 1));
+        }
+        classificacaoService.atualizarAposCommit(alteracoes);
+    }
+
+    // --- RESERVAS ---
+
+    private void liberarJogadoresAposCommit(List<EstruturaPartida> partidas) {
+        Runnable liberar = () -> {
+            for (EstruturaPartida estrutura : partidas) {
+                long[] ids = new long[estrutura.idJogadores.size()];
+                for (int i = 0; i < ids.length; i++) ids[i] = estrutura.idJogadores.get(i);
+                reservas.liberar(ids, estrutura.idPartida);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    liberar.run();
+                }
+            });
+        } else {
+            liberar.run();
+        }
+    }
+}
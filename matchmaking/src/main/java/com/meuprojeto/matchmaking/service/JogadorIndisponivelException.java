@@ -0,0 +1,20 @@
+package com.meuprojeto.matchmaking.service;
+
+/**
+ * Jogador que não pode entrar em uma partida nova porque já está em uma
+ * partida em andamento (ver RegistroReservasJogadores).
+ * Informa qual jogador causou a falha (ex: a fila descarta só ele).
+ */
+public class JogadorIndisponivelException extends MatchmakingException {
+
+    private final long idJogador;
+
+    public JogadorIndisponivelException(long idJogador, Long idPartida) {
+        super("O jogador " + idJogador + " já está na partida em andamento " + idPartida + ".");
+        this.idJogador = idJogador;
+    }
+
+    public long getIdJogador() {
+        return idJogador;
+    }
+}
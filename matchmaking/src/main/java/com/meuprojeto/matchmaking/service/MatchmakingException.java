@@ -8,4 +8,8 @@ public class MatchmakingException extends RuntimeException {
     public MatchmakingException(String message) {
         super(message);
     }
+
+    public MatchmakingException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
\ No newline at end of file
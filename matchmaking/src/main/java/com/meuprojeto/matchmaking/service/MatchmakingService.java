@@ -1,28 +1,46 @@
 package com.meuprojeto.matchmaking.service;
 
+import com.meuprojeto.matchmaking.core.FormacaoEquipes;
+import com.meuprojeto.matchmaking.core.FormacaoSessao;
+import com.meuprojeto.matchmaking.core.ResultadoFormacao;
+import com.meuprojeto.matchmaking.core.ResultadoSessao;
+import com.meuprojeto.matchmaking.core.balanceamento.BalancingStrategy;
+import com.meuprojeto.matchmaking.core.balanceamento.ParticionadorGrupos;
+import com.meuprojeto.matchmaking.core.balanceamento.ResultadoParticao;
+import com.meuprojeto.matchmaking.core.elo.CalculadoraElo;
 import com.meuprojeto.matchmaking.model.*;
 import com.meuprojeto.matchmaking.repository.*;
 import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaResponse;
+import com.meuprojeto.matchmaking.service.dto.CriacaoSessaoResponse;
 import com.meuprojeto.matchmaking.service.dto.RegistroPartidaFixaRequest;
 import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
+import java.util.logging.Logger;
 
 @Service
 @Transactional
 public class MatchmakingService {
 
-    // --- Constantes de Rating (ELO) - (Sugestão 1) ---
-    /** K-Factor (velocidade de mudança de rating) para jogadores em calibração */
-    private static final double K_FACTOR_CALIBRACAO = 50.0;
-    /** K-Factor para jogadores normais */
-    private static final double K_FACTOR_NORMAL = 30.0;
-    /** Bônus de rating para o MVP */
-    private static final double RATING_BONUS_MVP = 10.0;
-    /** Mitigação (redução de perda) para o Destaque do time perdedor */
-    private static final double RATING_MITIGACAO_DESTAQUE = 5.0;
+    private static final Logger LOGGER = Logger.getLogger(MatchmakingService.class.getName());
+
+    // --- Cálculo de Rating (ELO) - (Sugestão 1) ---
+    // As constantes (K-Factor, bônus de MVP, mitigação do Destaque) ficam no core.
+    private final CalculadoraElo calculadoraElo = CalculadoraElo.PADRAO;
+
+    // --- Status gravados em EQUIPE_PARTIDA ---
+    static final String VITORIA = "VITÓRIA";
+    static final String DERROTA = "DERROTA";
+    static final String EMPATE = "EMPATE";
+
+    /** Tamanho do lote JDBC ao persistir uma sessão inteira. */
+    private static final int TAMANHO_LOTE_SESSAO = 50;
 
     // --- Repositórios ---
     private final JogadorRepository jogadorRepository;
@@ -30,14 +48,38 @@ public class MatchmakingService {
     private final PartidaRepository partidaRepository;
     private final EquipeRepository equipeRepository;
     private final EquipePartidaRepository equipePartidaRepository;
+    private final HistoricoRatingRepository historicoRatingRepository;
+    private final EstatisticaJogadorRepository estatisticaJogadorRepository;
+
+    // --- Balanceamento ---
+    private final BalancingStrategyRegistry estrategiasBalanceamento;
+    private final ParticionadorGrupos particionadorGrupos;
+
+    // --- Reservas (jogador em no máximo uma partida em andamento) ---
+    private final RegistroReservasJogadores reservas;
+
+    private final ClassificacaoService classificacaoService;
+
+    private final EntityManager entityManager;
 
     // Injeção de Construtor
-    public MatchmakingService(JogadorRepository jogadorRepository, ModoDeJogoRepository modoDeJogoRepository, PartidaRepository partidaRepository, EquipeRepository equipeRepository, EquipePartidaRepository equipePartidaRepository) {
+    public MatchmakingService(JogadorRepository jogadorRepository, ModoDeJogoRepository modoDeJogoRepository, PartidaRepository partidaRepository, EquipeRepository equipeRepository, EquipePartidaRepository equipePartidaRepository,
+                              HistoricoRatingRepository historicoRatingRepository, EstatisticaJogadorRepository estatisticaJogadorRepository,
+                              BalancingStrategyRegistry estrategiasBalanceamento, ParticionadorGrupos particionadorGrupos,
+                              RegistroReservasJogadores reservas, ClassificacaoService classificacaoService,
+                              EntityManager entityManager) {
         this.jogadorRepository = jogadorRepository;
         this.modoDeJogoRepository = modoDeJogoRepository;
         this.partidaRepository = partidaRepository;
         this.equipeRepository = equipeRepository;
         this.equipePartidaRepository = equipePartidaRepository;
+        this.historicoRatingRepository = historicoRatingRepository;
+        this.estatisticaJogadorRepository = estatisticaJogadorRepository;
+        this.estrategiasBalanceamento = estrategiasBalanceamento;
+        this.particionadorGrupos = particionadorGrupos;
+        this.reservas = reservas;
+        this.classificacaoService = classificacaoService;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -45,11 +87,20 @@ public class MatchmakingService {
      * Implementa Sugestão 2 (Reservas e Modos de Balanceamento).
      */
     public CriacaoPartidaResponse criarPartida(List<Long> idJogadores, Long idModoDeJogo) {
+        return criarPartida(idJogadores, idModoDeJogo, List.of());
+    }
+
+    /**
+     * Igual a criarPartida(idJogadores, idModoDeJogo), mas os jogadores de cada
+     * grupo pré-formado (ex: 2–3 amigos) ficam sempre na mesma equipe.
+     * Jogadores fora de qualquer grupo são tratados individualmente.
+     */
+    public CriacaoPartidaResponse criarPartida(List<Long> idJogadores, Long idModoDeJogo, List<List<Long>> grupos) {
         // 1. Buscar Entidades do DB
         ModoDeJogo modoDeJogo = modoDeJogoRepository.findById(idModoDeJogo)
                 .orElseThrow(() -> new MatchmakingException("Modo de Jogo não encontrado. ID: " + idModoDeJogo));
 
-        List<Jogador> jogadoresDisponiveis = jogadorRepository.findAllById(idJogadores);
+        List<Jogador> jogadoresDisponiveis = buscarJogadores(idJogadores);
 
         // 2. Validação Mínima
         int minJogadores = modoDeJogo.getJogadoresPorEquipe() * 2; // Mínimo para 2 equipes
@@ -57,189 +108,476 @@ public class MatchmakingService {
             throw new MatchmakingException("Jogadores insuficientes (" + jogadoresDisponiveis.size() + ") para formar duas equipes de " + modoDeJogo.getJogadoresPorEquipe() + ".");
         }
 
-        // 3. Lógica de Reservas (Sugestão 2)
+        // 3. Converte para arrays primitivos (o core não conhece entidades)
         int jogadoresPorEquipe = modoDeJogo.getJogadoresPorEquipe();
-        int numTimes = jogadoresDisponiveis.size() / jogadoresPorEquipe;
-        int numJogadoresAtivos = numTimes * jogadoresPorEquipe;
-        int numReservas = jogadoresDisponiveis.size() - numJogadoresAtivos;
-
-        // Ordena por rating (DESC) para que os piores fiquem de reserva
-        jogadoresDisponiveis.sort(Comparator.comparingDouble(Jogador::getRating).reversed());
+        long[] ids = new long[jogadoresDisponiveis.size()];
+        double[] ratings = new double[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            Jogador jogador = jogadoresDisponiveis.get(i);
+            ids[i] = jogador.getIdJogador();
+            ratings[i] = jogador.getRating();
+        }
 
-        List<Jogador> jogadoresAtivos = new ArrayList<>(jogadoresDisponiveis.subList(0, numJogadoresAtivos));
-        List<Jogador> jogadoresReserva = (numReservas > 0) ? new ArrayList<>(jogadoresDisponiveis.subList(numJogadoresAtivos, jogadoresDisponiveis.size())) : new ArrayList<>();
+        // 4. Reservas (Sugestão 2) e Modos (balanceado ou "times definidos")
+        // Balanceado: usa a estratégia configurada no modo (ELO).
+        // "Times definidos": a UI deveria ter enviado as equipes; para o MVP apenas agrupa os jogadores.
+        // Com grupos pré-formados, o particionamento respeita os grupos (ParticionadorGrupos).
+        BalancingStrategy estrategia = modoDeJogo.isBalanceamentoAutomatico()
+                ? estrategiasBalanceamento.paraModo(modoDeJogo)
+                : null;
+        ResultadoFormacao formacao;
+        if (!grupos.isEmpty()) {
+            if (estrategia == null) {
+                throw new MatchmakingException("O modo '" + modoDeJogo.getNome() + "' usa times fixos: grupos não se aplicam.");
+            }
+            try {
+                formacao = FormacaoEquipes.formarComGrupos(ids, ratings, grupoDoJogador(ids, grupos), jogadoresPorEquipe, particionadorGrupos);
+            } catch (IllegalArgumentException e) {
+                throw new MatchmakingException(e.getMessage());
+            }
+        } else {
+            formacao = FormacaoEquipes.formar(ids, ratings, jogadoresPorEquipe, estrategia);
+        }
+        if (estrategia != null) {
+            ResultadoParticao particao = formacao.getParticao();
+            LOGGER.info(String.format("Balanceamento %s: %d jogadores em %d times, diferença %.1f (%s) em %d µs",
+                    grupos.isEmpty() ? estrategia.getNome() : grupos.size() + " grupos",
+                    particao.getAtribuicao().length, formacao.getNumTimes(), particao.getDiferenca(),
+                    particao.isOtimo() ? "ótimo" : "heurístico", particao.getDuracaoNanos() / 1_000));
+        }
 
-        // 4. Salvar a Partida (ainda sem equipes)
+        // 5. Salvar a Partida (ainda sem equipes)
         Partida novaPartida = new Partida(modoDeJogo);
         partidaRepository.save(novaPartida); // Salva para obter o ID da Partida
 
-        List<Equipe> equipesFormadas;
+        // 6. Reserva os escalados (tudo ou nada) para esta partida
+        reservarJogadores(novaPartida, idsEscalados(ids, formacao));
 
-        // 5. Lógica de Modos (Sugestão 2)
-        if (modoDeJogo.isBalanceamentoAutomatico()) {
-            // Se for balanceado, usa o algoritmo ELO
-            equipesFormadas = balancearTimes(jogadoresAtivos, novaPartida, numTimes);
-        } else {
-            // Se for "times definidos", a UI deveria ter enviado as equipes.
-            // Para o MVP, vamos assumir que "não balanceado" apenas agrupa os jogadores.
-            equipesFormadas = criarTimesFixos(jogadoresAtivos, novaPartida, numTimes, jogadoresPorEquipe);
+        // 7. Mapeia o resultado de volta para entidades e salva Equipes e Associações
+        List<Equipe> equipesFormadas = montarEquipes(novaPartida, formacao, jogadoresDisponiveis);
+        List<Jogador> jogadoresReserva = new ArrayList<>();
+        for (int indice : formacao.getReservas()) {
+            jogadoresReserva.add(jogadoresDisponiveis.get(indice));
         }
 
-        // 6. Salvar Equipes e Associações
         equipeRepository.saveAll(equipesFormadas);
         novaPartida.setEquipes(equipesFormadas);
-        return new CriacaoPartidaResponse(novaPartida, equipesFormadas, jogadoresReserva);
+        return new CriacaoPartidaResponse(novaPartida, equipesFormadas, jogadoresReserva, formacao.getDiferenca());
+    }
+
+    /**
+     * Sessão (noite de evento): divide um pool grande em quantas partidas
+     * balanceadas couberem, com reservas, e salva tudo em UMA transação.
+     *
+     * Os INSERTs são enviados em lotes JDBC (TAMANHO_LOTE_SESSAO) e gravados
+     * em um único flush no final, em vez de um save por partida/equipe.
+     * Informa a duração de cada fase (carregar, formar, persistir).
+     */
+    public CriacaoSessaoResponse criarSessao(List<Long> idJogadores, Long idModoDeJogo) {
+        long inicio = System.nanoTime();
+
+        // 1. Carregar
+        ModoDeJogo modoDeJogo = modoDeJogoRepository.findById(idModoDeJogo)
+                .orElseThrow(() -> new MatchmakingException("Modo de Jogo não encontrado. ID: " + idModoDeJogo));
+        if (!modoDeJogo.isBalanceamentoAutomatico()) {
+            throw new MatchmakingException("O modo '" + modoDeJogo.getNome() + "' usa times fixos e não aceita sessão.");
+        }
+        List<Jogador> jogadores = buscarJogadores(idJogadores);
+        int jogadoresPorEquipe = modoDeJogo.getJogadoresPorEquipe();
+        if (jogadores.size() < jogadoresPorEquipe * FormacaoSessao.EQUIPES_POR_PARTIDA) {
+            throw new MatchmakingException("Jogadores insuficientes (" + jogadores.size() + ") para formar uma partida de " + modoDeJogo.getNome() + ".");
+        }
+        long fimCarregar = System.nanoTime();
+
+        // 2. Formar (core, arrays primitivos)
+        long[] ids = new long[jogadores.size()];
+        double[] ratings = new double[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = jogadores.get(i).getIdJogador();
+            ratings[i] = jogadores.get(i).getRating();
+        }
+        BalancingStrategy estrategia = estrategiasBalanceamento.paraModo(modoDeJogo);
+        ResultadoSessao sessao = FormacaoSessao.formar(ids, ratings, jogadoresPorEquipe, estrategia);
+        long fimFormar = System.nanoTime();
+
+        // 3. Persistir: lotes JDBC, reservas e um único flush
+        entityManager.unwrap(Session.class).setJdbcBatchSize(TAMANHO_LOTE_SESSAO);
+        List<Partida> partidas = new ArrayList<>(sessao.getNumPartidas());
+        for (int p = 0; p < sessao.getNumPartidas(); p++) {
+            partidas.add(new Partida(modoDeJogo));
+        }
+        partidaRepository.saveAll(partidas);
+
+        List<CriacaoPartidaResponse> criadas = new ArrayList<>(partidas.size());
+        List<Equipe> todasEquipes = new ArrayList<>();
+        for (int p = 0; p < partidas.size(); p++) {
+            int[] indices = sessao.getJogadoresDaPartida(p);
+            List<Jogador> grupo = new ArrayList<>(indices.length);
+            long[] idsGrupo = new long[indices.length];
+            for (int k = 0; k < indices.length; k++) {
+                grupo.add(jogadores.get(indices[k]));
+                idsGrupo[k] = ids[indices[k]];
+            }
+            ResultadoFormacao formacao = sessao.getFormacao(p);
+            Partida partida = partidas.get(p);
+            reservarJogadores(partida, idsGrupo);
+
+            List<Equipe> equipes = montarEquipes(partida, formacao, grupo);
+            partida.setEquipes(equipes);
+            todasEquipes.addAll(equipes);
+            criadas.add(new CriacaoPartidaResponse(partida, equipes, List.of(), formacao.getDiferenca()));
+        }
+        equipeRepository.saveAll(todasEquipes);
+        entityManager.flush();
+
+        List<Jogador> jogadoresReserva = new ArrayList<>();
+        for (int indice : sessao.getReservas()) {
+            jogadoresReserva.add(jogadores.get(indice));
+        }
+        long fim = System.nanoTime();
+
+        CriacaoSessaoResponse resposta = new CriacaoSessaoResponse(criadas, jogadoresReserva,
+                (fimCarregar - inicio) / 1_000, (fimFormar - fimCarregar) / 1_000, (fim - fimFormar) / 1_000, (fim - inicio) / 1_000);
+        LOGGER.info(String.format("Sessão %s: %d partidas, %d reservas. Carregar %d µs, formar %d µs, persistir %d µs (total %d µs)",
+                modoDeJogo.getNome(), criadas.size(), jogadoresReserva.size(), resposta.getCarregarMicros(),
+                resposta.getFormarMicros(), resposta.getPersistirMicros(), resposta.getTotalMicros()));
+        return resposta;
     }
 
     /**
      * Registra o resultado e recalcula o ELO de todos.
      * Implementa Sugestão 1 (ELO, MVP, Destaque).
+     *
+     * Comandos SQL por resultado, independente do número de equipes e jogadores:
+     * 2 SELECTs (EquipeRepository.buscarAgregadoDaPartida e as estatísticas) e
+     * um lote JDBC para cada tabela gravada (JOGADOR, HISTORICO_RATING,
+     * EQUIPE_PARTIDA, PARTIDA e, depois, ESTATISTICA_JOGADOR).
      */
     @Transactional
     public void registrarResultado(RegistroResultadoRequest request) {
-        Partida partida = partidaRepository.findById(request.getIdPartida())
-                .orElseThrow(() -> new MatchmakingException("Partida não encontrada: " + request.getIdPartida()));
-
-        if (partida.getEquipes() == null || partida.getEquipes().isEmpty() || partida.getEquipes().size() < 2) {
+        List<Equipe> equipes = equipeRepository.buscarAgregadoDaPartida(request.getIdPartida());
+        if (equipes.size() < 2) {
+            if (equipes.isEmpty() && !partidaRepository.existsById(request.getIdPartida())) {
+                throw new MatchmakingException("Partida não encontrada: " + request.getIdPartida());
+            }
             throw new MatchmakingException("Partida não possui equipes suficientes para registrar resultado.");
         }
+        Partida partida = equipes.get(0).getPartida();
+
+        int numEquipes = equipes.size();
+        long[] idEquipes = new long[numEquipes];
+        for (int t = 0; t < numEquipes; t++) idEquipes[t] = equipes.get(t).getIdEquipe();
+        int[] colocacoes = colocacoes(idEquipes, request);
+        int[] resultados = CalculadoraElo.resultados(colocacoes);
+        String[] status = statusResultado(colocacoes);
+
+        // Achata os membros em arrays primitivos (ratings ANTES de atualizar)
+        int[] inicioEquipe = new int[numEquipes + 1];
+        for (int t = 0; t < numEquipes; t++) {
+            inicioEquipe[t + 1] = inicioEquipe[t] + equipes.get(t).getMembros().size();
+        }
+        int total = inicioEquipe[numEquipes];
+        Jogador[] jogadores = new Jogador[total];
+        double[] ratings = new double[total];
+        int[] partidasJogadas = new int[total];
+        boolean[] mvp = new boolean[total];
+        boolean[] destaque = new boolean[total];
+        for (int t = 0; t < numEquipes; t++) {
+            boolean perdeu = DERROTA.equals(status[t]);
+            int i = inicioEquipe[t];
+            for (JogadorEquipe je : equipes.get(t).getMembros()) {
+                Jogador jogador = je.getJogador();
+                jogadores[i] = jogador;
+                ratings[i] = jogador.getRating();
+                partidasJogadas[i] = jogador.getPartidasJogadas();
+                mvp[i] = jogador.getIdJogador().equals(request.getIdMvp());
+                destaque[i] = perdeu && jogador.getIdJogador().equals(request.getIdDestaquePerdedor()); // Destaque SÓ se aplica se perdeu
+                i++;
+            }
+        }
 
-        // TODO V2: Adaptar para mais de 2 times (ex: 3 times de 3)
-        Equipe equipeA = partida.getEquipes().get(0);
-        Equipe equipeB = partida.getEquipes().get(1);
+        // O CORAÇÃO DO ELO (Sugestão 1) fica no core (CalculadoraElo): Elo pareado entre as N equipes
+        double[] novos = calculadoraElo.novosRatings(ratings, partidasJogadas, inicioEquipe, colocacoes,
+                mvp, destaque, Jogador.RATING_CALIBRACAO_INICIAL);
+
+        // Atualiza os jogadores (e registra a variação no histórico). Os Jogadores
+        // já estão na sessão: no flush, os UPDATEs (com a checagem de versão) vão
+        // juntos em um único lote JDBC, sem save/merge por jogador.
+        List<HistoricoRating> historico = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            historico.add(new HistoricoRating(jogadores[i].getIdJogador(), partida.getIdPartida(), partida.getDataHora(),
+                    ratings[i], novos[i]));
+            jogadores[i].registrarNovaPartida(novos[i], mvp[i], destaque[i]);
+        }
+        historicoRatingRepository.saveAll(historico);
 
-        // Define quem venceu/perdeu/empatou
-        double scoreA = 0.5, scoreB = 0.5; // Empate
+        // Salva o resultado (EQUIPE_PARTIDA)
+        List<EquipePartida> resultadosEquipes = new ArrayList<>(numEquipes);
+        for (int t = 0; t < numEquipes; t++) {
+            resultadosEquipes.add(resultadoEquipe(equipes.get(t), status[t], colocacoes[t]));
+        }
+        equipePartidaRepository.saveAll(resultadosEquipes);
+        partida.setIdMvp(request.getIdMvp());
+        partida.setIdDestaquePerdedor(request.getIdDestaquePerdedor());
+
+        // Vitórias/derrotas/empates e sequência (total e do modo) de cada jogador.
+        // O flush antes manda os UPDATEs de JOGADOR (checagem de versão): um
+        // resultado concorrente do mesmo jogador falha ali (e é refeito por
+        // RetentativaOtimista), e não no INSERT da mesma linha de estatística.
+        // (flush pelo repositório: o erro chega traduzido, como OptimisticLockingFailureException)
+        jogadorRepository.flush();
+        registrarEstatisticas(partida, jogadores, inicioEquipe, resultados);
+
+        // Classificação em memória (geral e do modo), depois do commit. Após o
+        // flush, a versão de cada Jogador já é a gravada.
+        List<ClassificacaoService.AlteracaoRating> alteracoes = new ArrayList<>(total);
+        for (Jogador jogador : jogadores) {
+            alteracoes.add(new ClassificacaoService.AlteracaoRating(jogador.getIdJogador(),
+                    partida.getModoDeJogo().getIdModoDeJogo(), jogador.getRating(), jogador.getVersao()));
+        }
+        classificacaoService.atualizarAposCommit(alteracoes);
 
-        if (!request.isEmpate()) {
-            if (request.getIdEquipeVencedora() == null) {
-                throw new MatchmakingException("Se não é empate, um time vencedor deve ser selecionado.");
+        // Partida encerrada: libera os jogadores (só depois do commit)
+        liberarJogadoresAposCommit(partida.getIdPartida(), jogadores);
+    }
+
+    /**
+     * Cancela uma partida que não terá resultado (abandonada, criada por engano):
+     * apaga a partida, as equipes e as escalações e libera os jogadores
+     * reservados por ela (só depois do commit). Sem isso, as reservas só
+     * terminam com o resultado ou ao reiniciar a aplicação.
+     *
+     * @throws MatchmakingException se a partida não existe ou já tem resultado
+     */
+    @Transactional
+    public void cancelarPartida(Long idPartida) {
+        List<Equipe> equipes = equipeRepository.buscarAgregadoDaPartida(idPartida);
+        Partida partida = equipes.isEmpty()
+                ? partidaRepository.findById(idPartida)
+                        .orElseThrow(() -> new MatchmakingException("Partida não encontrada: " + idPartida))
+                : equipes.get(0).getPartida();
+
+        List<Jogador> jogadores = new ArrayList<>();
+        for (Equipe equipe : equipes) {
+            if (equipe.getResultado() != null) {
+                throw new MatchmakingException("A partida " + idPartida + " já tem resultado registrado e não pode ser cancelada.");
             }
-            if (equipeA.getIdEquipe().equals(request.getIdEquipeVencedora())) {
-                scoreA = 1.0; scoreB = 0.0;
-            } else {
-                scoreA = 0.0; scoreB = 1.0;
+            for (JogadorEquipe je : equipe.getMembros()) {
+                jogadores.add(je.getJogador());
             }
         }
 
-        // Calcula o Rating Médio de cada time ANTES de atualizar
-        double ratingMedioA = equipeA.getMembros().stream()
-                .mapToDouble(je -> je.getJogador().getRating()).average().orElse(Jogador.RATING_CALIBRACAO_INICIAL);
-        double ratingMedioB = equipeB.getMembros().stream()
-                .mapToDouble(je -> je.getJogador().getRating()).average().orElse(Jogador.RATING_CALIBRACAO_INICIAL);
-
-        // Atualiza os jogadores da Equipe A
-        atualizarRatingEquipe(equipeA, ratingMedioB, scoreA, request.getIdMvp(), request.getIdDestaquePerdedor());
-        // Atualiza os jogadores da Equipe B
-        atualizarRatingEquipe(equipeB, ratingMedioA, scoreB, request.getIdMvp(), request.getIdDestaquePerdedor());
+        equipeRepository.deleteAll(equipes); // Escalações vão junto (cascade)
+        partidaRepository.delete(partida);
+        LOGGER.info("Partida " + idPartida + " cancelada; " + jogadores.size() + " jogador(es) liberado(s).");
 
-        // Salva o resultado (EQUIPE_PARTIDA)
-        salvarResultadoEquipe(equipeA, scoreA == 1.0 ? "VITÓRIA" : (scoreA == 0.0 ? "DERROTA" : "EMPATE"));
-        salvarResultadoEquipe(equipeB, scoreB == 1.0 ? "VITÓRIA" : (scoreB == 0.0 ? "DERROTA" : "EMPATE"));
+        liberarJogadoresAposCommit(idPartida, jogadores.toArray(new Jogador[0]));
     }
 
     // --- MÉTODOS PRIVADOS DE LÓGICA ---
 
     /**
-     * ALGORITMO DE BALANCEAMENTO (Sugestão 1: Rating)
-     * Tenta criar times com o ELO médio mais próximo possível.
+     * Para cada jogador (na ordem de 'ids'), o índice do seu grupo em 'grupos',
+     * ou ParticionadorGrupos.SEM_GRUPO.
      */
-    private List<Equipe> balancearTimes(List<Jogador> jogadores, Partida partida, int numTimes) {
-        // Ordena por rating (melhor para o pior)
-        jogadores.sort(Comparator.comparingDouble(Jogador::getRating).reversed());
+    private int[] grupoDoJogador(long[] ids, List<List<Long>> grupos) {
+        Map<Long, Integer> grupoPorId = new HashMap<>();
+        for (int g = 0; g < grupos.size(); g++) {
+            for (Long id : grupos.get(g)) {
+                if (grupoPorId.put(id, g) != null) {
+                    throw new MatchmakingException("O jogador " + id + " está em mais de um grupo.");
+                }
+            }
+        }
+        int[] grupoDoJogador = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            grupoDoJogador[i] = grupoPorId.getOrDefault(ids[i], ParticionadorGrupos.SEM_GRUPO);
+        }
+        return grupoDoJogador;
+    }
 
-        List<Equipe> equipes = new ArrayList<>();
-        List<Double> ratingsEquipes = new ArrayList<>();
-        for(int i=0; i < numTimes; i++) {
-            equipes.add(new Equipe("Time " + (char)('A' + i), partida));
-            ratingsEquipes.add(0.0);
+    /**
+     * Ids dos jogadores escalados em algum time (reservas de banco ficam livres).
+     */
+    private long[] idsEscalados(long[] ids, ResultadoFormacao formacao) {
+        int[] equipeDoJogador = formacao.getEquipeDoJogador();
+        long[] escalados = new long[ids.length - formacao.getReservas().length];
+        int n = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (equipeDoJogador[i] != ResultadoFormacao.RESERVA) {
+                escalados[n++] = ids[i];
+            }
         }
+        return escalados;
+    }
 
-        // Distribuição "Adicionar ao time mais fraco"
-        for (Jogador jogador : jogadores) {
-            // Encontra o time com o menor rating total no momento
-            int indiceTimeMaisFraco = 0;
-            double menorRating = Double.MAX_VALUE;
-            for (int i = 0; i < ratingsEquipes.size(); i++) {
-                if (ratingsEquipes.get(i) < menorRating) {
-                    menorRating = ratingsEquipes.get(i);
-                    indiceTimeMaisFraco = i;
+    /**
+     * Jogadores pelos ids (repetidos e inexistentes são ignorados), na ordem pedida.
+     * Diferente de findAllById (sempre uma consulta), o multiLoad procura antes no
+     * cache de segundo nível e só vai ao banco pelos ids que faltam.
+     */
+    private List<Jogador> buscarJogadores(Collection<Long> idJogadores) {
+        List<Jogador> carregados = entityManager.unwrap(Session.class)
+                .byMultipleIds(Jogador.class)
+                .multiLoad(new ArrayList<>(new LinkedHashSet<>(idJogadores)));
+        List<Jogador> jogadores = new ArrayList<>(carregados.size());
+        for (Jogador jogador : carregados) {
+            if (jogador != null) jogadores.add(jogador);
+        }
+        return jogadores;
+    }
+
+    /**
+     * Reserva os jogadores para a partida (ver RegistroReservasJogadores).
+     * Se a transação não for confirmada, a reserva é desfeita.
+     */
+    private void reservarJogadores(Partida partida, long[] idJogadores) {
+        long idPartida = partida.getIdPartida();
+        long ocupado = reservas.reservar(idJogadores, idPartida);
+        if (ocupado != -1L) {
+            throw new JogadorIndisponivelException(ocupado, reservas.partidaDoJogador(ocupado));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        reservas.liberar(idJogadores, idPartida);
+                    }
                 }
-            }
+            });
+        }
+    }
 
-            // Adiciona o jogador a esse time
-            equipes.get(indiceTimeMaisFraco).adicionarJogador(jogador); // Usa o helper
-            ratingsEquipes.set(indiceTimeMaisFraco, menorRating + jogador.getRating());
+    private void liberarJogadoresAposCommit(long idPartida, Jogador[] jogadores) {
+        long[] idJogadores = new long[jogadores.length];
+        for (int i = 0; i < idJogadores.length; i++) idJogadores[i] = jogadores[i].getIdJogador();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reservas.liberar(idJogadores, idPartida);
+                }
+            });
+        } else {
+            reservas.liberar(idJogadores, idPartida);
         }
-        return equipes;
     }
 
     /**
-     * Lógica para Modo "Times Definidos" (Sugestão 2)
-     * Apenas agrupa os jogadores (UI deveria ter definido, mas MVP agrupa)
+     * Converte a divisão do core (índices) em entidades Equipe/JogadorEquipe.
      */
-    private List<Equipe> criarTimesFixos(List<Jogador> jogadores, Partida partida, int numTimes, int jogadoresPorEquipe) {
+    private List<Equipe> montarEquipes(Partida partida, ResultadoFormacao formacao, List<Jogador> jogadores) {
         List<Equipe> equipes = new ArrayList<>();
-        int jogadorIndex = 0;
-        for (int i = 0; i < numTimes; i++) {
-            Equipe equipe = new Equipe("Time " + (char)('A' + i), partida);
-            for (int j = 0; j < jogadoresPorEquipe; j++) {
-                equipe.adicionarJogador(jogadores.get(jogadorIndex++)); // Usa o helper
+        for (int i = 0; i < formacao.getNumTimes(); i++) {
+            equipes.add(new Equipe("Time " + (char)('A' + i), partida));
+        }
+        int[] equipeDoJogador = formacao.getEquipeDoJogador();
+        for (int i = 0; i < equipeDoJogador.length; i++) {
+            if (equipeDoJogador[i] != ResultadoFormacao.RESERVA) {
+                equipes.get(equipeDoJogador[i]).adicionarJogador(jogadores.get(i)); // Usa o helper
             }
-            equipes.add(equipe);
         }
         return equipes;
     }
 
     /**
-     * Salva o resultado na tabela de associação EQUIPE_PARTIDA
+     * Colocação de cada equipe (na ordem de idEquipes).
+     * Sem colocações no request, converte vencedor/empate (formato de 2 times).
      */
-    private void salvarResultadoEquipe(Equipe equipe, String resultado) {
-        EquipePartida resultadoEquipe = new EquipePartida(equipe, resultado);
-        equipe.setResultado(resultadoEquipe);
-        // Salvamos explicitamente para garantir
-        equipePartidaRepository.save(resultadoEquipe);
+    static int[] colocacoes(long[] idEquipes, RegistroResultadoRequest request) {
+        int[] colocacoes = new int[idEquipes.length];
+        Map<Long, Integer> informadas = request.getColocacoes();
+        if (informadas != null && !informadas.isEmpty()) {
+            for (int t = 0; t < colocacoes.length; t++) {
+                Integer colocacao = informadas.get(idEquipes[t]);
+                if (colocacao == null || colocacao < 1) {
+                    throw new MatchmakingException("Informe a colocação (1 ou mais) da equipe " + idEquipes[t]
+                            + " (partida " + request.getIdPartida() + ").");
+                }
+                colocacoes[t] = colocacao;
+            }
+            return colocacoes;
+        }
+
+        if (request.isEmpate()) {
+            Arrays.fill(colocacoes, 1);
+            return colocacoes;
+        }
+        if (request.getIdEquipeVencedora() == null) {
+            throw new MatchmakingException("Se não é empate, um time vencedor deve ser selecionado.");
+        }
+        boolean achou = false;
+        for (int t = 0; t < colocacoes.length; t++) {
+            boolean vencedora = idEquipes[t] == request.getIdEquipeVencedora();
+            colocacoes[t] = vencedora ? 1 : 2;
+            achou |= vencedora;
+        }
+        if (!achou) {
+            throw new MatchmakingException("A equipe vencedora não pertence à partida " + request.getIdPartida() + ".");
+        }
+        return colocacoes;
     }
 
     /**
-     * Itera sobre os jogadores de uma equipe e atualiza o rating de cada um.
+     * Status gravado em EQUIPE_PARTIDA para cada equipe (ver CalculadoraElo.resultados).
      */
-    private void atualizarRatingEquipe(Equipe equipe, double ratingMedioOponente, double scoreReal, Long idMvp, Long idDestaquePerdedor) {
-        for (JogadorEquipe je : equipe.getMembros()) {
-            Jogador jogador = je.getJogador();
-            boolean isMvp = jogador.getIdJogador().equals(idMvp);
-            boolean isDestaque = (scoreReal == 0.0) && jogador.getIdJogador().equals(idDestaquePerdedor); // Destaque SÓ se aplica se perdeu
-
-            double novoRating = calcularNovoRating(jogador, ratingMedioOponente, scoreReal, isMvp, isDestaque);
-
-            // Atualiza o jogador no DB
-            jogador.registrarNovaPartida(novoRating, isMvp, isDestaque);
-            jogadorRepository.save(jogador);
+    static String[] statusResultado(int[] colocacoes) {
+        int[] resultados = CalculadoraElo.resultados(colocacoes);
+        String[] status = new String[colocacoes.length];
+        for (int t = 0; t < colocacoes.length; t++) {
+            status[t] = resultados[t] == CalculadoraElo.VITORIA ? VITORIA
+                    : (resultados[t] == CalculadoraElo.EMPATE ? EMPATE : DERROTA);
         }
+        return status;
     }
 
     /**
-     * O CORAÇÃO DO ELO (Sugestão 1: Rating e MVP/Destaque)
-     * Calcula o novo rating de UM jogador.
+     * Atualiza as estatísticas dos jogadores (linha total e linha do modo da
+     * partida), criando as que ainda não existem. Uma consulta; os UPDATEs e
+     * INSERTs vão em lote no flush.
      */
-    private double calcularNovoRating(Jogador jogador, double ratingOponente, double scoreReal, boolean isMvp, boolean isDestaque) {
-        // 1. Define o K-Factor (velocidade de mudança)
-        double kFactor = jogador.isEmCalibracao() ? K_FACTOR_CALIBRACAO : K_FACTOR_NORMAL;
-
-        // 2. Calcula a "Expectativa de Resultado" (Fórmula ELO)
-        double expectativa = 1.0 / (1.0 + Math.pow(10.0, (ratingOponente - jogador.getRating()) / 400.0));
-
-        // 3. Calcula o Bônus/Penalidade de MVP/Destaque
-        double bonusMvp = isMvp ? RATING_BONUS_MVP : 0.0;
-        double mitigacaoDestaque = (scoreReal == 0.0 && isDestaque) ? RATING_MITIGACAO_DESTAQUE : 0.0;
+    private void registrarEstatisticas(Partida partida, Jogador[] jogadores, int[] inicioEquipe, int[] resultados) {
+        Long idModo = partida.getModoDeJogo().getIdModoDeJogo();
+        List<Long> idJogadores = new ArrayList<>(jogadores.length);
+        for (Jogador jogador : jogadores) idJogadores.add(jogador.getIdJogador());
+
+        Map<Long, EstatisticaJogador> totais = new HashMap<>();
+        Map<Long, EstatisticaJogador> doModo = new HashMap<>();
+        for (EstatisticaJogador estatistica : estatisticaJogadorRepository.buscarParaResultado(idJogadores, idModo)) {
+            boolean total = estatistica.getIdModoDeJogo() == EstatisticaJogador.TODOS_OS_MODOS;
+            (total ? totais : doModo).put(estatistica.getIdJogador(), estatistica);
+        }
+        List<EstatisticaJogador> novas = new ArrayList<>();
+        for (int t = 0; t < resultados.length; t++) {
+            for (int i = inicioEquipe[t]; i < inicioEquipe[t + 1]; i++) {
+                Long idJogador = jogadores[i].getIdJogador();
+                estatistica(totais, idJogador, EstatisticaJogador.TODOS_OS_MODOS, novas).registrar(resultados[t], partida.getDataHora());
+                estatistica(doModo, idJogador, idModo, novas).registrar(resultados[t], partida.getDataHora());
+            }
+        }
+        estatisticaJogadorRepository.saveAll(novas);
+    }
 
-        // 4. Fórmula Final
-        double mudancaBase = kFactor * (scoreReal - expectativa);
-        double novoRating = jogador.getRating() + mudancaBase + bonusMvp + mitigacaoDestaque;
+    private static EstatisticaJogador estatistica(Map<Long, EstatisticaJogador> porJogador, Long idJogador, long idModo,
+                                                  List<EstatisticaJogador> novas) {
+        return porJogador.computeIfAbsent(idJogador, id -> {
+            EstatisticaJogador nova = new EstatisticaJogador(id, idModo);
+            novas.add(nova);
+            return nova;
+        });
+    }
 
-        // Garante que o rating não caia abaixo de um piso (ex: 100)
-        return Math.max(100.0, novoRating);
+    /**
+     * Resultado da equipe na tabela de associação EQUIPE_PARTIDA (salvo por quem chama)
+     */
+    private EquipePartida resultadoEquipe(Equipe equipe, String resultado, int colocacao) {
+        EquipePartida resultadoEquipe = new EquipePartida(equipe, resultado, colocacao);
+        equipe.setResultado(resultadoEquipe);
+        return resultadoEquipe;
     }
+
     // ... (construtor e outros métodos como criarPartida e registrarResultado) ...
 
     /**
@@ -266,13 +604,19 @@ public class MatchmakingService {
         }
 
         // 2. Buscar Jogadores
-        List<Jogador> jogadoresTimeA = jogadorRepository.findAllById(request.getIdsTimeA());
-        List<Jogador> jogadoresTimeB = jogadorRepository.findAllById(request.getIdsTimeB());
+        List<Jogador> jogadoresTimeA = buscarJogadores(request.getIdsTimeA());
+        List<Jogador> jogadoresTimeB = buscarJogadores(request.getIdsTimeB());
 
         // 3. Salvar a Partida
         Partida novaPartida = new Partida(modoDeJogo);
         partidaRepository.save(novaPartida); // Salva para obter o ID
 
+        long[] escalados = new long[jogadoresTimeA.size() + jogadoresTimeB.size()];
+        int n = 0;
+        for (Jogador jogador : jogadoresTimeA) escalados[n++] = jogador.getIdJogador();
+        for (Jogador jogador : jogadoresTimeB) escalados[n++] = jogador.getIdJogador();
+        reservarJogadores(novaPartida, escalados);
+
         // 4. Criar e Salvar Equipes
         Equipe equipeA = new Equipe("Time A (Fixo)", novaPartida);
         jogadoresTimeA.forEach(equipeA::adicionarJogador); // Adiciona membros
@@ -0,0 +1,282 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.model.EventoResultado;
+import com.meuprojeto.matchmaking.repository.EventoResultadoRepository;
+import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import com.meuprojeto.matchmaking.service.dto.StatusResultadoResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registro de resultados assíncrono, com um único escritor.
+ *
+ * enviar() só grava o evento (EVENTO_RESULTADO, status PENDENTE) e retorna:
+ * quem chama (ex: a tela de resultado, na thread do JavaFX) não espera o Elo.
+ * Uma única thread consome os eventos em ordem de chegada, em lotes de até
+ * "tamanho-lote", e aplica cada lote com a importação em lote
+ * (ImportacaoResultadosService) na mesma transação que marca os eventos como
+ * APLICADO. Essa transação é refeita em caso de conflito de versão (ver
+ * RetentativaOtimista). Se o lote falhar, os eventos são aplicados um a um e
+ * os que falharem ficam como FALHOU, com o erro.
+ *
+ * Dentro de um lote, os resultados são aplicados na ordem de dataHora das
+ * partidas (como na importação e no replay de ratings), não na de chegada:
+ * um resultado que chega atrasado não passa na frente de uma partida mais
+ * antiga do mesmo lote. Entre lotes vale a ordem de chegada.
+ *
+ * Cada partida tem no máximo um evento (índice único em ID_PARTIDA); um
+ * reenvio depois de FALHOU substitui o evento que falhou.
+ *
+ * Contrapressão: no máximo "capacidade" eventos aguardando; acima disso,
+ * enviar() recusa com MatchmakingException (tente de novo em seguida).
+ * Os aguardando são os ids na fila ou no lote em processamento (cada id uma
+ * vez), retirados quando o lote termina: a contagem não se afasta da fila.
+ *
+ * Eventos PENDENTES de uma execução anterior são recarregados ao iniciar.
+ * Com matchmaking.resultados.assincrono=false o escritor não é iniciado e
+ * enviar() recusa os resultados (registre pelo MatchmakingService).
+ */
+@Service
+public class PipelineResultadosService {
+
+    private static final Logger LOGGER = Logger.getLogger(PipelineResultadosService.class.getName());
+
+    private final EventoResultadoRepository eventoResultadoRepository;
+    private final ImportacaoResultadosService importacaoResultadosService;
+    private final TransactionTemplate transacao;
+    private final RetentativaOtimista retentativaOtimista;
+    private final ExecutorService executor;
+
+    private final boolean habilitado;
+    private final int capacidade;
+    private final int tamanhoLote;
+
+    private final LinkedBlockingQueue<Long> fila = new LinkedBlockingQueue<>();
+    /** Ids na fila ou no lote em processamento (limite da contrapressão). */
+    private final Set<Long> aguardando = ConcurrentHashMap.newKeySet();
+    /** Envios que já passaram pela contrapressão e ainda estão gravando o evento. */
+    private final AtomicInteger gravando = new AtomicInteger();
+
+    public PipelineResultadosService(EventoResultadoRepository eventoResultadoRepository,
+                                     ImportacaoResultadosService importacaoResultadosService,
+                                     PlatformTransactionManager transactionManager,
+                                     RetentativaOtimista retentativaOtimista,
+                                     ExecutorService executorResultados,
+                                     @Value("${matchmaking.resultados.assincrono:false}") boolean habilitado,
+                                     @Value("${matchmaking.resultados.capacidade:1000}") int capacidade,
+                                     @Value("${matchmaking.resultados.tamanho-lote:100}") int tamanhoLote) {
+        this.eventoResultadoRepository = eventoResultadoRepository;
+        this.importacaoResultadosService = importacaoResultadosService;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.retentativaOtimista = retentativaOtimista;
+        this.executor = executorResultados;
+        this.habilitado = habilitado;
+        this.capacidade = capacidade;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Se a UI deve registrar resultados por aqui (matchmaking.resultados.assincrono).
+     */
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Recarrega os eventos pendentes e inicia o escritor.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        List<EventoResultado> pendentes = eventoResultadoRepository.findByStatusOrderByIdAsc(EventoResultado.PENDENTE);
+        if (!pendentes.isEmpty()) {
+            LOGGER.info("Retomando " + pendentes.size() + " resultado(s) pendente(s).");
+        }
+        for (EventoResultado evento : pendentes) {
+            enfileirar(evento.getId());
+        }
+        executor.execute(this::consumir);
+    }
+
+    /**
+     * Grava o resultado como evento PENDENTE e retorna sem aplicar os ratings.
+     *
+     * @throws MatchmakingException se o registro assíncrono estiver desligado, a fila
+     *                              estiver cheia ou a partida já tiver resultado enviado
+     */
+    public StatusResultadoResponse enviar(RegistroResultadoRequest request) {
+        if (!habilitado) {
+            throw new MatchmakingException("Registro assíncrono de resultados desligado (matchmaking.resultados.assincrono=false).");
+        }
+        if (request.getIdPartida() == null) {
+            throw new MatchmakingException("Resultado sem idPartida.");
+        }
+        if (gravando.incrementAndGet() + aguardando.size() > capacidade) {
+            gravando.decrementAndGet();
+            throw new MatchmakingException("Muitos resultados aguardando processamento. Tente novamente em instantes.");
+        }
+        try {
+            // Um evento por partida (índice único): o banco decide entre envios simultâneos
+            EventoResultado evento;
+            try {
+                evento = transacao.execute(status -> {
+                    eventoResultadoRepository.apagarFalhou(request.getIdPartida());
+                    return eventoResultadoRepository.saveAndFlush(paraEvento(request));
+                });
+            } catch (DataIntegrityViolationException e) {
+                String situacao = eventoResultadoRepository.findFirstByIdPartidaOrderByIdDesc(request.getIdPartida())
+                        .map(EventoResultado::getStatus).orElse(EventoResultado.PENDENTE);
+                throw new MatchmakingException("A partida " + request.getIdPartida() + " já tem resultado enviado ("
+                        + situacao + ").");
+            }
+            enfileirar(evento.getId());
+            return new StatusResultadoResponse(evento);
+        } finally {
+            gravando.decrementAndGet();
+        }
+    }
+
+    /**
+     * Situação do último resultado enviado para a partida.
+     */
+    public StatusResultadoResponse status(Long idPartida) {
+        return eventoResultadoRepository.findFirstByIdPartidaOrderByIdDesc(idPartida)
+                .map(StatusResultadoResponse::new)
+                .orElseThrow(() -> new MatchmakingException("Nenhum resultado enviado para a partida " + idPartida + "."));
+    }
+
+    public int getAguardando() {
+        return aguardando.size();
+    }
+
+    // --- ESCRITOR ---
+
+    /** Um id entra na fila uma vez só, mesmo recarregado e enviado ao mesmo tempo. */
+    private void enfileirar(Long id) {
+        if (aguardando.add(id)) {
+            fila.add(id);
+        }
+    }
+
+    private void consumir() {
+        List<Long> lote = new ArrayList<>(tamanhoLote);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                lote.add(fila.take());
+                fila.drainTo(lote, tamanhoLote - 1);
+                processarLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Erro no escritor de resultados", e);
+            } finally {
+                lote.forEach(aguardando::remove);
+                lote.clear();
+            }
+        }
+    }
+
+    private void processarLote(List<Long> ids) {
+        try {
+            retentativaOtimista.executar(() -> aplicar(ids));
+        } catch (RuntimeException erroLote) {
+            if (ids.size() == 1) {
+                marcarFalha(ids.get(0), erroLote);
+                return;
+            }
+            // Isola o(s) evento(s) com problema
+            for (Long id : ids) {
+                try {
+                    retentativaOtimista.executar(() -> aplicar(List.of(id)));
+                } catch (RuntimeException e) {
+                    marcarFalha(id, e);
+                }
+            }
+        }
+    }
+
+    private void aplicar(List<Long> ids) {
+        List<EventoResultado> eventos = new ArrayList<>(ids.size());
+        List<RegistroResultadoRequest> requests = new ArrayList<>(ids.size());
+        for (EventoResultado evento : eventoResultadoRepository.findAllById(ids)) {
+            if (EventoResultado.PENDENTE.equals(evento.getStatus())) {
+                eventos.add(evento);
+                requests.add(paraRequest(evento));
+            }
+        }
+        if (eventos.isEmpty()) return;
+        importacaoResultadosService.registrarResultados(requests);
+        LocalDateTime agora = LocalDateTime.now();
+        for (EventoResultado evento : eventos) {
+            evento.setStatus(EventoResultado.APLICADO);
+            evento.setProcessadoEm(agora);
+        }
+    }
+
+    private void marcarFalha(Long id, RuntimeException erro) {
+        LOGGER.log(Level.WARNING, "Resultado " + id + " não aplicado: " + erro.getMessage());
+        transacao.executeWithoutResult(status -> eventoResultadoRepository.findById(id).ifPresent(evento -> {
+            String mensagem = erro.getMessage() != null ? erro.getMessage() : erro.getClass().getSimpleName();
+            evento.setStatus(EventoResultado.FALHOU);
+            evento.setErro(mensagem.length() > 500 ? mensagem.substring(0, 500) : mensagem);
+            evento.setProcessadoEm(LocalDateTime.now());
+        }));
+    }
+
+    // --- CONVERSÃO ---
+
+    private static EventoResultado paraEvento(RegistroResultadoRequest request) {
+        EventoResultado evento = new EventoResultado();
+        evento.setIdPartida(request.getIdPartida());
+        evento.setIdEquipeVencedora(request.getIdEquipeVencedora());
+        evento.setEmpate(request.isEmpate());
+        evento.setIdMvp(request.getIdMvp());
+        evento.setIdDestaquePerdedor(request.getIdDestaquePerdedor());
+        if (request.getColocacoes() != null && !request.getColocacoes().isEmpty()) {
+            StringJoiner colocacoes = new StringJoiner(",");
+            request.getColocacoes().forEach((idEquipe, colocacao) -> colocacoes.add(idEquipe + ":" + colocacao));
+            evento.setColocacoes(colocacoes.toString());
+        }
+        evento.setRecebidoEm(LocalDateTime.now());
+        return evento;
+    }
+
+    private static RegistroResultadoRequest paraRequest(EventoResultado evento) {
+        RegistroResultadoRequest request = new RegistroResultadoRequest();
+        request.setIdPartida(evento.getIdPartida());
+        request.setIdEquipeVencedora(evento.getIdEquipeVencedora());
+        request.setEmpate(evento.isEmpate());
+        request.setIdMvp(evento.getIdMvp());
+        request.setIdDestaquePerdedor(evento.getIdDestaquePerdedor());
+        if (evento.getColocacoes() != null) {
+            Map<Long, Integer> colocacoes = new HashMap<>();
+            for (String par : evento.getColocacoes().split(",")) {
+                int separador = par.indexOf(':');
+                colocacoes.put(Long.parseLong(par.substring(0, separador)), Integer.parseInt(par.substring(separador + 1)));
+            }
+            request.setColocacoes(colocacoes);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,66 @@
+package com.meuprojeto.matchmaking.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reservas em memória de jogadores que estão em uma partida em andamento.
+ *
+ * Cada jogador aponta para a partida que o reservou (idJogador -> idPartida).
+ * A reserva de uma escalação é "tudo ou nada": cada id é reivindicado com
+ * putIfAbsent (CAS); se algum já estiver em outra partida, os já reivindicados
+ * são devolvidos com remove(chave, valor) e nada fica reservado.
+ *
+ * Assim duas chamadas concorrentes de criarPartida nunca colocam o mesmo
+ * jogador em duas partidas, sem lock pessimista na tabela JOGADOR (que
+ * serializaria a criação de partidas).
+ *
+ * Uma reserva termina com o resultado da partida (MatchmakingService,
+ * ImportacaoResultadosService) ou com o cancelamento dela
+ * (MatchmakingService.cancelarPartida). As reservas vivem só na memória:
+ * reiniciar a aplicação libera todas.
+ */
+@Component
+public class RegistroReservasJogadores {
+
+    private final ConcurrentHashMap<Long, Long> partidaDoJogador = new ConcurrentHashMap<>();
+
+    /**
+     * Reserva todos os jogadores para a partida, ou nenhum.
+     *
+     * @return -1 se todos foram reservados; senão o id do jogador que já estava em outra partida
+     */
+    public long reservar(long[] idJogadores, long idPartida) {
+        for (int i = 0; i < idJogadores.length; i++) {
+            Long atual = partidaDoJogador.putIfAbsent(idJogadores[i], idPartida);
+            if (atual != null && atual != idPartida) {
+                for (int j = 0; j < i; j++) {
+                    partidaDoJogador.remove(idJogadores[j], idPartida);
+                }
+                return idJogadores[i];
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * Libera os jogadores reservados por esta partida (os de outras partidas ficam intactos).
+     */
+    public void liberar(long[] idJogadores, long idPartida) {
+        for (long idJogador : idJogadores) {
+            partidaDoJogador.remove(idJogador, idPartida);
+        }
+    }
+
+    /**
+     * @return a partida que reservou o jogador, ou null se ele está livre
+     */
+    public Long partidaDoJogador(long idJogador) {
+        return partidaDoJogador.get(idJogador);
+    }
+
+    public int totalReservados() {
+        return partidaDoJogador.size();
+    }
+}
@@ -0,0 +1,208 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.core.elo.CalculadoraElo;
+import com.meuprojeto.matchmaking.core.elo.ReplayRatings;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.service.dto.ReplayRatingsRequest;
+import com.meuprojeto.matchmaking.service.dto.ReplayRatingsResponse;
+import com.meuprojeto.matchmaking.service.dto.ReplayRatingsResponse.DiferencaRating;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.logging.Logger;
+
+/**
+ * Replay de ratings: recalcula todos os ratings a partir do histórico
+ * (PARTIDA/EQUIPE_PARTIDA em ordem de dataHora), com os parâmetros de Elo
+ * pedidos, e devolve a diferença para os ratings atuais. Com gravar = true,
+ * o rating e as partidas jogadas recalculados substituem os de JOGADOR
+ * (HISTORICO_RATING não é reescrito: continua registrando as variações
+ * aplicadas na época).
+ *
+ * O histórico é lido em streaming (cursor JDBC com fetchSize, uma linha por
+ * jogador/equipe/partida) direto para o ReplayRatings; nada do histórico fica
+ * em memória além da partida atual.
+ *
+ * A gravação não sobrescreve resultados registrados durante o replay: as
+ * versões dos jogadores são lidas antes do histórico e o UPDATE só vale para
+ * a mesma versão. Se algum jogador mudou, o replay inteiro é desfeito com
+ * OptimisticLockingFailureException (a API refaz com RetentativaOtimista).
+ *
+ * Partidas antigas, anteriores à coluna colocacao, usam o status gravado
+ * (VITÓRIA/EMPATE = 1º, DERROTA = 2º); as anteriores ao registro do
+ * MVP/Destaque na PARTIDA são recalculadas sem bônus. Por isso total_mvp e
+ * total_destaque_perdedor não são gravados: a contagem do replay perderia
+ * os prêmios dessas partidas, que só existem nos totais do JOGADOR.
+ */
+@Service
+public class ReplayRatingsService {
+
+    private static final Logger LOGGER = Logger.getLogger(ReplayRatingsService.class.getName());
+
+    /** Linhas trazidas do DB por ida ao cursor. */
+    private static final int FETCH_SIZE = 1000;
+
+    /** Quantos jogadores aparecem na lista de maiores diferenças. */
+    private static final int MAIORES_DIFERENCAS = 20;
+
+    private static final String SQL_HISTORICO =
+            "SELECT p.id_partida, p.id_mvp, p.id_destaque_perdedor, e.id_equipe, ep.colocacao, ep.status_resultado, je.id_jogador " +
+            "FROM PARTIDA p " +
+            "JOIN EQUIPE e ON e.id_partida = p.id_partida " +
+            "JOIN EQUIPE_PARTIDA ep ON ep.id_equipe = e.id_equipe " +
+            "JOIN JOGADOR_EQUIPE je ON je.id_equipe = e.id_equipe " +
+            "ORDER BY p.data_hora, p.id_partida, e.id_equipe";
+
+    private static final String SQL_RATINGS_ATUAIS = "SELECT id_jogador, rating FROM JOGADOR";
+
+    private static final String SQL_VERSOES = "SELECT id_jogador, versao FROM JOGADOR";
+
+    private static final String SQL_ATUALIZAR_JOGADOR =
+            "UPDATE JOGADOR SET rating = ?, partidas_jogadas = ?, versao = versao + 1 " +
+            "WHERE id_jogador = ? AND versao = ?";
+
+    private final JdbcTemplate jdbc;
+    private final CacheJogadores cacheJogadores;
+    private final ClassificacaoService classificacaoService;
+
+    public ReplayRatingsService(JdbcTemplate jdbc, CacheJogadores cacheJogadores, ClassificacaoService classificacaoService) {
+        this.jdbc = jdbc;
+        this.cacheJogadores = cacheJogadores;
+        this.classificacaoService = classificacaoService;
+    }
+
+    @Transactional
+    public ReplayRatingsResponse reprocessar(ReplayRatingsRequest request) {
+        long inicio = System.nanoTime();
+        ReplayRatings replay = new ReplayRatings(calculadora(request), Jogador.RATING_CALIBRACAO_INICIAL);
+
+        // Antes do histórico: um resultado confirmado depois daqui muda a versão
+        Map<Long, Long> versoes = new HashMap<>();
+        if (request.isGravar()) {
+            jdbc.query(SQL_VERSOES, (RowCallbackHandler) rs -> versoes.put(rs.getLong(1), rs.getLong(2)));
+        }
+
+        LeitorHistorico leitor = new LeitorHistorico(replay);
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_HISTORICO, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, leitor);
+        leitor.terminar();
+
+        // Diferença para os ratings atuais (só jogadores que aparecem no histórico)
+        PriorityQueue<DiferencaRating> maiores = new PriorityQueue<>(
+                Comparator.comparingDouble((DiferencaRating d) -> Math.abs(d.getDiferenca())));
+        double[] somaAbsoluta = new double[1];
+        int[] comparados = new int[1];
+        jdbc.query(SQL_RATINGS_ATUAIS, (RowCallbackHandler) rs -> {
+            long idJogador = rs.getLong(1);
+            double recalculado = replay.ratingDe(idJogador);
+            if (Double.isNaN(recalculado)) return;
+            DiferencaRating diferenca = new DiferencaRating(idJogador, rs.getDouble(2), recalculado);
+            somaAbsoluta[0] += Math.abs(diferenca.getDiferenca());
+            comparados[0]++;
+            maiores.add(diferenca);
+            if (maiores.size() > MAIORES_DIFERENCAS) maiores.poll();
+        });
+        List<DiferencaRating> lista = new ArrayList<>(maiores);
+        lista.sort(Comparator.comparingDouble((DiferencaRating d) -> Math.abs(d.getDiferenca())).reversed());
+
+        if (request.isGravar()) {
+            gravar(replay, versoes);
+        }
+
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        LOGGER.info("Replay de ratings: " + replay.getPartidasProcessadas() + " partidas, " + replay.getNumJogadores()
+                + " jogadores em " + duracaoMs + " ms" + (request.isGravar() ? " (gravado)" : ""));
+        return new ReplayRatingsResponse(replay.getPartidasProcessadas(), replay.getNumJogadores(),
+                comparados[0] == 0 ? 0 : somaAbsoluta[0] / comparados[0], lista, request.isGravar(), duracaoMs);
+    }
+
+    private void gravar(ReplayRatings replay, Map<Long, Long> versoes) {
+        List<Object[]> linhas = new ArrayList<>(replay.getNumJogadores());
+        replay.paraCada((idJogador, rating, partidas, mvp, destaque) -> {
+            Long versao = versoes.get(idJogador);
+            if (versao != null) { // Jogador removido: nada a gravar
+                linhas.add(new Object[]{rating, partidas, idJogador, versao});
+            }
+        });
+        int[] atualizados = jdbc.batchUpdate(SQL_ATUALIZAR_JOGADOR, linhas);
+        for (int i = 0; i < atualizados.length; i++) {
+            if (atualizados[i] == 0) {
+                throw new OptimisticLockingFailureException("O jogador " + linhas.get(i)[2]
+                        + " recebeu um resultado durante o replay de ratings.");
+            }
+        }
+        cacheJogadores.invalidarTodos();
+        classificacaoService.recarregarAposCommit();
+    }
+
+    private static CalculadoraElo calculadora(ReplayRatingsRequest request) {
+        CalculadoraElo padrao = CalculadoraElo.PADRAO;
+        return new CalculadoraElo(
+                request.getKFactorCalibracao() != null ? request.getKFactorCalibracao() : padrao.getKFactorCalibracao(),
+                request.getKFactorNormal() != null ? request.getKFactorNormal() : padrao.getKFactorNormal(),
+                request.getBonusMvp() != null ? request.getBonusMvp() : padrao.getBonusMvp(),
+                request.getMitigacaoDestaque() != null ? request.getMitigacaoDestaque() : padrao.getMitigacaoDestaque(),
+                request.getPartidasParaCalibrar() != null ? request.getPartidasParaCalibrar() : padrao.getPartidasParaCalibrar());
+    }
+
+    /**
+     * Converte as linhas do histórico (ordenadas por partida e equipe)
+     * nas chamadas do ReplayRatings.
+     */
+    private static final class LeitorHistorico implements RowCallbackHandler {
+        private final ReplayRatings replay;
+        private long partidaAtual = -1;
+        private long equipeAtual = -1;
+
+        LeitorHistorico(ReplayRatings replay) {
+            this.replay = replay;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long idPartida = rs.getLong(1);
+            if (idPartida != partidaAtual) {
+                if (partidaAtual != -1) replay.finalizarPartida();
+                partidaAtual = idPartida;
+                equipeAtual = -1;
+                replay.iniciarPartida(idOuNenhum(rs, 2), idOuNenhum(rs, 3));
+            }
+            long idEquipe = rs.getLong(4);
+            boolean novaEquipe = idEquipe != equipeAtual;
+            equipeAtual = idEquipe;
+            replay.adicionarJogador(rs.getLong(7), novaEquipe, colocacao(rs));
+        }
+
+        /** Aplica a última partida lida. */
+        void terminar() {
+            if (partidaAtual != -1) replay.finalizarPartida();
+            partidaAtual = -1;
+        }
+
+        private static long idOuNenhum(ResultSet rs, int coluna) throws SQLException {
+            long id = rs.getLong(coluna);
+            return rs.wasNull() ? ReplayRatings.SEM_JOGADOR : id;
+        }
+
+        private static int colocacao(ResultSet rs) throws SQLException {
+            int colocacao = rs.getInt(5);
+            if (!rs.wasNull()) return colocacao;
+            return MatchmakingService.DERROTA.equals(rs.getString(6)) ? 2 : 1;
+        }
+    }
+}
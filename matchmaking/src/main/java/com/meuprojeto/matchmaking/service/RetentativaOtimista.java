@@ -0,0 +1,85 @@
+package com.meuprojeto.matchmaking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Executa uma operação em transação própria e, se ela perder uma disputa de
+ * lock otimista (outro resultado atualizou o mesmo Jogador antes), refaz a
+ * operação inteira: relê os jogadores e reaplica o Elo sobre os valores novos.
+ *
+ * Entre tentativas espera um tempo aleatório crescente (backoff com jitter),
+ * para as transações em conflito não colidirem de novo no mesmo instante.
+ * Esgotadas as tentativas, lança ConflitoAtualizacaoException (com o último conflito como causa).
+ *
+ * Dentro de uma transação já aberta não há o que refazer (o contexto de
+ * persistência está desatualizado): a operação roda uma vez, sem retentativa.
+ */
+@Component
+public class RetentativaOtimista {
+
+    private static final Logger LOGGER = Logger.getLogger(RetentativaOtimista.class.getName());
+
+    private final TransactionTemplate transacao;
+    private final int maxTentativas;
+    private final long esperaBaseMs;
+
+    private final LongAdder conflitos = new LongAdder();
+
+    public RetentativaOtimista(PlatformTransactionManager transactionManager,
+                               @Value("${matchmaking.resultados.retentativas:5}") int maxTentativas,
+                               @Value("${matchmaking.resultados.espera-retentativa-ms:5}") long esperaBaseMs) {
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.maxTentativas = maxTentativas;
+        this.esperaBaseMs = esperaBaseMs;
+    }
+
+    public <T> T executar(Supplier<T> operacao) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return operacao.get();
+        }
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transacao.execute(status -> operacao.get());
+            } catch (OptimisticLockingFailureException e) {
+                conflitos.increment();
+                if (tentativa >= maxTentativas) {
+                    throw new ConflitoAtualizacaoException(tentativa, e);
+                }
+                LOGGER.fine("Conflito de versão (tentativa " + tentativa + "): " + e.getMessage());
+                esperar(tentativa);
+            }
+        }
+    }
+
+    public void executar(Runnable operacao) {
+        executar(() -> {
+            operacao.run();
+            return null;
+        });
+    }
+
+    /** Total de conflitos de versão detectados (cada um custou uma retentativa ou uma falha). */
+    public long getConflitos() {
+        return conflitos.sum();
+    }
+
+    private void esperar(int tentativa) {
+        long limite = esperaBaseMs << Math.min(tentativa - 1, 6);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(limite + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MatchmakingException("Interrompido enquanto aguardava nova tentativa.");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+import com.meuprojeto.matchmaking.core.classificacao.PosicaoClassificacao;
+
+import java.util.List;
+
+/**
+ * DTO de uma consulta à classificação (geral, se idModoDeJogo for nulo).
+ * No top N, posicaoJogador é nula; em "ao redor de um jogador", é a posição
+ * dele e a lista traz os vizinhos (ele incluído).
+ */
+public class ClassificacaoResponse {
+
+    private final Long idModoDeJogo;
+    private final int totalJogadores;
+    private final Integer posicaoJogador;
+    private final List<PosicaoClassificacao> posicoes;
+
+    public ClassificacaoResponse(Long idModoDeJogo, int totalJogadores, Integer posicaoJogador,
+                                 List<PosicaoClassificacao> posicoes) {
+        this.idModoDeJogo = idModoDeJogo;
+        this.totalJogadores = totalJogadores;
+        this.posicaoJogador = posicaoJogador;
+        this.posicoes = posicoes;
+    }
+
+    public Long getIdModoDeJogo() { return idModoDeJogo; }
+    public int getTotalJogadores() { return totalJogadores; }
+    public Integer getPosicaoJogador() { return posicaoJogador; }
+    public List<PosicaoClassificacao> getPosicoes() { return posicoes; }
+}
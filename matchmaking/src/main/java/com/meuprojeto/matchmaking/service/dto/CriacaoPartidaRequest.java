@@ -0,0 +1,25 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Corpo de POST /api/partidas e /api/partidas/sessao: o pool de jogadores e o
+ * modo de jogo. Só na partida avulsa: grupos pré-formados (cada lista fica na
+ * mesma equipe).
+ */
+public class CriacaoPartidaRequest {
+
+    private Long idModoDeJogo;
+    private List<Long> idJogadores = new ArrayList<>();
+    private List<List<Long>> grupos = new ArrayList<>();
+
+    public Long getIdModoDeJogo() { return idModoDeJogo; }
+    public void setIdModoDeJogo(Long idModoDeJogo) { this.idModoDeJogo = idModoDeJogo; }
+
+    public List<Long> getIdJogadores() { return idJogadores; }
+    public void setIdJogadores(List<Long> idJogadores) { this.idJogadores = idJogadores; }
+
+    public List<List<Long>> getGrupos() { return grupos; }
+    public void setGrupos(List<List<Long>> grupos) { this.grupos = grupos; }
+}
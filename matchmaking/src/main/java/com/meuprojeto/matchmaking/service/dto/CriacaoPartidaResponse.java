@@ -16,12 +16,14 @@ public class CriacaoPartidaResponse {
     private Partida partidaCriada;
     private List<Equipe> equipesFormadas; // <<< CAMPO ADICIONADO
     private List<Jogador> jogadoresReserva;
+    private double diferencaRating; // Maior soma de rating - menor soma de rating entre as equipes
 
     // Construtor e Getters
-    public CriacaoPartidaResponse(Partida partidaCriada, List<Equipe> equipesFormadas, List<Jogador> jogadoresReserva) {
+    public CriacaoPartidaResponse(Partida partidaCriada, List<Equipe> equipesFormadas, List<Jogador> jogadoresReserva, double diferencaRating) {
         this.partidaCriada = partidaCriada;
         this.equipesFormadas = equipesFormadas; // <<< LINHA ADICIONADA
         this.jogadoresReserva = jogadoresReserva;
+        this.diferencaRating = diferencaRating;
     }
 
     public Partida getPartidaCriada() {
@@ -36,4 +38,8 @@ public class CriacaoPartidaResponse {
     public List<Jogador> getJogadoresReserva() {
         return jogadoresReserva;
     }
+
+    public double getDiferencaRating() {
+        return diferencaRating;
+    }
 }
\ No newline at end of file
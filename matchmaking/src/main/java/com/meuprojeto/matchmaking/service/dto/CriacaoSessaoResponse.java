@@ -0,0 +1,43 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+import com.meuprojeto.matchmaking.model.Jogador;
+
+import java.util.List;
+
+/**
+ * DTO com o resultado de uma sessão (várias partidas simultâneas criadas de um pool).
+ * Inclui quanto tempo levou cada fase, em microssegundos.
+ */
+public class CriacaoSessaoResponse {
+
+    private final List<CriacaoPartidaResponse> partidas;
+    private final List<Jogador> jogadoresReserva;
+
+    // --- Duração das fases (µs) ---
+    private final long carregarMicros;   // leitura do modo e dos jogadores
+    private final long formarMicros;     // divisão em partidas e equipes (core)
+    private final long persistirMicros;  // reservas + INSERTs + flush
+    private final long totalMicros;
+
+    public CriacaoSessaoResponse(List<CriacaoPartidaResponse> partidas, List<Jogador> jogadoresReserva,
+                                 long carregarMicros, long formarMicros, long persistirMicros, long totalMicros) {
+        this.partidas = partidas;
+        this.jogadoresReserva = jogadoresReserva;
+        this.carregarMicros = carregarMicros;
+        this.formarMicros = formarMicros;
+        this.persistirMicros = persistirMicros;
+        this.totalMicros = totalMicros;
+    }
+
+    public List<CriacaoPartidaResponse> getPartidas() { return partidas; }
+
+    public List<Jogador> getJogadoresReserva() { return jogadoresReserva; }
+
+    public long getCarregarMicros() { return carregarMicros; }
+
+    public long getFormarMicros() { return formarMicros; }
+
+    public long getPersistirMicros() { return persistirMicros; }
+
+    public long getTotalMicros() { return totalMicros; }
+}
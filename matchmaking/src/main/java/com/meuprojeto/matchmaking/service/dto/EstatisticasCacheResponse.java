@@ -0,0 +1,65 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+import java.util.List;
+
+/**
+ * Estatísticas do cache de segundo nível (desde o início ou o último "zerar").
+ * comandosSql conta os statements preparados no banco no mesmo período: com o
+ * cache funcionando, leituras repetidas de modos/jogadores não o aumentam.
+ */
+public class EstatisticasCacheResponse {
+
+    /**
+     * Acertos/falhas de uma região (ex: "jogador", "modoDeJogo").
+     */
+    public static class Regiao {
+        private final String nome;
+        private final long acertos;
+        private final long falhas;
+        private final long insercoes;
+        private final long elementosEmMemoria;
+
+        public Regiao(String nome, long acertos, long falhas, long insercoes, long elementosEmMemoria) {
+            this.nome = nome;
+            this.acertos = acertos;
+            this.falhas = falhas;
+            this.insercoes = insercoes;
+            this.elementosEmMemoria = elementosEmMemoria;
+        }
+
+        public String getNome() { return nome; }
+
+        public long getAcertos() { return acertos; }
+
+        public long getFalhas() { return falhas; }
+
+        public long getInsercoes() { return insercoes; }
+
+        public long getElementosEmMemoria() { return elementosEmMemoria; }
+
+        public double getTaxaAcerto() {
+            long total = acertos + falhas;
+            return total == 0 ? 0 : (double) acertos / total;
+        }
+    }
+
+    private final List<Regiao> regioes;
+    private final long consultasAcertos;
+    private final long consultasFalhas;
+    private final long comandosSql;
+
+    public EstatisticasCacheResponse(List<Regiao> regioes, long consultasAcertos, long consultasFalhas, long comandosSql) {
+        this.regioes = regioes;
+        this.consultasAcertos = consultasAcertos;
+        this.consultasFalhas = consultasFalhas;
+        this.comandosSql = comandosSql;
+    }
+
+    public List<Regiao> getRegioes() { return regioes; }
+
+    public long getConsultasAcertos() { return consultasAcertos; }
+
+    public long getConsultasFalhas() { return consultasFalhas; }
+
+    public long getComandosSql() { return comandosSql; }
+}
@@ -0,0 +1,56 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+/**
+ * DTO com o estado de uma fila de matchmaking (por modo de jogo).
+ * Os percentis são do tempo entre entrar na fila e ser colocado em uma partida.
+ * As métricas de shard são do worker do modo: rodadas executadas (e quantas
+ * foram extras, por rebalanceamento), vazão e p99 da duração de uma rodada.
+ */
+public class EstatisticasFilaResponse {
+
+    private final Long idModoDeJogo;
+    private final int jogadoresNaFila;
+    private final long partidasFormadas;
+    private final long tempoAtePartidaP50Ms;
+    private final long tempoAtePartidaP90Ms;
+    private final long tempoAtePartidaP99Ms;
+    private final long rodadas;
+    private final long rodadasExtras;
+    private final double partidasPorSegundo;
+    private final long duracaoRodadaP99Ms;
+
+    public EstatisticasFilaResponse(Long idModoDeJogo, int jogadoresNaFila, long partidasFormadas,
+                                    long tempoAtePartidaP50Ms, long tempoAtePartidaP90Ms, long tempoAtePartidaP99Ms,
+                                    long rodadas, long rodadasExtras, double partidasPorSegundo, long duracaoRodadaP99Ms) {
+        this.idModoDeJogo = idModoDeJogo;
+        this.jogadoresNaFila = jogadoresNaFila;
+        this.partidasFormadas = partidasFormadas;
+        this.tempoAtePartidaP50Ms = tempoAtePartidaP50Ms;
+        this.tempoAtePartidaP90Ms = tempoAtePartidaP90Ms;
+        this.tempoAtePartidaP99Ms = tempoAtePartidaP99Ms;
+        this.rodadas = rodadas;
+        this.rodadasExtras = rodadasExtras;
+        this.partidasPorSegundo = partidasPorSegundo;
+        this.duracaoRodadaP99Ms = duracaoRodadaP99Ms;
+    }
+
+    public Long getIdModoDeJogo() { return idModoDeJogo; }
+
+    public int getJogadoresNaFila() { return jogadoresNaFila; }
+
+    public long getPartidasFormadas() { return partidasFormadas; }
+
+    public long getTempoAtePartidaP50Ms() { return tempoAtePartidaP50Ms; }
+
+    public long getTempoAtePartidaP90Ms() { return tempoAtePartidaP90Ms; }
+
+    public long getTempoAtePartidaP99Ms() { return tempoAtePartidaP99Ms; }
+
+    public long getRodadas() { return rodadas; }
+
+    public long getRodadasExtras() { return rodadasExtras; }
+
+    public double getPartidasPorSegundo() { return partidasPorSegundo; }
+
+    public long getDuracaoRodadaP99Ms() { return duracaoRodadaP99Ms; }
+}
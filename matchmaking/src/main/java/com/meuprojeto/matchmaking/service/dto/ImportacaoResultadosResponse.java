@@ -0,0 +1,43 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+/**
+ * DTO com o resumo de uma importação em lote de resultados.
+ * As durações das fases estão em microssegundos.
+ */
+public class ImportacaoResultadosResponse {
+
+    private final int resultados;
+    private final int jogadoresAtualizados;
+
+    // --- Duração das fases (µs) ---
+    private final long carregarMicros;   // estrutura das partidas + estado dos jogadores
+    private final long calcularMicros;   // Elo em memória, em ordem cronológica
+    private final long gravarMicros;     // lotes de UPDATE JOGADOR / INSERT EQUIPE_PARTIDA
+    private final long totalMicros;
+
+    public ImportacaoResultadosResponse(int resultados, int jogadoresAtualizados,
+                                        long carregarMicros, long calcularMicros, long gravarMicros, long totalMicros) {
+        this.resultados = resultados;
+        this.jogadoresAtualizados = jogadoresAtualizados;
+        this.carregarMicros = carregarMicros;
+        this.calcularMicros = calcularMicros;
+        this.gravarMicros = gravarMicros;
+        this.totalMicros = totalMicros;
+    }
+
+    public int getResultados() { return resultados; }
+
+    public int getJogadoresAtualizados() { return jogadoresAtualizados; }
+
+    public long getCarregarMicros() { return carregarMicros; }
+
+    public long getCalcularMicros() { return calcularMicros; }
+
+    public long getGravarMicros() { return gravarMicros; }
+
+    public long getTotalMicros() { return totalMicros; }
+
+    public double getResultadosPorSegundo() {
+        return totalMicros > 0 ? resultados * 1_000_000.0 / totalMicros : 0.0;
+    }
+}
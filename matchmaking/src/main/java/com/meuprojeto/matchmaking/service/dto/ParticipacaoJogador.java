@@ -0,0 +1,13 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma linha do histórico de um jogador (aba Perfil): projeção com só as
+ * colunas exibidas, sem carregar JogadorEquipe/Equipe/Partida como entidades.
+ *
+ * @param statusResultado "VITÓRIA", "DERROTA", "EMPATE", ou null se a partida ainda não tem resultado
+ */
+public record ParticipacaoJogador(Long idPartida, LocalDateTime dataHora, String nomeModo,
+                                  String nomeEquipe, String statusResultado) {
+}
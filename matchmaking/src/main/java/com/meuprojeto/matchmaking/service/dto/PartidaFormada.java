@@ -0,0 +1,32 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+import com.meuprojeto.matchmaking.model.Equipe;
+import com.meuprojeto.matchmaking.model.Jogador;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partida criada, só com ids (para a API HTTP: as entidades de
+ * CriacaoPartidaResponse têm referências circulares).
+ *
+ * @param equipes ids dos jogadores de cada equipe, em ordem crescente
+ */
+public record PartidaFormada(Long idPartida, List<List<Long>> equipes, List<Long> reservas, double diferencaRating) {
+
+    public static PartidaFormada de(CriacaoPartidaResponse resposta) {
+        List<List<Long>> equipes = new ArrayList<>(resposta.getEquipesFormadas().size());
+        for (Equipe equipe : resposta.getEquipesFormadas()) {
+            equipes.add(equipe.getMembros().stream()
+                    .map(membro -> membro.getJogador().getIdJogador())
+                    .sorted()
+                    .toList());
+        }
+        return new PartidaFormada(resposta.getPartidaCriada().getIdPartida(), equipes,
+                ids(resposta.getJogadoresReserva()), resposta.getDiferencaRating());
+    }
+
+    static List<Long> ids(List<Jogador> jogadores) {
+        return jogadores.stream().map(Jogador::getIdJogador).toList();
+    }
+}
@@ -1,8 +1,14 @@
 package com.meuprojeto.matchmaking.service.dto;
 
+import java.util.Map;
+
 /**
  * DTO para enviar os dados do resultado de uma partida para o serviço.
  * Implementa a Sugestão 1: Inclui os IDs para MVP e Destaque do time perdedor.
+ *
+ * Partidas com 3 ou mais times usam 'colocacoes' (idEquipe -> colocação, 1 = primeiro;
+ * colocações repetidas = empate). Sem colocações, vale o formato de 2 times
+ * (idEquipeVencedora / empate).
  */
 public class RegistroResultadoRequest {
 
@@ -11,6 +17,7 @@ public class RegistroResultadoRequest {
     private boolean empate = false;
     private Long idMvp; // MVP geral (bônus de rating)
     private Long idDestaquePerdedor; // MVP do time perdedor (mitigação de perda)
+    private Map<Long, Integer> colocacoes; // Nulo/vazio: usa idEquipeVencedora/empate
 
     // Getters e Setters (Necessários para a UI preencher)
     public Long getIdPartida() { return idPartida; }
@@ -27,4 +34,7 @@ public class RegistroResultadoRequest {
 
     public Long getIdDestaquePerdedor() { return idDestaquePerdedor; }
     public void setIdDestaquePerdedor(Long idDestaquePerdedor) { this.idDestaquePerdedor = idDestaquePerdedor; }
-}
\ No newline at end of file
+
+    public Map<Long, Integer> getColocacoes() { return colocacoes; }
+    public void setColocacoes(Map<Long, Integer> colocacoes) { this.colocacoes = colocacoes; }
+}
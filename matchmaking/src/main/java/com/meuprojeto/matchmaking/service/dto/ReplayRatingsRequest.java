@@ -0,0 +1,33 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+/**
+ * Parâmetros do replay de ratings. Campos nulos usam os valores atuais
+ * de CalculadoraElo. Com gravar = false, o replay só gera o relatório (diff).
+ */
+public class ReplayRatingsRequest {
+
+    private Double kFactorCalibracao;
+    private Double kFactorNormal;
+    private Double bonusMvp;
+    private Double mitigacaoDestaque;
+    private Integer partidasParaCalibrar;
+    private boolean gravar = false;
+
+    public Double getKFactorCalibracao() { return kFactorCalibracao; }
+    public void setKFactorCalibracao(Double kFactorCalibracao) { this.kFactorCalibracao = kFactorCalibracao; }
+
+    public Double getKFactorNormal() { return kFactorNormal; }
+    public void setKFactorNormal(Double kFactorNormal) { this.kFactorNormal = kFactorNormal; }
+
+    public Double getBonusMvp() { return bonusMvp; }
+    public void setBonusMvp(Double bonusMvp) { this.bonusMvp = bonusMvp; }
+
+    public Double getMitigacaoDestaque() { return mitigacaoDestaque; }
+    public void setMitigacaoDestaque(Double mitigacaoDestaque) { this.mitigacaoDestaque = mitigacaoDestaque; }
+
+    public Integer getPartidasParaCalibrar() { return partidasParaCalibrar; }
+    public void setPartidasParaCalibrar(Integer partidasParaCalibrar) { this.partidasParaCalibrar = partidasParaCalibrar; }
+
+    public boolean isGravar() { return gravar; }
+    public void setGravar(boolean gravar) { this.gravar = gravar; }
+}
@@ -0,0 +1,62 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+import java.util.List;
+
+/**
+ * Resultado do replay de ratings: resumo e as maiores diferenças
+ * entre o rating atual e o recalculado.
+ */
+public class ReplayRatingsResponse {
+
+    /**
+     * Diferença de um jogador (recalculado - atual).
+     */
+    public static class DiferencaRating {
+        private final long idJogador;
+        private final double ratingAtual;
+        private final double ratingReplay;
+
+        public DiferencaRating(long idJogador, double ratingAtual, double ratingReplay) {
+            this.idJogador = idJogador;
+            this.ratingAtual = ratingAtual;
+            this.ratingReplay = ratingReplay;
+        }
+
+        public long getIdJogador() { return idJogador; }
+
+        public double getRatingAtual() { return ratingAtual; }
+
+        public double getRatingReplay() { return ratingReplay; }
+
+        public double getDiferenca() { return ratingReplay - ratingAtual; }
+    }
+
+    private final long partidas;
+    private final int jogadores;
+    private final double diferencaMediaAbsoluta;
+    private final List<DiferencaRating> maioresDiferencas;
+    private final boolean gravado;
+    private final long duracaoMs;
+
+    public ReplayRatingsResponse(long partidas, int jogadores, double diferencaMediaAbsoluta,
+                                 List<DiferencaRating> maioresDiferencas, boolean gravado, long duracaoMs) {
+        this.partidas = partidas;
+        this.jogadores = jogadores;
+        this.diferencaMediaAbsoluta = diferencaMediaAbsoluta;
+        this.maioresDiferencas = maioresDiferencas;
+        this.gravado = gravado;
+        this.duracaoMs = duracaoMs;
+    }
+
+    public long getPartidas() { return partidas; }
+
+    public int getJogadores() { return jogadores; }
+
+    public double getDiferencaMediaAbsoluta() { return diferencaMediaAbsoluta; }
+
+    public List<DiferencaRating> getMaioresDiferencas() { return maioresDiferencas; }
+
+    public boolean isGravado() { return gravado; }
+
+    public long getDuracaoMs() { return duracaoMs; }
+}
@@ -0,0 +1,10 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma linha da lista de histórico de partidas (projeção: sem entidades,
+ * sem equipes/membros). Também serve de cursor para a próxima página.
+ */
+public record ResumoPartida(Long idPartida, LocalDateTime dataHora, String nomeModo) {
+}
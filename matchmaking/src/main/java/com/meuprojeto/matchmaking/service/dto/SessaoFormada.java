@@ -0,0 +1,16 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+import java.util.List;
+
+/**
+ * CriacaoSessaoResponse só com ids, para a API HTTP. Durações em microssegundos.
+ */
+public record SessaoFormada(List<PartidaFormada> partidas, List<Long> reservas,
+                            long carregarMicros, long formarMicros, long persistirMicros, long totalMicros) {
+
+    public static SessaoFormada de(CriacaoSessaoResponse resposta) {
+        return new SessaoFormada(resposta.getPartidas().stream().map(PartidaFormada::de).toList(),
+                PartidaFormada.ids(resposta.getJogadoresReserva()), resposta.getCarregarMicros(),
+                resposta.getFormarMicros(), resposta.getPersistirMicros(), resposta.getTotalMicros());
+    }
+}
@@ -0,0 +1,42 @@
+package com.meuprojeto.matchmaking.service.dto;
+
+import com.meuprojeto.matchmaking.model.EventoResultado;
+
+import java.time.LocalDateTime;
+
+/**
+ * Situação de um resultado enviado pelo modo assíncrono.
+ * status: PENDENTE, APLICADO ou FALHOU (com o erro).
+ */
+public class StatusResultadoResponse {
+
+    private final Long idEvento;
+    private final Long idPartida;
+    private final String status;
+    private final String erro;
+    private final LocalDateTime recebidoEm;
+    private final LocalDateTime processadoEm;
+
+    public StatusResultadoResponse(EventoResultado evento) {
+        this.idEvento = evento.getId();
+        this.idPartida = evento.getIdPartida();
+        this.status = evento.getStatus();
+        this.erro = evento.getErro();
+        this.recebidoEm = evento.getRecebidoEm();
+        this.processadoEm = evento.getProcessadoEm();
+    }
+
+    public Long getIdEvento() { return idEvento; }
+
+    public Long getIdPartida() { return idPartida; }
+
+    public String getStatus() { return status; }
+
+    public String getErro() { return erro; }
+
+    public LocalDateTime getRecebidoEm() { return recebidoEm; }
+
+    public LocalDateTime getProcessadoEm() { return processadoEm; }
+
+    public boolean isAplicado() { return EventoResultado.APLICADO.equals(status); }
+}
@@ -0,0 +1,126 @@
+-- =========================================
+-- V1: Esquema inicial (o mesmo que o ddl-auto=update gerava)
+-- =========================================
+-- Bancos criados antes das migrações já têm estas estruturas: o Flyway os
+-- marca como versão 0 (baseline-on-migrate) e esta migração roda também neles,
+-- por isso tudo usa IF NOT EXISTS (inclusive as colunas novas das tabelas
+-- antigas, com ADD COLUMN IF NOT EXISTS). As chaves estrangeiras mantêm os nomes
+-- gerados pelo Hibernate para não duplicar as que já existem.
+
+-- Ids: sequências com incremento 50 (Sequencias.ALOCACAO, otimizador pooled)
+CREATE SEQUENCE IF NOT EXISTS MODO_DE_JOGO_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS JOGADOR_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS PARTIDA_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS EQUIPE_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS JOGADOR_EQUIPE_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS EQUIPE_PARTIDA_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS HISTORICO_RATING_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS EVENTO_RESULTADO_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS MODO_DE_JOGO (
+    ID_MODO_DE_JOGO BIGINT NOT NULL,
+    NOME VARCHAR(255) NOT NULL UNIQUE,
+    JOGADORES_POR_EQUIPE INTEGER NOT NULL,
+    BALANCEAMENTO_AUTOMATICO BOOLEAN NOT NULL,
+    ESTRATEGIA_BALANCEAMENTO VARCHAR(255),
+    JANELA_RATING_INICIAL FLOAT(53),
+    JANELA_RATING_POR_SEGUNDO FLOAT(53),
+    JANELA_RATING_MAXIMA FLOAT(53),
+    PRIMARY KEY (ID_MODO_DE_JOGO)
+);
+
+CREATE TABLE IF NOT EXISTS JOGADOR (
+    ID_JOGADOR BIGINT NOT NULL,
+    NOME VARCHAR(255) NOT NULL UNIQUE,
+    RATING FLOAT(53) NOT NULL,
+    PARTIDAS_JOGADAS INTEGER NOT NULL,
+    TOTAL_MVP INTEGER NOT NULL,
+    TOTAL_DESTAQUE_PERDEDOR INTEGER NOT NULL,
+    VERSAO BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (ID_JOGADOR)
+);
+
+CREATE TABLE IF NOT EXISTS PARTIDA (
+    ID_PARTIDA BIGINT NOT NULL,
+    ID_MODO_DE_JOGO BIGINT NOT NULL,
+    DATA_HORA TIMESTAMP(6) NOT NULL,
+    ID_MVP BIGINT,
+    ID_DESTAQUE_PERDEDOR BIGINT,
+    PRIMARY KEY (ID_PARTIDA)
+);
+
+CREATE TABLE IF NOT EXISTS EQUIPE (
+    ID_EQUIPE BIGINT NOT NULL,
+    ID_PARTIDA BIGINT NOT NULL,
+    NOME VARCHAR(255) NOT NULL,
+    PRIMARY KEY (ID_EQUIPE)
+);
+
+CREATE TABLE IF NOT EXISTS JOGADOR_EQUIPE (
+    ID BIGINT NOT NULL,
+    ID_JOGADOR BIGINT NOT NULL,
+    ID_EQUIPE BIGINT NOT NULL,
+    PRIMARY KEY (ID)
+);
+
+CREATE TABLE IF NOT EXISTS EQUIPE_PARTIDA (
+    ID BIGINT NOT NULL,
+    ID_EQUIPE BIGINT NOT NULL UNIQUE,
+    STATUS_RESULTADO VARCHAR(255) NOT NULL,
+    COLOCACAO INTEGER,
+    PRIMARY KEY (ID)
+);
+
+CREATE TABLE IF NOT EXISTS HISTORICO_RATING (
+    ID BIGINT NOT NULL,
+    ID_JOGADOR BIGINT NOT NULL,
+    ID_PARTIDA BIGINT NOT NULL,
+    DATA_HORA TIMESTAMP(6) NOT NULL,
+    RATING_ANTES FLOAT(53) NOT NULL,
+    RATING_DEPOIS FLOAT(53) NOT NULL,
+    DELTA FLOAT(53) NOT NULL,
+    PRIMARY KEY (ID)
+);
+
+CREATE TABLE IF NOT EXISTS EVENTO_RESULTADO (
+    ID BIGINT NOT NULL,
+    ID_PARTIDA BIGINT NOT NULL,
+    ID_EQUIPE_VENCEDORA BIGINT,
+    EMPATE BOOLEAN NOT NULL,
+    ID_MVP BIGINT,
+    ID_DESTAQUE_PERDEDOR BIGINT,
+    COLOCACOES VARCHAR(1000),
+    STATUS VARCHAR(10) NOT NULL,
+    ERRO VARCHAR(500),
+    RECEBIDO_EM TIMESTAMP(6) NOT NULL,
+    PROCESSADO_EM TIMESTAMP(6),
+    PRIMARY KEY (ID)
+);
+
+-- Colunas acrescentadas às tabelas antigas depois do último ddl-auto=update:
+-- o CREATE TABLE IF NOT EXISTS acima não altera uma tabela que já existe.
+ALTER TABLE MODO_DE_JOGO ADD COLUMN IF NOT EXISTS ESTRATEGIA_BALANCEAMENTO VARCHAR(255);
+ALTER TABLE MODO_DE_JOGO ADD COLUMN IF NOT EXISTS JANELA_RATING_INICIAL FLOAT(53);
+ALTER TABLE MODO_DE_JOGO ADD COLUMN IF NOT EXISTS JANELA_RATING_POR_SEGUNDO FLOAT(53);
+ALTER TABLE MODO_DE_JOGO ADD COLUMN IF NOT EXISTS JANELA_RATING_MAXIMA FLOAT(53);
+ALTER TABLE JOGADOR ADD COLUMN IF NOT EXISTS VERSAO BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE PARTIDA ADD COLUMN IF NOT EXISTS ID_MVP BIGINT;
+ALTER TABLE PARTIDA ADD COLUMN IF NOT EXISTS ID_DESTAQUE_PERDEDOR BIGINT;
+ALTER TABLE EQUIPE_PARTIDA ADD COLUMN IF NOT EXISTS COLOCACAO INTEGER;
+
+ALTER TABLE PARTIDA ADD CONSTRAINT IF NOT EXISTS FKBKI8X4P9WCF2G1BGSK46Y1H5P
+    FOREIGN KEY (ID_MODO_DE_JOGO) REFERENCES MODO_DE_JOGO;
+ALTER TABLE EQUIPE ADD CONSTRAINT IF NOT EXISTS FK41OB37JS5TRGITXWP8RO768D
+    FOREIGN KEY (ID_PARTIDA) REFERENCES PARTIDA;
+ALTER TABLE JOGADOR_EQUIPE ADD CONSTRAINT IF NOT EXISTS FKE37UVLO5EDO8PP5HCU9FKQJ81
+    FOREIGN KEY (ID_JOGADOR) REFERENCES JOGADOR;
+ALTER TABLE JOGADOR_EQUIPE ADD CONSTRAINT IF NOT EXISTS FK8YMSI0YTJUW1UE1W7L01Y3TQ8
+    FOREIGN KEY (ID_EQUIPE) REFERENCES EQUIPE;
+ALTER TABLE EQUIPE_PARTIDA ADD CONSTRAINT IF NOT EXISTS FKEELCS1AYC96K6H2FGAS0D02AM
+    FOREIGN KEY (ID_EQUIPE) REFERENCES EQUIPE;
+
+-- Índices que já eram declarados nas entidades (@Table(indexes = ...))
+CREATE INDEX IF NOT EXISTS IDX_PARTIDA_DATA_HORA ON PARTIDA (DATA_HORA, ID_PARTIDA);
+CREATE INDEX IF NOT EXISTS IDX_HISTORICO_RATING_JOGADOR_DATA ON HISTORICO_RATING (ID_JOGADOR, DATA_HORA);
+CREATE INDEX IF NOT EXISTS IDX_EVENTO_RESULTADO_PARTIDA ON EVENTO_RESULTADO (ID_PARTIDA);
+CREATE INDEX IF NOT EXISTS IDX_EVENTO_RESULTADO_STATUS ON EVENTO_RESULTADO (STATUS);
@@ -0,0 +1,16 @@
+-- =========================================
+-- V2: Índices para os padrões de consulta do histórico
+-- =========================================
+-- O H2 já cria um índice de uma coluna para cada chave estrangeira, mas só
+-- ele faz isso (e com nome gerado). Estes são explícitos e cobrem a consulta:
+-- o par (jogador, equipe) sai do índice, sem ler a linha de JOGADOR_EQUIPE.
+-- PARTIDA(DATA_HORA) já é coberto por IDX_PARTIDA_DATA_HORA (V1).
+
+-- Perfil do jogador: participações por jogador (JogadorEquipeRepository.buscarParticipacoes)
+CREATE INDEX IF NOT EXISTS IDX_JOGADOR_EQUIPE_JOGADOR ON JOGADOR_EQUIPE (ID_JOGADOR, ID_EQUIPE);
+
+-- Detalhes da partida: membros por equipe (EquipeRepository.buscarDetalhesDasPartidas)
+CREATE INDEX IF NOT EXISTS IDX_JOGADOR_EQUIPE_EQUIPE ON JOGADOR_EQUIPE (ID_EQUIPE, ID_JOGADOR);
+
+-- Equipes por partida
+CREATE INDEX IF NOT EXISTS IDX_EQUIPE_PARTIDA ON EQUIPE (ID_PARTIDA, ID_EQUIPE);
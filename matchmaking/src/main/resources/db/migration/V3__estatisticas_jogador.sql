@@ -0,0 +1,58 @@
+-- =========================================
+-- V3: Estatísticas de resultados por jogador (EstatisticaJogador)
+-- =========================================
+-- Uma linha por jogador com ID_MODO_DE_JOGO = 0 (todos os modos) e uma por
+-- jogador e modo. Mantidas a cada resultado registrado; o perfil lê uma linha
+-- em vez de percorrer JOGADOR_EQUIPE + EQUIPE_PARTIDA.
+
+CREATE SEQUENCE ESTATISTICA_JOGADOR_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE ESTATISTICA_JOGADOR (
+    ID BIGINT NOT NULL,
+    ID_JOGADOR BIGINT NOT NULL,
+    ID_MODO_DE_JOGO BIGINT NOT NULL,
+    VITORIAS INTEGER NOT NULL,
+    DERROTAS INTEGER NOT NULL,
+    EMPATES INTEGER NOT NULL,
+    SEQUENCIA_ATUAL INTEGER NOT NULL,
+    ULTIMA_PARTIDA TIMESTAMP(6),
+    PRIMARY KEY (ID),
+    CONSTRAINT UK_ESTATISTICA_JOGADOR_MODO UNIQUE (ID_JOGADOR, ID_MODO_DE_JOGO)
+);
+
+-- Preenche a partir dos resultados já registrados. A sequência atual conta,
+-- a partir da partida mais recente, quantas seguidas tiveram o mesmo status
+-- dela (positiva para vitórias, negativa para derrotas, 0 se foi empate).
+INSERT INTO ESTATISTICA_JOGADOR (ID, ID_JOGADOR, ID_MODO_DE_JOGO, VITORIAS, DERROTAS, EMPATES, SEQUENCIA_ATUAL, ULTIMA_PARTIDA)
+SELECT NEXT VALUE FOR ESTATISTICA_JOGADOR_SEQ, ID_JOGADOR, ID_MODO, VITORIAS, DERROTAS, EMPATES, SEQUENCIA, ULTIMA
+FROM (
+    SELECT ID_JOGADOR, ID_MODO,
+           SUM(CASE WHEN STATUS = 'VITÓRIA' THEN 1 ELSE 0 END) AS VITORIAS,
+           SUM(CASE WHEN STATUS = 'DERROTA' THEN 1 ELSE 0 END) AS DERROTAS,
+           SUM(CASE WHEN STATUS = 'EMPATE' THEN 1 ELSE 0 END) AS EMPATES,
+           CASE MAX(ULTIMO_STATUS)
+               WHEN 'VITÓRIA' THEN COALESCE(MIN(CASE WHEN STATUS <> ULTIMO_STATUS THEN RN END) - 1, COUNT(*))
+               WHEN 'DERROTA' THEN -COALESCE(MIN(CASE WHEN STATUS <> ULTIMO_STATUS THEN RN END) - 1, COUNT(*))
+               ELSE 0
+           END AS SEQUENCIA,
+           MAX(DATA_HORA) AS ULTIMA
+    FROM (
+        SELECT R.*,
+               ROW_NUMBER() OVER (PARTITION BY ID_JOGADOR, ID_MODO ORDER BY DATA_HORA DESC, ID_PARTIDA DESC) AS RN,
+               FIRST_VALUE(STATUS) OVER (PARTITION BY ID_JOGADOR, ID_MODO ORDER BY DATA_HORA DESC, ID_PARTIDA DESC) AS ULTIMO_STATUS
+        FROM (
+            SELECT JE.ID_JOGADOR, P.ID_MODO_DE_JOGO AS ID_MODO, P.ID_PARTIDA, P.DATA_HORA, EP.STATUS_RESULTADO AS STATUS
+            FROM JOGADOR_EQUIPE JE
+            JOIN EQUIPE E ON E.ID_EQUIPE = JE.ID_EQUIPE
+            JOIN PARTIDA P ON P.ID_PARTIDA = E.ID_PARTIDA
+            JOIN EQUIPE_PARTIDA EP ON EP.ID_EQUIPE = E.ID_EQUIPE
+            UNION ALL
+            SELECT JE.ID_JOGADOR, 0, P.ID_PARTIDA, P.DATA_HORA, EP.STATUS_RESULTADO
+            FROM JOGADOR_EQUIPE JE
+            JOIN EQUIPE E ON E.ID_EQUIPE = JE.ID_EQUIPE
+            JOIN PARTIDA P ON P.ID_PARTIDA = E.ID_PARTIDA
+            JOIN EQUIPE_PARTIDA EP ON EP.ID_EQUIPE = E.ID_EQUIPE
+        ) R
+    ) N
+    GROUP BY ID_JOGADOR, ID_MODO
+) A;
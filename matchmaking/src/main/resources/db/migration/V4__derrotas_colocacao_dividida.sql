@@ -0,0 +1,72 @@
+-- =========================================
+-- V4: Perdedores com colocação dividida são DERROTA
+-- =========================================
+-- Em partidas de 3 ou mais equipes registradas com um vencedor, todas as
+-- outras ficam em 2º; antes desta versão essa colocação dividida era gravada
+-- como EMPATE. Empate agora é só o primeiro lugar dividido (ver
+-- CalculadoraElo.resultados). Corrige o status desses resultados e refaz as
+-- estatísticas dos jogadores envolvidos (mesma conta da V3). Os ratings não
+-- são refeitos aqui: o replay (POST /api/ratings/replay) recalcula com a regra nova.
+--
+-- Resultados gravados antes da coluna COLOCACAO (V1 a acrescenta vazia em
+-- bancos antigos) não têm colocação: um EMPATE deles fica como está.
+
+CREATE TABLE V4_JOGADORES_AFETADOS AS
+SELECT DISTINCT JE.ID_JOGADOR
+FROM EQUIPE_PARTIDA EP
+JOIN EQUIPE E ON E.ID_EQUIPE = EP.ID_EQUIPE
+JOIN JOGADOR_EQUIPE JE ON JE.ID_EQUIPE = E.ID_EQUIPE
+WHERE EP.STATUS_RESULTADO = 'EMPATE'
+  AND EP.COLOCACAO IS NOT NULL
+  AND EP.COLOCACAO > (SELECT MIN(EP2.COLOCACAO)
+                      FROM EQUIPE_PARTIDA EP2
+                      JOIN EQUIPE E2 ON E2.ID_EQUIPE = EP2.ID_EQUIPE
+                      WHERE E2.ID_PARTIDA = E.ID_PARTIDA);
+
+UPDATE EQUIPE_PARTIDA EP SET STATUS_RESULTADO = 'DERROTA'
+WHERE EP.STATUS_RESULTADO = 'EMPATE'
+  AND EP.COLOCACAO IS NOT NULL
+  AND EP.COLOCACAO > (SELECT MIN(EP2.COLOCACAO)
+                      FROM EQUIPE_PARTIDA EP2
+                      JOIN EQUIPE E2 ON E2.ID_EQUIPE = EP2.ID_EQUIPE
+                      WHERE E2.ID_PARTIDA = (SELECT E.ID_PARTIDA FROM EQUIPE E WHERE E.ID_EQUIPE = EP.ID_EQUIPE));
+
+DELETE FROM ESTATISTICA_JOGADOR WHERE ID_JOGADOR IN (SELECT ID_JOGADOR FROM V4_JOGADORES_AFETADOS);
+
+INSERT INTO ESTATISTICA_JOGADOR (ID, ID_JOGADOR, ID_MODO_DE_JOGO, VITORIAS, DERROTAS, EMPATES, SEQUENCIA_ATUAL, ULTIMA_PARTIDA)
+SELECT NEXT VALUE FOR ESTATISTICA_JOGADOR_SEQ, ID_JOGADOR, ID_MODO, VITORIAS, DERROTAS, EMPATES, SEQUENCIA, ULTIMA
+FROM (
+    SELECT ID_JOGADOR, ID_MODO,
+           SUM(CASE WHEN STATUS = 'VITÓRIA' THEN 1 ELSE 0 END) AS VITORIAS,
+           SUM(CASE WHEN STATUS = 'DERROTA' THEN 1 ELSE 0 END) AS DERROTAS,
+           SUM(CASE WHEN STATUS = 'EMPATE' THEN 1 ELSE 0 END) AS EMPATES,
+           CASE MAX(ULTIMO_STATUS)
+               WHEN 'VITÓRIA' THEN COALESCE(MIN(CASE WHEN STATUS <> ULTIMO_STATUS THEN RN END) - 1, COUNT(*))
+               WHEN 'DERROTA' THEN -COALESCE(MIN(CASE WHEN STATUS <> ULTIMO_STATUS THEN RN END) - 1, COUNT(*))
+               ELSE 0
+           END AS SEQUENCIA,
+           MAX(DATA_HORA) AS ULTIMA
+    FROM (
+        SELECT R.*,
+               ROW_NUMBER() OVER (PARTITION BY ID_JOGADOR, ID_MODO ORDER BY DATA_HORA DESC, ID_PARTIDA DESC) AS RN,
+               FIRST_VALUE(STATUS) OVER (PARTITION BY ID_JOGADOR, ID_MODO ORDER BY DATA_HORA DESC, ID_PARTIDA DESC) AS ULTIMO_STATUS
+        FROM (
+            SELECT JE.ID_JOGADOR, P.ID_MODO_DE_JOGO AS ID_MODO, P.ID_PARTIDA, P.DATA_HORA, EP.STATUS_RESULTADO AS STATUS
+            FROM JOGADOR_EQUIPE JE
+            JOIN EQUIPE E ON E.ID_EQUIPE = JE.ID_EQUIPE
+            JOIN PARTIDA P ON P.ID_PARTIDA = E.ID_PARTIDA
+            JOIN EQUIPE_PARTIDA EP ON EP.ID_EQUIPE = E.ID_EQUIPE
+            WHERE JE.ID_JOGADOR IN (SELECT ID_JOGADOR FROM V4_JOGADORES_AFETADOS)
+            UNION ALL
+            SELECT JE.ID_JOGADOR, 0, P.ID_PARTIDA, P.DATA_HORA, EP.STATUS_RESULTADO
+            FROM JOGADOR_EQUIPE JE
+            JOIN EQUIPE E ON E.ID_EQUIPE = JE.ID_EQUIPE
+            JOIN PARTIDA P ON P.ID_PARTIDA = E.ID_PARTIDA
+            JOIN EQUIPE_PARTIDA EP ON EP.ID_EQUIPE = E.ID_EQUIPE
+            WHERE JE.ID_JOGADOR IN (SELECT ID_JOGADOR FROM V4_JOGADORES_AFETADOS)
+        ) R
+    ) N
+    GROUP BY ID_JOGADOR, ID_MODO
+) A;
+
+DROP TABLE V4_JOGADORES_AFETADOS;
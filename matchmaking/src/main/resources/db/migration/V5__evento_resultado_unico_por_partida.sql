@@ -0,0 +1,13 @@
+-- =========================================
+-- V5: No máximo um evento de resultado por partida
+-- =========================================
+-- O envio assíncrono (PipelineResultadosService) verificava "já existe?" e
+-- depois inseria: dois envios simultâneos da mesma partida passavam os dois.
+-- Agora a unicidade fica no banco. Um reenvio depois de FALHOU substitui o
+-- evento que falhou, então só o mais recente de cada partida é mantido.
+
+DELETE FROM EVENTO_RESULTADO E
+WHERE E.ID < (SELECT MAX(E2.ID) FROM EVENTO_RESULTADO E2 WHERE E2.ID_PARTIDA = E.ID_PARTIDA);
+
+DROP INDEX IF EXISTS IDX_EVENTO_RESULTADO_PARTIDA;
+CREATE UNIQUE INDEX IDX_EVENTO_RESULTADO_PARTIDA ON EVENTO_RESULTADO (ID_PARTIDA);
@@ -0,0 +1,49 @@
+package com.meuprojeto.matchmaking.config;
+
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.Sequencias;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sequencias;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class AjusteSequenciasTest {
+
+    @Autowired private AjusteSequencias ajusteSequencias;
+    @Autowired private JogadorRepository jogadorRepository;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    void sequenciaContinuaDepoisDosIdsExistentes() {
+        // Linha "antiga", com id gerado pela coluna IDENTITY antes da migração
+        jdbc.update("INSERT INTO JOGADOR (id_jogador, nome, rating, partidas_jogadas, total_mvp, total_destaque_perdedor, versao) " +
+                "VALUES (5000, 'legado', 1000, 0, 0, 0, 0)");
+
+        ajusteSequencias.ajustar(jdbc);
+        long reiniciada = proximoValor();
+        ajusteSequencias.ajustar(jdbc);
+        assertThat(proximoValor()).isEqualTo(reiniciada); // Idempotente
+
+        // Esgota o bloco já reservado em memória e passa a usar a sequência reiniciada
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 2 * Sequencias.ALOCACAO; i++) {
+            ids.add(jogadorRepository.save(new Jogador("novo" + i)).getIdJogador());
+        }
+        assertThat(ids).hasSize(2 * Sequencias.ALOCACAO).doesNotContain(5000L);
+        assertThat(ids.stream().mapToLong(Long::longValue).max().orElseThrow()).isGreaterThan(5000L);
+    }
+
+    private long proximoValor() {
+        return jdbc.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'JOGADOR_SEQ'", Long.class);
+    }
+}
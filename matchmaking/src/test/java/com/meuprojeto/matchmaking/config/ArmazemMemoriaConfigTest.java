@@ -0,0 +1,96 @@
+package com.meuprojeto.matchmaking.config;
+
+import com.meuprojeto.matchmaking.MatchmakingApplication;
+import com.meuprojeto.matchmaking.model.Equipe;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import com.meuprojeto.matchmaking.repository.EquipePartidaRepository;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import com.meuprojeto.matchmaking.repository.ModoDeJogoRepository;
+import com.meuprojeto.matchmaking.service.MatchmakingService;
+import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaResponse;
+import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArmazemMemoriaConfigTest {
+
+    @TempDir Path diretorio;
+    @TempDir Path copiaAntesDoDesligamento;
+
+    @Test
+    void dadosSobrevivemAReinicializacao() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        List<Double> ratings;
+        try (ConfigurableApplicationContext contexto = iniciar("armazem_a", diretorio)) {
+            ModoDeJogo modo = contexto.getBean(ModoDeJogoRepository.class).save(new ModoDeJogo("Armazém 2v2", 2, true, null));
+            JogadorRepository jogadores = contexto.getBean(JogadorRepository.class);
+            for (int i = 0; i < 4; i++) {
+                ids.add(jogadores.save(new Jogador("armazem" + i)).getIdJogador());
+            }
+            MatchmakingService matchmakingService = contexto.getBean(MatchmakingService.class);
+            registrarVitoria(matchmakingService, matchmakingService.criarPartida(ids, modo.getIdModoDeJogo()));
+            ratings = ratings(contexto, ids);
+
+            // Estado de uma queda neste ponto: snapshot inicial + log
+            copiar(diretorio, copiaAntesDoDesligamento);
+        }
+
+        // Desligamento normal (snapshot final) e queda (reaplica o log)
+        for (Path origem : List.of(diretorio, copiaAntesDoDesligamento)) {
+            try (ConfigurableApplicationContext contexto = iniciar("armazem_" + origem.getFileName(), origem)) {
+                assertThat(ratings(contexto, ids)).isEqualTo(ratings);
+                assertThat(contexto.getBean(EquipePartidaRepository.class).count()).isEqualTo(2);
+
+                // Sequências seguem depois dos ids recuperados
+                Long novo = contexto.getBean(JogadorRepository.class).save(new Jogador("depois")).getIdJogador();
+                assertThat(novo).isGreaterThan(ids.stream().mapToLong(Long::longValue).max().orElseThrow());
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext iniciar(String banco, Path diretorio) {
+        return new SpringApplicationBuilder(MatchmakingApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("memoria")
+                .run("--spring.datasource.url=jdbc:h2:mem:" + banco + ";DB_CLOSE_DELAY=-1",
+                        "--matchmaking.armazem.diretorio=" + diretorio,
+                        "--spring.jpa.show-sql=false");
+    }
+
+    private static List<Double> ratings(ConfigurableApplicationContext contexto, List<Long> ids) {
+        return contexto.getBean(JogadorRepository.class).findAllById(ids).stream()
+                .sorted((a, b) -> a.getIdJogador().compareTo(b.getIdJogador()))
+                .map(Jogador::getRating)
+                .toList();
+    }
+
+    private static void registrarVitoria(MatchmakingService matchmakingService, CriacaoPartidaResponse criada) {
+        Equipe vencedora = criada.getEquipesFormadas().iterator().next();
+        RegistroResultadoRequest request = new RegistroResultadoRequest();
+        request.setIdPartida(criada.getPartidaCriada().getIdPartida());
+        request.setIdEquipeVencedora(vencedora.getIdEquipe());
+        request.setIdMvp(vencedora.getMembros().iterator().next().getJogador().getIdJogador());
+        matchmakingService.registrarResultado(request);
+    }
+
+    private static void copiar(Path origem, Path destino) throws IOException {
+        try (Stream<Path> arquivos = Files.list(origem)) {
+            for (Path arquivo : arquivos.toList()) {
+                Files.copy(arquivo, destino.resolve(arquivo.getFileName()));
+            }
+        }
+    }
+}
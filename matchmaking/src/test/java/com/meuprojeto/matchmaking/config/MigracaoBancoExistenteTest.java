@@ -0,0 +1,72 @@
+package com.meuprojeto.matchmaking.config;
+
+import com.meuprojeto.matchmaking.MatchmakingApplication;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.Sequencias;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migra uma cópia de db/legado/legado.mv.db (cópia congelada do matchmakingdb.mv.db
+ * criado pelo antigo ddl-auto=update, sem histórico do Flyway) e sobe a
+ * aplicação com ddl-auto=validate.
+ */
+class MigracaoBancoExistenteTest {
+
+    private static final String BANCO_LEGADO = "/db/legado/legado.mv.db";
+
+    @TempDir Path diretorio;
+
+    @Test
+    void bancoAntigoMigraESobeComValidate() throws IOException {
+        try (InputStream banco = getClass().getResourceAsStream(BANCO_LEGADO)) {
+            assertThat(banco).as(BANCO_LEGADO).isNotNull();
+            Files.copy(banco, diretorio.resolve("matchmakingdb.mv.db"));
+        }
+
+        try (ConfigurableApplicationContext contexto = iniciar()) {
+            JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+            assertThat(jdbc.queryForList("SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"type\" = 'SQL' AND \"success\" ORDER BY \"installed_rank\"", String.class))
+                    .containsExactly("1", "2", "3", "4", "5");
+
+            // Dados antigos preservados, com as colunas novas preenchidas
+            assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM JOGADOR WHERE VERSAO = 0", Integer.class)).isEqualTo(12);
+            assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM PARTIDA", Integer.class)).isEqualTo(6);
+            assertThat(contexto.getBean(JogadorRepository.class).findAll())
+                    .extracting(Jogador::getNome).contains("Gui", "Gabriel");
+
+            // V4 não mexe em resultados sem colocação (o empate da partida 22 continua empate)
+            assertThat(jdbc.queryForList("SELECT EP.STATUS_RESULTADO FROM EQUIPE_PARTIDA EP " +
+                    "JOIN EQUIPE E ON E.ID_EQUIPE = EP.ID_EQUIPE WHERE E.ID_PARTIDA = 22", String.class))
+                    .containsExactly("EMPATE", "EMPATE");
+
+            // Ids de IDENTITY: as sequências continuam depois deles (AjusteSequencias)
+            for (Sequencias.Sequencia sequencia : Sequencias.TODAS) {
+                long maiorId = jdbc.queryForObject("SELECT COALESCE(MAX(" + sequencia.colunaId() + "), 0) FROM "
+                        + sequencia.tabela(), Long.class);
+                assertThat(jdbc.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                        Long.class, sequencia.nome())).as(sequencia.nome()).isGreaterThan(maiorId + Sequencias.ALOCACAO);
+            }
+            assertThat(contexto.getBean(JogadorRepository.class).save(new Jogador("novo")).getIdJogador()).isGreaterThan(12L);
+        }
+    }
+
+    private ConfigurableApplicationContext iniciar() {
+        return new SpringApplicationBuilder(MatchmakingApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:file:" + diretorio.resolve("matchmakingdb").toAbsolutePath(),
+                        "--spring.jpa.show-sql=false");
+    }
+}
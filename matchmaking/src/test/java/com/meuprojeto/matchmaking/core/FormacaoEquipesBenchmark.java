@@ -0,0 +1,62 @@
+package com.meuprojeto.matchmaking.core;
+
+import com.meuprojeto.matchmaking.core.balanceamento.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmark (JMH) da formação de equipes do core, sem Spring nem Hibernate.
+ *
+ * Executar (depois de "mvn test-compile"):
+ *   mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.meuprojeto.matchmaking.core.FormacaoEquipesBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormacaoEquipesBenchmark {
+
+    @Param({"10", "20", "40"})
+    int jogadores;
+
+    @Param({GreedyBalancingStrategy.NOME, SnakeDraftBalancingStrategy.NOME,
+            HeapBalancingStrategy.NOME, OptimalPartitionBalancingStrategy.NOME})
+    String estrategia;
+
+    private long[] ids;
+    private double[] ratings;
+    private BalancingStrategy balancingStrategy;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        ids = new long[jogadores + 1]; // +1 reserva
+        ratings = new double[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1;
+            ratings[i] = 700 + random.nextInt(900);
+        }
+        balancingStrategy = switch (estrategia) {
+            case GreedyBalancingStrategy.NOME -> new GreedyBalancingStrategy();
+            case SnakeDraftBalancingStrategy.NOME -> new SnakeDraftBalancingStrategy();
+            case HeapBalancingStrategy.NOME -> new HeapBalancingStrategy();
+            default -> new OptimalPartitionBalancingStrategy(new ParticionadorEquipes(), null);
+        };
+    }
+
+    @Benchmark
+    public ResultadoFormacao formarDuasEquipes() {
+        return FormacaoEquipes.formar(ids, ratings, jogadores / 2, balancingStrategy);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FormacaoEquipesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
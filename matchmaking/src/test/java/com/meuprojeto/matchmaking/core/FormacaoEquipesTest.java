@@ -0,0 +1,62 @@
+package com.meuprojeto.matchmaking.core;
+
+import com.meuprojeto.matchmaking.core.balanceamento.ParticionadorGrupos;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FormacaoEquipesTest {
+
+    private static final int S = ParticionadorGrupos.SEM_GRUPO;
+
+    @Test
+    void gruposEscolhidosPelaSomaQueCompletaAsEquipes() {
+        // 2 equipes de 2: o sozinho (melhor rating) + um grupo deixariam 1 vaga
+        long[] ids = {1, 2, 3, 4, 5};
+        double[] ratings = {1500, 1400, 1300, 1200, 1100};
+        int[] grupos = {S, 0, 0, 1, 1};
+
+        ResultadoFormacao formacao = FormacaoEquipes.formarComGrupos(ids, ratings, grupos, 2, new ParticionadorGrupos());
+
+        assertThat(formacao.getNumTimes()).isEqualTo(2);
+        assertThat(formacao.getReservas()).containsExactly(0);
+        int[] equipe = formacao.getEquipeDoJogador();
+        assertThat(equipe[1]).isEqualTo(equipe[2]);
+        assertThat(equipe[3]).isEqualTo(equipe[4]).isNotEqualTo(equipe[1]);
+    }
+
+    @Test
+    void gruposQueNaoEncaixamNasEquipesFicamDeReserva() {
+        // 2 equipes de 3: 2+2+2 somam 6, mas não encaixam; o terceiro grupo dá lugar aos sozinhos
+        long[] ids = {1, 2, 3, 4, 5, 6, 7, 8};
+        double[] ratings = {1800, 1700, 1600, 1500, 1400, 1300, 1200, 1100};
+        int[] grupos = {0, 0, 1, 1, 2, 2, S, S};
+
+        ResultadoFormacao formacao = FormacaoEquipes.formarComGrupos(ids, ratings, grupos, 3, new ParticionadorGrupos());
+
+        assertThat(formacao.getNumTimes()).isEqualTo(2);
+        assertThat(formacao.getReservas()).containsExactlyInAnyOrder(4, 5);
+        int[] equipe = formacao.getEquipeDoJogador();
+        assertThat(equipe[0]).isEqualTo(equipe[1]);
+        assertThat(equipe[2]).isEqualTo(equipe[3]).isNotEqualTo(equipe[0]);
+    }
+
+    @Test
+    void semSelecaoParaTodasAsEquipesFormaMenos() {
+        // 10 jogadores comportam 3 equipes de 3, mas com 3+3+2+2 só dá para completar 2
+        long[] ids = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        double[] ratings = {2000, 1900, 1800, 1700, 1600, 1500, 1400, 1300, 1200, 1100};
+        int[] grupos = {0, 0, 0, 1, 1, 1, 2, 2, 3, 3};
+
+        ResultadoFormacao formacao = FormacaoEquipes.formarComGrupos(ids, ratings, grupos, 3, new ParticionadorGrupos());
+
+        assertThat(formacao.getNumTimes()).isEqualTo(2);
+        assertThat(formacao.getReservas()).containsExactlyInAnyOrder(6, 7, 8, 9);
+
+        int[] soGrupos = {0, 0, 1, 1, 2, 2};
+        assertThatThrownBy(() -> FormacaoEquipes.formarComGrupos(new long[]{1, 2, 3, 4, 5, 6},
+                new double[]{6, 5, 4, 3, 2, 1}, soGrupos, 3, new ParticionadorGrupos()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,46 @@
+package com.meuprojeto.matchmaking.core;
+
+import com.meuprojeto.matchmaking.core.balanceamento.SnakeDraftBalancingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormacaoSessaoTest {
+
+    @Test
+    void divideOPoolEmPartidasDeNivelParecidoComOsPioresDeReserva() {
+        // 23 jogadores, 5v5: 2 partidas de 10 e 3 reservas
+        long[] ids = new long[23];
+        double[] ratings = new double[23];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1;
+            ratings[i] = 1000 + 10 * ((i * 7) % 23); // ordem embaralhada
+        }
+
+        ResultadoSessao sessao = FormacaoSessao.formar(ids, ratings, 5, new SnakeDraftBalancingStrategy());
+
+        assertThat(sessao.getNumPartidas()).isEqualTo(2);
+        int[] reservas = sessao.getReservas();
+        assertThat(new double[]{ratings[reservas[0]], ratings[reservas[1]], ratings[reservas[2]]})
+                .containsExactly(1020.0, 1010.0, 1000.0);
+
+        Set<Integer> usados = new HashSet<>();
+        double menorDaPrimeira = Double.MAX_VALUE;
+        double maiorDaSegunda = 0;
+        for (int p = 0; p < 2; p++) {
+            int[] jogadores = sessao.getJogadoresDaPartida(p);
+            assertThat(jogadores).hasSize(10);
+            for (int indice : jogadores) {
+                assertThat(usados.add(indice)).isTrue();
+                if (p == 0) menorDaPrimeira = Math.min(menorDaPrimeira, ratings[indice]);
+                else maiorDaSegunda = Math.max(maiorDaSegunda, ratings[indice]);
+            }
+            assertThat(sessao.getFormacao(p).getNumTimes()).isEqualTo(2);
+            assertThat(sessao.getFormacao(p).getReservas()).isEmpty();
+        }
+        assertThat(menorDaPrimeira).isGreaterThan(maiorDaSegunda);
+    }
+}
@@ -0,0 +1,50 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BalancingStrategyTest {
+
+    static Stream<BalancingStrategy> estrategias() {
+        return Stream.of(
+                new GreedyBalancingStrategy(),
+                new SnakeDraftBalancingStrategy(),
+                new HeapBalancingStrategy(),
+                new OptimalPartitionBalancingStrategy(new ParticionadorEquipes(), null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("estrategias")
+    void formaEquipesDoMesmoTamanhoComSomasCorretas(BalancingStrategy estrategia) {
+        Random random = new Random(11);
+        double[] ratings = new double[15];
+        for (int i = 0; i < ratings.length; i++) ratings[i] = 800 + random.nextInt(700);
+
+        ResultadoParticao resultado = estrategia.balancear(ratings, 3, 5);
+
+        int[] contagem = new int[3];
+        double[] somas = new double[3];
+        for (int i = 0; i < ratings.length; i++) {
+            contagem[resultado.getAtribuicao()[i]]++;
+            somas[resultado.getAtribuicao()[i]] += ratings[i];
+        }
+        assertThat(contagem).containsExactly(5, 5, 5);
+        assertThat(resultado.getSomasEquipes()).containsExactly(somas);
+    }
+
+    @Test
+    void heapEGulosoProduzemAMesmaDivisao() {
+        double[] ratings = {1800, 1500, 1450, 1200, 1100, 1000, 990, 900};
+
+        ResultadoParticao guloso = new GreedyBalancingStrategy().balancear(ratings, 2, 4);
+        ResultadoParticao heap = new HeapBalancingStrategy().balancear(ratings, 2, 4);
+
+        assertThat(heap.getAtribuicao()).containsExactly(guloso.getAtribuicao());
+    }
+}
@@ -0,0 +1,77 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParticionadorEquipesTest {
+
+    @Test
+    void encontraDivisaoPerfeitaQuandoExiste() {
+        // 1500+1000+1000 = 1400+1100+1000 = 3500
+        double[] ratings = {1500, 1400, 1100, 1000, 1000, 1000};
+
+        ResultadoParticao resultado = new ParticionadorEquipes().particionar(ratings, 2, 3);
+
+        assertThat(resultado.getDiferenca()).isEqualTo(0.0);
+        assertThat(resultado.isOtimo()).isTrue();
+        assertTamanhos(resultado.getAtribuicao(), 2, 3);
+    }
+
+    @Test
+    void superaOAlgoritmoGulosoEmPoolTipico() {
+        Random random = new Random(42);
+        double[] ratings = new double[20];
+        for (int i = 0; i < ratings.length; i++) {
+            ratings[i] = 700 + random.nextInt(900);
+        }
+
+        ResultadoParticao resultado = new ParticionadorEquipes(50_000_000L, 20).particionar(ratings, 2, 10);
+
+        assertTamanhos(resultado.getAtribuicao(), 2, 10);
+        assertThat(resultado.getDiferenca()).isLessThanOrEqualTo(diferencaGulosa(ratings, 2));
+        assertThat(resultado.getDiferenca()).isLessThan(10.0);
+    }
+
+    @Test
+    void poolGrandeUsaKarmarkarKarpComEquipesDoMesmoTamanho() {
+        Random random = new Random(7);
+        double[] ratings = new double[40];
+        for (int i = 0; i < ratings.length; i++) {
+            ratings[i] = 600 + random.nextDouble() * 1200;
+        }
+
+        ResultadoParticao resultado = new ParticionadorEquipes().particionar(ratings, 4, 10);
+
+        assertTamanhos(resultado.getAtribuicao(), 4, 10);
+        assertThat(resultado.getDiferenca()).isLessThan(100.0);
+        assertThat(resultado.getSomasEquipes()).hasSize(4);
+    }
+
+    @Test
+    void rejeitaQuantidadeIncompativel() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParticionadorEquipes().particionar(new double[]{1000, 1000, 1000}, 2, 2));
+    }
+
+    private static void assertTamanhos(int[] atribuicao, int numTimes, int tamanho) {
+        int[] contagem = new int[numTimes];
+        for (int equipe : atribuicao) contagem[equipe]++;
+        for (int c : contagem) assertThat(c).isEqualTo(tamanho);
+    }
+
+    /** Algoritmo anterior: "adicionar ao time mais fraco". */
+    private static double diferencaGulosa(double[] ratings, int numTimes) {
+        int[] ordem = OrdenacaoIndices.ordenarDecrescente(ratings);
+        double[] somas = new double[numTimes];
+        for (int i : ordem) {
+            int maisFraco = 0;
+            for (int t = 1; t < numTimes; t++) if (somas[t] < somas[maisFraco]) maisFraco = t;
+            somas[maisFraco] += ratings[i];
+        }
+        return ResultadoParticao.calcularDiferenca(somas);
+    }
+}
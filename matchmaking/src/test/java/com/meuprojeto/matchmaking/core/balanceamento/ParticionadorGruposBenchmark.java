@@ -0,0 +1,58 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmark (JMH) do particionamento com grupos: pool de N jogadores em
+ * duas equipes, com grupos de 1 a 3 jogadores (como em ParticionadorGruposTest).
+ *
+ * Executar (depois de "mvn test-compile"):
+ *   mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.meuprojeto.matchmaking.core.balanceamento.ParticionadorGruposBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticionadorGruposBenchmark {
+
+    @Param({"10", "20", "50"})
+    int jogadores;
+
+    private double[] ratings;
+    private int[] grupos;
+    private ParticionadorGrupos particionador;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(3);
+        ratings = new double[jogadores];
+        grupos = new int[jogadores];
+        int proximoGrupo = 0;
+        for (int i = 0; i < jogadores; ) {
+            int tamanho = Math.min(1 + random.nextInt(3), jogadores - i);
+            int grupo = tamanho == 1 ? ParticionadorGrupos.SEM_GRUPO : proximoGrupo++;
+            for (int k = 0; k < tamanho; k++, i++) {
+                ratings[i] = 700 + random.nextInt(900);
+                grupos[i] = grupo;
+            }
+        }
+        particionador = new ParticionadorGrupos();
+    }
+
+    @Benchmark
+    public ResultadoParticao particionarDuasEquipes() {
+        return particionador.particionar(ratings, grupos, 2, jogadores / 2);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParticionadorGruposBenchmark.class.getSimpleName()).build()).run();
+    }
+}
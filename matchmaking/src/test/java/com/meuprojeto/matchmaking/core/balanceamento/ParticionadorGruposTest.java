@@ -0,0 +1,102 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParticionadorGruposTest {
+
+    private static final int S = ParticionadorGrupos.SEM_GRUPO;
+
+    @Test
+    void mantemOsGruposNaMesmaEquipe() {
+        double[] ratings = {1500, 1450, 1000, 1000, 1200, 1250, 1300, 1100};
+        int[] grupos = {0, 0, S, S, 1, 1, 1, S};   // os dois melhores juntos; trio 1
+
+        ResultadoParticao resultado = new ParticionadorGrupos().particionar(ratings, grupos, 2, 4);
+
+        int[] equipe = resultado.getAtribuicao();
+        assertThat(equipe[0]).isEqualTo(equipe[1]);
+        assertThat(equipe[4]).isEqualTo(equipe[5]).isEqualTo(equipe[6]);
+        assertTamanhos(equipe, 2, 4);
+        // {1500,1450,1000,1000}=4950 vs {1200,1250,1300,1100}=4850 é a única divisão possível
+        assertThat(resultado.getDiferenca()).isEqualTo(100.0);
+        assertThat(resultado.isOtimo()).isTrue();
+    }
+
+    @Test
+    void encaixaGruposQueOGulosoNaoConsegue() {
+        // Equipes de 6: 3+3 / 2+2+2. O guloso colocaria um trio em cada equipe.
+        double[] ratings = {1000, 1000, 1000, 1000, 1000, 1000, 1000, 1000, 1000, 1000, 1000, 1000};
+        int[] grupos = {0, 0, 0, 1, 1, 1, 2, 2, 3, 3, 4, 4};
+
+        ResultadoParticao resultado = new ParticionadorGrupos().particionar(ratings, grupos, 2, 6);
+
+        int[] equipe = resultado.getAtribuicao();
+        assertTamanhos(equipe, 2, 6);
+        assertThat(equipe[0]).isEqualTo(equipe[3]);
+        assertThat(equipe[6]).isEqualTo(equipe[8]).isEqualTo(equipe[10]);
+    }
+
+    @Test
+    void encaixeNaoDependeDoOrcamentoDeTempo() {
+        // Sem orçamento nenhum o branch-and-bound nem começa: o encaixe por tamanho acha a divisão
+        double[] ratings = {1000, 1100, 1200, 1300, 1400, 1500, 1000, 1100, 1200, 1300, 1400, 1500};
+        int[] grupos = {0, 0, 0, 1, 1, 1, 2, 2, 3, 3, 4, 4};
+
+        ResultadoParticao resultado = new ParticionadorGrupos(0).particionar(ratings, grupos, 2, 6);
+
+        assertTamanhos(resultado.getAtribuicao(), 2, 6);
+        assertThat(resultado.getAtribuicao()[0]).isEqualTo(resultado.getAtribuicao()[3]);
+    }
+
+    @Test
+    void rejeitaGruposQueNaoCabemEmNenhumaDivisao() {
+        // Três duplas em duas equipes de 3: não há encaixe, independente do tempo
+        assertThrows(IllegalArgumentException.class, () -> new ParticionadorGrupos()
+                .particionar(new double[]{1000, 1000, 1000, 1000, 1000, 1000}, new int[]{0, 0, 1, 1, 2, 2}, 2, 3));
+    }
+
+    @Test
+    void poolDe50ComGruposMistosFicaEquilibrado() {
+        Random random = new Random(3);
+        double[] ratings = new double[50];
+        int[] grupos = new int[50];
+        int proximoGrupo = 0;
+        for (int i = 0; i < ratings.length; ) {
+            int tamanho = Math.min(1 + random.nextInt(3), ratings.length - i);
+            int grupo = tamanho == 1 ? S : proximoGrupo++;
+            for (int k = 0; k < tamanho; k++, i++) {
+                ratings[i] = 700 + random.nextInt(900);
+                grupos[i] = grupo;
+            }
+        }
+        // Tempo de execução: ParticionadorGruposBenchmark (JMH), não aqui
+        ResultadoParticao resultado = new ParticionadorGrupos().particionar(ratings, grupos, 2, 25);
+
+        assertTamanhos(resultado.getAtribuicao(), 2, 25);
+        assertThat(resultado.getDiferenca()).isLessThan(50.0);
+        for (int i = 0; i < ratings.length; i++) {
+            for (int j = 0; j < ratings.length; j++) {
+                if (grupos[i] >= 0 && grupos[i] == grupos[j]) {
+                    assertThat(resultado.getAtribuicao()[i]).isEqualTo(resultado.getAtribuicao()[j]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejeitaGrupoMaiorQueAEquipe() {
+        assertThrows(IllegalArgumentException.class, () -> new ParticionadorGrupos()
+                .particionar(new double[]{1000, 1000, 1000, 1000}, new int[]{0, 0, 0, S}, 2, 2));
+    }
+
+    private static void assertTamanhos(int[] atribuicao, int numTimes, int tamanho) {
+        int[] contagem = new int[numTimes];
+        for (int equipe : atribuicao) contagem[equipe]++;
+        for (int c : contagem) assertThat(c).isEqualTo(tamanho);
+    }
+}
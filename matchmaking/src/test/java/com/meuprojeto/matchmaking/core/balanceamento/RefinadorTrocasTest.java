@@ -0,0 +1,34 @@
+package com.meuprojeto.matchmaking.core.balanceamento;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefinadorTrocasTest {
+
+    @Test
+    void reduzDiferencaSemAlterarTamanhoDasEquipes() {
+        double[] ratings = {1500, 1400, 1100, 1000, 1000, 1000};
+        // Divisão ruim: 1500+1400+1100 contra 1000+1000+1000
+        int[] atribuicao = {0, 0, 0, 1, 1, 1};
+        ResultadoParticao inicial = new ResultadoParticao(atribuicao,
+                ParticionadorEquipes.somarEquipes(ratings, atribuicao, 2), false, 0L);
+
+        ResultadoParticao refinado = new RefinadorTrocas(100_000, 50_000_000L, 123L).refinar(ratings, inicial);
+
+        assertThat(refinado.getDiferenca()).isLessThan(inicial.getDiferenca());
+        assertThat(refinado.getDiferenca()).isEqualTo(0.0);
+        int naEquipeZero = 0;
+        for (int equipe : refinado.getAtribuicao()) if (equipe == 0) naEquipeZero++;
+        assertThat(naEquipeZero).isEqualTo(3);
+        assertThat(inicial.getAtribuicao()).containsExactly(0, 0, 0, 1, 1, 1);
+    }
+
+    @Test
+    void naoMexeEmDivisaoOtima() {
+        double[] ratings = {1000, 1000};
+        ResultadoParticao otima = new ResultadoParticao(new int[]{0, 1}, new double[]{1000, 1000}, true, 0L);
+
+        assertThat(new RefinadorTrocas().refinar(ratings, otima)).isSameAs(otima);
+    }
+}
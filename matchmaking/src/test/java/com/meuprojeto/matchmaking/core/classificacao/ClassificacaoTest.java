@@ -0,0 +1,73 @@
+package com.meuprojeto.matchmaking.core.classificacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassificacaoTest {
+
+    @Test
+    void ordenaPorRatingComEmpatePeloMenorId() {
+        Classificacao classificacao = new Classificacao();
+        classificacao.atualizar(3, 1200);
+        classificacao.atualizar(1, 1000);
+        classificacao.atualizar(2, 1200);
+
+        assertThat(classificacao.topo(10)).containsExactly(
+                new PosicaoClassificacao(1, 2, 1200),
+                new PosicaoClassificacao(2, 3, 1200),
+                new PosicaoClassificacao(3, 1, 1000));
+        assertThat(classificacao.posicao(1)).isEqualTo(3);
+        assertThat(classificacao.posicao(99)).isEqualTo(Classificacao.SEM_POSICAO);
+        assertThat(classificacao.aoRedor(99, 2)).isEmpty();
+    }
+
+    @Test
+    void mantemPosicoesCorretasComAtualizacoesERemocoesAleatorias() {
+        Random random = new Random(7);
+        Classificacao classificacao = new Classificacao();
+        Map<Long, Double> referencia = new HashMap<>();
+
+        for (int operacao = 0; operacao < 20_000; operacao++) {
+            long idJogador = random.nextInt(500);
+            if (random.nextInt(10) == 0) {
+                assertThat(classificacao.remover(idJogador)).isEqualTo(referencia.remove(idJogador) != null);
+            } else {
+                // Poucos valores distintos: muitos empates
+                double rating = 800 + random.nextInt(80) * 10;
+                classificacao.atualizar(idJogador, rating);
+                referencia.put(idJogador, rating);
+            }
+
+            if (operacao % 500 == 0) {
+                List<Map.Entry<Long, Double>> ordenados = new ArrayList<>(referencia.entrySet());
+                ordenados.sort(Comparator.comparing((Map.Entry<Long, Double> e) -> -e.getValue())
+                        .thenComparing(Map.Entry::getKey));
+                assertThat(classificacao.tamanho()).isEqualTo(ordenados.size());
+                List<PosicaoClassificacao> todos = classificacao.topo(ordenados.size());
+                for (int i = 0; i < ordenados.size(); i++) {
+                    long id = ordenados.get(i).getKey();
+                    assertThat(todos.get(i)).isEqualTo(new PosicaoClassificacao(i + 1, id, ordenados.get(i).getValue()));
+                    assertThat(classificacao.posicao(id)).isEqualTo(i + 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    void aoRedorLimitaNasPontas() {
+        Classificacao classificacao = new Classificacao();
+        for (long id = 1; id <= 10; id++) classificacao.atualizar(id, 2000 - id);
+
+        assertThat(classificacao.aoRedor(5, 2)).extracting(PosicaoClassificacao::idJogador).containsExactly(3L, 4L, 5L, 6L, 7L);
+        assertThat(classificacao.aoRedor(1, 2)).extracting(PosicaoClassificacao::posicao).containsExactly(1, 2, 3);
+        assertThat(classificacao.aoRedor(10, 2)).extracting(PosicaoClassificacao::posicao).containsExactly(8, 9, 10);
+    }
+}
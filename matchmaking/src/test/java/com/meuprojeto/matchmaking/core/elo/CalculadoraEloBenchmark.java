@@ -0,0 +1,55 @@
+package com.meuprojeto.matchmaking.core.elo;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmark (JMH) da atualização de ratings de uma partida de 2 times.
+ *
+ * Executar (depois de "mvn test-compile"):
+ *   mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.meuprojeto.matchmaking.core.elo.CalculadoraEloBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculadoraEloBenchmark {
+
+    @Param({"10", "40"})
+    int jogadores;
+
+    private double[] ratings;
+    private double[] novosRatings;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        ratings = new double[jogadores];
+        novosRatings = new double[jogadores];
+        for (int i = 0; i < jogadores; i++) ratings[i] = 700 + random.nextInt(900);
+    }
+
+    @Benchmark
+    public double[] atualizarRatingsPartida() {
+        int metade = jogadores / 2;
+        double mediaA = CalculadoraElo.media(ratings, 0, metade, CalculadoraElo.RATING_MINIMO);
+        double mediaB = CalculadoraElo.media(ratings, metade, jogadores, CalculadoraElo.RATING_MINIMO);
+        for (int i = 0; i < jogadores; i++) {
+            boolean timeA = i < metade;
+            novosRatings[i] = CalculadoraElo.PADRAO.novoRating(ratings[i], 10, timeA ? mediaB : mediaA,
+                    timeA ? 1.0 : 0.0, false, false);
+        }
+        return novosRatings;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CalculadoraEloBenchmark.class.getSimpleName()).build()).run();
+    }
+}
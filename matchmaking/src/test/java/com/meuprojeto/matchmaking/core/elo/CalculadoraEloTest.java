@@ -0,0 +1,55 @@
+package com.meuprojeto.matchmaking.core.elo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CalculadoraEloTest {
+
+    @Test
+    void scoresPareadosComColocacoesEEmpates() {
+        assertThat(CalculadoraElo.scoresPareados(new int[]{1, 2})).containsExactly(1.0, 0.0);
+        assertThat(CalculadoraElo.scoresPareados(new int[]{1, 1})).containsExactly(0.5, 0.5);
+        // 3 times: primeiro vence os dois; segundo e terceiro empatam entre si
+        assertThat(CalculadoraElo.scoresPareados(new int[]{1, 2, 2})).containsExactly(1.0, 0.25, 0.25);
+        assertThat(CalculadoraElo.scoresPareados(new int[]{3, 1, 2})).containsExactly(0.0, 1.0, 0.5);
+    }
+
+    @Test
+    void empateSoNoPrimeiroLugarDividido() {
+        int v = CalculadoraElo.VITORIA, e = CalculadoraElo.EMPATE, d = CalculadoraElo.DERROTA;
+        assertThat(CalculadoraElo.resultados(new int[]{1, 2})).containsExactly(v, d);
+        assertThat(CalculadoraElo.resultados(new int[]{1, 1})).containsExactly(e, e);
+        // Perdedores com a colocação dividida continuam derrotados
+        assertThat(CalculadoraElo.resultados(new int[]{1, 2, 2})).containsExactly(v, d, d);
+        assertThat(CalculadoraElo.resultados(new int[]{2, 1, 1})).containsExactly(d, e, e);
+        assertThat(CalculadoraElo.resultados(new int[]{3, 1, 2, 2})).containsExactly(d, v, d, d);
+    }
+
+    @Test
+    void eloPareadoComDuasEquipesIgualAoEloClassico() {
+        CalculadoraElo elo = CalculadoraElo.PADRAO;
+        double[] medias = {1100, 950};
+
+        double esperado = CalculadoraElo.expectativaPareada(1200, medias, 0);
+        double pareado = elo.novoRatingComExpectativa(1200, 10, esperado, 0.0, false, true);
+        double classico = elo.novoRating(1200, 10, 950, 0.0, false, true);
+
+        assertThat(pareado).isCloseTo(classico, within(1e-9));
+    }
+
+    @Test
+    void somaDasVariacoesEntreTresEquipesIguaisEZero() {
+        CalculadoraElo elo = CalculadoraElo.PADRAO;
+        double[] medias = {1000, 1000, 1000};
+        double[] scores = CalculadoraElo.scoresPareados(new int[]{1, 2, 3});
+
+        double soma = 0.0;
+        for (int t = 0; t < 3; t++) {
+            double esperado = CalculadoraElo.expectativaPareada(1000, medias, t);
+            soma += elo.novoRatingComExpectativa(1000, 10, esperado, scores[t], false, false) - 1000;
+        }
+        assertThat(soma).isCloseTo(0.0, within(1e-9));
+    }
+}
@@ -0,0 +1,93 @@
+package com.meuprojeto.matchmaking.core.elo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ReplayRatingsTest {
+
+    private static final double RATING_INICIAL = 1000.0;
+
+    @Test
+    void replayIgualAoCalculoPartidaAPartida() {
+        // 3000 jogadores: força vários redimensionamentos da tabela hash
+        int numJogadores = 3000;
+        Random random = new Random(7);
+        ReplayRatings replay = new ReplayRatings(CalculadoraElo.PADRAO, RATING_INICIAL);
+        Map<Long, double[]> referencia = new HashMap<>(); // id -> {rating, partidas}
+
+        for (int p = 0; p < 5000; p++) {
+            long[] ids = new long[6];
+            for (int i = 0; i < ids.length; i++) {
+                long id;
+                do {
+                    id = 1 + random.nextInt(numJogadores);
+                } while (contem(ids, i, id));
+                ids[i] = id;
+            }
+            int[] colocacoes = random.nextInt(10) == 0 ? new int[]{1, 1} : new int[]{1, 2};
+            long idMvp = ids[random.nextInt(3)];
+
+            replay.iniciarPartida(idMvp, ReplayRatings.SEM_JOGADOR);
+            for (int i = 0; i < ids.length; i++) {
+                replay.adicionarJogador(ids[i], i % 3 == 0, colocacoes[i / 3]);
+            }
+            replay.finalizarPartida();
+
+            double[] ratings = new double[ids.length];
+            int[] partidas = new int[ids.length];
+            boolean[] mvp = new boolean[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                double[] estado = referencia.computeIfAbsent(ids[i], id -> new double[]{RATING_INICIAL, 0});
+                ratings[i] = estado[0];
+                partidas[i] = (int) estado[1];
+                mvp[i] = ids[i] == idMvp;
+            }
+            double[] novos = CalculadoraElo.PADRAO.novosRatings(ratings, partidas, new int[]{0, 3, 6}, colocacoes,
+                    mvp, new boolean[ids.length], RATING_INICIAL);
+            for (int i = 0; i < ids.length; i++) {
+                double[] estado = referencia.get(ids[i]);
+                estado[0] = novos[i];
+                estado[1]++;
+            }
+        }
+
+        assertThat(replay.getPartidasProcessadas()).isEqualTo(5000);
+        assertThat(replay.getNumJogadores()).isEqualTo(referencia.size());
+        replay.paraCada((id, rating, partidas, mvp, destaque) -> {
+            assertThat(rating).isCloseTo(referencia.get(id)[0], within(1e-9));
+            assertThat(partidas).isEqualTo((int) referencia.get(id)[1]);
+        });
+        assertThat(replay.ratingDe(numJogadores + 1L)).isNaN();
+    }
+
+    @Test
+    void destaqueSoContaParaEquipePerdedoraEPartidaDeUmaEquipeEIgnorada() {
+        ReplayRatings replay = new ReplayRatings(CalculadoraElo.PADRAO, RATING_INICIAL);
+
+        // Destaque apontado para um jogador da equipe vencedora: ignorado
+        replay.iniciarPartida(ReplayRatings.SEM_JOGADOR, 1L);
+        replay.adicionarJogador(1L, true, 1);
+        replay.adicionarJogador(2L, true, 2);
+        replay.finalizarPartida();
+
+        // Só uma equipe: não é aplicada
+        replay.iniciarPartida(ReplayRatings.SEM_JOGADOR, ReplayRatings.SEM_JOGADOR);
+        replay.adicionarJogador(3L, true, 1);
+        replay.finalizarPartida();
+
+        assertThat(replay.getPartidasProcessadas()).isEqualTo(1);
+        assertThat(replay.ratingDe(3L)).isNaN();
+        replay.paraCada((id, rating, partidas, mvp, destaque) -> assertThat(destaque).isZero());
+    }
+
+    private static boolean contem(long[] ids, int ate, long id) {
+        for (int i = 0; i < ate; i++) if (ids[i] == id) return true;
+        return false;
+    }
+}
@@ -0,0 +1,127 @@
+package com.meuprojeto.matchmaking.core.fila;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilaModoTest {
+
+    @Test
+    void formaGruposDeRatingsProximosEMantemOsQueSobram() {
+        FilaModo fila = new FilaModo(1L, 4, PoliticaJanelaRating.SEM_LIMITE);
+        double[] ratings = {1500, 900, 1450, 950, 1000, 1400, 1550, 1050, 2000};
+        for (int i = 0; i < ratings.length; i++) {
+            fila.entrar(i + 1, ratings[i], 0L);
+        }
+
+        List<EntradaFila[]> grupos = fila.formarGrupos(0L);
+
+        assertThat(grupos).hasSize(2);
+        assertThat(grupos.get(0)).extracting(EntradaFila::getRating).containsExactlyInAnyOrder(1400.0, 1450.0, 1500.0, 1550.0);
+        assertThat(grupos.get(1)).extracting(EntradaFila::getRating).containsExactlyInAnyOrder(900.0, 950.0, 1000.0, 1050.0);
+        assertThat(fila.tamanho()).isEqualTo(1);
+        assertThat(fila.contem(9)).isTrue();
+    }
+
+    @Test
+    void jogadorNaoEntraDuasVezesESaiCorretamente() {
+        FilaModo fila = new FilaModo(1L, 2, PoliticaJanelaRating.SEM_LIMITE);
+
+        assertThat(fila.entrar(1, 1000, 0L)).isTrue();
+        assertThat(fila.entrar(1, 1200, 0L)).isFalse();
+        assertThat(fila.sair(1)).isTrue();
+        assertThat(fila.sair(1)).isFalse();
+        assertThat(fila.formarGrupos(0L)).isEmpty();
+    }
+
+    @Test
+    void jogadorQueSaiDuranteACriacaoNaoVoltaParaAFila() {
+        FilaModo fila = new FilaModo(1L, 2, PoliticaJanelaRating.SEM_LIMITE);
+        fila.entrar(1, 1000, 0L);
+        fila.entrar(2, 1010, 0L);
+        EntradaFila[] grupo = fila.formarGrupos(0L).get(0);
+        assertThat(fila.tamanho()).isZero();
+
+        // Partida em criação: sair vale para a entrada reivindicada
+        assertThat(fila.sair(1)).isTrue();
+        assertThat(fila.sair(1)).isFalse();
+        for (EntradaFila entrada : grupo) {
+            fila.devolver(entrada); // a criação falhou
+        }
+
+        assertThat(fila.contem(1)).isFalse();
+        assertThat(fila.contem(2)).isTrue();
+        assertThat(fila.tamanho()).isEqualTo(1);
+        assertThat(fila.entrar(1, 1000, 0L)).isTrue();
+        assertThat(fila.formarGrupos(0L)).hasSize(1);
+    }
+
+    @Test
+    void janelaDeRatingCresceComOTempoDeEspera() {
+        // 100 de janela inicial, +50 por segundo, no máximo 300
+        FilaModo fila = new FilaModo(1L, 2, new PoliticaJanelaRating(100, 50, 300));
+        long segundo = 1_000_000_000L;
+        fila.entrar(1, 1000, 0L);
+        fila.entrar(2, 1250, 0L);
+        fila.entrar(3, 2000, 0L);
+
+        assertThat(fila.formarGrupos(0L)).isEmpty();            // diferença 250 > janela 100
+        assertThat(fila.formarGrupos(2 * segundo)).isEmpty();   // janela 200
+        List<EntradaFila[]> grupos = fila.formarGrupos(3 * segundo); // janela 250
+
+        assertThat(grupos).hasSize(1);
+        assertThat(grupos.get(0)).extracting(EntradaFila::getIdJogador).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(fila.formarGrupos(60 * segundo)).isEmpty();  // 2000 nunca entra: janela máxima 300
+        assertThat(fila.contem(3)).isTrue();
+    }
+
+    @Test
+    void oponenteTambemPrecisaAceitarAAncora() {
+        FilaModo fila = new FilaModo(1L, 2, new PoliticaJanelaRating(100, 50, 1000));
+        long segundo = 1_000_000_000L;
+        fila.entrar(1, 1000, 0L);            // esperando desde 0: janela 350 em t=5s
+        fila.entrar(2, 1300, 4 * segundo);   // chegou em t=4s: janela 150 em t=5s
+
+        assertThat(fila.formarGrupos(5 * segundo)).isEmpty();
+        assertThat(fila.formarGrupos(8 * segundo)).hasSize(1); // janela do 2: 300
+    }
+
+    @Test
+    void entradasESaidasConcorrentesNaoDuplicamJogadores() throws InterruptedException {
+        FilaModo fila = new FilaModo(1L, 10, PoliticaJanelaRating.SEM_LIMITE);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    long id = i % 500;
+                    if (!fila.entrar(id, 1000 + id, System.nanoTime())) {
+                        fila.sair(id);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        int naFila = fila.tamanho();
+        int agrupados = fila.formarGrupos(System.nanoTime()).size() * 10;
+        assertThat(agrupados + fila.tamanho()).isEqualTo(naFila);
+    }
+
+    @Test
+    void percentisDoTempoAtePartida() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (int i = 1; i <= 1000; i++) {
+            histograma.registrarMicros(i * 1_000L); // 1 ms .. 1000 ms
+        }
+
+        assertThat(histograma.total()).isEqualTo(1000);
+        assertThat(histograma.percentilMicros(50)).isBetween(500_000L, 565_000L);
+        assertThat(histograma.percentilMicros(99)).isBetween(990_000L, 1_120_000L);
+    }
+}
@@ -0,0 +1,39 @@
+package com.meuprojeto.matchmaking.core.fila;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardFilaTest {
+
+    @Test
+    void soUmaRodadaPorShardDeCadaVez() {
+        ShardFila shard = new ShardFila(new FilaModo(1L, 2, PoliticaJanelaRating.SEM_LIMITE), 0L);
+
+        assertThat(shard.reservar()).isTrue();
+        assertThat(shard.reservar()).isFalse();
+        shard.liberar();
+        assertThat(shard.reservar()).isTrue();
+    }
+
+    @Test
+    void modoQuentePedeRodadaExtraEnquantoHouverBacklog() {
+        FilaModo fila = new FilaModo(1L, 2, PoliticaJanelaRating.SEM_LIMITE);
+        ShardFila shard = new ShardFila(fila, System.nanoTime());
+        for (int i = 0; i < 20; i++) {
+            fila.entrar(i, 1000 + i, 0L);
+        }
+
+        int criadas = shard.executarRodada(grupo -> true, false);
+
+        assertThat(criadas).isEqualTo(10);
+        assertThat(shard.getRodadas()).isEqualTo(1);
+        assertThat(shard.getPartidasPorSegundo()).isPositive();
+        assertThat(shard.precisaDeRodadaExtra(criadas, 1)).isFalse(); // fila vazia
+
+        fila.entrar(100, 1000, 0L);
+        fila.entrar(101, 1000, 0L);
+        assertThat(shard.precisaDeRodadaExtra(1, 1)).isTrue();
+        assertThat(shard.precisaDeRodadaExtra(0, 1)).isFalse(); // rodada sem progresso não se repete
+    }
+}
@@ -0,0 +1,139 @@
+package com.meuprojeto.matchmaking.persistencia;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArmazemMemoriaTest {
+
+    private static final LocalDateTime QUANDO = LocalDateTime.of(2026, 3, 14, 20, 30, 15, 123_456_000);
+
+    @TempDir Path diretorio;
+
+    @Test
+    void recuperaSnapshotMaisLog() throws Exception {
+        ArmazemMemoria armazem = iniciar("armazem_original");
+
+        try (Connection c = armazem.getConnection()) {
+            c.setAutoCommit(false);
+            try (PreparedStatement ps = c.prepareStatement("INSERT INTO T (ID, NOME, QUANDO, VALOR) VALUES (?, ?, ?, ?)")) {
+                for (long id = 1; id <= 3; id++) {
+                    ps.setLong(1, id);
+                    ps.setString(2, "linha" + id);
+                    ps.setTimestamp(3, Timestamp.valueOf(QUANDO));
+                    ps.setDouble(4, id * 1.5);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            c.commit();
+
+            // Desfeita: não pode aparecer na recuperação
+            try (Statement st = c.createStatement()) {
+                st.executeUpdate("DELETE FROM T WHERE ID = 1");
+            }
+            c.rollback();
+            c.setAutoCommit(true);
+        }
+        armazem.snapshot();
+
+        // Depois do snapshot: só no log (auto-commit e transação)
+        try (Connection c = armazem.getConnection()) {
+            try (PreparedStatement ps = c.prepareStatement("UPDATE T SET VALOR = VALOR + ?, NOME = ? WHERE ID = ?")) {
+                ps.setDouble(1, 10);
+                ps.setNull(2, java.sql.Types.VARCHAR);
+                ps.setLong(3, 2);
+                ps.executeUpdate();
+            }
+            c.setAutoCommit(false);
+            try (Statement st = c.createStatement()) {
+                st.executeUpdate("DELETE FROM T WHERE ID = 3");
+            }
+            c.commit();
+        }
+        List<String> antes = linhas(armazem);
+
+        // Queda: sem fechar(), outro banco em memória recupera do mesmo diretório
+        ArmazemMemoria recuperado = iniciar("armazem_recuperado");
+        assertThat(linhas(recuperado)).isEqualTo(antes)
+                .containsExactly("1|linha1|" + Timestamp.valueOf(QUANDO) + "|1.5", "2|null|" + Timestamp.valueOf(QUANDO) + "|13.0");
+        recuperado.fechar();
+    }
+
+    @Test
+    void descartaRegistroIncompletoNoFimDoLog() throws Exception {
+        Path arquivo = diretorio.resolve("wal.log");
+        byte[] primeiro = {1, 2, 3};
+        byte[] segundo = {4, 5, 6, 7};
+        try (LogEscrita log = LogEscrita.abrir(arquivo, 7, false, registro -> { })) {
+            log.registrar(primeiro);
+            log.registrar(segundo);
+        }
+        // Corrompe um byte do segundo registro (crc deixa de bater)
+        try (RandomAccessFile raf = new RandomAccessFile(arquivo.toFile(), "rw")) {
+            raf.seek(LogEscrita.CABECALHO + LogEscrita.CABECALHO_REGISTRO + primeiro.length + LogEscrita.CABECALHO_REGISTRO);
+            raf.write(99);
+        }
+
+        List<byte[]> lidos = new ArrayList<>();
+        try (LogEscrita log = LogEscrita.abrir(arquivo, 7, false, lidos::add)) {
+            assertThat(lidos).containsExactly(primeiro);
+            log.registrar(segundo); // Continua depois do último registro válido
+        }
+        lidos.clear();
+        try (LogEscrita log = LogEscrita.abrir(arquivo, 7, false, lidos::add)) {
+            assertThat(lidos).containsExactly(primeiro, segundo);
+        }
+
+        // Outra geração: o log já está contido em um snapshot mais novo
+        lidos.clear();
+        try (LogEscrita log = LogEscrita.abrir(arquivo, 8, false, lidos::add)) {
+            assertThat(lidos).isEmpty();
+            assertThat(log.getRegistros()).isZero();
+        }
+    }
+
+    private ArmazemMemoria iniciar(String banco) throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + banco + ";DB_CLOSE_DELAY=-1");
+        ArmazemMemoria armazem = new ArmazemMemoria(h2, diretorio, false);
+        armazem.recuperar();
+        // Papel do Flyway: esquema criado (só no banco novo) antes de iniciar o registro
+        boolean criarEsquema;
+        try (Connection c = armazem.getConnection(); ResultSet rs = c.getMetaData().getTables(null, null, "T", null)) {
+            criarEsquema = !rs.next();
+        }
+        if (criarEsquema) {
+            try (Connection c = armazem.getConnection(); Statement st = c.createStatement()) {
+                st.execute("CREATE TABLE T (ID BIGINT PRIMARY KEY, NOME VARCHAR(50), QUANDO TIMESTAMP, VALOR DOUBLE PRECISION)");
+            }
+        }
+        armazem.iniciarRegistro(criarEsquema);
+        return armazem;
+    }
+
+    private static List<String> linhas(ArmazemMemoria armazem) throws SQLException {
+        List<String> linhas = new ArrayList<>();
+        try (Connection c = armazem.getConnection(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT ID, NOME, QUANDO, VALOR FROM T ORDER BY ID")) {
+            while (rs.next()) {
+                linhas.add(rs.getLong(1) + "|" + rs.getString(2) + "|" + rs.getTimestamp(3) + "|" + rs.getDouble(4));
+            }
+        }
+        return linhas;
+    }
+}
@@ -0,0 +1,78 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.core.classificacao.PosicaoClassificacao;
+import com.meuprojeto.matchmaking.model.Equipe;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import com.meuprojeto.matchmaking.repository.ModoDeJogoRepository;
+import com.meuprojeto.matchmaking.service.dto.ClassificacaoResponse;
+import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaResponse;
+import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:classificacao;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class ClassificacaoServiceTest {
+
+    @Autowired private ClassificacaoService classificacaoService;
+    @Autowired private MatchmakingService matchmakingService;
+    @Autowired private ImportacaoResultadosService importacaoResultadosService;
+    @Autowired private JogadorRepository jogadorRepository;
+    @Autowired private ModoDeJogoRepository modoDeJogoRepository;
+
+    @Test
+    void acompanhaOsResultadosIgualARemontarDoBanco() {
+        ModoDeJogo duplas = modoDeJogoRepository.save(new ModoDeJogo("Classificação 2v2", 2, true, null));
+        ModoDeJogo solo = modoDeJogoRepository.save(new ModoDeJogo("Classificação 1v1", 1, true, null));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) ids.add(jogadorRepository.save(new Jogador("classif" + i)).getIdJogador());
+
+        matchmakingService.registrarResultado(vitoriaDaPrimeiraEquipe(matchmakingService.criarPartida(ids, duplas.getIdModoDeJogo())));
+        importacaoResultadosService.registrarResultados(List.of(
+                vitoriaDaPrimeiraEquipe(matchmakingService.criarPartida(ids.subList(0, 2), solo.getIdModoDeJogo()))));
+
+        ClassificacaoResponse geral = classificacaoService.topo(null, 10);
+        ClassificacaoResponse doSolo = classificacaoService.topo(solo.getIdModoDeJogo(), 10);
+        assertThat(geral.getTotalJogadores()).isEqualTo(4);
+        assertThat(doSolo.getPosicoes()).extracting(PosicaoClassificacao::idJogador)
+                .containsExactlyInAnyOrderElementsOf(ids.subList(0, 2));
+        // Ordem e ratings batem com o banco
+        List<Jogador> porRating = jogadorRepository.findAllById(ids);
+        porRating.sort(Comparator.comparingDouble(Jogador::getRating).reversed().thenComparing(Jogador::getIdJogador));
+        assertThat(geral.getPosicoes()).extracting(PosicaoClassificacao::idJogador)
+                .containsExactlyElementsOf(porRating.stream().map(Jogador::getIdJogador).toList());
+        assertThat(geral.getPosicoes()).extracting(PosicaoClassificacao::rating)
+                .containsExactlyElementsOf(porRating.stream().map(Jogador::getRating).toList());
+
+        Long ultimo = porRating.get(3).getIdJogador();
+        ClassificacaoResponse aoRedor = classificacaoService.aoRedorDoJogador(null, ultimo, 1);
+        assertThat(aoRedor.getPosicaoJogador()).isEqualTo(4);
+        assertThat(aoRedor.getPosicoes()).extracting(PosicaoClassificacao::posicao).containsExactly(3, 4);
+
+        classificacaoService.carregar();
+        assertThat(classificacaoService.topo(null, 10).getPosicoes()).isEqualTo(geral.getPosicoes());
+        assertThat(classificacaoService.topo(solo.getIdModoDeJogo(), 10).getPosicoes()).isEqualTo(doSolo.getPosicoes());
+        assertThatThrownBy(() -> classificacaoService.aoRedorDoJogador(solo.getIdModoDeJogo(), ids.get(3), 1))
+                .isInstanceOf(MatchmakingException.class);
+    }
+
+    private static RegistroResultadoRequest vitoriaDaPrimeiraEquipe(CriacaoPartidaResponse criada) {
+        Equipe vencedora = criada.getEquipesFormadas().stream().min(Comparator.comparing(Equipe::getNome)).orElseThrow();
+        RegistroResultadoRequest request = new RegistroResultadoRequest();
+        request.setIdPartida(criada.getPartidaCriada().getIdPartida());
+        request.setIdEquipeVencedora(vencedora.getIdEquipe());
+        return request;
+    }
+}
@@ -0,0 +1,77 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.model.Equipe;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import com.meuprojeto.matchmaking.repository.ModoDeJogoRepository;
+import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaResponse;
+import com.meuprojeto.matchmaking.service.dto.EstatisticasCacheResponse;
+import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class EstatisticasCacheServiceTest {
+
+    @Autowired private EstatisticasCacheService estatisticasCacheService;
+    @Autowired private HistoricoService historicoService;
+    @Autowired private MatchmakingService matchmakingService;
+    @Autowired private ImportacaoResultadosService importacaoResultadosService;
+    @Autowired private JogadorRepository jogadorRepository;
+    @Autowired private ModoDeJogoRepository modoDeJogoRepository;
+
+    @Test
+    void leiturasRepetidasDeModosEJogadoresNaoVaoAoBanco() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Cache 1v1", 1, true, null));
+        Jogador jogador = jogadorRepository.save(new Jogador("cache0"));
+        // Primeira leitura de cada um (pode ir ao banco e preencher o cache)
+        modoDeJogoRepository.findAll();
+        modoDeJogoRepository.findById(modo.getIdModoDeJogo());
+        historicoService.buscarJogadorPorId(jogador.getIdJogador());
+
+        estatisticasCacheService.zerar();
+        for (int i = 0; i < 5; i++) {
+            assertThat(modoDeJogoRepository.findAll()).contains(modo);
+            assertThat(modoDeJogoRepository.findById(modo.getIdModoDeJogo())).isPresent();
+            assertThat(historicoService.buscarJogadorPorId(jogador.getIdJogador()).getNome()).isEqualTo("cache0");
+        }
+
+        EstatisticasCacheResponse estatisticas = estatisticasCacheService.estatisticas();
+        assertThat(estatisticas.getComandosSql()).isZero();
+        assertThat(estatisticas.getConsultasAcertos()).isEqualTo(5);
+        assertThat(estatisticas.getRegioes()).allSatisfy(regiao -> {
+            assertThat(regiao.getFalhas()).isZero();
+            assertThat(regiao.getAcertos()).isPositive();
+        });
+    }
+
+    @Test
+    void importacaoPorJdbcInvalidaOsJogadoresNoCache() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Cache importação 1v1", 1, true, null));
+        List<Long> ids = List.of(jogadorRepository.save(new Jogador("cacheImp0")).getIdJogador(),
+                jogadorRepository.save(new Jogador("cacheImp1")).getIdJogador());
+        CriacaoPartidaResponse criada = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+        ids.forEach(historicoService::buscarJogadorPorId); // No cache, com o rating inicial
+
+        Equipe vencedora = criada.getEquipesFormadas().iterator().next();
+        RegistroResultadoRequest request = new RegistroResultadoRequest();
+        request.setIdPartida(criada.getPartidaCriada().getIdPartida());
+        request.setIdEquipeVencedora(vencedora.getIdEquipe());
+        importacaoResultadosService.registrarResultados(List.of(request));
+
+        for (Long id : ids) {
+            Jogador lido = historicoService.buscarJogadorPorId(id);
+            assertThat(lido.getPartidasJogadas()).isEqualTo(1);
+            assertThat(lido.getRating()).isNotEqualTo(Jogador.RATING_CALIBRACAO_INICIAL);
+        }
+    }
+}
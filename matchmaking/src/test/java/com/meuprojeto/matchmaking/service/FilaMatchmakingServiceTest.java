@@ -0,0 +1,170 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import com.meuprojeto.matchmaking.repository.ModoDeJogoRepository;
+import com.meuprojeto.matchmaking.repository.PartidaRepository;
+import com.meuprojeto.matchmaking.service.dto.EstatisticasFilaResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:filamatchmaking;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "matchmaking.fila.tick-ms=3600000" // Os ticks são chamados pelo teste
+})
+class FilaMatchmakingServiceTest {
+
+    @Autowired private FilaMatchmakingService filaMatchmakingService;
+    @Autowired private MatchmakingService matchmakingService;
+    @Autowired private RegistroReservasJogadores reservas;
+    @Autowired private JogadorRepository jogadorRepository;
+    @Autowired private ModoDeJogoRepository modoDeJogoRepository;
+    @Autowired private PartidaRepository partidaRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    void formaPartidaEReservaOsJogadores() throws InterruptedException {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Fila 2v2", 2, true, null));
+        List<Long> ids = criarJogadores("fila", 4);
+        long partidasAntes = partidaRepository.count();
+        for (Long id : ids) {
+            assertThat(filaMatchmakingService.entrarNaFila(id, modo.getIdModoDeJogo())).isTrue();
+        }
+        assertThat(filaMatchmakingService.entrarNaFila(ids.get(0), modo.getIdModoDeJogo())).isFalse();
+
+        EstatisticasFilaResponse estatisticas = tickEAguardar(modo.getIdModoDeJogo());
+
+        assertThat(estatisticas.getPartidasFormadas()).isEqualTo(1);
+        assertThat(estatisticas.getJogadoresNaFila()).isZero();
+        assertThat(partidaRepository.count()).isEqualTo(partidasAntes + 1);
+        Long idPartida = reservas.partidaDoJogador(ids.get(0));
+        assertThat(idPartida).isNotNull();
+        assertThat(ids).allSatisfy(id -> assertThat(reservas.partidaDoJogador(id)).isEqualTo(idPartida));
+
+        // Em partida: não pode voltar para a fila
+        assertThatThrownBy(() -> filaMatchmakingService.entrarNaFila(ids.get(0), modo.getIdModoDeJogo()))
+                .isInstanceOf(JogadorIndisponivelException.class);
+    }
+
+    @Test
+    void usaORatingGravadoNoJogador() throws InterruptedException {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Fila janela 1v1", 1, true, null));
+        List<Long> ids = criarJogadores("janela", 3);
+        Long distante = ids.get(0);
+        jdbc.update("UPDATE JOGADOR SET rating = 2500 WHERE id_jogador = ?", distante);
+        entityManagerFactory.getCache().evict(Jogador.class, distante);
+
+        // O distante espera há mais tempo, mas ninguém está na janela dele
+        for (Long id : ids) {
+            filaMatchmakingService.entrarNaFila(id, modo.getIdModoDeJogo());
+        }
+        EstatisticasFilaResponse estatisticas = tickEAguardar(modo.getIdModoDeJogo());
+
+        assertThat(estatisticas.getPartidasFormadas()).isEqualTo(1);
+        assertThat(estatisticas.getJogadoresNaFila()).isEqualTo(1);
+        assertThat(reservas.partidaDoJogador(distante)).isNull();
+        assertThat(reservas.partidaDoJogador(ids.get(1))).isNotNull();
+    }
+
+    @Test
+    void jogadorReservadoEnquantoEsperavaSaiDaFilaEOsOutrosFicam() throws InterruptedException {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Fila conflito 2v2", 2, true, null));
+        ModoDeJogo outro = modoDeJogoRepository.save(new ModoDeJogo("Manual 1v1", 1, true, null));
+        List<Long> ids = criarJogadores("conflito", 4);
+        Long ocupado = ids.get(0);
+        for (Long id : ids) {
+            filaMatchmakingService.entrarNaFila(id, modo.getIdModoDeJogo());
+        }
+        Long parceiro = jogadorRepository.save(new Jogador("conflitoManual")).getIdJogador();
+        matchmakingService.criarPartida(List.of(ocupado, parceiro), outro.getIdModoDeJogo());
+
+        EstatisticasFilaResponse estatisticas = tickEAguardar(modo.getIdModoDeJogo());
+
+        assertThat(estatisticas.getPartidasFormadas()).isZero();
+        assertThat(estatisticas.getJogadoresNaFila()).isEqualTo(3);
+        assertThat(filaMatchmakingService.sairDaFila(ocupado, modo.getIdModoDeJogo())).isFalse();
+        assertThat(ids.subList(1, 4)).allSatisfy(id -> assertThat(reservas.partidaDoJogador(id)).isNull());
+    }
+
+    @Test
+    void cadaModoFormaNoProprioShard() throws InterruptedException {
+        ModoDeJogo modoA = modoDeJogoRepository.save(new ModoDeJogo("Shard A 1v1", 1, true, null));
+        ModoDeJogo modoB = modoDeJogoRepository.save(new ModoDeJogo("Shard B 1v1", 1, true, null));
+        List<Long> ids = criarJogadores("shard", 4);
+        filaMatchmakingService.entrarNaFila(ids.get(0), modoA.getIdModoDeJogo());
+        filaMatchmakingService.entrarNaFila(ids.get(1), modoA.getIdModoDeJogo());
+        filaMatchmakingService.entrarNaFila(ids.get(2), modoB.getIdModoDeJogo());
+        filaMatchmakingService.entrarNaFila(ids.get(3), modoB.getIdModoDeJogo());
+
+        tickEAguardar(modoA.getIdModoDeJogo());
+        aguardarRodada(modoB.getIdModoDeJogo(), 1);
+
+        assertThat(filaMatchmakingService.estatisticasShards())
+                .filteredOn(e -> e.getIdModoDeJogo().equals(modoA.getIdModoDeJogo())
+                        || e.getIdModoDeJogo().equals(modoB.getIdModoDeJogo()))
+                .hasSize(2)
+                .allSatisfy(e -> assertThat(e.getPartidasFormadas()).isEqualTo(1));
+        assertThat(reservas.partidaDoJogador(ids.get(0))).isNotEqualTo(reservas.partidaDoJogador(ids.get(2)));
+    }
+
+    @Test
+    void mudancaNoModoValeNaRodadaSeguinte() throws InterruptedException {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Fila alterada 2v2", 2, true, null));
+        List<Long> ids = criarJogadores("alterado", 2);
+        for (Long id : ids) {
+            filaMatchmakingService.entrarNaFila(id, modo.getIdModoDeJogo());
+        }
+        assertThat(tickEAguardar(modo.getIdModoDeJogo()).getPartidasFormadas()).isZero();
+
+        modo.setJogadoresPorEquipe(1);
+        modoDeJogoRepository.save(modo);
+        EstatisticasFilaResponse estatisticas = tickEAguardar(modo.getIdModoDeJogo());
+
+        assertThat(estatisticas.getPartidasFormadas()).isEqualTo(1);
+        assertThat(estatisticas.getJogadoresNaFila()).isZero();
+    }
+
+    @Test
+    void modoDeTimesFixosNaoAceitaFila() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Fila fixos", 1, false, null));
+        Long id = criarJogadores("fixos", 1).get(0);
+        assertThatThrownBy(() -> filaMatchmakingService.entrarNaFila(id, modo.getIdModoDeJogo()))
+                .isInstanceOf(MatchmakingException.class);
+    }
+
+    private List<Long> criarJogadores(String prefixo, int quantidade) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            ids.add(jogadorRepository.save(new Jogador(prefixo + i)).getIdJogador());
+        }
+        return ids;
+    }
+
+    private EstatisticasFilaResponse tickEAguardar(Long idModoDeJogo) throws InterruptedException {
+        long rodadas = filaMatchmakingService.estatisticas(idModoDeJogo).getRodadas();
+        filaMatchmakingService.tick();
+        return aguardarRodada(idModoDeJogo, rodadas + 1);
+    }
+
+    private EstatisticasFilaResponse aguardarRodada(Long idModoDeJogo, long rodadas) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        EstatisticasFilaResponse estatisticas = filaMatchmakingService.estatisticas(idModoDeJogo);
+        while (estatisticas.getRodadas() < rodadas && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            estatisticas = filaMatchmakingService.estatisticas(idModoDeJogo);
+        }
+        return estatisticas;
+    }
+}
@@ -0,0 +1,119 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.model.Equipe;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import com.meuprojeto.matchmaking.model.Partida;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import com.meuprojeto.matchmaking.repository.ModoDeJogoRepository;
+import com.meuprojeto.matchmaking.repository.PartidaRepository;
+import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaResponse;
+import com.meuprojeto.matchmaking.service.dto.ParticipacaoJogador;
+import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import com.meuprojeto.matchmaking.service.dto.ResumoPartida;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:historico;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class HistoricoServiceTest {
+
+    @Autowired private HistoricoService historicoService;
+    @Autowired private MatchmakingService matchmakingService;
+    @Autowired private PartidaRepository partidaRepository;
+    @Autowired private JogadorRepository jogadorRepository;
+    @Autowired private ModoDeJogoRepository modoDeJogoRepository;
+
+    @Test
+    void paginasPercorremTodoOHistoricoSemRepetirMesmoComDatasIguais() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Histórico 1v1", 1, true, null));
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 20, 0);
+        List<Partida> partidas = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            Partida partida = new Partida(modo);
+            partida.setDataHora(base.plusMinutes(i / 3)); // Grupos de 3 partidas no mesmo instante
+            partidas.add(partida);
+        }
+        partidaRepository.saveAll(partidas);
+
+        List<ResumoPartida> lidas = new ArrayList<>();
+        ResumoPartida cursor = null;
+        List<ResumoPartida> pagina;
+        do {
+            pagina = historicoService.buscarPaginaHistorico(cursor, 4);
+            lidas.addAll(pagina);
+            if (!pagina.isEmpty()) cursor = pagina.get(pagina.size() - 1);
+        } while (pagina.size() == 4);
+
+        List<ResumoPartida> esperadas = partidas.stream()
+                .sorted(Comparator.comparing(Partida::getDataHora).thenComparing(Partida::getIdPartida).reversed())
+                .map(p -> new ResumoPartida(p.getIdPartida(), p.getDataHora(), modo.getNome()))
+                .toList();
+        // Outros testes da classe também criam partidas: compara só as deste modo
+        assertThat(lidas).filteredOn(r -> r.nomeModo().equals(modo.getNome())).containsExactlyElementsOf(esperadas);
+        assertThat(lidas).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void detalhesTrazemEquipesMembrosSoDasPartidasPedidas() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Detalhes 2v2", 2, true, null));
+        List<Long> idsPartidas = new ArrayList<>();
+        for (int p = 0; p < 2; p++) {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 4; i++) ids.add(jogadorRepository.save(new Jogador("detalhe" + p + "-" + i)).getIdJogador());
+            CriacaoPartidaResponse criada = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+            idsPartidas.add(criada.getPartidaCriada().getIdPartida());
+        }
+
+        Map<Long, List<Equipe>> detalhes = historicoService.buscarDetalhesPartidas(List.of(idsPartidas.get(0)));
+
+        assertThat(detalhes).containsOnlyKeys(idsPartidas.get(0));
+        assertThat(detalhes.get(idsPartidas.get(0))).hasSize(2)
+                .allSatisfy(equipe -> assertThat(equipe.getMembros()).hasSize(2)
+                        .allSatisfy(membro -> assertThat(membro.getJogador().getNome()).startsWith("detalhe0-")));
+    }
+
+    @Test
+    void historicoDoJogadorTrazSoAsColunasDaListaComResultadoOuPendente() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Perfil 1v1", 1, true, null));
+        List<Long> ids = List.of(jogadorRepository.save(new Jogador("perfil0")).getIdJogador(),
+                jogadorRepository.save(new Jogador("perfil1")).getIdJogador());
+
+        CriacaoPartidaResponse primeira = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+        Equipe equipeDoJogador = primeira.getEquipesFormadas().stream()
+                .filter(e -> e.getMembros().iterator().next().getJogador().getIdJogador().equals(ids.get(0)))
+                .findFirst().orElseThrow();
+        RegistroResultadoRequest request = new RegistroResultadoRequest();
+        request.setIdPartida(primeira.getPartidaCriada().getIdPartida());
+        request.setIdEquipeVencedora(equipeDoJogador.getIdEquipe());
+        matchmakingService.registrarResultado(request);
+        CriacaoPartidaResponse segunda = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo()); // Sem resultado
+
+        List<ParticipacaoJogador> historico = historicoService.buscarHistoricoJogador(ids.get(0));
+
+        assertThat(historico).extracting(ParticipacaoJogador::idPartida)
+                .containsExactly(segunda.getPartidaCriada().getIdPartida(), primeira.getPartidaCriada().getIdPartida());
+        assertThat(historico).allSatisfy(p -> assertThat(p.nomeModo()).isEqualTo(modo.getNome()));
+        assertThat(historico.get(0).statusResultado()).isNull();
+        assertThat(historico.get(1).statusResultado()).isEqualTo("VITÓRIA");
+        assertThat(historico.get(1).nomeEquipe()).isEqualTo(equipeDoJogador.getNome());
+    }
+
+    @Test
+    void historicoDeJogadorInexistenteFalha() {
+        assertThatThrownBy(() -> historicoService.buscarHistoricoJogador(-1L))
+                .isInstanceOf(MatchmakingException.class);
+    }
+}
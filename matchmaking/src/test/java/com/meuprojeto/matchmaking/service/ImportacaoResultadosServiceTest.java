@@ -0,0 +1,128 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.model.Equipe;
+import com.meuprojeto.matchmaking.model.EstatisticaJogador;
+import com.meuprojeto.matchmaking.model.HistoricoRating;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import com.meuprojeto.matchmaking.repository.EstatisticaJogadorRepository;
+import com.meuprojeto.matchmaking.repository.HistoricoRatingRepository;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import com.meuprojeto.matchmaking.repository.ModoDeJogoRepository;
+import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaResponse;
+import com.meuprojeto.matchmaking.service.dto.ImportacaoResultadosResponse;
+import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:importacao;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class ImportacaoResultadosServiceTest {
+
+    @Autowired private MatchmakingService matchmakingService;
+    @Autowired private ImportacaoResultadosService importacaoResultadosService;
+    @Autowired private JogadorRepository jogadorRepository;
+    @Autowired private ModoDeJogoRepository modoDeJogoRepository;
+    @Autowired private HistoricoRatingRepository historicoRatingRepository;
+    @Autowired private EstatisticaJogadorRepository estatisticaJogadorRepository;
+
+    @Test
+    void loteDaOMesmoResultadoQueRegistrarUmAUm() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Teste 2v2", 2, true, null));
+        // Dois "mundos" idênticos: o primeiro registra um a um, o segundo em lote
+        List<Jogador> sequencial = criarJogadores("seq");
+        List<Jogador> lote = criarJogadores("lote");
+
+        List<RegistroResultadoRequest> resultadosSequencial = criarPartidas(sequencial, modo);
+        List<RegistroResultadoRequest> resultadosLote = criarPartidas(lote, modo);
+
+        resultadosSequencial.forEach(matchmakingService::registrarResultado);
+        ImportacaoResultadosResponse resposta = importacaoResultadosService.registrarResultados(resultadosLote);
+
+        assertThat(resposta.getResultados()).isEqualTo(2);
+        assertThat(resposta.getJogadoresAtualizados()).isEqualTo(8);
+        for (int i = 0; i < sequencial.size(); i++) {
+            Jogador esperado = jogadorRepository.findById(sequencial.get(i).getIdJogador()).orElseThrow();
+            Jogador obtido = jogadorRepository.findById(lote.get(i).getIdJogador()).orElseThrow();
+            assertThat(obtido.getRating()).isCloseTo(esperado.getRating(), within(1e-9));
+            assertThat(obtido.getPartidasJogadas()).isEqualTo(esperado.getPartidasJogadas());
+            assertThat(obtido.getTotalMvp()).isEqualTo(esperado.getTotalMvp());
+            assertThat(obtido.getTotalDestaquePerdedor()).isEqualTo(esperado.getTotalDestaquePerdedor());
+
+            HistoricoRating historicoEsperado = historico(esperado);
+            HistoricoRating historicoObtido = historico(obtido);
+            assertThat(historicoObtido.getRatingAntes()).isCloseTo(historicoEsperado.getRatingAntes(), within(1e-9));
+            assertThat(historicoObtido.getRatingDepois()).isCloseTo(obtido.getRating(), within(1e-9));
+            assertThat(historicoObtido.getDelta()).isCloseTo(historicoEsperado.getDelta(), within(1e-9));
+
+            // Total e modo, com os mesmos contadores
+            List<EstatisticaJogador> estatisticasEsperadas = estatisticaJogadorRepository.findByIdJogadorOrderByIdModoDeJogo(esperado.getIdJogador());
+            List<EstatisticaJogador> estatisticasObtidas = estatisticaJogadorRepository.findByIdJogadorOrderByIdModoDeJogo(obtido.getIdJogador());
+            assertThat(estatisticasObtidas).hasSize(2);
+            assertThat(estatisticasObtidas).usingRecursiveFieldByFieldElementComparatorIgnoringFields("id", "idJogador", "ultimaPartida")
+                    .containsExactlyElementsOf(estatisticasEsperadas);
+        }
+    }
+
+    private List<Jogador> criarJogadores(String prefixo) {
+        List<Jogador> jogadores = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Jogador jogador = new Jogador(prefixo + i);
+            jogador.setRating(900 + 37 * i);
+            jogador.setPartidasJogadas(i % 2 == 0 ? 0 : 10);
+            jogadores.add(jogadorRepository.save(jogador));
+        }
+        return jogadores;
+    }
+
+    /**
+     * Partida 1: jogadores 0–3, vitória do time A com MVP e Destaque.
+     * Partida 2: jogadores 4–7, empate.
+     */
+    private List<RegistroResultadoRequest> criarPartidas(List<Jogador> jogadores, ModoDeJogo modo) {
+        List<RegistroResultadoRequest> resultados = new ArrayList<>();
+        for (int p = 0; p < 2; p++) {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 4 * p; i < 4 * p + 4; i++) ids.add(jogadores.get(i).getIdJogador());
+            CriacaoPartidaResponse criada = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+            List<Equipe> equipes = new ArrayList<>(criada.getEquipesFormadas());
+            equipes.sort(Comparator.comparing(Equipe::getNome));
+
+            RegistroResultadoRequest request = new RegistroResultadoRequest();
+            request.setIdPartida(criada.getPartidaCriada().getIdPartida());
+            if (p == 0) {
+                request.setIdEquipeVencedora(equipes.get(0).getIdEquipe());
+                request.setIdMvp(maisForte(equipes.get(0)));
+                request.setIdDestaquePerdedor(maisForte(equipes.get(1)));
+            } else {
+                request.setEmpate(true);
+            }
+            resultados.add(request);
+        }
+        return resultados;
+    }
+
+    /** Única linha de histórico do jogador (cada um jogou uma partida). */
+    private HistoricoRating historico(Jogador jogador) {
+        List<HistoricoRating> linhas = historicoRatingRepository.findByIdJogadorAndDataHoraBetweenOrderByDataHoraAsc(
+                jogador.getIdJogador(), LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+        assertThat(linhas).hasSize(1);
+        return linhas.get(0);
+    }
+
+    private static Long maisForte(Equipe equipe) {
+        return equipe.getMembros().stream().map(je -> je.getJogador())
+                .max(Comparator.comparingDouble(Jogador::getRating)).orElseThrow().getIdJogador();
+    }
+}
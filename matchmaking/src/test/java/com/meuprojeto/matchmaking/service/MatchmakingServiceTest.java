@@ -0,0 +1,242 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.model.Equipe;
+import com.meuprojeto.matchmaking.model.EstatisticaJogador;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import com.meuprojeto.matchmaking.repository.ModoDeJogoRepository;
+import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaResponse;
+import com.meuprojeto.matchmaking.service.dto.CriacaoSessaoResponse;
+import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:registroresultado;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class MatchmakingServiceTest {
+
+    @Autowired private MatchmakingService matchmakingService;
+    @Autowired private HistoricoService historicoService;
+    @Autowired private JogadorRepository jogadorRepository;
+    @Autowired private ModoDeJogoRepository modoDeJogoRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private RegistroReservasJogadores reservas;
+
+    @Test
+    void registrarResultado5v5UsaNumeroFixoDeComandosSql() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Resultado 5v5", 5, true, null));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(jogadorRepository.save(new Jogador("resultado" + i)).getIdJogador());
+        }
+        // Primeira partida: reserva os blocos das sequências (HISTORICO_RATING, EQUIPE_PARTIDA)
+        registrarVitoria(matchmakingService.criarPartida(ids, modo.getIdModoDeJogo()));
+
+        CriacaoPartidaResponse criada = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+        entityManagerFactory.getCache().evictAll(); // Nada vem do cache de segundo nível
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        registrarVitoria(criada);
+
+        // 2 SELECTs (agregado e estatísticas) + lotes de JOGADOR, HISTORICO_RATING,
+        // ESTATISTICA_JOGADOR, EQUIPE_PARTIDA e PARTIDA
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(7);
+        assertThat(estatisticas.getEntityStatistics(Jogador.class.getName()).getUpdateCount()).isEqualTo(10);
+        assertThat(jogadorRepository.findAllById(ids)).allSatisfy(jogador -> {
+            assertThat(jogador.getPartidasJogadas()).isEqualTo(2);
+            assertThat(jogador.getRating()).isNotEqualTo(Jogador.RATING_CALIBRACAO_INICIAL);
+        });
+    }
+
+    @Test
+    void estatisticasAcompanhamCadaResultado() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Estatísticas 1v1", 1, true, null));
+        Long idA = jogadorRepository.save(new Jogador("estatA")).getIdJogador();
+        Long idB = jogadorRepository.save(new Jogador("estatB")).getIdJogador();
+        registrarVitoriaDe(idA, matchmakingService.criarPartida(List.of(idA, idB), modo.getIdModoDeJogo()));
+        registrarVitoriaDe(idA, matchmakingService.criarPartida(List.of(idA, idB), modo.getIdModoDeJogo()));
+        registrarVitoriaDe(idB, matchmakingService.criarPartida(List.of(idA, idB), modo.getIdModoDeJogo()));
+
+        List<EstatisticaJogador> deA = historicoService.buscarEstatisticasJogador(idA);
+        assertThat(deA).extracting(EstatisticaJogador::getIdModoDeJogo)
+                .containsExactly(EstatisticaJogador.TODOS_OS_MODOS, modo.getIdModoDeJogo());
+        assertThat(deA).allSatisfy(e -> {
+            assertThat(e.getVitorias()).isEqualTo(2);
+            assertThat(e.getDerrotas()).isEqualTo(1);
+            assertThat(e.getEmpates()).isZero();
+            assertThat(e.getSequenciaAtual()).isEqualTo(-1);
+            assertThat(e.getUltimaPartida()).isNotNull();
+        });
+        assertThat(historicoService.buscarEstatisticasJogador(idB)).allSatisfy(e -> {
+            assertThat(e.getVitorias()).isEqualTo(1);
+            assertThat(e.getDerrotas()).isEqualTo(2);
+            assertThat(e.getSequenciaAtual()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void perdedoresDeTresEquipesSaoDerrotaNaoEmpate() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Três equipes 2v2v2", 2, true, null));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            ids.add(jogadorRepository.save(new Jogador("tres" + i)).getIdJogador());
+        }
+        CriacaoPartidaResponse criada = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+        assertThat(criada.getEquipesFormadas()).hasSize(3);
+
+        // Fluxo da tela: só o vencedor; os outros dois ficam em 2º
+        List<Equipe> equipes = new ArrayList<>(criada.getEquipesFormadas());
+        Equipe vencedora = equipes.get(0);
+        Long idDestaque = equipes.get(1).getMembros().iterator().next().getJogador().getIdJogador();
+        RegistroResultadoRequest request = new RegistroResultadoRequest();
+        request.setIdPartida(criada.getPartidaCriada().getIdPartida());
+        request.setIdEquipeVencedora(vencedora.getIdEquipe());
+        request.setIdDestaquePerdedor(idDestaque);
+        matchmakingService.registrarResultado(request);
+
+        List<String> status = jdbc.queryForList("SELECT ep.status_resultado || ':' || ep.colocacao FROM EQUIPE_PARTIDA ep " +
+                "JOIN EQUIPE e ON e.id_equipe = ep.id_equipe WHERE e.id_partida = ? ORDER BY ep.colocacao, e.id_equipe",
+                String.class, criada.getPartidaCriada().getIdPartida());
+        assertThat(status).containsExactly(MatchmakingService.VITORIA + ":1",
+                MatchmakingService.DERROTA + ":2", MatchmakingService.DERROTA + ":2");
+
+        // Destaque de um time perdedor recebe a mitigação
+        assertThat(jogadorRepository.findById(idDestaque).orElseThrow().getTotalDestaquePerdedor()).isEqualTo(1);
+
+        for (Equipe equipe : equipes) {
+            boolean venceu = equipe.getIdEquipe().equals(vencedora.getIdEquipe());
+            for (var membro : equipe.getMembros()) {
+                assertThat(historicoService.buscarEstatisticasJogador(membro.getJogador().getIdJogador())).hasSize(2).allSatisfy(e -> {
+                    assertThat(e.getVitorias()).isEqualTo(venceu ? 1 : 0);
+                    assertThat(e.getDerrotas()).isEqualTo(venceu ? 0 : 1);
+                    assertThat(e.getEmpates()).isZero();
+                    assertThat(e.getSequenciaAtual()).isEqualTo(venceu ? 1 : -1);
+                });
+            }
+        }
+    }
+
+    @Test
+    void sessaoSalvaAsPartidasEReservaOsEscalados() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Sessão 2v2", 2, true, null));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(jogadorRepository.save(new Jogador("sessao" + i)).getIdJogador());
+        }
+
+        CriacaoSessaoResponse sessao = matchmakingService.criarSessao(ids, modo.getIdModoDeJogo());
+
+        assertThat(sessao.getPartidas()).hasSize(2);
+        assertThat(sessao.getJogadoresReserva()).hasSize(2);
+        Set<Long> escalados = new HashSet<>();
+        for (CriacaoPartidaResponse criada : sessao.getPartidas()) {
+            Long idPartida = criada.getPartidaCriada().getIdPartida();
+            List<Long> doBanco = jdbc.queryForList("SELECT je.id_jogador FROM JOGADOR_EQUIPE je " +
+                    "JOIN EQUIPE e ON e.id_equipe = je.id_equipe WHERE e.id_partida = ?", Long.class, idPartida);
+            assertThat(doBanco).hasSize(4);
+            assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM EQUIPE WHERE id_partida = ?", Integer.class, idPartida))
+                    .isEqualTo(2);
+            assertThat(doBanco).allSatisfy(id -> assertThat(reservas.partidaDoJogador(id)).isEqualTo(idPartida));
+            escalados.addAll(doBanco);
+        }
+        assertThat(escalados).hasSize(8);
+        assertThat(sessao.getJogadoresReserva()).allSatisfy(reserva -> {
+            assertThat(escalados).doesNotContain(reserva.getIdJogador());
+            assertThat(reservas.partidaDoJogador(reserva.getIdJogador())).isNull();
+        });
+
+        // Escalados não entram em outra partida até o resultado
+        assertThatThrownBy(() -> matchmakingService.criarSessao(ids, modo.getIdModoDeJogo()))
+                .isInstanceOf(JogadorIndisponivelException.class);
+    }
+
+    @Test
+    void cancelarPartidaSemResultadoLiberaOsJogadores() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Cancelamento 2v2", 2, true, null));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(jogadorRepository.save(new Jogador("cancelar" + i)).getIdJogador());
+        }
+        CriacaoPartidaResponse abandonada = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+        Long idAbandonada = abandonada.getPartidaCriada().getIdPartida();
+        assertThatThrownBy(() -> matchmakingService.criarPartida(ids, modo.getIdModoDeJogo()))
+                .isInstanceOf(JogadorIndisponivelException.class);
+
+        matchmakingService.cancelarPartida(idAbandonada);
+
+        assertThat(ids).allSatisfy(id -> assertThat(reservas.partidaDoJogador(id)).isNull());
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM PARTIDA WHERE id_partida = ?", Integer.class, idAbandonada)).isZero();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM EQUIPE WHERE id_partida = ?", Integer.class, idAbandonada)).isZero();
+        assertThatThrownBy(() -> matchmakingService.cancelarPartida(idAbandonada))
+                .isInstanceOf(MatchmakingException.class);
+
+        // Os mesmos jogadores entram em uma nova partida; com resultado, ela não pode mais ser cancelada
+        CriacaoPartidaResponse nova = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+        registrarVitoria(nova);
+        assertThatThrownBy(() -> matchmakingService.cancelarPartida(nova.getPartidaCriada().getIdPartida()))
+                .isInstanceOf(MatchmakingException.class)
+                .hasMessageContaining("já tem resultado");
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM EQUIPE_PARTIDA ep JOIN EQUIPE e ON e.id_equipe = ep.id_equipe " +
+                "WHERE e.id_partida = ?", Integer.class, nova.getPartidaCriada().getIdPartida())).isEqualTo(2);
+    }
+
+    @Test
+    void gruposFicamJuntosQuandoOutraSelecaoCompletaAsEquipes() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Grupos 2v2", 2, true, null));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(jogadorRepository.save(new Jogador("grupos" + i)).getIdJogador());
+        }
+        // O melhor rating está sozinho: com ele e um grupo sobraria 1 vaga
+        Long sozinho = ids.get(0);
+        jdbc.update("UPDATE JOGADOR SET rating = 1500 WHERE id_jogador = ?", sozinho);
+        entityManagerFactory.getCache().evict(Jogador.class, sozinho);
+        List<Long> grupoA = List.of(ids.get(1), ids.get(2));
+        List<Long> grupoB = List.of(ids.get(3), ids.get(4));
+
+        CriacaoPartidaResponse criada = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo(), List.of(grupoA, grupoB));
+
+        assertThat(criada.getJogadoresReserva()).extracting(Jogador::getIdJogador).containsExactly(sozinho);
+        assertThat(criada.getEquipesFormadas()).extracting(equipe -> equipe.getMembros().stream()
+                        .map(membro -> membro.getJogador().getIdJogador()).sorted().toList())
+                .containsExactlyInAnyOrder(grupoA, grupoB);
+        assertThat(reservas.partidaDoJogador(sozinho)).isNull();
+        assertThat(reservas.partidaDoJogador(grupoA.get(0))).isEqualTo(criada.getPartidaCriada().getIdPartida());
+    }
+
+    private void registrarVitoriaDe(Long idJogador, CriacaoPartidaResponse criada) {
+        Equipe vencedora = criada.getEquipesFormadas().stream()
+                .filter(e -> e.getMembros().iterator().next().getJogador().getIdJogador().equals(idJogador))
+                .findFirst().orElseThrow();
+        RegistroResultadoRequest request = new RegistroResultadoRequest();
+        request.setIdPartida(criada.getPartidaCriada().getIdPartida());
+        request.setIdEquipeVencedora(vencedora.getIdEquipe());
+        matchmakingService.registrarResultado(request);
+    }
+
+    private void registrarVitoria(CriacaoPartidaResponse criada) {
+        Equipe vencedora = criada.getEquipesFormadas().iterator().next();
+        RegistroResultadoRequest request = new RegistroResultadoRequest();
+        request.setIdPartida(criada.getPartidaCriada().getIdPartida());
+        request.setIdEquipeVencedora(vencedora.getIdEquipe());
+        request.setIdMvp(vencedora.getMembros().iterator().next().getJogador().getIdJogador());
+        matchmakingService.registrarResultado(request);
+    }
+}
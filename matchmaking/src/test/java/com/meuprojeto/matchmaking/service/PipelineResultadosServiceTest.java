@@ -0,0 +1,156 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.model.Equipe;
+import com.meuprojeto.matchmaking.model.EventoResultado;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import com.meuprojeto.matchmaking.repository.EventoResultadoRepository;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import com.meuprojeto.matchmaking.repository.ModoDeJogoRepository;
+import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaResponse;
+import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import com.meuprojeto.matchmaking.service.dto.StatusResultadoResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pipeline;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "matchmaking.resultados.assincrono=true"
+})
+class PipelineResultadosServiceTest {
+
+    @Autowired private MatchmakingService matchmakingService;
+    @Autowired private PipelineResultadosService pipelineResultadosService;
+    @Autowired private JogadorRepository jogadorRepository;
+    @Autowired private ModoDeJogoRepository modoDeJogoRepository;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private EventoResultadoRepository eventoResultadoRepository;
+    @Autowired private ImportacaoResultadosService importacaoResultadosService;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private RetentativaOtimista retentativaOtimista;
+
+    @Test
+    void aplicaResultadosEmSegundoPlanoEIsolaOsQueFalham() throws InterruptedException {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Pipeline 2v2", 2, true, null));
+        List<RegistroResultadoRequest> validos = new ArrayList<>();
+        for (int p = 0; p < 3; p++) {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 4; i++) ids.add(jogadorRepository.save(new Jogador("pipe" + p + "-" + i)).getIdJogador());
+            CriacaoPartidaResponse criada = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+            List<Equipe> equipes = new ArrayList<>(criada.getEquipesFormadas());
+            equipes.sort(Comparator.comparing(Equipe::getNome));
+            RegistroResultadoRequest request = new RegistroResultadoRequest();
+            request.setIdPartida(criada.getPartidaCriada().getIdPartida());
+            request.setIdEquipeVencedora(equipes.get(0).getIdEquipe());
+            validos.add(request);
+        }
+        RegistroResultadoRequest invalido = new RegistroResultadoRequest();
+        invalido.setIdPartida(-1L);
+        invalido.setEmpate(true);
+
+        for (RegistroResultadoRequest request : validos) {
+            assertThat(pipelineResultadosService.enviar(request).getStatus()).isIn(EventoResultado.PENDENTE, EventoResultado.APLICADO);
+        }
+        pipelineResultadosService.enviar(invalido);
+        assertThatThrownBy(() -> pipelineResultadosService.enviar(validos.get(0)))
+                .isInstanceOf(MatchmakingException.class);
+
+        for (RegistroResultadoRequest request : validos) {
+            assertThat(aguardar(request.getIdPartida()).getStatus()).isEqualTo(EventoResultado.APLICADO);
+        }
+        StatusResultadoResponse falha = aguardar(-1L);
+        assertThat(falha.getStatus()).isEqualTo(EventoResultado.FALHOU);
+        assertThat(falha.getErro()).contains("-1");
+
+        // Reenvio depois de FALHOU substitui o evento (um por partida)
+        assertThat(pipelineResultadosService.enviar(invalido).getStatus()).isIn(EventoResultado.PENDENTE, EventoResultado.FALHOU);
+        assertThat(aguardar(-1L).getStatus()).isEqualTo(EventoResultado.FALHOU);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM EVENTO_RESULTADO WHERE id_partida = -1", Integer.class)).isEqualTo(1);
+        assertThat(jogadorRepository.findAll()).filteredOn(j -> j.getNome().startsWith("pipe"))
+                .allSatisfy(j -> assertThat(j.getPartidasJogadas()).isEqualTo(1));
+    }
+
+    @Test
+    void enviosSimultaneosDaMesmaPartidaGravamUmEvento() throws Exception {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Pipeline duplicado 1v1", 1, true, null));
+        List<Long> ids = List.of(jogadorRepository.save(new Jogador("duplicadoA")).getIdJogador(),
+                jogadorRepository.save(new Jogador("duplicadoB")).getIdJogador());
+        CriacaoPartidaResponse criada = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+        RegistroResultadoRequest request = new RegistroResultadoRequest();
+        request.setIdPartida(criada.getPartidaCriada().getIdPartida());
+        request.setIdEquipeVencedora(criada.getEquipesFormadas().iterator().next().getIdEquipe());
+
+        int envios = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(envios);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> aceitos = new ArrayList<>();
+        for (int i = 0; i < envios; i++) {
+            aceitos.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    pipelineResultadosService.enviar(request);
+                    return true;
+                } catch (MatchmakingException e) {
+                    return false;
+                }
+            }));
+        }
+        largada.countDown();
+        int total = 0;
+        for (Future<Boolean> aceito : aceitos) {
+            if (aceito.get()) total++;
+        }
+        executor.shutdown();
+
+        assertThat(total).isEqualTo(1);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM EVENTO_RESULTADO WHERE id_partida = ?", Integer.class,
+                request.getIdPartida())).isEqualTo(1);
+        assertThat(aguardar(request.getIdPartida()).getStatus()).isEqualTo(EventoResultado.APLICADO);
+        assertThat(jogadorRepository.findAllById(ids)).allSatisfy(j -> assertThat(j.getPartidasJogadas()).isEqualTo(1));
+    }
+
+    @Test
+    void desligadoNaoIniciaOEscritorNemAceitaResultados() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        PipelineResultadosService desligado = new PipelineResultadosService(eventoResultadoRepository,
+                importacaoResultadosService, transactionManager, retentativaOtimista, executor, false, 10, 10);
+        long eventos = eventoResultadoRepository.count();
+
+        desligado.iniciar();
+        executor.shutdown();
+        assertThat(executor.isTerminated()).isTrue(); // Nenhum consumidor foi iniciado
+
+        RegistroResultadoRequest request = new RegistroResultadoRequest();
+        request.setIdPartida(1L);
+        assertThatThrownBy(() -> desligado.enviar(request))
+                .isInstanceOf(MatchmakingException.class)
+                .hasMessageContaining("assincrono=false");
+        assertThat(desligado.getAguardando()).isZero();
+        assertThat(eventoResultadoRepository.count()).isEqualTo(eventos);
+    }
+
+    private StatusResultadoResponse aguardar(Long idPartida) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        StatusResultadoResponse status = pipelineResultadosService.status(idPartida);
+        while (EventoResultado.PENDENTE.equals(status.getStatus()) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            status = pipelineResultadosService.status(idPartida);
+        }
+        return status;
+    }
+}
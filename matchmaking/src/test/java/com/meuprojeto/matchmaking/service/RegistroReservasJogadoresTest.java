@@ -0,0 +1,51 @@
+package com.meuprojeto.matchmaking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistroReservasJogadoresTest {
+
+    @Test
+    void reservaTudoOuNada() {
+        RegistroReservasJogadores reservas = new RegistroReservasJogadores();
+
+        assertThat(reservas.reservar(new long[]{1, 2, 3}, 10L)).isEqualTo(-1L);
+        assertThat(reservas.reservar(new long[]{4, 5, 3, 6}, 11L)).isEqualTo(3L);
+
+        assertThat(reservas.partidaDoJogador(4)).isNull(); // desfeito
+        assertThat(reservas.totalReservados()).isEqualTo(3);
+
+        reservas.liberar(new long[]{1, 2, 3}, 11L); // outra partida: não libera
+        assertThat(reservas.partidaDoJogador(1)).isEqualTo(10L);
+        reservas.liberar(new long[]{1, 2, 3}, 10L);
+        assertThat(reservas.totalReservados()).isZero();
+    }
+
+    @Test
+    void escalacoesConcorrentesNuncaCompartilhamJogador() throws InterruptedException {
+        RegistroReservasJogadores reservas = new RegistroReservasJogadores();
+        int partidas = 2_000;
+        AtomicInteger reservadas = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int p = 0; p < partidas; p++) {
+            long idPartida = p;
+            // Escalações sobrepostas: jogadores p..p+9 (mod 100)
+            long[] ids = new long[10];
+            for (int i = 0; i < ids.length; i++) ids[i] = (p + i) % 100;
+            executor.execute(() -> {
+                if (reservas.reservar(ids, idPartida) == -1L) reservadas.incrementAndGet();
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Cada partida reservada tem 10 jogadores exclusivos
+        assertThat(reservas.totalReservados()).isEqualTo(reservadas.get() * 10);
+    }
+}
@@ -0,0 +1,122 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.model.Equipe;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import com.meuprojeto.matchmaking.repository.ModoDeJogoRepository;
+import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaResponse;
+import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import com.meuprojeto.matchmaking.service.dto.ReplayRatingsRequest;
+import com.meuprojeto.matchmaking.service.dto.ReplayRatingsResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replay;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class ReplayRatingsServiceTest {
+
+    @Autowired private MatchmakingService matchmakingService;
+    @Autowired private ReplayRatingsService replayRatingsService;
+    @Autowired private JogadorRepository jogadorRepository;
+    @Autowired private ModoDeJogoRepository modoDeJogoRepository;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void replayReproduzOsRatingsERestauraAoGravar() {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Replay 2v2", 2, true, null));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) ids.add(jogadorRepository.save(new Jogador("replay" + i)).getIdJogador());
+
+        for (int p = 0; p < 3; p++) {
+            CriacaoPartidaResponse criada = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+            List<Equipe> equipes = new ArrayList<>(criada.getEquipesFormadas());
+            equipes.sort(Comparator.comparing(Equipe::getNome));
+            RegistroResultadoRequest request = new RegistroResultadoRequest();
+            request.setIdPartida(criada.getPartidaCriada().getIdPartida());
+            request.setIdEquipeVencedora(equipes.get(p % 2).getIdEquipe());
+            request.setIdMvp(equipes.get(p % 2).getMembros().iterator().next().getJogador().getIdJogador());
+            matchmakingService.registrarResultado(request);
+        }
+        List<Jogador> esperados = jogadorRepository.findAllById(ids);
+
+        // Mesmos parâmetros: nenhuma diferença
+        ReplayRatingsResponse semMudanca = replayRatingsService.reprocessar(new ReplayRatingsRequest());
+        assertThat(semMudanca.getPartidas()).isEqualTo(3);
+        assertThat(semMudanca.getJogadores()).isEqualTo(4);
+        assertThat(semMudanca.getDiferencaMediaAbsoluta()).isCloseTo(0.0, within(1e-9));
+
+        // Rating corrompido: o diff aponta o jogador e gravar restaura o valor do histórico
+        Jogador corrompido = jogadorRepository.findById(ids.get(0)).orElseThrow();
+        corrompido.setRating(5000);
+        jogadorRepository.save(corrompido);
+        // Prêmios de partidas anteriores a PARTIDA.ID_MVP: só existem nos totais do jogador
+        jdbc.update("UPDATE JOGADOR SET total_mvp = total_mvp + 7, total_destaque_perdedor = 3 WHERE id_jogador = ?", ids.get(1));
+        ReplayRatingsRequest gravar = new ReplayRatingsRequest();
+        gravar.setGravar(true);
+        ReplayRatingsResponse corrigido = replayRatingsService.reprocessar(gravar);
+        assertThat(corrigido.getMaioresDiferencas().get(0).getIdJogador()).isEqualTo(ids.get(0));
+
+        for (Jogador esperado : esperados) {
+            Jogador obtido = jogadorRepository.findById(esperado.getIdJogador()).orElseThrow();
+            assertThat(obtido.getRating()).isCloseTo(esperado.getRating(), within(1e-9));
+            assertThat(obtido.getPartidasJogadas()).isEqualTo(esperado.getPartidasJogadas());
+            boolean legado = esperado.getIdJogador().equals(ids.get(1));
+            assertThat(obtido.getTotalMvp()).isEqualTo(esperado.getTotalMvp() + (legado ? 7 : 0));
+            assertThat(obtido.getTotalDestaquePerdedor()).isEqualTo(legado ? 3 : esperado.getTotalDestaquePerdedor());
+        }
+    }
+
+    @Test
+    void resultadoConfirmadoDuranteOReplayNaoESobrescrito() throws Exception {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Replay conflito 1v1", 1, true, null));
+        List<Long> ids = List.of(jogadorRepository.save(new Jogador("conflitoA")).getIdJogador(),
+                jogadorRepository.save(new Jogador("conflitoB")).getIdJogador());
+        CriacaoPartidaResponse criada = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+        RegistroResultadoRequest resultado = new RegistroResultadoRequest();
+        resultado.setIdPartida(criada.getPartidaCriada().getIdPartida());
+        resultado.setIdEquipeVencedora(criada.getEquipesFormadas().iterator().next().getIdEquipe());
+        matchmakingService.registrarResultado(resultado);
+        Long id = ids.get(0);
+
+        // Outra transação atualiza o jogador e só confirma depois que o replay leu as versões
+        CountDownLatch atualizou = new CountDownLatch(1);
+        Thread concorrente = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbc.update("UPDATE JOGADOR SET rating = 4321, versao = versao + 1 WHERE id_jogador = ?", id);
+            atualizou.countDown();
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        concorrente.start();
+        atualizou.await();
+
+        ReplayRatingsRequest gravar = new ReplayRatingsRequest();
+        gravar.setGravar(true);
+        assertThatThrownBy(() -> replayRatingsService.reprocessar(gravar))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        concorrente.join();
+
+        assertThat(jdbc.queryForObject("SELECT rating FROM JOGADOR WHERE id_jogador = ?", Double.class, id))
+                .isEqualTo(4321.0);
+    }
+}
@@ -0,0 +1,113 @@
+package com.meuprojeto.matchmaking.service;
+
+import com.meuprojeto.matchmaking.model.Equipe;
+import com.meuprojeto.matchmaking.model.HistoricoRating;
+import com.meuprojeto.matchmaking.model.Jogador;
+import com.meuprojeto.matchmaking.model.ModoDeJogo;
+import com.meuprojeto.matchmaking.repository.HistoricoRatingRepository;
+import com.meuprojeto.matchmaking.repository.JogadorRepository;
+import com.meuprojeto.matchmaking.repository.ModoDeJogoRepository;
+import com.meuprojeto.matchmaking.service.dto.CriacaoPartidaResponse;
+import com.meuprojeto.matchmaking.service.dto.RegistroResultadoRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Estresse de concorrência: muitos resultados envolvendo o MESMO jogador,
+ * registrados em paralelo. Sem lock otimista, um UPDATE sobrescreveria o outro.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:retentativa;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "matchmaking.resultados.retentativas=50"
+})
+class RetentativaOtimistaTest {
+
+    private static final Logger LOGGER = Logger.getLogger(RetentativaOtimistaTest.class.getName());
+
+    private static final int PARTIDAS = 40;
+    private static final int THREADS = 8;
+
+    @Autowired private MatchmakingService matchmakingService;
+    @Autowired private RetentativaOtimista retentativaOtimista;
+    @Autowired private RegistroReservasJogadores reservas;
+    @Autowired private JogadorRepository jogadorRepository;
+    @Autowired private ModoDeJogoRepository modoDeJogoRepository;
+    @Autowired private HistoricoRatingRepository historicoRatingRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void resultadosConcorrentesDoMesmoJogadorNaoSePerdem() throws Exception {
+        ModoDeJogo modo = modoDeJogoRepository.save(new ModoDeJogo("Estresse 2v2", 2, true, null));
+        Long estrela = jogadorRepository.save(new Jogador("estrela")).getIdJogador();
+
+        // Partidas antigas/importadas podem repetir um jogador; as reservas são liberadas para simular isso
+        List<RegistroResultadoRequest> resultados = new ArrayList<>();
+        for (int p = 0; p < PARTIDAS; p++) {
+            List<Long> ids = new ArrayList<>(List.of(estrela));
+            for (int i = 0; i < 3; i++) ids.add(jogadorRepository.save(new Jogador("estresse" + p + "-" + i)).getIdJogador());
+            CriacaoPartidaResponse criada = matchmakingService.criarPartida(ids, modo.getIdModoDeJogo());
+            reservas.liberar(ids.stream().mapToLong(Long::longValue).toArray(), criada.getPartidaCriada().getIdPartida());
+
+            List<Equipe> equipes = new ArrayList<>(criada.getEquipesFormadas());
+            equipes.sort(Comparator.comparing(Equipe::getNome));
+            RegistroResultadoRequest request = new RegistroResultadoRequest();
+            request.setIdPartida(criada.getPartidaCriada().getIdPartida());
+            request.setIdEquipeVencedora(equipes.get(p % 2).getIdEquipe());
+            resultados.add(request);
+        }
+        Collections.shuffle(resultados, new Random(3));
+
+        long conflitosAntes = retentativaOtimista.getConflitos();
+        long inicio = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (RegistroResultadoRequest request : resultados) {
+            tarefas.add(executor.submit(() -> retentativaOtimista.executar(() -> matchmakingService.registrarResultado(request))));
+        }
+        for (Future<?> tarefa : tarefas) tarefa.get();
+        executor.shutdown();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        LOGGER.info(String.format("Estresse: %d resultados em %.0f ms (%.0f resultados/s), %d conflitos refeitos",
+                PARTIDAS, segundos * 1000, PARTIDAS / segundos, retentativaOtimista.getConflitos() - conflitosAntes));
+
+        Jogador estrelaDepois = jogadorRepository.findById(estrela).orElseThrow();
+        List<HistoricoRating> historico = historicoRatingRepository.findByIdJogadorAndDataHoraBetweenOrderByDataHoraAsc(
+                estrela, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+        double somaDeltas = historico.stream().mapToDouble(HistoricoRating::getDelta).sum();
+
+        assertThat(estrelaDepois.getPartidasJogadas()).isEqualTo(PARTIDAS);
+        assertThat(historico).hasSize(PARTIDAS);
+        // Nenhuma atualização perdida: o rating final é o inicial mais todas as variações
+        assertThat(estrelaDepois.getRating()).isCloseTo(Jogador.RATING_CALIBRACAO_INICIAL + somaDeltas, within(1e-6));
+    }
+
+    @Test
+    void tentativasEsgotadasViramConflitoComACausa() {
+        RetentativaOtimista duasTentativas = new RetentativaOtimista(transactionManager, 2, 0);
+        OptimisticLockingFailureException ultimo = new OptimisticLockingFailureException("versão mudou");
+
+        assertThatThrownBy(() -> duasTentativas.executar(() -> {
+            throw ultimo;
+        })).isInstanceOf(ConflitoAtualizacaoException.class).hasCause(ultimo);
+        assertThat(duasTentativas.getConflitos()).isEqualTo(2);
+    }
+}